@@ -0,0 +1,28 @@
+package com.example.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the DAO benchmarks with the GC profiler and writes the results as JSON, so a run can be
+ * kept as a baseline and compared with later ones (e.g. with https://jmh.morethan.io).
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.example.bench.BenchmarkRunner [regex] [result-file]}
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : TutorialDAOBenchmark.class.getSimpleName();
+        String resultFile = args.length > 1 ? args[1] : "jmh-result.json";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
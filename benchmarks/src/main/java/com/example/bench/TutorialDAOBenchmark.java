@@ -0,0 +1,146 @@
+package com.example.bench;
+
+import com.example.dao.CachingTutorialDAO;
+import com.example.dao.TutorialDAO;
+import com.example.dao.TutorialDAOImpl;
+import com.example.model.Tutorial;
+import com.example.util.DBConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the TutorialDAO operations against an embedded H2 database (Oracle mode).
+ * <p>
+ * Every benchmark reports throughput and a latency distribution (SampleTime gives the
+ * p50/p90/p99/p99.9 percentiles). Run with {@code -prof gc} to add allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TutorialDAOBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int tableSize;
+
+    // "jdbc" = TutorialDAOImpl on the pool, "cached" = the same wrapped in CachingTutorialDAO.
+    @Param({ "jdbc", "cached" })
+    public String dao;
+
+    TutorialDAO tutorialDAO;
+    int firstId;
+    int lastId;
+
+    @Setup(Level.Trial)
+    public void loadTable() throws SQLException {
+        truncate();
+        List<Tutorial> rows = new ArrayList<>(tableSize);
+        for (int i = 0; i < tableSize; i++) {
+            rows.add(newTutorial(i));
+        }
+        TutorialDAO loader = new TutorialDAOImpl();
+        loader.addTutorials(rows);
+        firstId = rows.get(0).getId();
+        lastId = rows.get(rows.size() - 1).getId();
+        tutorialDAO = "cached".equals(dao) ? new CachingTutorialDAO(new TutorialDAOImpl()) : new TutorialDAOImpl();
+    }
+
+    // addTutorial grows the table; put it back to tableSize rows so later iterations measure the same size.
+    @TearDown(Level.Iteration)
+    public void trimAddedRows() throws SQLException {
+        try (Connection connection = DBConnection.getConnection();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM tutorials WHERE tutorial_id > ?")) {
+            statement.setInt(1, lastId);
+            statement.executeUpdate();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        DBConnection.shutdown();
+    }
+
+    @Benchmark
+    public Tutorial getTutorialById() {
+        return tutorialDAO.getTutorialById(randomId());
+    }
+
+    @Benchmark
+    public List<Tutorial> getAllTutorials() {
+        return tutorialDAO.getAllTutorials();
+    }
+
+    @Benchmark
+    public Tutorial addTutorial() {
+        Tutorial tutorial = newTutorial(ThreadLocalRandom.current().nextInt());
+        tutorialDAO.addTutorial(tutorial);
+        return tutorial;
+    }
+
+    @Benchmark
+    public void updateTutorial() {
+        int id = randomId();
+        tutorialDAO.updateTutorial(new Tutorial(id, "Updated " + id, "Bench Author " + (id % 100),
+                "https://example.com/tutorials/" + id, LocalDate.of(2024, 1, 1).plusDays(id % 365)));
+    }
+
+    /**
+     * Rows for the delete benchmark are inserted outside the measured region, one per invocation.
+     */
+    @State(Scope.Thread)
+    public static class RowToDelete {
+        int id;
+
+        @Setup(Level.Invocation)
+        public void insert() {
+            Tutorial tutorial = newTutorial(ThreadLocalRandom.current().nextInt());
+            new TutorialDAOImpl().addTutorial(tutorial);
+            id = tutorial.getId();
+        }
+    }
+
+    @Benchmark
+    public void deleteTutorial(RowToDelete row) {
+        tutorialDAO.deleteTutorial(row.id);
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(firstId, lastId + 1);
+    }
+
+    static Tutorial newTutorial(int i) {
+        int n = Math.abs(i);
+        return new Tutorial("Benchmark Tutorial " + n, "Bench Author " + (n % 100),
+                "https://example.com/tutorials/" + n, LocalDate.of(2020, 1, 1).plusDays(n % 2000));
+    }
+
+    private static void truncate() throws SQLException {
+        try (Connection connection = DBConnection.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM tutorials");
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.bench.soak;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks which of {@code n} rows an operation touches, as an index from 0 to n - 1.
+ * Implementations are immutable and shared by all workers; the caller passes its own generator.
+ */
+public interface KeyDistribution {
+
+    int next(RandomGenerator random);
+
+    // Name as written to the results, so runs with different distributions are not compared by mistake.
+    String describe();
+
+    /**
+     * Parses {@code uniform}, {@code zipfian} or {@code zipfian:<theta>} (0 < theta < 1, default 0.99).
+     */
+    static KeyDistribution parse(String spec, int n) {
+        if (spec.equals("uniform")) {
+            return uniform(n);
+        }
+        if (spec.equals("zipfian")) {
+            return zipfian(n, Zipfian.DEFAULT_THETA);
+        }
+        if (spec.startsWith("zipfian:")) {
+            return zipfian(n, Double.parseDouble(spec.substring("zipfian:".length())));
+        }
+        throw new IllegalArgumentException("Unknown key distribution '" + spec + "', expected uniform, zipfian or zipfian:<theta>");
+    }
+
+    static KeyDistribution uniform(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Need at least one key, got " + n);
+        }
+        return new KeyDistribution() {
+            @Override
+            public int next(RandomGenerator random) {
+                return random.nextInt(n);
+            }
+
+            @Override
+            public String describe() {
+                return "uniform";
+            }
+        };
+    }
+
+    static KeyDistribution zipfian(int n, double theta) {
+        return new Zipfian(n, theta);
+    }
+
+    /**
+     * Zipfian ranks computed as in YCSB's ZipfianGenerator (Gray et al., "Quickly Generating
+     * Billion-Record Synthetic Databases"), so a few keys get most of the traffic. Ranks are
+     * scrambled, otherwise the hot keys would be the oldest rows and sit next to
+     * each other in the index. The scrambling is a fixed permutation rather than a hash, so no
+     * two ranks land on the same row and every row can be picked.
+     */
+    final class Zipfian implements KeyDistribution {
+        static final double DEFAULT_THETA = 0.99;
+
+        private final int n;
+        private final double theta;
+        private final double alpha;
+        private final double zetaN;
+        private final double eta;
+        private final int[] rowByRank;
+
+        Zipfian(int n, double theta) {
+            if (n <= 0) {
+                throw new IllegalArgumentException("Need at least one key, got " + n);
+            }
+            if (!(theta > 0 && theta < 1)) {
+                throw new IllegalArgumentException("Zipfian theta must be between 0 and 1, got " + theta);
+            }
+            this.n = n;
+            this.theta = theta;
+            this.alpha = 1 / (1 - theta);
+            this.zetaN = zeta(n, theta);
+            double zeta2 = zeta(2, theta);
+            this.eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta2 / zetaN);
+            this.rowByRank = shuffledRows(n);
+        }
+
+        // O(n), once per run.
+        private static double zeta(int n, double theta) {
+            double sum = 0;
+            for (int i = 1; i <= n; i++) {
+                sum += 1 / Math.pow(i, theta);
+            }
+            return sum;
+        }
+
+        // Rank 0 is the most popular key.
+        int nextRank(RandomGenerator random) {
+            double u = random.nextDouble();
+            double uz = u * zetaN;
+            if (uz < 1) {
+                return 0;
+            }
+            if (uz < 1 + Math.pow(0.5, theta)) {
+                return Math.min(1, n - 1);
+            }
+            return Math.min((int) (n * Math.pow(eta * u - eta + 1, alpha)), n - 1);
+        }
+
+        @Override
+        public int next(RandomGenerator random) {
+            return rowByRank[nextRank(random)];
+        }
+
+        // Fisher-Yates with a fixed seed: the same rows are hot in every run.
+        private static int[] shuffledRows(int n) {
+            int[] rows = new int[n];
+            for (int i = 0; i < n; i++) {
+                rows[i] = i;
+            }
+            SplittableRandom random = new SplittableRandom(n);
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int row = rows[i];
+                rows[i] = rows[j];
+                rows[j] = row;
+            }
+            return rows;
+        }
+
+        @Override
+        public String describe() {
+            return "zipfian:" + theta;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.bench.soak;
+
+import java.util.Locale;
+
+/**
+ * The DAO calls a soak run can issue. See {@link SoakTest} for what each one does.
+ */
+public enum Operation {
+    GET,            // getTutorialById on a loaded row
+    MULTI_GET,      // getTutorialsByIds for MULTI_GET_SIZE loaded rows
+    ADD,            // addTutorial of a new row
+    UPDATE,         // updateTutorial of a loaded row
+    PATCH,          // patchTutorial of one column of a loaded row
+    DELETE,         // deleteTutorial of a row added during the run
+    PAGE,           // getTutorialsAfter: one page of an ID-order scan from a random row
+    FIND_BY_AUTHOR, // findTutorials for one author, first page
+    COUNT;          // countTutorials
+
+    // As written on the command line and in the results: "multi-get", "find-by-author", ...
+    public String label() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    public static Operation fromLabel(String label) {
+        for (Operation operation : values()) {
+            if (operation.label().equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + label + "'");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.bench.soak;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/**
+ * How often each {@link Operation} is picked, as relative weights. The presets follow the
+ * YCSB core workloads loosely:
+ * <pre>
+ *   read-heavy   get 85, multi-get 5, page 5, update 5        (mostly lookups, as in production)
+ *   write-heavy  get 40, add 20, update 20, patch 10, delete 10
+ *   scan         page 60, find-by-author 25, get 10, count 5
+ * </pre>
+ * Any other mix is written as {@code get=70,update=20,add=10}.
+ */
+public final class OperationMix {
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final int total;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = new EnumMap<>(weights);
+        this.operations = this.weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            int weight = this.weights.get(operations[i]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + operations[i].label() + " must not be negative");
+            }
+            sum += weight;
+            cumulative[i] = sum;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("Operation mix has no operations");
+        }
+        this.total = sum;
+    }
+
+    public static OperationMix of(Map<Operation, Integer> weights) {
+        return new OperationMix(weights);
+    }
+
+    public static OperationMix parse(String spec) {
+        return switch (spec) {
+            case "read-heavy" -> parse("get=85,multi-get=5,page=5,update=5");
+            case "write-heavy" -> parse("get=40,add=20,update=20,patch=10,delete=10");
+            case "scan" -> parse("page=60,find-by-author=25,get=10,count=5");
+            default -> {
+                Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+                for (String part : spec.split(",")) {
+                    String[] pair = part.trim().split("=");
+                    if (pair.length != 2) {
+                        throw new IllegalArgumentException("Expected operation=weight, got '" + part + "'");
+                    }
+                    weights.merge(Operation.fromLabel(pair[0].trim()), Integer.parseInt(pair[1].trim()), Integer::sum);
+                }
+                yield new OperationMix(weights);
+            }
+        };
+    }
+
+    public Operation next(RandomGenerator random) {
+        int ticket = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (ticket < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        throw new AssertionError(); // ticket < total == cumulative[last]
+    }
+
+    public Map<Operation, Integer> weights() {
+        return weights;
+    }
+
+    // Canonical form, e.g. "get=85,multi-get=5,page=5,update=5", for the results.
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(entry -> entry.getKey().label() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+}
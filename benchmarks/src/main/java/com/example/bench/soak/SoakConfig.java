@@ -0,0 +1,117 @@
+package com.example.bench.soak;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Settings of one soak run. {@link #parse} reads them from {@code --name value} arguments;
+ * anything not given keeps the value from {@link #defaults()}.
+ *
+ * @param mix Which operations to issue and how often.
+ * @param keys Key distribution spec, see {@link KeyDistribution#parse}.
+ * @param rows Rows loaded before the run; reads, updates and patches pick among them.
+ * @param threads Concurrent workers.
+ * @param virtualThreads Run the workers on virtual threads instead of platform threads.
+ * @param rate Target operations per second over all workers, or 0 to run as fast as the
+ *             workers can. Latencies are only corrected for coordinated omission with a rate.
+ * @param warmup Time run first and left out of the results.
+ * @param duration Measured time after the warmup.
+ * @param reportInterval How often a progress line is printed (and written to the histogram log).
+ * @param seed Seed for every worker's random generator, so two runs issue the same operations.
+ * @param dao Which DAO {@link SoakRunner} builds: jdbc, cached or memory.
+ * @param output Where the JSON results go.
+ * @param histogramLog Optional HdrHistogram interval log (.hlog), or null.
+ * @param maxErrorRate {@link SoakRunner} exits with status 1 when more operations than this fraction fail.
+ */
+public record SoakConfig(OperationMix mix, String keys, int rows, int threads, boolean virtualThreads, int rate,
+                         Duration warmup, Duration duration, Duration reportInterval, long seed, String dao,
+                         Path output, Path histogramLog, double maxErrorRate) {
+
+    public SoakConfig {
+        if (rows <= 0 || threads <= 0 || rate < 0) {
+            throw new IllegalArgumentException("rows and threads must be positive and rate must not be negative");
+        }
+        if (duration.isZero() || duration.isNegative() || warmup.isNegative() || reportInterval.isZero() || reportInterval.isNegative()) {
+            throw new IllegalArgumentException("duration and report interval must be positive and warmup must not be negative");
+        }
+    }
+
+    public static SoakConfig defaults() {
+        return new SoakConfig(OperationMix.parse("read-heavy"), "zipfian", 10_000, 16, true, 0,
+                Duration.ofSeconds(10), Duration.ofSeconds(60), Duration.ofSeconds(10), 42, "jdbc",
+                Path.of("soak-result.json"), null, 0.01);
+    }
+
+    /**
+     * Example: {@code --mix write-heavy --keys uniform --threads 200 --rate 2000 --duration 30m}
+     */
+    public static SoakConfig parse(String[] args) {
+        SoakConfig config = defaults();
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            config = config.with(args[i], args[i + 1]);
+        }
+        return config;
+    }
+
+    private SoakConfig with(String option, String value) {
+        OperationMix mix = this.mix;
+        String keys = this.keys;
+        int rows = this.rows;
+        int threads = this.threads;
+        boolean virtualThreads = this.virtualThreads;
+        int rate = this.rate;
+        Duration warmup = this.warmup;
+        Duration duration = this.duration;
+        Duration reportInterval = this.reportInterval;
+        long seed = this.seed;
+        String dao = this.dao;
+        Path output = this.output;
+        Path histogramLog = this.histogramLog;
+        double maxErrorRate = this.maxErrorRate;
+        switch (option) {
+            case "--mix" -> mix = OperationMix.parse(value);
+            case "--keys" -> keys = value;
+            case "--rows" -> rows = Integer.parseInt(value);
+            case "--threads" -> threads = Integer.parseInt(value);
+            case "--thread-type" -> virtualThreads = switch (value) {
+                case "virtual" -> true;
+                case "platform" -> false;
+                default -> throw new IllegalArgumentException("--thread-type must be virtual or platform, got " + value);
+            };
+            case "--rate" -> rate = Integer.parseInt(value);
+            case "--warmup" -> warmup = parseDuration(value);
+            case "--duration" -> duration = parseDuration(value);
+            case "--report-interval" -> reportInterval = parseDuration(value);
+            case "--seed" -> seed = Long.parseLong(value);
+            case "--dao" -> dao = value;
+            case "--output" -> output = Path.of(value);
+            case "--hlog" -> histogramLog = Path.of(value);
+            case "--max-error-rate" -> maxErrorRate = Double.parseDouble(value);
+            default -> throw new IllegalArgumentException("Unknown option " + option);
+        }
+        return new SoakConfig(mix, keys, rows, threads, virtualThreads, rate, warmup, duration, reportInterval,
+                seed, dao, output, histogramLog, maxErrorRate);
+    }
+
+    // "500ms", "90s", "30m", "2h", or an ISO-8601 duration such as "PT1H30M".
+    static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.startsWith("pt")) {
+            return Duration.parse(value);
+        }
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        long amount = Long.parseLong(text.substring(0, text.length() - 1));
+        return switch (text.charAt(text.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unknown duration '" + value + "', expected e.g. 500ms, 90s, 30m or 2h");
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.bench.soak;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * What a soak run measured, per operation and in total, after the warmup.
+ * <p>
+ * {@code latency} is measured from when an operation was due to start, so with a rate limit it
+ * includes the time spent waiting behind slow operations (corrected for coordinated omission).
+ * {@code serviceTime} is measured from when the DAO call actually started. Without a rate the
+ * two are the same. Both only contain operations that succeeded; failures are counted in
+ * {@code errors} by exception type.
+ */
+public record SoakResult(SoakConfig config, Instant startedAt, double measuredSeconds,
+                         Map<Operation, OperationResult> operations, OperationResult total) {
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9, 99.99 };
+
+    /**
+     * @param skipped Operations that had nothing to do, e.g. a delete before anything was added.
+     */
+    public record OperationResult(long count, long errors, long skipped, Map<String, Long> errorTypes,
+                                  Histogram latency, Histogram serviceTime) {
+
+        public double errorRate() {
+            long attempts = count + errors;
+            return attempts == 0 ? 0 : (double) errors / attempts;
+        }
+    }
+
+    public double throughput() {
+        return total.count() / measuredSeconds;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%n%-16s %10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "ops", "ops/s", "errors", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us");
+        operations.forEach((operation, result) -> printRow(out, operation.label(), result));
+        printRow(out, "total", total);
+    }
+
+    private void printRow(PrintStream out, String label, OperationResult result) {
+        Histogram latency = result.latency();
+        out.printf("%-16s %10d %10.1f %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n", label, result.count(),
+                result.count() / measuredSeconds, result.errors(), micros(latency.getValueAtPercentile(50)),
+                micros(latency.getValueAtPercentile(90)), micros(latency.getValueAtPercentile(99)),
+                micros(latency.getValueAtPercentile(99.9)), micros(latency.getMaxValue()));
+    }
+
+    /**
+     * Writes the results as one JSON document. Besides the percentiles, each histogram is
+     * included in HdrHistogram's compressed, base64 form, so any percentile can be recomputed and
+     * runs can be merged or compared later (e.g. with {@code Histogram.fromString}).
+     */
+    public void writeJson(Path path) throws IOException {
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("{\n");
+            out.write("  \"startedAt\": " + string(startedAt.toString()) + ",\n");
+            out.write("  \"measuredSeconds\": " + measuredSeconds + ",\n");
+            out.write("  \"config\": {");
+            out.write("\"dao\": " + string(config.dao()));
+            out.write(", \"mix\": " + string(config.mix().toString()));
+            out.write(", \"keys\": " + string(config.keys()));
+            out.write(", \"rows\": " + config.rows());
+            out.write(", \"threads\": " + config.threads());
+            out.write(", \"threadType\": " + string(config.virtualThreads() ? "virtual" : "platform"));
+            out.write(", \"rate\": " + config.rate());
+            out.write(", \"warmupSeconds\": " + config.warmup().toMillis() / 1000.0);
+            out.write(", \"durationSeconds\": " + config.duration().toMillis() / 1000.0);
+            out.write(", \"seed\": " + config.seed());
+            out.write(", \"javaVersion\": " + string(System.getProperty("java.version")));
+            out.write(", \"availableProcessors\": " + Runtime.getRuntime().availableProcessors());
+            out.write("},\n");
+            out.write("  \"throughput\": " + throughput() + ",\n");
+            out.write("  \"total\": ");
+            writeOperation(out, total);
+            out.write(",\n  \"operations\": {");
+            String separator = "\n";
+            for (Map.Entry<Operation, OperationResult> entry : operations.entrySet()) {
+                out.write(separator + "    " + string(entry.getKey().label()) + ": ");
+                writeOperation(out, entry.getValue());
+                separator = ",\n";
+            }
+            out.write("\n  }\n}\n");
+        }
+    }
+
+    private void writeOperation(Writer out, OperationResult result) throws IOException {
+        out.write("{\"count\": " + result.count());
+        out.write(", \"throughput\": " + result.count() / measuredSeconds);
+        out.write(", \"errors\": " + result.errors());
+        out.write(", \"errorRate\": " + result.errorRate());
+        out.write(", \"skipped\": " + result.skipped());
+        out.write(", \"errorTypes\": {");
+        String separator = "";
+        for (Map.Entry<String, Long> entry : result.errorTypes().entrySet()) {
+            out.write(separator + string(entry.getKey()) + ": " + entry.getValue());
+            separator = ", ";
+        }
+        out.write("}, \"latencyMicros\": ");
+        writeHistogram(out, result.latency());
+        out.write(", \"serviceTimeMicros\": ");
+        writeHistogram(out, result.serviceTime());
+        out.write("}");
+    }
+
+    private static void writeHistogram(Writer out, Histogram histogram) throws IOException {
+        out.write("{\"min\": " + micros(histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue()));
+        out.write(", \"mean\": " + histogram.getMean() / 1000);
+        for (double percentile : PERCENTILES) {
+            out.write(", \"p" + (percentile == (long) percentile ? String.valueOf((long) percentile) : String.valueOf(percentile))
+                    + "\": " + micros(histogram.getValueAtPercentile(percentile)));
+        }
+        out.write(", \"max\": " + micros(histogram.getMaxValue()));
+        ByteBuffer encoded = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(encoded);
+        out.write(", \"histogram\": " + string(Base64.getEncoder().encodeToString(Arrays.copyOf(encoded.array(), length))));
+        out.write("}");
+    }
+
+    // Histograms record nanoseconds.
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    private static String string(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+}
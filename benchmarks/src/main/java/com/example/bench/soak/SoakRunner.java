@@ -0,0 +1,69 @@
+package com.example.bench.soak;
+
+import com.example.dao.CachingTutorialDAO;
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.dao.TutorialDAO;
+import com.example.dao.TutorialDAOImpl;
+import com.example.util.DBConnection;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Runs a {@link SoakTest} from the command line against the embedded H2 database of the
+ * benchmarks module (or no database for {@code --dao memory}), prints a summary and writes the
+ * results as JSON. Exits with status 1 if the error rate is above {@code --max-error-rate}.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.example.bench.soak.SoakRunner [--option value]...}
+ * <pre>
+ *   --dao jdbc|cached|memory        --mix read-heavy|write-heavy|scan|get=80,update=20,...
+ *   --keys uniform|zipfian[:theta]  --rows 10000   --threads 16   --thread-type virtual|platform
+ *   --rate 0 (ops/s, 0 = unlimited) --warmup 10s   --duration 60s --report-interval 10s
+ *   --seed 42   --output soak-result.json   --hlog soak.hlog   --max-error-rate 0.01
+ * </pre>
+ */
+public class SoakRunner {
+    public static void main(String[] args) throws InterruptedException, IOException, SQLException {
+        SoakConfig config = SoakConfig.parse(args);
+        SoakResult result;
+        try {
+            result = new SoakTest(createDAO(config.dao()), config).run();
+        } finally {
+            if (!config.dao().equals("memory")) {
+                DBConnection.shutdown();
+            }
+        }
+        result.print(System.out);
+        result.writeJson(config.output());
+        System.out.println("\nResults written to " + config.output());
+        if (result.total().errorRate() > config.maxErrorRate()) {
+            System.err.printf("Error rate %.4f is above the allowed %.4f: %s%n",
+                    result.total().errorRate(), config.maxErrorRate(), result.total().errorTypes());
+            System.exit(1);
+        }
+    }
+
+    private static TutorialDAO createDAO(String name) throws SQLException {
+        return switch (name) {
+            case "jdbc" -> {
+                truncate();
+                yield new TutorialDAOImpl();
+            }
+            case "cached" -> {
+                truncate();
+                yield new CachingTutorialDAO(new TutorialDAOImpl());
+            }
+            case "memory" -> new InMemoryTutorialDAO();
+            default -> throw new IllegalArgumentException("Unknown DAO '" + name + "', expected jdbc, cached or memory");
+        };
+    }
+
+    private static void truncate() throws SQLException {
+        try (Connection connection = DBConnection.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM tutorials");
+        }
+    }
+}
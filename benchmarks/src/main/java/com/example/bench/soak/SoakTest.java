@@ -0,0 +1,348 @@
+package com.example.bench.soak;
+
+import com.example.dao.BatchInsertResult;
+import com.example.dao.MultiGetResult;
+import com.example.dao.TutorialDAO;
+import com.example.dao.TutorialPatch;
+import com.example.dao.TutorialQuery;
+import com.example.model.Tutorial;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Drives any {@link TutorialDAO} with a configurable mix of operations for a fixed time and
+ * records throughput, latency percentiles and errors per operation.
+ * <p>
+ * {@link #run()} first loads {@code rows} tutorials through the DAO, then starts
+ * {@code threads} workers. Each worker picks an operation from the mix and a row from the key
+ * distribution. Reads, updates and patches only touch the loaded rows, which are never deleted,
+ * so a missing row is reported as an error. Deletes remove rows added during the run.
+ * <p>
+ * With a {@code rate}, operation n is due at {@code start + n / rate}, whichever worker takes
+ * it, and its latency is measured from that moment (coordinated omission correction, as in
+ * wrk2). When the DAO stalls, the operations that should have started meanwhile are not
+ * silently dropped: they start late and their wait shows up in the percentiles. Without a rate
+ * the workers run back to back and only the service time is known.
+ * <p>
+ * Latencies go into one HdrHistogram {@link Recorder} per operation, which workers write to
+ * without locking. Every {@code reportInterval} the calling thread swaps out the interval
+ * histograms, prints a progress line and adds them to the totals; what was recorded during the
+ * warmup is dropped.
+ */
+public final class SoakTest {
+    public static final int MULTI_GET_SIZE = 20;
+    public static final int PAGE_SIZE = 50;
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int AUTHORS = 100;
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final TutorialDAO dao;
+    private final SoakConfig config;
+    private final PrintStream progress;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    // Rows added during the run, for DELETE to remove.
+    private final ConcurrentLinkedDeque<Integer> added = new ConcurrentLinkedDeque<>();
+    private final AtomicLong nextTicket = new AtomicLong();
+    private int[] ids;
+    private KeyDistribution keys;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    // Per operation; everything here is written by the workers without locking.
+    private static final class OperationStats {
+        final Recorder latency = new Recorder(SIGNIFICANT_DIGITS);
+        final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+        final LongAdder skipped = new LongAdder();
+        final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        // Totals of the measured intervals; only touched by the thread calling run().
+        final Histogram totalLatency = new Histogram(SIGNIFICANT_DIGITS);
+        final Histogram totalServiceTime = new Histogram(SIGNIFICANT_DIGITS);
+        Histogram intervalLatency;
+        Histogram intervalServiceTime;
+
+        void recordError(RuntimeException e) {
+            errors.computeIfAbsent(e.getClass().getSimpleName(), type -> new LongAdder()).increment();
+        }
+    }
+
+    public SoakTest(TutorialDAO dao, SoakConfig config) {
+        this(dao, config, System.out);
+    }
+
+    // Progress lines go to progress; pass a stream that discards them for quiet runs.
+    public SoakTest(TutorialDAO dao, SoakConfig config, PrintStream progress) {
+        this.dao = dao;
+        this.config = config;
+        this.progress = progress;
+        for (Operation operation : config.mix().weights().keySet()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public SoakResult run() throws InterruptedException {
+        load();
+        List<Thread> workers = new ArrayList<>(config.threads());
+        ThreadFactory factory = config.virtualThreads()
+                ? Thread.ofVirtual().name("soak-worker-", 0).factory()
+                : Thread.ofPlatform().name("soak-worker-", 0).daemon().factory();
+        SplittableRandom seeds = new SplittableRandom(config.seed());
+        Instant startedAt = Instant.now();
+        startNanos = System.nanoTime();
+        long measureFrom = startNanos + config.warmup().toNanos();
+        endNanos = measureFrom + config.duration().toNanos();
+        for (int i = 0; i < config.threads(); i++) {
+            SplittableRandom random = seeds.split();
+            workers.add(factory.newThread(() -> work(random)));
+        }
+        workers.forEach(Thread::start);
+
+        HistogramLogWriter log = openLog();
+        try {
+            waitUntil(measureFrom);
+            dropWarmup();
+            long intervalStart = measureFrom;
+            for (long due = measureFrom; due < endNanos; ) {
+                due = Math.min(due + config.reportInterval().toNanos(), endNanos);
+                waitUntil(due);
+                if (due == endNanos) {
+                    for (Thread worker : workers) {
+                        worker.join(); // let operations that are still running finish and be counted
+                    }
+                }
+                collectInterval();
+                report(intervalStart, due, log);
+                intervalStart = due;
+            }
+        } finally {
+            if (log != null) {
+                log.close();
+            }
+        }
+        return result(startedAt);
+    }
+
+    // Inserts the rows the run reads and updates, in batches, before anything is measured.
+    private void load() {
+        ids = new int[config.rows()];
+        List<Tutorial> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        for (int i = 0; i < config.rows(); i += LOAD_BATCH_SIZE) {
+            batch.clear();
+            for (int j = i; j < Math.min(i + LOAD_BATCH_SIZE, config.rows()); j++) {
+                batch.add(newTutorial(j));
+            }
+            BatchInsertResult result = dao.addTutorials(batch);
+            if (result.hasFailures()) {
+                throw new IllegalStateException("Loading rows failed: " + result.failures().get(0).message());
+            }
+            for (int j = 0; j < batch.size(); j++) {
+                ids[i + j] = batch.get(j).getId();
+            }
+        }
+        keys = KeyDistribution.parse(config.keys(), ids.length);
+    }
+
+    private void work(RandomGenerator random) {
+        long interval = config.rate() > 0 ? 1_000_000_000L / config.rate() : 0;
+        while (true) {
+            long due;
+            if (interval > 0) {
+                due = startNanos + nextTicket.getAndIncrement() * interval;
+                if (due >= endNanos) {
+                    return;
+                }
+                waitUntil(due);
+            } else {
+                due = System.nanoTime();
+                if (due >= endNanos) {
+                    return;
+                }
+            }
+            Operation operation = config.mix().next(random);
+            OperationStats operationStats = stats.get(operation);
+            long started = System.nanoTime();
+            try {
+                if (!execute(operation, random)) {
+                    operationStats.skipped.increment();
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                operationStats.recordError(e);
+                continue;
+            }
+            long finished = System.nanoTime();
+            operationStats.latency.recordValue(finished - due);
+            operationStats.serviceTime.recordValue(finished - started);
+        }
+    }
+
+    // false if there was nothing to do.
+    private boolean execute(Operation operation, RandomGenerator random) {
+        switch (operation) {
+            case GET -> dao.getTutorialById(randomId(random));
+            case MULTI_GET -> {
+                int[] batch = new int[MULTI_GET_SIZE];
+                for (int i = 0; i < batch.length; i++) {
+                    batch[i] = randomId(random);
+                }
+                MultiGetResult result = dao.getTutorialsByIds(batch);
+                if (!result.allFound()) {
+                    throw new IllegalStateException("Loaded rows missing: " + result.missingIds());
+                }
+            }
+            case ADD -> {
+                Tutorial tutorial = newTutorial(random.nextInt(Integer.MAX_VALUE));
+                dao.addTutorial(tutorial);
+                added.add(tutorial.getId());
+            }
+            case UPDATE -> {
+                int id = randomId(random);
+                Tutorial tutorial = newTutorial(id);
+                tutorial.setId(id);
+                tutorial.setTitle("Updated Soak Tutorial " + id);
+                dao.updateTutorial(tutorial);
+            }
+            case PATCH -> dao.patchTutorial(TutorialPatch.of(randomId(random)).title("Patched Soak Tutorial " + random.nextInt()));
+            case DELETE -> {
+                Integer id = added.pollLast();
+                if (id == null) {
+                    return false;
+                }
+                dao.deleteTutorial(id);
+            }
+            case PAGE -> dao.getTutorialsAfter(randomId(random) - 1, PAGE_SIZE);
+            case FIND_BY_AUTHOR -> dao.findTutorials(TutorialQuery.builder()
+                    .author(author(keys.next(random))).limit(PAGE_SIZE).build());
+            case COUNT -> dao.countTutorials();
+        }
+        return true;
+    }
+
+    private int randomId(RandomGenerator random) {
+        return ids[keys.next(random)];
+    }
+
+    private static String author(int n) {
+        return "Soak Author " + (n % AUTHORS);
+    }
+
+    private static Tutorial newTutorial(int n) {
+        return new Tutorial("Soak Tutorial " + n, author(n), "https://example.com/soak/" + n,
+                LocalDate.of(2020, 1, 1).plusDays(n % 2000));
+    }
+
+    private static void waitUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    // Swaps out every recorder; the interval histograms stay in stats until the next call.
+    private void collectInterval() {
+        for (OperationStats operationStats : stats.values()) {
+            operationStats.intervalLatency = operationStats.latency.getIntervalHistogram(operationStats.intervalLatency);
+            operationStats.intervalServiceTime = operationStats.serviceTime.getIntervalHistogram(operationStats.intervalServiceTime);
+        }
+    }
+
+    // Forgets everything recorded so far; counts that race with the reset may land on either side.
+    private void dropWarmup() {
+        collectInterval();
+        for (OperationStats operationStats : stats.values()) {
+            operationStats.skipped.reset();
+            operationStats.errors.values().forEach(LongAdder::reset);
+        }
+    }
+
+    private void report(long intervalStart, long intervalEnd, HistogramLogWriter log) {
+        Histogram interval = new Histogram(SIGNIFICANT_DIGITS);
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            operationStats.totalLatency.add(operationStats.intervalLatency);
+            operationStats.totalServiceTime.add(operationStats.intervalServiceTime);
+            interval.add(operationStats.intervalLatency);
+            if (log != null) {
+                operationStats.intervalLatency.setStartTimeStamp(toMillis(intervalStart));
+                operationStats.intervalLatency.setEndTimeStamp(toMillis(intervalEnd));
+                operationStats.intervalLatency.setTag(entry.getKey().label());
+                log.outputIntervalHistogram(operationStats.intervalLatency);
+            }
+        }
+        double seconds = (intervalEnd - intervalStart) / 1e9;
+        progress.printf("[%5.0fs] %10.1f ops/s  p50 %8.1f us  p99 %8.1f us  max %10.1f us  errors %d%n",
+                (intervalEnd - startNanos - config.warmup().toNanos()) / 1e9, interval.getTotalCount() / seconds,
+                interval.getValueAtPercentile(50) / 1000.0, interval.getValueAtPercentile(99) / 1000.0,
+                interval.getMaxValue() / 1000.0, errorCount());
+    }
+
+    private long errorCount() {
+        return stats.values().stream().flatMap(operationStats -> operationStats.errors.values().stream())
+                .mapToLong(LongAdder::sum).sum();
+    }
+
+    // Wall-clock millis of a System.nanoTime() value, for the histogram log.
+    private long toMillis(long nanoTime) {
+        return System.currentTimeMillis() - (System.nanoTime() - nanoTime) / 1_000_000;
+    }
+
+    private HistogramLogWriter openLog() {
+        if (config.histogramLog() == null) {
+            return null;
+        }
+        try {
+            HistogramLogWriter log = new HistogramLogWriter(config.histogramLog().toFile());
+            log.outputLogFormatVersion();
+            log.outputStartTime(System.currentTimeMillis());
+            log.outputLegend();
+            return log;
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("Cannot write histogram log " + config.histogramLog(), e);
+        }
+    }
+
+    private SoakResult result(Instant startedAt) {
+        Map<Operation, SoakResult.OperationResult> operations = new EnumMap<>(Operation.class);
+        Histogram totalLatency = new Histogram(SIGNIFICANT_DIGITS);
+        Histogram totalServiceTime = new Histogram(SIGNIFICANT_DIGITS);
+        long skipped = 0;
+        Map<String, Long> errorTypes = new TreeMap<>();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            Map<String, Long> operationErrors = new TreeMap<>();
+            operationStats.errors.forEach((type, count) -> operationErrors.put(type, count.sum()));
+            operationErrors.forEach((type, count) -> errorTypes.merge(type, count, Long::sum));
+            operations.put(entry.getKey(), new SoakResult.OperationResult(operationStats.totalLatency.getTotalCount(),
+                    sum(operationErrors), operationStats.skipped.sum(), operationErrors,
+                    operationStats.totalLatency, operationStats.totalServiceTime));
+            totalLatency.add(operationStats.totalLatency);
+            totalServiceTime.add(operationStats.totalServiceTime);
+            skipped += operationStats.skipped.sum();
+        }
+        SoakResult.OperationResult total = new SoakResult.OperationResult(totalLatency.getTotalCount(),
+                sum(errorTypes), skipped, errorTypes, totalLatency, totalServiceTime);
+        return new SoakResult(config, startedAt, config.duration().toNanos() / 1e9, operations, total);
+    }
+
+    private static long sum(Map<String, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -1,22 +1,39 @@
 package com.example;
 
-import com.example.dao.TutorialDAO;
+import com.example.cli.BatchRunner;
+import com.example.dao.SearchingTutorialDAO;
 import com.example.dao.TutorialDAOImpl;
+import com.example.dao.TutorialPatch;
 import com.example.exceptions.DatabaseOperationException;
 import com.example.exceptions.TutorialNotFoundException;
+import com.example.export.ExportResult;
+import com.example.export.TutorialExporter;
+import com.example.importer.ImportOptions;
+import com.example.importer.ImportResult;
+import com.example.importer.TutorialImporter;
 import com.example.model.Tutorial;
+import com.example.search.SearchHit;
 
+import java.io.Console;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Scanner;
 
 public class TutorialManagementApp {
 
-    private static TutorialDAO tutorialDAO = new TutorialDAOImpl();
+    private static final int PAGE_SIZE = 100;
+    private static final int SEARCH_LIMIT = 20;
+    private static SearchingTutorialDAO tutorialDAO = new SearchingTutorialDAO(new TutorialDAOImpl());
     private static Scanner scanner = new Scanner(System.in);
     static void main(String[] args) {
+        if (args.length > 0 || !interactive()) {
+            // Script mode (arguments, or commands piped into stdin): no menu and no search index; see BatchRunner.
+            System.exit(BatchRunner.run(args, new TutorialDAOImpl(), System.in, System.out, System.err));
+        }
         int choice;
         do {
             displayMenu();
@@ -39,6 +56,15 @@ public class TutorialManagementApp {
                     case 5:
                         deleteTutorial();
                         break;
+                    case 6:
+                        searchTutorials();
+                        break;
+                    case 7:
+                        importTutorials();
+                        break;
+                    case 8:
+                        exportTutorials();
+                        break;
                     case 0:
                         System.out.println("Exiting Tutorial Management System.Goodbye!");
                         break;
@@ -64,6 +90,13 @@ public class TutorialManagementApp {
         } while (choice != 0);
         scanner.close();
     }
+
+    // Since JDK 22 System.console() is not null when stdin is redirected, so ask whether it is a terminal.
+    private static boolean interactive() {
+        Console console = System.console();
+        return console != null && console.isTerminal();
+    }
+
     private static void displayMenu() {
         System.out.println("\n--- Tutorial Management System ---");
         System.out.println("1. Add New Tutorial");
@@ -71,6 +104,9 @@ public class TutorialManagementApp {
         System.out.println("3. View Tutorial by ID");
         System.out.println("4. Update Tutorial");
         System.out.println("5. Delete Tutorial");
+        System.out.println("6. Search Tutorials");
+        System.out.println("7. Import Tutorials from CSV/JSON File");
+        System.out.println("8. Export Tutorials to File");
         System.out.println("0. Exit");
         System.out.print("Enter your choice: ");
     }
@@ -111,13 +147,20 @@ public class TutorialManagementApp {
     private static void viewAllTutorials() throws
             DatabaseOperationException {
         System.out.println("\n--- All Tutorials ---");
-        ArrayList<Tutorial> tutorials = tutorialDAO.getAllTutorials();
-        if (tutorials.isEmpty()) {
-            System.out.println("No tutorials found.");
-        } else {
-            for (Tutorial t : tutorials) {
+        // Page through the table by ID so only one page is held in memory at a time.
+        int lastId = 0;
+        boolean found = false;
+        List<Tutorial> page;
+        do {
+            page = tutorialDAO.getTutorialsAfter(lastId, PAGE_SIZE);
+            for (Tutorial t : page) {
                 System.out.println(t);
+                lastId = t.getId();
+                found = true;
             }
+        } while (page.size() == PAGE_SIZE);
+        if (!found) {
+            System.out.println("No tutorials found.");
         }
     }
     private static void viewTutorialById() throws
@@ -135,37 +178,38 @@ public class TutorialManagementApp {
         System.out.print("Enter Tutorial ID to update: ");
         int id = scanner.nextInt();
         scanner.nextLine(); // Consume newline
-        Tutorial existingTutorial = tutorialDAO.getTutorialById(id);
-        System.out.println("Existing Tutorial: " + existingTutorial);
-        System.out.print("Enter New Title (leave blank to keep current: '" +
-                existingTutorial.getTitle() + "'): ");
+        // Only the fields the user types are sent; the row is not read first.
+        TutorialPatch patch = TutorialPatch.of(id);
+        System.out.print("Enter New Title (leave blank to keep current): ");
         String newTitle = scanner.nextLine();
         if (!newTitle.trim().isEmpty()) {
-            existingTutorial.setTitle(newTitle);
+            patch.title(newTitle);
         }
-        System.out.print("Enter New Author (leave blank to keep current: '"
-                + existingTutorial.getAuthor() + "'): ");
+        System.out.print("Enter New Author (leave blank to keep current): ");
         String newAuthor = scanner.nextLine();
         if (!newAuthor.trim().isEmpty()) {
-            existingTutorial.setAuthor(newAuthor);
+            patch.author(newAuthor);
         }
-        System.out.print("Enter New URL (leave blank to keep current: '" +
-                existingTutorial.getUrl() + "'): ");
+        System.out.print("Enter New URL (leave blank to keep current): ");
         String newUrl = scanner.nextLine();
         if (!newUrl.trim().isEmpty()) {
-            existingTutorial.setUrl(newUrl);
+            patch.url(newUrl);
         }
-        System.out.print("Enter New Published Date (YYYY-MM-DD, leave blank to keep current: " + existingTutorial.getPublishedDate() + "): ");
+        System.out.print("Enter New Published Date (YYYY-MM-DD, leave blank to keep current): ");
         String newDateStr = scanner.nextLine();
         if (!newDateStr.trim().isEmpty()) {
             try {
-                existingTutorial.setPublishedDate(LocalDate.parse(newDateStr));
+                patch.publishedDate(LocalDate.parse(newDateStr));
             } catch (DateTimeParseException e) {
                 System.err.println("Invalid date format. Keeping current date.");
             }
         }
-        tutorialDAO.updateTutorial(existingTutorial);
-        System.out.println("Tutorial updated successfully!");
+        if (patch.isEmpty()) {
+            System.out.println("Nothing to update.");
+            return;
+        }
+        Tutorial updated = tutorialDAO.patchAndGetTutorial(patch);
+        System.out.println("Tutorial updated successfully: " + updated);
     }
     private static void deleteTutorial() throws TutorialNotFoundException,
             DatabaseOperationException {
@@ -176,5 +220,47 @@ public class TutorialManagementApp {
         tutorialDAO.deleteTutorial(id);
         System.out.println("Tutorial with ID " + id + " deleted successfully!");
     }
+    private static void searchTutorials() throws DatabaseOperationException {
+        System.out.println("\n--- Search Tutorials ---");
+        System.out.print("Enter words from the title or author: ");
+        String query = scanner.nextLine();
+        List<SearchHit> hits = tutorialDAO.searchTutorials(query, SEARCH_LIMIT);
+        if (hits.isEmpty()) {
+            System.out.println("No matching tutorials found.");
+        }
+        for (SearchHit hit : hits) {
+            System.out.println(hit.id() + ": " + hit.title() + " (" + hit.author() + ")");
+        }
+    }
+    private static void importTutorials() throws DatabaseOperationException {
+        System.out.println("\n--- Import Tutorials ---");
+        System.out.print("Enter path of the CSV or JSON file: ");
+        Path file = Path.of(scanner.nextLine().trim());
+        ImportOptions options = ImportOptions.builder()
+                .progressListener(p -> System.out.printf("  %.0f%% read, %d imported, %d rejected (%.0f rows/s)%n",
+                        p.percentComplete(), p.imported(), p.rejected(), p.rowsPerSecond()))
+                .build();
+        try {
+            ImportResult result = new TutorialImporter(tutorialDAO, options).importFile(file);
+            System.out.println("Imported " + result.imported() + " of " + result.records() + " records in "
+                    + result.elapsed().toMillis() + " ms.");
+            if (result.rejectFile() != null) {
+                System.out.println(result.rejected() + " rejected records were written to " + result.rejectFile());
+            }
+        } catch (IOException e) {
+            System.err.println("Import failed: " + e.getMessage());
+        }
+    }
+    private static void exportTutorials() throws DatabaseOperationException {
+        System.out.println("\n--- Export Tutorials ---");
+        System.out.print("Enter target file (.csv, .jsonl or .ttb, add .gz to compress): ");
+        Path file = Path.of(scanner.nextLine().trim());
+        try {
+            ExportResult result = new TutorialExporter().export(file);
+            System.out.println("Exported " + result.rows() + " tutorials (" + result.bytes() + " bytes) in "
+                    + result.elapsed().toMillis() + " ms.");
+        } catch (IOException e) {
+            System.err.println("Export failed: " + e.getMessage());
+        }
+    }
 }
-
@@ -0,0 +1,506 @@
+package com.example.cli;
+
+import com.example.dao.BatchInsertResult;
+import com.example.dao.MultiGetResult;
+import com.example.dao.TutorialDAO;
+import com.example.dao.TutorialOrder;
+import com.example.dao.TutorialPatch;
+import com.example.dao.TutorialQuery;
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.export.ExportResult;
+import com.example.export.TutorialExporter;
+import com.example.importer.ImportResult;
+import com.example.importer.TutorialImporter;
+import com.example.model.Tutorial;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Non-interactive mode of the console app: runs one command given on the command line, or a script
+ * of commands (one per line) from a file or standard input. Tutorials go to standard output in the
+ * chosen {@link OutputFormat} through one buffered writer; errors and summaries go to standard error
+ * as {@code <source>:<line>: <message>}.
+ * <pre>
+ * add title="Java Streams" author=Ann url=https://example.com/streams date=2024-01-31
+ * get 12 13
+ * list author=Ann from=2024-01-01 order=date limit=50
+ * update 12 title="Java Streams, 2nd edition" url=
+ * delete 12 13 14
+ * import tutorials.csv
+ * export backup.jsonl.gz
+ * </pre>
+ * An empty value ({@code url=}) clears the column. Lines starting with {@code #} are comments.
+ * Consecutive {@code add} lines are inserted together with {@link TutorialDAO#addTutorials}, so a
+ * failing row does not stop the other rows of its batch from being stored.
+ */
+public class BatchRunner {
+    public static final int EXIT_OK = 0;
+    // At least one command failed.
+    public static final int EXIT_FAILED = 1;
+    // Bad options, or the script could not be read.
+    public static final int EXIT_USAGE = 2;
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final String USAGE = """
+            Usage: TutorialManagementApp [options] [command [arguments...]]
+              -f, --format table|csv|json   output format (default table)
+              -s, --script FILE             run the commands in FILE, one per line ('-' for standard input)
+              -k, --keep-going              run the remaining commands after one fails
+              -h, --help                    print this help
+            Without a command or --script, commands are read from standard input.
+            Commands:
+              add title=T [author=A] [url=U] [date=YYYY-MM-DD]
+              get ID...
+              list [author=A] [from=YYYY-MM-DD] [to=YYYY-MM-DD] [order=id|date|date-desc] [limit=N]
+              update ID [title=T] [author=A] [url=U] [date=YYYY-MM-DD]
+              delete ID...
+              import FILE
+              export FILE
+            Exit status: 0 if every command succeeded, 1 if any failed, 2 for invalid options.""";
+
+    private final TutorialDAO tutorialDAO;
+    private final TutorialPrinter printer;
+    private final PrintStream err;
+    private final boolean keepGoing;
+    private final int addBatchSize;
+    private final int fetchSize;
+    private final List<Tutorial> pendingAdds = new ArrayList<>();
+    private final List<Line> pendingAddLines = new ArrayList<>();
+    private int failures;
+
+    public BatchRunner(TutorialDAO tutorialDAO, OutputFormat format, OutputStream out, PrintStream err, boolean keepGoing) {
+        this.tutorialDAO = tutorialDAO;
+        this.printer = new TutorialPrinter(format,
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE));
+        this.err = err;
+        this.keepGoing = keepGoing;
+        this.addBatchSize = TutorialDAO.DEFAULT_BATCH_SIZE;
+        this.fetchSize = TutorialDAO.DEFAULT_FETCH_SIZE;
+    }
+
+    // Where a command came from, for error messages.
+    private record Line(String source, int number) {
+        @Override
+        public String toString() {
+            return source + ":" + number;
+        }
+    }
+
+    /**
+     * Parses the command line and runs the command or script it names.
+     * @return The process exit status, one of the {@code EXIT_} constants.
+     */
+    public static int run(String[] args, TutorialDAO tutorialDAO, InputStream in, OutputStream out, PrintStream err) {
+        OutputFormat format = OutputFormat.TABLE;
+        String script = null;
+        boolean keepGoing = false;
+        int i = 0;
+        try {
+            for (; i < args.length && args[i].startsWith("-") && !args[i].equals("-"); i++) {
+                String arg = args[i];
+                String value = null;
+                int eq = arg.indexOf('=');
+                if (arg.startsWith("--") && eq > 0) {
+                    value = arg.substring(eq + 1);
+                    arg = arg.substring(0, eq);
+                }
+                switch (arg) {
+                    case "-f", "--format" -> format = OutputFormat.forName(value != null ? value : optionValue(args, ++i, arg));
+                    case "-s", "--script" -> script = value != null ? value : optionValue(args, ++i, arg);
+                    case "-k", "--keep-going" -> keepGoing = true;
+                    case "-h", "--help" -> {
+                        err.println(USAGE);
+                        return EXIT_OK;
+                    }
+                    default -> throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            if (script != null && i < args.length) {
+                throw new IllegalArgumentException("Give either a command or --script, not both");
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return EXIT_USAGE;
+        }
+
+        BatchRunner runner = new BatchRunner(tutorialDAO, format, out, err, keepGoing);
+        if (i < args.length) {
+            return runner.runCommand(List.of(args).subList(i, args.length));
+        }
+        if (script == null || script.equals("-")) {
+            return runner.runScript(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), "stdin");
+        }
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(script), StandardCharsets.UTF_8)) {
+            return runner.runScript(reader, script);
+        } catch (IOException e) {
+            err.println("Cannot read script " + script + ": " + e.getMessage());
+            return EXIT_USAGE;
+        }
+    }
+
+    private static String optionValue(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException(option + " needs a value");
+        }
+        return args[index];
+    }
+
+    // Runs a single command whose words were already split by the shell.
+    public int runCommand(List<String> words) {
+        Line line = new Line("args", 1);
+        execute(words, line);
+        flushAdds();
+        return finish();
+    }
+
+    /**
+     * Runs every command of the script, stopping at the first failure unless keep-going is set.
+     * @param source Name used in error messages, e.g. the script file.
+     */
+    public int runScript(BufferedReader script, String source) {
+        int number = 0;
+        try {
+            String text;
+            while ((text = script.readLine()) != null) {
+                Line line = new Line(source, ++number);
+                List<String> words;
+                try {
+                    words = split(text);
+                } catch (IllegalArgumentException e) {
+                    fail(line, e.getMessage());
+                    if (keepGoing) {
+                        continue;
+                    }
+                    break;
+                }
+                if (words.isEmpty() || words.get(0).startsWith("#")) {
+                    continue;
+                }
+                boolean ok = true;
+                if (!words.get(0).equalsIgnoreCase("add")) {
+                    ok = flushAdds();
+                }
+                ok = ok && execute(words, line);
+                if (!ok && !keepGoing) {
+                    break;
+                }
+            }
+            flushAdds();
+        } catch (IOException e) {
+            fail(new Line(source, number + 1), "Cannot read script: " + e.getMessage());
+        }
+        return finish();
+    }
+
+    private int finish() {
+        try {
+            printer.flush();
+        } catch (IOException e) {
+            err.println("Cannot write output: " + e.getMessage());
+            failures++;
+        }
+        return failures == 0 ? EXIT_OK : EXIT_FAILED;
+    }
+
+    private boolean execute(List<String> words, Line line) {
+        String command = words.get(0).toLowerCase(Locale.ROOT);
+        List<String> args = words.subList(1, words.size());
+        try {
+            return switch (command) {
+                case "add" -> add(args, line);
+                case "get" -> get(args, line);
+                case "list" -> list(args);
+                case "update" -> update(args);
+                case "delete" -> delete(args, line);
+                case "import" -> importFile(args, line);
+                case "export" -> exportFile(args, line);
+                default -> throw new IllegalArgumentException("Unknown command '" + words.get(0) + "'");
+            };
+        } catch (TutorialNotFoundException | DatabaseOperationException | IllegalArgumentException e) {
+            return fail(line, e.getMessage());
+        } catch (IOException e) {
+            return fail(line, "I/O error: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            return fail(line, "I/O error: " + e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            // Anything else the DAO throws (e.g. a closed pool) still fails just this line.
+            return fail(line, describe(e));
+        }
+    }
+
+    private static String describe(RuntimeException e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private boolean fail(Line line, String message) {
+        failures++;
+        err.println(line + ": " + message);
+        return false;
+    }
+
+    private boolean add(List<String> args, Line line) {
+        Map<String, String> fields = fields(args, 0, Set.of("title", "author", "url", "date"));
+        String title = fields.get("title");
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("add needs title=...");
+        }
+        pendingAdds.add(new Tutorial(title, emptyToNull(fields.get("author")), emptyToNull(fields.get("url")),
+                parseDate(fields.get("date"))));
+        pendingAddLines.add(line);
+        return pendingAdds.size() < addBatchSize || flushAdds();
+    }
+
+    // Inserts the queued add commands as one batch and prints the stored rows in script order.
+    private boolean flushAdds() {
+        if (pendingAdds.isEmpty()) {
+            return true;
+        }
+        try {
+            BatchInsertResult result = tutorialDAO.addTutorials(pendingAdds);
+            Set<Integer> failed = new HashSet<>();
+            for (BatchInsertResult.Failure failure : result.failures()) {
+                failed.add(failure.index());
+                fail(pendingAddLines.get(failure.index()), failure.message());
+            }
+            for (int i = 0; i < pendingAdds.size(); i++) {
+                if (!failed.contains(i)) {
+                    printer.print(pendingAdds.get(i));
+                }
+            }
+            return !result.hasFailures();
+        } catch (IOException e) {
+            return fail(pendingAddLines.get(0), "I/O error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return fail(pendingAddLines.get(0), describe(e));
+        } finally {
+            pendingAdds.clear();
+            pendingAddLines.clear();
+        }
+    }
+
+    // Looks up every ID, reporting the missing ones, so one typo does not hide the other rows.
+    private boolean get(List<String> args, Line line) throws IOException {
+        if (args.isEmpty()) {
+            throw new IllegalArgumentException("get needs at least one ID");
+        }
+        int[] ids = new int[args.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = parseId(args.get(i));
+        }
+        MultiGetResult result = tutorialDAO.getTutorialsByIds(ids);
+        for (Tutorial tutorial : result.tutorials().values()) {
+            printer.print(tutorial);
+        }
+        if (!result.allFound()) {
+            return fail(line, "No tutorial with ID " + result.missingIds().toString().replaceAll("[\\[\\]]", ""));
+        }
+        return true;
+    }
+
+    private boolean list(List<String> args) throws IOException {
+        TutorialQuery.TutorialQueryBuilder query = TutorialQuery.builder();
+        fields(args, 0, Set.of("author", "from", "to", "order", "limit")).forEach((key, value) -> {
+            switch (key) {
+                case "author" -> query.author(emptyToNull(value));
+                case "from" -> query.publishedFrom(parseDate(value));
+                case "to" -> query.publishedTo(parseDate(value));
+                case "order" -> query.order(parseOrder(value));
+                case "limit" -> query.limit(parseCount(value));
+            }
+        });
+        try (Stream<Tutorial> rows = tutorialDAO.streamTutorials(query.build(), fetchSize)) {
+            Iterator<Tutorial> it = rows.iterator();
+            while (it.hasNext()) {
+                printer.print(it.next());
+            }
+        }
+        return true;
+    }
+
+    private boolean update(List<String> args) throws IOException {
+        if (args.isEmpty()) {
+            throw new IllegalArgumentException("update needs an ID");
+        }
+        TutorialPatch patch = TutorialPatch.of(parseId(args.get(0)));
+        fields(args, 1, Set.of("title", "author", "url", "date")).forEach((key, value) -> {
+            switch (key) {
+                case "title" -> {
+                    if (value.isBlank()) {
+                        throw new IllegalArgumentException("title must not be empty");
+                    }
+                    patch.title(value);
+                }
+                case "author" -> patch.author(emptyToNull(value));
+                case "url" -> patch.url(emptyToNull(value));
+                case "date" -> patch.publishedDate(parseDate(value));
+            }
+        });
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("update needs at least one of title=, author=, url=, date=");
+        }
+        printer.print(tutorialDAO.patchAndGetTutorial(patch));
+        return true;
+    }
+
+    private boolean delete(List<String> args, Line line) {
+        if (args.isEmpty()) {
+            throw new IllegalArgumentException("delete needs at least one ID");
+        }
+        int[] ids = new int[args.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = parseId(args.get(i));
+        }
+        List<Integer> notFound = tutorialDAO.deleteTutorials(ids);
+        if (!notFound.isEmpty()) {
+            return fail(line, "No tutorial with ID " + notFound.toString().replaceAll("[\\[\\]]", ""));
+        }
+        return true;
+    }
+
+    private boolean importFile(List<String> args, Line line) throws IOException {
+        Path file = Path.of(singleArgument(args, "import needs a file"));
+        ImportResult result = new TutorialImporter(tutorialDAO).importFile(file);
+        err.println(line + ": imported " + result.imported() + " of " + result.records() + " records from " + file
+                + " in " + result.elapsed().toMillis() + " ms");
+        if (result.rejected() > 0) {
+            return fail(line, result.rejected() + " records were rejected, see " + result.rejectFile());
+        }
+        return true;
+    }
+
+    private boolean exportFile(List<String> args, Line line) throws IOException {
+        Path file = Path.of(singleArgument(args, "export needs a file"));
+        ExportResult result = new TutorialExporter(tutorialDAO).export(file);
+        err.println(line + ": exported " + result.rows() + " tutorials to " + file
+                + " in " + result.elapsed().toMillis() + " ms");
+        return true;
+    }
+
+    private static String singleArgument(List<String> args, String message) {
+        if (args.size() != 1) {
+            throw new IllegalArgumentException(message);
+        }
+        return args.get(0);
+    }
+
+    // Parses key=value arguments from index start on; later keys win.
+    private static Map<String, String> fields(List<String> args, int start, Set<String> keys) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (String arg : args.subList(start, args.size())) {
+            int eq = arg.indexOf('=');
+            String key = eq < 0 ? arg : arg.substring(0, eq).toLowerCase(Locale.ROOT);
+            if (eq < 0 || !keys.contains(key)) {
+                throw new IllegalArgumentException("Unexpected argument '" + arg + "' (expected one of " + keys + " as key=value)");
+            }
+            fields.put(key, arg.substring(eq + 1));
+        }
+        return fields;
+    }
+
+    private static int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + value + "' is not a tutorial ID");
+        }
+    }
+
+    private static int parseCount(String value) {
+        int count = parseId(value);
+        if (count < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        return count;
+    }
+
+    // An empty value means no date.
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("'" + value + "' is not a YYYY-MM-DD date");
+        }
+    }
+
+    private static TutorialOrder parseOrder(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "id" -> TutorialOrder.ID;
+            case "date" -> TutorialOrder.PUBLISHED_DATE;
+            case "date-desc" -> TutorialOrder.PUBLISHED_DATE_DESC;
+            default -> throw new IllegalArgumentException("Unknown order '" + value + "' (expected id, date or date-desc)");
+        };
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits a script line into words at whitespace. Double quotes group words and may appear inside
+     * a word ({@code title="Two words"}); within quotes, {@code \"} and {@code \\} are escapes.
+     */
+    static List<String> split(String line) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        boolean inWord = false;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    quoted = false;
+                } else if (c == '\\' && i + 1 < line.length() && (line.charAt(i + 1) == '"' || line.charAt(i + 1) == '\\')) {
+                    word.append(line.charAt(++i));
+                } else {
+                    word.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                inWord = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inWord) {
+                    words.add(word.toString());
+                    word.setLength(0);
+                    inWord = false;
+                }
+            } else {
+                word.append(c);
+                inWord = true;
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+        if (inWord) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.cli;
+
+import java.util.Locale;
+
+/**
+ * How {@link BatchRunner} writes the tutorials a command returns to standard output.
+ */
+public enum OutputFormat {
+    /**
+     * Aligned columns with a header line, for people. Long titles and authors are cut to the column width.
+     */
+    TABLE,
+    /**
+     * CSV with the export header ({@code tutorial_id,title,author,url,published_date}), written once
+     * for the whole run so the output of a script is a single CSV document.
+     */
+    CSV,
+    /**
+     * One JSON object per line with the same keys as the JSON Lines export.
+     */
+    JSON;
+
+    public static OutputFormat forName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown output format '" + name + "' (expected table, csv or json)");
+        }
+    }
+}
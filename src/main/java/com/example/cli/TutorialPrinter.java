@@ -0,0 +1,184 @@
+package com.example.cli;
+
+import com.example.model.Tutorial;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+/**
+ * Writes tutorials to a buffered writer in one {@link OutputFormat}. Rows are appended piecewise
+ * instead of going through {@code String.format} or {@code Tutorial.toString}, and nothing is
+ * flushed until the caller flushes the writer.
+ */
+class TutorialPrinter {
+    private static final int ID_WIDTH = 8;
+    private static final int TITLE_WIDTH = 40;
+    private static final int AUTHOR_WIDTH = 24;
+    private static final int DATE_WIDTH = 10;
+    private static final String CSV_HEADER = "tutorial_id,title,author,url,published_date";
+
+    private final OutputFormat format;
+    private final Writer out;
+    private boolean headerWritten;
+
+    TutorialPrinter(OutputFormat format, Writer out) {
+        this.format = format;
+        this.out = out;
+    }
+
+    void print(Tutorial tutorial) throws IOException {
+        switch (format) {
+            case TABLE -> printTableRow(tutorial);
+            case CSV -> printCsvRow(tutorial);
+            case JSON -> printJsonRow(tutorial);
+        }
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    private void printTableRow(Tutorial t) throws IOException {
+        if (!headerWritten) {
+            padLeft("ID", ID_WIDTH);
+            out.write("  ");
+            padRight("TITLE", TITLE_WIDTH);
+            out.write("  ");
+            padRight("AUTHOR", AUTHOR_WIDTH);
+            out.write("  ");
+            padRight("PUBLISHED", DATE_WIDTH);
+            out.write("  URL\n");
+            headerWritten = true;
+        }
+        padLeft(Integer.toString(t.getId()), ID_WIDTH);
+        out.write("  ");
+        padRight(t.getTitle(), TITLE_WIDTH);
+        out.write("  ");
+        padRight(t.getAuthor(), AUTHOR_WIDTH);
+        out.write("  ");
+        padRight(t.getPublishedDate() == null ? null : t.getPublishedDate().toString(), DATE_WIDTH);
+        out.write("  ");
+        if (t.getUrl() != null) {
+            out.write(t.getUrl());
+        }
+        out.write('\n');
+    }
+
+    private void padLeft(String value, int width) throws IOException {
+        for (int i = value.length(); i < width; i++) {
+            out.write(' ');
+        }
+        out.write(value);
+    }
+
+    // Pads to width, or cuts the value to width - 1 characters plus '~' when it is longer.
+    private void padRight(String value, int width) throws IOException {
+        int length = 0;
+        if (value != null) {
+            if (value.length() > width) {
+                out.write(value, 0, width - 1);
+                out.write('~');
+                return;
+            }
+            out.write(value);
+            length = value.length();
+        }
+        for (int i = length; i < width; i++) {
+            out.write(' ');
+        }
+    }
+
+    private void printCsvRow(Tutorial t) throws IOException {
+        if (!headerWritten) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+            headerWritten = true;
+        }
+        out.write(Integer.toString(t.getId()));
+        out.write(',');
+        writeCsvField(t.getTitle());
+        out.write(',');
+        writeCsvField(t.getAuthor());
+        out.write(',');
+        writeCsvField(t.getUrl());
+        out.write(',');
+        LocalDate date = t.getPublishedDate();
+        if (date != null) {
+            out.write(date.toString());
+        }
+        out.write('\n');
+    }
+
+    // Quotes only when needed; NULL is an empty field, like the CSV export.
+    private void writeCsvField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    private void printJsonRow(Tutorial t) throws IOException {
+        out.write("{\"id\":");
+        out.write(Integer.toString(t.getId()));
+        out.write(",\"title\":");
+        writeJsonString(t.getTitle());
+        out.write(",\"author\":");
+        writeJsonString(t.getAuthor());
+        out.write(",\"url\":");
+        writeJsonString(t.getUrl());
+        out.write(",\"published_date\":");
+        writeJsonString(t.getPublishedDate() == null ? null : t.getPublishedDate().toString());
+        out.write("}\n");
+    }
+
+    private void writeJsonString(String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+            out.write(value, start, i - start);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    out.write("\\u00");
+                    out.write(Character.forDigit(c >> 4, 16));
+                    out.write(Character.forDigit(c & 0xF, 16));
+                }
+            }
+            start = i + 1;
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+}
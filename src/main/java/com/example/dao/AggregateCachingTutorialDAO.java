@@ -0,0 +1,270 @@
+package com.example.dao;
+
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Answers the statistics methods of {@link TutorialDAO} from counts kept in memory instead of
+ * running an aggregate query each time, for dashboards that ask far more often than rows change.
+ * <p>
+ * The counts are loaded from the delegate on the first statistics call (or by
+ * {@link #reloadStatistics()}), reading only the ID, author and published date columns. After
+ * that, every add, update, patch and delete made through this DAO adjusts them: the author and
+ * date each row was counted under are remembered per ID, so a change moves exactly one count.
+ * Writes to the same ID are serialized from the delegate call until the counts are adjusted, so
+ * two concurrent updates of one row are counted in the order they committed.
+ * Changes made to the table by other means are only picked up by the next reload.
+ */
+public class AggregateCachingTutorialDAO extends DelegatingTutorialDAO {
+    private static final Set<TutorialColumn> COUNTED_COLUMNS = EnumSet.of(TutorialColumn.AUTHOR, TutorialColumn.PUBLISHED_DATE);
+    private static final int EXPECTED_ROWS = 1024;
+    private static final int WRITE_STRIPES = 64;
+
+    // Guards aggregates and loaded; the initial load holds it, so writes made meanwhile are applied after it.
+    private final Object lock = new Object();
+    private TutorialAggregates aggregates = new TutorialAggregates(EXPECTED_ROWS);
+    private boolean loaded;
+    // Held by writes from the delegate call until the counts are adjusted, one stripe per ID modulo WRITE_STRIPES.
+    private final ReentrantLock[] writeLocks = new ReentrantLock[WRITE_STRIPES];
+
+    public AggregateCachingTutorialDAO(TutorialDAO delegate) {
+        super(delegate);
+        for (int i = 0; i < WRITE_STRIPES; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+    }
+
+    // Locks the stripes of all given IDs in stripe order, so two batches cannot deadlock.
+    private List<ReentrantLock> lockWrites(IntStream ids) {
+        List<ReentrantLock> locked = ids.map(id -> Math.floorMod(id, WRITE_STRIPES)).distinct().sorted()
+                .mapToObj(stripe -> writeLocks[stripe])
+                .toList();
+        locked.forEach(ReentrantLock::lock);
+        return locked;
+    }
+
+    private static void unlock(List<ReentrantLock> locked) {
+        for (int i = locked.size() - 1; i >= 0; i--) {
+            locked.get(i).unlock();
+        }
+    }
+
+    /**
+     * Recounts everything from the delegate, e.g. after rows were changed outside this DAO.
+     */
+    public void reloadStatistics() throws DatabaseOperationException {
+        synchronized (lock) {
+            load();
+        }
+    }
+
+    // Recounted on the next statistics call.
+    @Override
+    protected void afterTransaction() {
+        synchronized (lock) {
+            loaded = false;
+        }
+    }
+
+    // Caller holds the lock.
+    private void load() {
+        TutorialAggregates fresh = new TutorialAggregates(EXPECTED_ROWS);
+        try (Stream<Tutorial> tutorials = delegate.streamAllTutorials(TutorialDAO.DEFAULT_FETCH_SIZE, COUNTED_COLUMNS)) {
+            tutorials.forEach(t -> fresh.put(t.getId(), t.getAuthor(), t.getPublishedDate()));
+        }
+        aggregates = fresh;
+        loaded = true;
+    }
+
+    // Caller holds the lock.
+    private TutorialAggregates loadedAggregates() {
+        if (!loaded) {
+            load();
+        }
+        return aggregates;
+    }
+
+    @Override
+    public long countTutorials() throws DatabaseOperationException {
+        synchronized (lock) {
+            return loadedAggregates().countTutorials();
+        }
+    }
+
+    @Override
+    public TutorialStats getTutorialStats() throws DatabaseOperationException {
+        synchronized (lock) {
+            return loadedAggregates().stats();
+        }
+    }
+
+    @Override
+    public Map<String, Long> countByAuthor() throws DatabaseOperationException {
+        synchronized (lock) {
+            return loadedAggregates().countByAuthor();
+        }
+    }
+
+    @Override
+    public Map<Year, Long> countByPublishedYear() throws DatabaseOperationException {
+        synchronized (lock) {
+            return loadedAggregates().countByPublishedYear();
+        }
+    }
+
+    @Override
+    public Map<YearMonth, Long> countByPublishedMonth() throws DatabaseOperationException {
+        synchronized (lock) {
+            return loadedAggregates().countByPublishedMonth();
+        }
+    }
+
+    // Before the first load there is nothing to adjust: the load will count the stored row.
+    private void counted(Tutorial tutorial) {
+        synchronized (lock) {
+            if (loaded) {
+                aggregates.put(tutorial.getId(), tutorial.getAuthor(), tutorial.getPublishedDate());
+            }
+        }
+    }
+
+    private void uncounted(int id) {
+        synchronized (lock) {
+            if (loaded) {
+                aggregates.remove(id);
+            }
+        }
+    }
+
+    // Adds take no write lock: no other write can name the new ID before it is returned.
+    @Override
+    public void addTutorial(Tutorial tutorial) throws DatabaseOperationException {
+        delegate.addTutorial(tutorial);
+        counted(tutorial);
+    }
+
+    @Override
+    public BatchInsertResult addTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        BatchInsertResult result = delegate.addTutorials(tutorials);
+        Set<Integer> failed = new HashSet<>();
+        for (BatchInsertResult.Failure failure : result.failures()) {
+            failed.add(failure.index());
+        }
+        int i = 0;
+        for (Tutorial tutorial : tutorials) {
+            if (!failed.contains(i++)) {
+                counted(tutorial);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void updateTutorial(Tutorial tutorial) throws TutorialNotFoundException, DatabaseOperationException {
+        List<ReentrantLock> locked = lockWrites(IntStream.of(tutorial.getId()));
+        try {
+            delegate.updateTutorial(tutorial);
+            counted(tutorial);
+        } finally {
+            unlock(locked);
+        }
+    }
+
+    @Override
+    public void deleteTutorial(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        List<ReentrantLock> locked = lockWrites(IntStream.of(id));
+        try {
+            delegate.deleteTutorial(id);
+            uncounted(id);
+        } finally {
+            unlock(locked);
+        }
+    }
+
+    // Title and URL patches do not change any count; author and date patches read the row back.
+    @Override
+    public void patchTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        if (patch.columns().contains(TutorialColumn.AUTHOR) || patch.columns().contains(TutorialColumn.PUBLISHED_DATE)) {
+            patchAndGetTutorial(patch);
+        } else {
+            delegate.patchTutorial(patch);
+        }
+    }
+
+    @Override
+    public Tutorial patchAndGetTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        List<ReentrantLock> locked = lockWrites(IntStream.of(patch.getId()));
+        try {
+            Tutorial tutorial = delegate.patchAndGetTutorial(patch);
+            counted(tutorial);
+            return tutorial;
+        } finally {
+            unlock(locked);
+        }
+    }
+
+    @Override
+    public WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) throws DatabaseOperationException {
+        List<ReentrantLock> locked = lockWrites(IntStream.concat(
+                batch.updates().stream().mapToInt(Tutorial::getId), IntStream.of(batch.deleteIds())));
+        try {
+            WriteBatchResult result = delegate.applyWriteBatch(batch);
+            Set<Integer> notFound = new HashSet<>(result.notFoundIds());
+            for (Tutorial tutorial : batch.updates()) {
+                if (!notFound.contains(tutorial.getId())) {
+                    counted(tutorial);
+                }
+            }
+            for (int id : batch.deleteIds()) {
+                uncounted(id);
+            }
+            return result;
+        } finally {
+            unlock(locked);
+        }
+    }
+
+    @Override
+    public List<Integer> deleteTutorials(int[] ids) throws DatabaseOperationException {
+        List<ReentrantLock> locked = lockWrites(IntStream.of(ids));
+        try {
+            List<Integer> notFound = delegate.deleteTutorials(ids);
+            for (int id : ids) {
+                uncounted(id);
+            }
+            return notFound;
+        } finally {
+            unlock(locked);
+        }
+    }
+
+    @Override
+    public List<Integer> updateTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        List<ReentrantLock> locked = lockWrites(tutorials.stream().mapToInt(Tutorial::getId));
+        try {
+            List<Integer> notFound = delegate.updateTutorials(tutorials);
+            Set<Integer> missing = new HashSet<>(notFound);
+            for (Tutorial tutorial : tutorials) {
+                if (!missing.contains(tutorial.getId())) {
+                    counted(tutorial);
+                }
+            }
+            return notFound;
+        } finally {
+            unlock(locked);
+        }
+    }
+}
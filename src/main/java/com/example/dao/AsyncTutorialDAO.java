@@ -0,0 +1,130 @@
+package com.example.dao;
+
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+import com.example.util.DBConnection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Non-blocking front end for a {@link TutorialDAO}.
+ * <p>
+ * Every call runs the blocking DAO method on its own virtual thread and returns a
+ * {@link CompletableFuture}. A semaphore sized to the connection pool limits how many calls
+ * are inside the DAO at once: extra callers park cheaply on the semaphore instead of piling
+ * up in the pool's borrow queue and timing out. Failures complete the future with the
+ * DAO's own {@link DatabaseOperationException} or {@link TutorialNotFoundException}.
+ */
+public class AsyncTutorialDAO implements AutoCloseable {
+    private final TutorialDAO delegate;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    // Allows as many concurrent calls as the shared connection pool has connections.
+    public AsyncTutorialDAO(TutorialDAO delegate) {
+        this(delegate, DBConnection.getPool().getMaxPoolSize());
+    }
+
+    public AsyncTutorialDAO(TutorialDAO delegate, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tutortrack-dao-", 0).factory());
+    }
+
+    // Completes with the same Tutorial object, now carrying its generated ID.
+    public CompletableFuture<Tutorial> addTutorial(Tutorial tutorial) {
+        return submit("addTutorial", () -> {
+            delegate.addTutorial(tutorial);
+            return tutorial;
+        });
+    }
+
+    public CompletableFuture<BatchInsertResult> addTutorials(Collection<Tutorial> tutorials) {
+        return submit("addTutorials", () -> delegate.addTutorials(tutorials));
+    }
+
+    public CompletableFuture<Tutorial> getTutorialById(int id) {
+        return submit("getTutorialById", () -> delegate.getTutorialById(id));
+    }
+
+    public CompletableFuture<MultiGetResult> getTutorialsByIds(int[] ids) {
+        return submit("getTutorialsByIds", () -> delegate.getTutorialsByIds(ids));
+    }
+
+    public CompletableFuture<ArrayList<Tutorial>> getAllTutorials() {
+        return submit("getAllTutorials", delegate::getAllTutorials);
+    }
+
+    public CompletableFuture<List<Tutorial>> getTutorialsAfter(int lastId, int limit) {
+        return submit("getTutorialsAfter", () -> delegate.getTutorialsAfter(lastId, limit));
+    }
+
+    public CompletableFuture<List<Tutorial>> findTutorials(TutorialQuery query) {
+        return submit("findTutorials", () -> delegate.findTutorials(query));
+    }
+
+    public CompletableFuture<Void> updateTutorial(Tutorial tutorial) {
+        return submit("updateTutorial", () -> {
+            delegate.updateTutorial(tutorial);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> deleteTutorial(int id) {
+        return submit("deleteTutorial", () -> {
+            delegate.deleteTutorial(id);
+            return null;
+        });
+    }
+
+    /**
+     * Stops accepting new calls and waits for the running ones to finish.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <T> CompletableFuture<T> submit(String operation, Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(operation, call, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new DatabaseOperationException("Error in " + operation + ": async DAO is closed", e));
+        }
+        return future;
+    }
+
+    private <T> void run(String operation, Callable<T> call, CompletableFuture<T> future) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            future.completeExceptionally(new DatabaseOperationException("Interrupted while waiting to run " + operation, e));
+            return;
+        }
+        try {
+            future.complete(call.call());
+        } catch (DatabaseOperationException | TutorialNotFoundException e) {
+            future.completeExceptionally(e);
+        } catch (Exception e) {
+            future.completeExceptionally(new DatabaseOperationException("Error in " + operation + ": " + e.getMessage(), e));
+        } catch (Throwable e) {
+            // Errors are passed on as they are; the future must still complete or callers wait forever.
+            future.completeExceptionally(e);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.dao;
+
+import com.example.model.Tutorial;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link TutorialDAO#addTutorials}: how many rows were stored and which ones were rejected.
+ * @param insertedCount Number of tutorials that were inserted and received an ID.
+ * @param failures The rows that could not be inserted, in input order.
+ */
+public record BatchInsertResult(int insertedCount, List<Failure> failures) {
+
+    /**
+     * A tutorial that could not be inserted.
+     * @param index Position of the tutorial in the collection passed to {@code addTutorials}.
+     * @param tutorial The rejected tutorial (its ID is left untouched).
+     * @param message Why the row was rejected.
+     */
+    public record Failure(int index, Tutorial tutorial, String message) {
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
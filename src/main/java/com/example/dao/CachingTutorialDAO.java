@@ -0,0 +1,265 @@
+package com.example.dao;
+
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-through cache for {@link TutorialDAO#getTutorialById}.
+ * <p>
+ * Entries are bounded by size (Caffeine's W-TinyLFU eviction) and can expire after a TTL.
+ * IDs that do not exist are remembered for a short time as well (negative caching), so
+ * repeated lookups of a missing ID do not reach the database either. Concurrent misses for
+ * the same ID wait for a single load. Writes made through this DAO invalidate the affected
+ * entries, and callers always get their own copy of a cached tutorial.
+ */
+public class CachingTutorialDAO extends DelegatingTutorialDAO {
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+    private static final int GENERATION_STRIPES = 1024;
+
+    // Optional.empty() marks an ID that is known not to exist.
+    private final LoadingCache<Integer, Optional<Tutorial>> cache;
+    private final boolean negativeCaching;
+    // Bumped by every invalidation, per stripe of IDs. A bulk load only stores an ID whose stripe
+    // did not move while it read the database, so it cannot put back a row a writer just dropped.
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public CachingTutorialDAO(TutorialDAO delegate) {
+        this(delegate, DEFAULT_MAXIMUM_SIZE, null, DEFAULT_NEGATIVE_TTL);
+    }
+
+    /**
+     * @param delegate The DAO that is read on a cache miss and receives all writes.
+     * @param maximumSize Maximum number of cached IDs (found and not found together).
+     * @param ttl How long a found tutorial stays cached, or {@code null} to keep it until evicted.
+     * @param negativeTtl How long a "not found" result stays cached, or {@code null} to disable negative caching.
+     */
+    public CachingTutorialDAO(TutorialDAO delegate, long maximumSize, Duration ttl, Duration negativeTtl) {
+        super(delegate);
+        this.negativeCaching = negativeTtl != null;
+        long ttlNanos = ttl != null ? ttl.toNanos() : Long.MAX_VALUE;
+        long negativeTtlNanos = negativeTtl != null ? negativeTtl.toNanos() : 0;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Integer, Optional<Tutorial>>() {
+                    @Override
+                    public long expireAfterCreate(Integer id, Optional<Tutorial> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Integer id, Optional<Tutorial> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Integer id, Optional<Tutorial> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build(this::load);
+    }
+
+    // Cache loader: runs once per missing ID, even when many threads ask for it at the same time.
+    private Optional<Tutorial> load(Integer id) {
+        try {
+            return Optional.of(delegate.getTutorialById(id));
+        } catch (TutorialNotFoundException e) {
+            // Returning null tells Caffeine not to cache anything for this ID.
+            return negativeCaching ? Optional.empty() : null;
+        }
+    }
+
+    // Bulk load for getTutorialsByIds: all IDs that missed the cache in one delegate call.
+    // Caffeine's own bulk loading stores the result after the read without holding the keys, so an
+    // invalidate landing in between would be lost; here each ID is stored against its generation instead.
+    private Map<Integer, Optional<Tutorial>> loadAll(Set<Integer> ids) {
+        Map<Integer, Long> seen = new HashMap<>();
+        for (int id : ids) {
+            seen.put(id, generations.get(stripe(id)));
+        }
+        MultiGetResult result = delegate.getTutorialsByIds(ids.stream().mapToInt(Integer::intValue).toArray());
+        Map<Integer, Optional<Tutorial>> loaded = new HashMap<>();
+        for (int id : ids) {
+            Tutorial tutorial = result.tutorials().get(id);
+            Optional<Tutorial> value = Optional.ofNullable(tutorial);
+            loaded.put(id, value);
+            if (tutorial == null && !negativeCaching) {
+                continue;
+            }
+            // Checked inside compute: an invalidate of the same ID waits for it, so either the
+            // generation has already moved or the invalidate removes what is stored here.
+            cache.asMap().compute(id, (key, current) -> current != null ? current
+                    : generations.get(stripe(key)) == seen.get(key) ? value : null);
+        }
+        return loaded;
+    }
+
+    private static int stripe(int id) {
+        return id & (GENERATION_STRIPES - 1);
+    }
+
+    private void invalidate(int id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    @Override
+    public Tutorial getTutorialById(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        Optional<Tutorial> cached = cache.get(id);
+        if (cached == null || cached.isEmpty()) {
+            throw new TutorialNotFoundException("Tutorial with ID " + id + " not found.");
+        }
+        return new Tutorial(cached.get());
+    }
+
+    // Cached IDs are answered from the cache; the rest are loaded with one getTutorialsByIds on the delegate.
+    @Override
+    public MultiGetResult getTutorialsByIds(int[] ids) throws DatabaseOperationException {
+        Set<Integer> keys = new LinkedHashSet<>();
+        for (int id : ids) {
+            keys.add(id);
+        }
+        Map<Integer, Optional<Tutorial>> cached = new HashMap<>(cache.getAllPresent(keys));
+        keys.removeAll(cached.keySet());
+        if (!keys.isEmpty()) {
+            cached.putAll(loadAll(keys));
+        }
+        return MultiGetResult.of(ids, id -> cached.get(id).map(Tutorial::new).orElse(null));
+    }
+
+    @Override
+    public void addTutorial(Tutorial tutorial) throws DatabaseOperationException {
+        delegate.addTutorial(tutorial);
+        // Drops a cached "not found" for the new ID; the row is loaded on its first read.
+        invalidate(tutorial.getId());
+    }
+
+    @Override
+    public BatchInsertResult addTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        BatchInsertResult result = delegate.addTutorials(tutorials);
+        for (Tutorial tutorial : tutorials) {
+            if (tutorial != null && tutorial.getId() != 0) {
+                invalidate(tutorial.getId());
+            }
+        }
+        return result;
+    }
+
+    // Writes invalidate instead of storing the new value: a put could race with another writer
+    // and leave an older version behind, while an invalidate always makes the next read go to the DB.
+    @Override
+    public void updateTutorial(Tutorial tutorial) throws TutorialNotFoundException, DatabaseOperationException {
+        try {
+            delegate.updateTutorial(tutorial);
+        } finally {
+            invalidate(tutorial.getId());
+        }
+    }
+
+    @Override
+    public void deleteTutorial(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        try {
+            delegate.deleteTutorial(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public void patchTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        try {
+            delegate.patchTutorial(patch);
+        } finally {
+            invalidate(patch.getId());
+        }
+    }
+
+    @Override
+    public Tutorial patchAndGetTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        try {
+            return delegate.patchAndGetTutorial(patch);
+        } finally {
+            invalidate(patch.getId());
+        }
+    }
+
+    @Override
+    public WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) throws DatabaseOperationException {
+        try {
+            return delegate.applyWriteBatch(batch);
+        } finally {
+            for (Tutorial tutorial : batch.updates()) {
+                invalidate(tutorial.getId());
+            }
+            for (int id : batch.deleteIds()) {
+                invalidate(id);
+            }
+        }
+    }
+
+    @Override
+    public List<Integer> deleteTutorials(int[] ids) throws DatabaseOperationException {
+        try {
+            return delegate.deleteTutorials(ids);
+        } finally {
+            for (int id : ids) {
+                invalidate(id);
+            }
+        }
+    }
+
+    @Override
+    public List<Integer> updateTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        try {
+            return delegate.updateTutorials(tutorials);
+        } finally {
+            for (Tutorial tutorial : tutorials) {
+                invalidate(tutorial.getId());
+            }
+        }
+    }
+
+    @Override
+    protected void afterTransaction() {
+        invalidateAll();
+    }
+
+    /**
+     * Drops every cached entry, e.g. after the table was changed outside this DAO.
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.dao;
+
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Base class for {@link TutorialDAO} decorators: every call is forwarded to the wrapped DAO,
+ * so a subclass only overrides the operations it adds behaviour to.
+ */
+public abstract class DelegatingTutorialDAO implements TutorialDAO {
+    protected final TutorialDAO delegate;
+
+    protected DelegatingTutorialDAO(TutorialDAO delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+        this.delegate = delegate;
+    }
+
+    public TutorialDAO getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void addTutorial(Tutorial tutorial) throws DatabaseOperationException {
+        delegate.addTutorial(tutorial);
+    }
+
+    @Override
+    public BatchInsertResult addTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        return delegate.addTutorials(tutorials);
+    }
+
+    @Override
+    public Tutorial getTutorialById(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        return delegate.getTutorialById(id);
+    }
+
+    @Override
+    public MultiGetResult getTutorialsByIds(int[] ids) throws DatabaseOperationException {
+        return delegate.getTutorialsByIds(ids);
+    }
+
+    @Override
+    public ArrayList<Tutorial> getAllTutorials() throws DatabaseOperationException {
+        return delegate.getAllTutorials();
+    }
+
+    @Override
+    public Stream<Tutorial> streamAllTutorials(int fetchSize) throws DatabaseOperationException {
+        return delegate.streamAllTutorials(fetchSize);
+    }
+
+    @Override
+    public Stream<Tutorial> streamAllTutorials(int fetchSize, Set<TutorialColumn> columns) throws DatabaseOperationException {
+        return delegate.streamAllTutorials(fetchSize, columns);
+    }
+
+    @Override
+    public List<Tutorial> getTutorialsAfter(int lastId, int limit) throws DatabaseOperationException {
+        return delegate.getTutorialsAfter(lastId, limit);
+    }
+
+    @Override
+    public List<Tutorial> getTutorialsAfter(int lastId, int limit, Set<TutorialColumn> columns) throws DatabaseOperationException {
+        return delegate.getTutorialsAfter(lastId, limit, columns);
+    }
+
+    @Override
+    public List<Tutorial> findTutorials(TutorialQuery query) throws DatabaseOperationException {
+        return delegate.findTutorials(query);
+    }
+
+    @Override
+    public Stream<Tutorial> streamTutorials(TutorialQuery query, int fetchSize) throws DatabaseOperationException {
+        return delegate.streamTutorials(query, fetchSize);
+    }
+
+    @Override
+    public long countTutorials() throws DatabaseOperationException {
+        return delegate.countTutorials();
+    }
+
+    @Override
+    public TutorialStats getTutorialStats() throws DatabaseOperationException {
+        return delegate.getTutorialStats();
+    }
+
+    @Override
+    public Map<String, Long> countByAuthor() throws DatabaseOperationException {
+        return delegate.countByAuthor();
+    }
+
+    @Override
+    public Map<Year, Long> countByPublishedYear() throws DatabaseOperationException {
+        return delegate.countByPublishedYear();
+    }
+
+    @Override
+    public Map<YearMonth, Long> countByPublishedMonth() throws DatabaseOperationException {
+        return delegate.countByPublishedMonth();
+    }
+
+    @Override
+    public TutorialChanges getChangesSince(long watermark, int limit) throws DatabaseOperationException {
+        return delegate.getChangesSince(watermark, limit);
+    }
+
+    @Override
+    public void updateTutorial(Tutorial tutorial) throws TutorialNotFoundException, DatabaseOperationException {
+        delegate.updateTutorial(tutorial);
+    }
+
+    @Override
+    public void deleteTutorial(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        delegate.deleteTutorial(id);
+    }
+
+    @Override
+    public void patchTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        delegate.patchTutorial(patch);
+    }
+
+    @Override
+    public Tutorial patchAndGetTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        return delegate.patchAndGetTutorial(patch);
+    }
+
+    @Override
+    public WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) throws DatabaseOperationException {
+        return delegate.applyWriteBatch(batch);
+    }
+
+    @Override
+    public List<Integer> deleteTutorials(int[] ids) throws DatabaseOperationException {
+        return delegate.deleteTutorials(ids);
+    }
+
+    @Override
+    public List<Integer> updateTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        return delegate.updateTutorials(tutorials);
+    }
+
+    /**
+     * Runs several calls as one transaction of the {@link TutorialDAOImpl} at the bottom of this
+     * decorator chain, see {@link TutorialDAOImpl#inTransaction(TransactionIsolation, Function)}.
+     * <p>
+     * The work is handed that undecorated DAO, and must not call a decorator itself: a decorator
+     * would update its cache, index or counts right away, and keep them after a rollback. Instead,
+     * every decorator in the chain gets {@link #beforeTransaction()} before the transaction starts
+     * and {@link #afterTransaction()} once it has ended, and brings itself up to date there.
+     * @throws UnsupportedOperationException If the chain does not end in a {@link TutorialDAOImpl}.
+     */
+    public <T> T inTransaction(TransactionIsolation isolation, Function<TutorialDAO, T> work) throws DatabaseOperationException {
+        beforeTransaction();
+        T result;
+        try {
+            if (delegate instanceof DelegatingTutorialDAO decorator) {
+                result = decorator.inTransaction(isolation, work);
+            } else if (delegate instanceof TutorialDAOImpl impl) {
+                result = impl.inTransaction(isolation, work);
+            } else {
+                throw new UnsupportedOperationException(delegate.getClass().getSimpleName() + " does not run transactions");
+            }
+        } catch (RuntimeException | Error e) {
+            // Usually rolled back, but a failed commit may still have been applied.
+            try {
+                afterTransaction();
+            } catch (RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        afterTransaction();
+        return result;
+    }
+
+    public <T> T inTransaction(Function<TutorialDAO, T> work) throws DatabaseOperationException {
+        return inTransaction(TransactionIsolation.READ_COMMITTED, work);
+    }
+
+    // Called before the wrapped DAO starts a transaction, e.g. to write out buffered changes first.
+    protected void beforeTransaction() throws DatabaseOperationException {
+    }
+
+    // Called after a transaction of the wrapped DAO, committed or not: the rows it changed are not
+    // known here, so a decorator drops or reloads everything it derived from the table.
+    protected void afterTransaction() throws DatabaseOperationException {
+    }
+}
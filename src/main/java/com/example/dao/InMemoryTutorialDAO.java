@@ -0,0 +1,791 @@
+package com.example.dao;
+
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link TutorialDAO} that keeps the whole table in process memory, for tests, edge nodes
+ * and read-heavy replicas.
+ * <p>
+ * Rows are stored column by column in parallel arrays (dates as epoch days) and found through
+ * an {@link IntSlotIndex}, so there is no {@code Integer} boxing and no per-row object besides
+ * the strings. Slots are appended in ID order, which keeps scans and keyset pages a binary
+ * search plus a sequential walk; deleted slots are compacted away once they make up half the
+ * storage.
+ * <p>
+ * It behaves like the {@code tutorials} table: IDs come from an identity counter starting at 1
+ * and are never reused, the ID of a tutorial passed to {@link #addTutorial} is ignored, and the
+ * NOT NULL and length constraints of the schema are enforced with a
+ * {@link DatabaseOperationException}. Callers always get their own Tutorial objects.
+ * <p>
+ * Writers take a {@link StampedLock} write lock. Readers use optimistic reads and only fall
+ * back to a read lock if a write happened meanwhile, so concurrent reads never block each other.
+ */
+public class InMemoryTutorialDAO implements TutorialDAO {
+    static final int MAX_TITLE_LENGTH = 255;
+    static final int MAX_AUTHOR_LENGTH = 100;
+    static final int MAX_URL_LENGTH = 500;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+    // The range of an Oracle DATE; stored days always fit in an int above NULL_DATE.
+    private static final LocalDate MIN_STORED_DATE = LocalDate.of(-4712, 1, 1);
+    private static final LocalDate MAX_STORED_DATE = LocalDate.of(9999, 12, 31);
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int MIN_COMPACT_SIZE = 64;
+
+    private final StampedLock lock = new StampedLock();
+    private final IntSlotIndex index;
+    // Replaced as a whole when storage grows or is compacted, so a reader always sees arrays of one generation.
+    private Columns columns;
+    private int used;      // slots in use, live or deleted
+    private int deleted;   // deleted slots not yet compacted away
+    private int nextId = 1;
+    // Change feed: the last version handed out, and the deletes in version order. An int is plenty
+    // for an in-process store and lets getChangesSince sort (version, slot) pairs packed in a long.
+    private int version;
+    private int[] tombstoneVersions = new int[16];
+    private int[] tombstoneIds = new int[16];
+    private int tombstones;
+
+    public InMemoryTutorialDAO() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InMemoryTutorialDAO(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("initialCapacity must be at least 1");
+        }
+        this.columns = new Columns(initialCapacity);
+        this.index = new IntSlotIndex(initialCapacity);
+    }
+
+    // Struct-of-arrays storage; slot i of every array belongs to the same row.
+    private static final class Columns {
+        final int[] ids;
+        final String[] titles;
+        final String[] authors;
+        final String[] urls;
+        final int[] publishedDays;
+        final int[] versions;
+        final boolean[] deleted;
+
+        Columns(int capacity) {
+            ids = new int[capacity];
+            titles = new String[capacity];
+            authors = new String[capacity];
+            urls = new String[capacity];
+            publishedDays = new int[capacity];
+            versions = new int[capacity];
+            deleted = new boolean[capacity];
+        }
+
+        int capacity() {
+            return ids.length;
+        }
+    }
+
+    @Override
+    public void addTutorial(Tutorial tutorial) throws DatabaseOperationException {
+        checkConstraints(tutorial);
+        long stamp = lock.writeLock();
+        try {
+            tutorial.setId(insert(tutorial));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public BatchInsertResult addTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        List<BatchInsertResult.Failure> failures = new ArrayList<>();
+        int inserted = 0;
+        long stamp = lock.writeLock();
+        try {
+            int i = 0;
+            for (Tutorial tutorial : tutorials) {
+                try {
+                    checkConstraints(tutorial);
+                    tutorial.setId(insert(tutorial));
+                    inserted++;
+                } catch (DatabaseOperationException e) {
+                    failures.add(new BatchInsertResult.Failure(i, tutorial, e.getMessage()));
+                }
+                i++;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return new BatchInsertResult(inserted, List.copyOf(failures));
+    }
+
+    // Caller holds the write lock.
+    private int insert(Tutorial tutorial) {
+        if (used == columns.capacity()) {
+            resizeStorage(Math.max(live() * 2, DEFAULT_CAPACITY));
+        }
+        int id = nextId++;
+        int slot = used++;
+        Columns c = columns;
+        c.ids[slot] = id;
+        write(c, slot, tutorial);
+        index.put(id, slot);
+        return id;
+    }
+
+    // Caller holds the write lock. Every write of a row gives it the next version.
+    private void write(Columns c, int slot, Tutorial tutorial) {
+        c.versions[slot] = ++version;
+        c.titles[slot] = tutorial.getTitle();
+        c.authors[slot] = tutorial.getAuthor();
+        c.urls[slot] = tutorial.getUrl();
+        c.publishedDays[slot] = tutorial.getPublishedDate() != null ? (int) tutorial.getPublishedDate().toEpochDay() : NULL_DATE;
+    }
+
+    @Override
+    public Tutorial getTutorialById(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        long stamp = lock.tryOptimisticRead();
+        Tutorial tutorial = stamp != 0 ? find(id) : null;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                tutorial = find(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (tutorial == null) {
+            throw new TutorialNotFoundException("Tutorial with ID " + id + " not found.");
+        }
+        return tutorial;
+    }
+
+    // All IDs are read under one optimistic stamp (or one read lock), so the result is one consistent state.
+    @Override
+    public MultiGetResult getTutorialsByIds(int[] ids) throws DatabaseOperationException {
+        Tutorial[] found = new Tutorial[ids.length];
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            findAll(ids, found);
+        }
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                findAll(ids, found);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        Map<Integer, Tutorial> byId = new HashMap<>(Math.max(16, ids.length * 2));
+        for (Tutorial tutorial : found) {
+            if (tutorial != null) {
+                byId.put(tutorial.getId(), tutorial);
+            }
+        }
+        return MultiGetResult.of(ids, byId::get);
+    }
+
+    private void findAll(int[] ids, Tutorial[] found) {
+        for (int i = 0; i < ids.length; i++) {
+            found[i] = find(ids[i]);
+        }
+    }
+
+    // May run without a lock: every index is bounds-checked, and the caller validates the result.
+    private Tutorial find(int id) {
+        Columns c = columns;
+        int slot = index.get(id);
+        if (slot < 0 || slot >= c.capacity() || c.ids[slot] != id || c.deleted[slot]) {
+            return null;
+        }
+        return read(c, slot, Projection.ALL);
+    }
+
+    @Override
+    public ArrayList<Tutorial> getAllTutorials() throws DatabaseOperationException {
+        return page(0, Integer.MAX_VALUE, Projection.ALL);
+    }
+
+    @Override
+    public Stream<Tutorial> streamAllTutorials(int fetchSize) throws DatabaseOperationException {
+        return streamAllTutorials(fetchSize, TutorialColumn.ALL);
+    }
+
+    @Override
+    public Stream<Tutorial> streamAllTutorials(int fetchSize, Set<TutorialColumn> columns) throws DatabaseOperationException {
+        return streamTutorials(TutorialQuery.builder().columns(columns).build(), fetchSize);
+    }
+
+    @Override
+    public List<Tutorial> findTutorials(TutorialQuery query) throws DatabaseOperationException {
+        query.validate();
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            List<Tutorial> page = select(query);
+            if (lock.validate(stamp)) {
+                return page;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return select(query);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Streams the matches page by page ({@code fetchSize} rows per page) without holding a lock
+     * in between, like a database cursor that reads committed data as it goes.
+     */
+    @Override
+    public Stream<Tutorial> streamTutorials(TutorialQuery query, int fetchSize) throws DatabaseOperationException {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be at least 1");
+        }
+        query.validate();
+        return StreamSupport.stream(new PageSpliterator(query, fetchSize), false);
+    }
+
+    // Filters slot by slot. ID order walks the slots from the keyset position and stops at the page
+    // size; date orders collect the matches and sort them. Safe without a lock (see find).
+    private List<Tutorial> select(TutorialQuery query) {
+        Columns c = columns;
+        int end = Math.min(used, c.capacity());
+        int limit = query.pageSize();
+        TutorialOrder order = query.getOrder();
+        Projection projection = Projection.of(query.getColumns(), order);
+        Filter filter = new Filter(query);
+
+        if (order == TutorialOrder.ID) {
+            int from = 0;
+            if (query.getAfterId() != null) {
+                from = Arrays.binarySearch(c.ids, 0, end, query.getAfterId());
+                from = from >= 0 ? from + 1 : -from - 1;
+            }
+            List<Tutorial> page = new ArrayList<>(Math.min(limit, Math.max(end - from, 0)));
+            for (int slot = from; slot < end && page.size() < limit; slot++) {
+                if (filter.matches(c, slot)) {
+                    page.add(read(c, slot, projection));
+                }
+            }
+            return page;
+        }
+
+        // Slots are in ID order, so (day, slot) sorts the same as (published_date, tutorial_id).
+        long[] keys = new long[Math.min(end, 1024)];
+        int matches = 0;
+        for (int slot = 0; slot < end; slot++) {
+            if (filter.matches(c, slot)) {
+                if (matches == keys.length) {
+                    keys = Arrays.copyOf(keys, Math.min(end, keys.length * 2));
+                }
+                keys[matches++] = ((long) c.publishedDays[slot] << 32) | slot;
+            }
+        }
+        Arrays.sort(keys, 0, matches);
+        List<Tutorial> page = new ArrayList<>(Math.min(limit, matches));
+        for (int i = 0; i < matches && page.size() < limit; i++) {
+            long key = order == TutorialOrder.PUBLISHED_DATE ? keys[i] : keys[matches - 1 - i];
+            page.add(read(c, (int) key, projection));
+        }
+        return page;
+    }
+
+    // The WHERE clause of a TutorialQuery, with dates turned into epoch days once.
+    private static final class Filter {
+        private final String author;
+        private final boolean needsDate;
+        private final int fromDay;
+        private final int toDay;
+        private final TutorialOrder order;
+        private final int afterId;
+        private final int afterDay;
+        private final boolean keyset;
+
+        Filter(TutorialQuery query) {
+            author = query.getAuthor();
+            order = query.getOrder();
+            needsDate = order.byPublishedDate() || query.getPublishedFrom() != null || query.getPublishedTo() != null;
+            fromDay = query.getPublishedFrom() != null ? clampedDay(query.getPublishedFrom()) : NULL_DATE + 1;
+            toDay = query.getPublishedTo() != null ? clampedDay(query.getPublishedTo()) : Integer.MAX_VALUE;
+            keyset = query.getAfterId() != null;
+            afterId = keyset ? query.getAfterId() : 0;
+            afterDay = keyset && query.getAfterPublishedDate() != null ? clampedDay(query.getAfterPublishedDate()) : NULL_DATE;
+        }
+
+        // A bound beyond the int day range is moved to its edge, and never down to NULL_DATE,
+        // so LocalDate.MIN does not match undated rows.
+        private static int clampedDay(LocalDate date) {
+            return (int) Math.clamp(date.toEpochDay(), NULL_DATE + 1L, Integer.MAX_VALUE);
+        }
+
+        boolean matches(Columns c, int slot) {
+            if (c.deleted[slot] || (author != null && !author.equals(c.authors[slot]))) {
+                return false;
+            }
+            int day = c.publishedDays[slot];
+            if (needsDate && (day == NULL_DATE || day < fromDay || day > toDay)) {
+                return false;
+            }
+            if (!keyset || order == TutorialOrder.ID) {
+                return true; // ID order applies its keyset by where the walk starts
+            }
+            int id = c.ids[slot];
+            return order == TutorialOrder.PUBLISHED_DATE
+                    ? day > afterDay || (day == afterDay && id > afterId)
+                    : day < afterDay || (day == afterDay && id < afterId);
+        }
+    }
+
+    @Override
+    public List<Tutorial> getTutorialsAfter(int lastId, int limit) throws DatabaseOperationException {
+        return getTutorialsAfter(lastId, limit, TutorialColumn.ALL);
+    }
+
+    @Override
+    public List<Tutorial> getTutorialsAfter(int lastId, int limit, Set<TutorialColumn> columns) throws DatabaseOperationException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return page(lastId, limit, Projection.of(columns));
+    }
+
+    private ArrayList<Tutorial> page(int lastId, int limit, Projection projection) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            ArrayList<Tutorial> page = scan(lastId, limit, projection);
+            if (lock.validate(stamp)) {
+                return page;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return scan(lastId, limit, projection);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Binary search for the first slot after lastId, then a sequential walk. Safe without a lock (see find).
+    private ArrayList<Tutorial> scan(int lastId, int limit, Projection projection) {
+        Columns c = columns;
+        int end = Math.min(used, c.capacity());
+        int from = Arrays.binarySearch(c.ids, 0, end, lastId);
+        from = from >= 0 ? from + 1 : -from - 1;
+        ArrayList<Tutorial> page = new ArrayList<>(Math.min(limit, Math.max(end - from, 0)));
+        for (int slot = from; slot < end && page.size() < limit; slot++) {
+            if (!c.deleted[slot]) {
+                page.add(read(c, slot, projection));
+            }
+        }
+        return page;
+    }
+
+    private static Tutorial read(Columns c, int slot, Projection projection) {
+        Tutorial tutorial = new Tutorial();
+        tutorial.setId(c.ids[slot]);
+        if (projection.title) {
+            tutorial.setTitle(c.titles[slot]);
+        }
+        if (projection.author) {
+            tutorial.setAuthor(c.authors[slot]);
+        }
+        if (projection.url) {
+            tutorial.setUrl(c.urls[slot]);
+        }
+        if (projection.publishedDate) {
+            int day = c.publishedDays[slot];
+            tutorial.setPublishedDate(day != NULL_DATE ? LocalDate.ofEpochDay(day) : null);
+        }
+        return tutorial;
+    }
+
+    @Override
+    public long countTutorials() throws DatabaseOperationException {
+        return size();
+    }
+
+    @Override
+    public TutorialStats getTutorialStats() throws DatabaseOperationException {
+        return aggregate().stats();
+    }
+
+    @Override
+    public Map<String, Long> countByAuthor() throws DatabaseOperationException {
+        return aggregate().countByAuthor();
+    }
+
+    @Override
+    public Map<Year, Long> countByPublishedYear() throws DatabaseOperationException {
+        return aggregate().countByPublishedYear();
+    }
+
+    @Override
+    public Map<YearMonth, Long> countByPublishedMonth() throws DatabaseOperationException {
+        return aggregate().countByPublishedMonth();
+    }
+
+    // One pass over the author and date columns, with the same optimistic read as findTutorials.
+    private TutorialAggregates aggregate() {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            TutorialAggregates aggregates = scanAggregates();
+            if (lock.validate(stamp)) {
+                return aggregates;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return scanAggregates();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private TutorialAggregates scanAggregates() {
+        Columns c = columns;
+        int end = Math.min(used, c.capacity());
+        TutorialAggregates aggregates = new TutorialAggregates(0);
+        for (int slot = 0; slot < end; slot++) {
+            if (!c.deleted[slot]) {
+                aggregates.count(c.authors[slot], c.publishedDays[slot]);
+            }
+        }
+        return aggregates;
+    }
+
+    @Override
+    public TutorialChanges getChangesSince(long watermark, int limit) throws DatabaseOperationException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            TutorialChanges changes = changesSince(watermark, limit);
+            if (lock.validate(stamp)) {
+                return changes;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return changesSince(watermark, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Live rows above the watermark, sorted by version, merged with the tombstones, which are
+    // already in version order. Safe without a lock (see find).
+    private TutorialChanges changesSince(long watermark, int limit) {
+        Columns c = columns;
+        int end = Math.min(used, c.capacity());
+        long[] keys = new long[Math.min(end, 1024)];
+        int matches = 0;
+        for (int slot = 0; slot < end; slot++) {
+            if (!c.deleted[slot] && c.versions[slot] > watermark) {
+                if (matches == keys.length) {
+                    keys = Arrays.copyOf(keys, Math.min(end, keys.length * 2));
+                }
+                keys[matches++] = ((long) c.versions[slot] << 32) | slot;
+            }
+        }
+        Arrays.sort(keys, 0, matches);
+
+        int[] deletedVersions = tombstoneVersions;
+        int[] deletedIds = tombstoneIds;
+        int deletes = Math.min(tombstones, Math.min(deletedVersions.length, deletedIds.length));
+        int t = firstAbove(deletedVersions, deletes, watermark);
+        List<TutorialChange> changes = new ArrayList<>(Math.min(limit, matches + deletes - t));
+        long last = watermark;
+        int r = 0;
+        while (changes.size() < limit && (r < matches || t < deletes)) {
+            int rowVersion = r < matches ? (int) (keys[r] >>> 32) : Integer.MAX_VALUE;
+            if (t < deletes && deletedVersions[t] < rowVersion) {
+                last = deletedVersions[t];
+                changes.add(new TutorialChange(last, deletedIds[t], null));
+                t++;
+            } else {
+                int slot = (int) keys[r++];
+                last = rowVersion;
+                changes.add(new TutorialChange(last, c.ids[slot], read(c, slot, Projection.ALL)));
+            }
+        }
+        return new TutorialChanges(changes, last);
+    }
+
+    // Binary search: index of the first of the sorted values[0, size) above the watermark.
+    private static int firstAbove(int[] values, int size, long watermark) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= watermark) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public void updateTutorial(Tutorial tutorial) throws TutorialNotFoundException, DatabaseOperationException {
+        checkConstraints(tutorial);
+        long stamp = lock.writeLock();
+        try {
+            int slot = index.get(tutorial.getId());
+            if (slot == IntSlotIndex.NOT_FOUND) {
+                throw new TutorialNotFoundException("Tutorial with ID " + tutorial.getId() + " not found for update.");
+            }
+            write(columns, slot, tutorial);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void patchTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        patchAndGetTutorial(patch);
+    }
+
+    @Override
+    public Tutorial patchAndGetTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch for tutorial " + patch.getId() + " sets no field");
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = index.get(patch.getId());
+            if (slot == IntSlotIndex.NOT_FOUND) {
+                throw new TutorialNotFoundException("Tutorial with ID " + patch.getId() + " not found for update.");
+            }
+            Tutorial tutorial = read(columns, slot, Projection.ALL);
+            patch.applyTo(tutorial);
+            checkConstraints(tutorial);
+            write(columns, slot, tutorial);
+            return tutorial;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void deleteTutorial(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        long stamp = lock.writeLock();
+        try {
+            if (!remove(id)) {
+                throw new TutorialNotFoundException("Tutorial with ID " + id + " not found for deletion.");
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Every update is checked against the constraints before anything is changed, so an invalid
+    // row leaves the store untouched, like a rolled back transaction.
+    @Override
+    public WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) throws DatabaseOperationException {
+        Collection<Tutorial> updates = batch.updates();
+        for (Tutorial tutorial : updates) {
+            checkConstraints(tutorial);
+        }
+        int[] deleteIds = batch.deleteIds();
+        List<Integer> notFound = new ArrayList<>();
+        int updated = 0;
+        int removed = 0;
+        long stamp = lock.writeLock();
+        try {
+            for (Tutorial tutorial : updates) {
+                int slot = index.get(tutorial.getId());
+                if (slot == IntSlotIndex.NOT_FOUND) {
+                    notFound.add(tutorial.getId());
+                } else {
+                    write(columns, slot, tutorial);
+                    updated++;
+                }
+            }
+            for (int id : deleteIds) {
+                if (remove(id)) {
+                    removed++;
+                } else {
+                    notFound.add(id);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return new WriteBatchResult(updated, removed, List.copyOf(notFound));
+    }
+
+    // Marks the row's slot deleted; caller holds the write lock. Compacts once half the slots are dead.
+    private boolean remove(int id) {
+        int slot = index.remove(id);
+        if (slot == IntSlotIndex.NOT_FOUND) {
+            return false;
+        }
+        Columns c = columns;
+        c.deleted[slot] = true;
+        c.titles[slot] = null;
+        c.authors[slot] = null;
+        c.urls[slot] = null;
+        deleted++;
+        if (tombstones == tombstoneVersions.length) {
+            tombstoneVersions = Arrays.copyOf(tombstoneVersions, tombstones * 2);
+            tombstoneIds = Arrays.copyOf(tombstoneIds, tombstones * 2);
+        }
+        tombstoneVersions[tombstones] = ++version;
+        tombstoneIds[tombstones] = id;
+        tombstones++;
+        if (used >= MIN_COMPACT_SIZE && deleted * 2 >= used) {
+            resizeStorage(Math.max(live() * 2, DEFAULT_CAPACITY));
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of tutorials currently stored.
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return live();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Removes every tutorial. Like TRUNCATE on an identity column, the ID counter keeps going,
+    // and like TRUNCATE it leaves no tombstones for the change feed.
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            columns = new Columns(DEFAULT_CAPACITY);
+            index.clear(DEFAULT_CAPACITY);
+            used = 0;
+            deleted = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private int live() {
+        return used - deleted;
+    }
+
+    // Copies the live rows into fresh arrays (dropping deleted slots) and re-points the index.
+    private void resizeStorage(int capacity) {
+        Columns old = columns;
+        Columns c = new Columns(Math.max(capacity, live() + 1));
+        int target = 0;
+        for (int slot = 0; slot < used; slot++) {
+            if (old.deleted[slot]) {
+                continue;
+            }
+            c.ids[target] = old.ids[slot];
+            c.titles[target] = old.titles[slot];
+            c.authors[target] = old.authors[slot];
+            c.urls[target] = old.urls[slot];
+            c.publishedDays[target] = old.publishedDays[slot];
+            c.versions[target] = old.versions[slot];
+            if (target != slot) {
+                index.put(c.ids[target], target);
+            }
+            target++;
+        }
+        columns = c;
+        used = target;
+        deleted = 0;
+    }
+
+    // Mirrors the NOT NULL and VARCHAR2 limits of the tutorials table; also used by WriteBehindTutorialDAO.
+    static void checkConstraints(Tutorial tutorial) {
+        if (tutorial.getTitle() == null) {
+            throw new DatabaseOperationException("Cannot store tutorial: title must not be null.");
+        }
+        checkLength("title", tutorial.getTitle(), MAX_TITLE_LENGTH);
+        checkLength("author", tutorial.getAuthor(), MAX_AUTHOR_LENGTH);
+        checkLength("url", tutorial.getUrl(), MAX_URL_LENGTH);
+        LocalDate date = tutorial.getPublishedDate();
+        if (date != null && (date.isBefore(MIN_STORED_DATE) || date.isAfter(MAX_STORED_DATE))) {
+            throw new DatabaseOperationException("Cannot store tutorial: published_date " + date + " is out of range.");
+        }
+    }
+
+    private static void checkLength(String column, String value, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new DatabaseOperationException("Cannot store tutorial: " + column + " is longer than " + maxLength + " characters.");
+        }
+    }
+
+    // Which optional columns a read fills in; the ID is always set.
+    private record Projection(boolean title, boolean author, boolean url, boolean publishedDate) {
+        static final Projection ALL = new Projection(true, true, true, true);
+
+        static Projection of(Set<TutorialColumn> columns) {
+            return of(columns, TutorialOrder.ID);
+        }
+
+        // Date orders page on published_date, so it is always filled in for them.
+        static Projection of(Set<TutorialColumn> columns, TutorialOrder order) {
+            if (columns.containsAll(TutorialColumn.ALL)) {
+                return ALL;
+            }
+            return new Projection(columns.contains(TutorialColumn.TITLE), columns.contains(TutorialColumn.AUTHOR),
+                    columns.contains(TutorialColumn.URL), order.byPublishedDate() || columns.contains(TutorialColumn.PUBLISHED_DATE));
+        }
+    }
+
+    // Fetches the next page with findTutorials whenever the current one is used up.
+    private final class PageSpliterator extends Spliterators.AbstractSpliterator<Tutorial> {
+        private final int fetchSize;
+        private TutorialQuery query;
+        private long remaining;
+        private List<Tutorial> page = List.of();
+        private int position;
+        private boolean exhausted;
+
+        private PageSpliterator(TutorialQuery query, int fetchSize) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+            this.fetchSize = fetchSize;
+            this.query = query;
+            this.remaining = query.getLimit() == TutorialQuery.NO_LIMIT ? Long.MAX_VALUE : query.getLimit();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Tutorial> action) {
+            if (position == page.size()) {
+                if (exhausted || remaining == 0) {
+                    return false;
+                }
+                int pageSize = (int) Math.min(fetchSize, remaining);
+                page = findTutorials(query.toBuilder().limit(pageSize).build());
+                position = 0;
+                exhausted = page.size() < pageSize;
+                if (page.isEmpty()) {
+                    return false;
+                }
+                query = query.after(page.get(page.size() - 1));
+            }
+            remaining--;
+            action.accept(page.get(position++));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.dao;
+
+/**
+ * Open-addressing hash map from a positive int key to an int slot, without boxing.
+ * <p>
+ * Keys and slots are interleaved in a single {@code int[]} ({@code [key0, slot0, key1, slot1, ...]})
+ * so a lookup touches one cache line and always sees a key and slot from the same table, even
+ * when it races with a resize. Collisions use linear probing and removals use backward-shift
+ * deletion, so there are no tombstones and lookups never slow down after many deletes.
+ * <p>
+ * Not thread-safe: {@link InMemoryTutorialDAO} serialises writers and validates optimistic readers.
+ */
+final class IntSlotIndex {
+    static final int NOT_FOUND = -1;
+    private static final int EMPTY = 0; // tutorial IDs start at 1, so 0 never is a real key
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] table;
+    private int size;
+
+    IntSlotIndex(int expectedSize) {
+        table = new int[2 * capacityFor(expectedSize)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The slot stored for {@code key}, or {@link #NOT_FOUND}. Never loops forever, even
+     *         if the table is being modified concurrently (the caller must then discard the result).
+     */
+    int get(int key) {
+        int[] t = table;
+        int mask = (t.length >> 1) - 1;
+        int i = hash(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            int k = t[i << 1];
+            if (k == key) {
+                return t[(i << 1) + 1];
+            }
+            if (k == EMPTY) {
+                return NOT_FOUND;
+            }
+            i = (i + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    void put(int key, int slot) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("key must be positive: " + key);
+        }
+        if ((size + 1) * 2 > table.length >> 1) { // keep the load factor at or below 0.5
+            resize(table.length); // doubles the number of entries
+        }
+        int[] t = table;
+        int mask = (t.length >> 1) - 1;
+        int i = hash(key) & mask;
+        while (true) {
+            int k = t[i << 1];
+            if (k == key) {
+                t[(i << 1) + 1] = slot;
+                return;
+            }
+            if (k == EMPTY) {
+                t[(i << 1) + 1] = slot;
+                t[i << 1] = key;
+                size++;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * @return The slot that was stored for {@code key}, or {@link #NOT_FOUND}.
+     */
+    int remove(int key) {
+        int[] t = table;
+        int mask = (t.length >> 1) - 1;
+        int i = hash(key) & mask;
+        while (true) {
+            int k = t[i << 1];
+            if (k == EMPTY) {
+                return NOT_FOUND;
+            }
+            if (k == key) {
+                break;
+            }
+            i = (i + 1) & mask;
+        }
+        int removed = t[(i << 1) + 1];
+        // Backward-shift: pull later entries of the same probe run into the hole.
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int k = t[j << 1];
+            if (k == EMPTY) {
+                break;
+            }
+            int home = hash(k) & mask;
+            boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                t[(i << 1) + 1] = t[(j << 1) + 1];
+                t[i << 1] = k;
+                i = j;
+            }
+        }
+        t[i << 1] = EMPTY;
+        t[(i << 1) + 1] = 0;
+        size--;
+        return removed;
+    }
+
+    void clear(int expectedSize) {
+        table = new int[2 * capacityFor(expectedSize)];
+        size = 0;
+    }
+
+    private void resize(int newCapacity) {
+        int[] old = table;
+        int[] t = new int[2 * newCapacity];
+        int mask = newCapacity - 1;
+        for (int e = 0; e < old.length; e += 2) {
+            int k = old[e];
+            if (k != EMPTY) {
+                int i = hash(k) & mask;
+                while (t[i << 1] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                t[i << 1] = k;
+                t[(i << 1) + 1] = old[e + 1];
+            }
+        }
+        table = t; // published in one write, so readers see either the old or the new table
+    }
+
+    // Fibonacci hashing spreads sequential IDs evenly over the table.
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int wanted = Math.max(MIN_CAPACITY, expectedSize * 2);
+        return Integer.highestOneBit(wanted - 1) << 1;
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.dao;
+
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.metrics.DaoMetrics;
+import com.example.metrics.DaoOperationEvent;
+import com.example.metrics.OperationMetrics;
+import com.example.model.Tutorial;
+
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Records latency, row counts and failures of every call to the wrapped DAO in a
+ * {@link DaoMetrics} registry, and emits a {@link DaoOperationEvent} for JDK Flight Recorder.
+ * <p>
+ * Per-operation counters are looked up once in the constructor, so a call only pays for two
+ * {@code nanoTime()} reads and a few atomic increments. Streams are measured from the moment
+ * they are opened until they are closed.
+ */
+public class MetricsTutorialDAO extends DelegatingTutorialDAO {
+    private final DaoMetrics metrics;
+    private final OperationMetrics addTutorial;
+    private final OperationMetrics addTutorials;
+    private final OperationMetrics getTutorialById;
+    private final OperationMetrics getTutorialsByIds;
+    private final OperationMetrics getAllTutorials;
+    private final OperationMetrics streamAllTutorials;
+    private final OperationMetrics getTutorialsAfter;
+    private final OperationMetrics findTutorials;
+    private final OperationMetrics streamTutorials;
+    private final OperationMetrics countTutorials;
+    private final OperationMetrics getTutorialStats;
+    private final OperationMetrics countByAuthor;
+    private final OperationMetrics countByPublishedYear;
+    private final OperationMetrics countByPublishedMonth;
+    private final OperationMetrics getChangesSince;
+    private final OperationMetrics updateTutorial;
+    private final OperationMetrics deleteTutorial;
+    private final OperationMetrics patchTutorial;
+    private final OperationMetrics patchAndGetTutorial;
+    private final OperationMetrics applyWriteBatch;
+    private final OperationMetrics deleteTutorials;
+    private final OperationMetrics updateTutorials;
+
+    public MetricsTutorialDAO(TutorialDAO delegate) {
+        this(delegate, new DaoMetrics());
+    }
+
+    public MetricsTutorialDAO(TutorialDAO delegate, DaoMetrics metrics) {
+        super(delegate);
+        this.metrics = metrics;
+        this.addTutorial = metrics.operation("addTutorial");
+        this.addTutorials = metrics.operation("addTutorials");
+        this.getTutorialById = metrics.operation("getTutorialById");
+        this.getTutorialsByIds = metrics.operation("getTutorialsByIds");
+        this.getAllTutorials = metrics.operation("getAllTutorials");
+        this.streamAllTutorials = metrics.operation("streamAllTutorials");
+        this.getTutorialsAfter = metrics.operation("getTutorialsAfter");
+        this.findTutorials = metrics.operation("findTutorials");
+        this.streamTutorials = metrics.operation("streamTutorials");
+        this.countTutorials = metrics.operation("countTutorials");
+        this.getTutorialStats = metrics.operation("getTutorialStats");
+        this.countByAuthor = metrics.operation("countByAuthor");
+        this.countByPublishedYear = metrics.operation("countByPublishedYear");
+        this.countByPublishedMonth = metrics.operation("countByPublishedMonth");
+        this.getChangesSince = metrics.operation("getChangesSince");
+        this.updateTutorial = metrics.operation("updateTutorial");
+        this.deleteTutorial = metrics.operation("deleteTutorial");
+        this.patchTutorial = metrics.operation("patchTutorial");
+        this.patchAndGetTutorial = metrics.operation("patchAndGetTutorial");
+        this.applyWriteBatch = metrics.operation("applyWriteBatch");
+        this.deleteTutorials = metrics.operation("deleteTutorials");
+        this.updateTutorials = metrics.operation("updateTutorials");
+    }
+
+    public DaoMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void addTutorial(Tutorial tutorial) throws DatabaseOperationException {
+        measure(addTutorial, () -> delegate.addTutorial(tutorial));
+    }
+
+    @Override
+    public BatchInsertResult addTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        return measure(addTutorials, () -> delegate.addTutorials(tutorials), BatchInsertResult::insertedCount);
+    }
+
+    @Override
+    public Tutorial getTutorialById(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        return measure(getTutorialById, () -> delegate.getTutorialById(id), tutorial -> 1);
+    }
+
+    // Rows are the tutorials found; missing IDs are not a failure.
+    @Override
+    public MultiGetResult getTutorialsByIds(int[] ids) throws DatabaseOperationException {
+        return measure(getTutorialsByIds, () -> delegate.getTutorialsByIds(ids), result -> result.tutorials().size());
+    }
+
+    @Override
+    public ArrayList<Tutorial> getAllTutorials() throws DatabaseOperationException {
+        return measure(getAllTutorials, delegate::getAllTutorials, ArrayList::size);
+    }
+
+    @Override
+    public Stream<Tutorial> streamAllTutorials(int fetchSize) throws DatabaseOperationException {
+        return streamAllTutorials(fetchSize, TutorialColumn.ALL);
+    }
+
+    @Override
+    public Stream<Tutorial> streamAllTutorials(int fetchSize, Set<TutorialColumn> columns) throws DatabaseOperationException {
+        return measureStream(streamAllTutorials, () -> delegate.streamAllTutorials(fetchSize, columns));
+    }
+
+    // A stream is timed from opening to closing and counts the rows that were actually consumed.
+    // It is recorded as failed if reading a row threw, even when the caller goes on to close it normally.
+    private static Stream<Tutorial> measureStream(OperationMetrics operation, Supplier<Stream<Tutorial>> open) {
+        DaoOperationEvent event = begin();
+        long start = System.nanoTime();
+        Stream<Tutorial> stream;
+        try {
+            stream = open.get();
+        } catch (RuntimeException e) {
+            failure(operation, event, start, e);
+            throw e;
+        }
+        MeasuredRows rows = new MeasuredRows(stream.spliterator());
+        return StreamSupport.stream(rows, stream.isParallel())
+                .onClose(stream::close)
+                .onClose(() -> {
+                    if (rows.failure != null) {
+                        failure(operation, event, start, rows.failure);
+                    } else {
+                        success(operation, event, start, rows.count);
+                    }
+                });
+    }
+
+    /**
+     * Counts the rows read from a stream's source and remembers the first exception the source
+     * threw. Exceptions thrown by the caller's own code for a row are not the DAO's and are not recorded.
+     */
+    private static final class MeasuredRows extends Spliterators.AbstractSpliterator<Tutorial> {
+        private final Spliterator<Tutorial> source;
+        private long count;
+        private boolean inCaller;
+        private volatile RuntimeException failure;
+
+        MeasuredRows(Spliterator<Tutorial> source) {
+            // Never SIZED, so terminal operations such as count() really read and count the rows.
+            super(source.estimateSize(), source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED));
+            this.source = source;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Tutorial> action) {
+            try {
+                return source.tryAdvance(tutorial -> {
+                    count++;
+                    inCaller = true;
+                    action.accept(tutorial);
+                    inCaller = false;
+                });
+            } catch (RuntimeException e) {
+                if (!inCaller && failure == null) {
+                    failure = e;
+                }
+                inCaller = false;
+                throw e;
+            }
+        }
+    }
+
+    // Statistics count one row per result row: 1 for a count, one per group otherwise.
+    @Override
+    public long countTutorials() throws DatabaseOperationException {
+        return measure(countTutorials, delegate::countTutorials, count -> 1);
+    }
+
+    @Override
+    public TutorialStats getTutorialStats() throws DatabaseOperationException {
+        return measure(getTutorialStats, delegate::getTutorialStats, stats -> 1);
+    }
+
+    @Override
+    public Map<String, Long> countByAuthor() throws DatabaseOperationException {
+        return measure(countByAuthor, delegate::countByAuthor, Map::size);
+    }
+
+    @Override
+    public Map<Year, Long> countByPublishedYear() throws DatabaseOperationException {
+        return measure(countByPublishedYear, delegate::countByPublishedYear, Map::size);
+    }
+
+    @Override
+    public Map<YearMonth, Long> countByPublishedMonth() throws DatabaseOperationException {
+        return measure(countByPublishedMonth, delegate::countByPublishedMonth, Map::size);
+    }
+
+    @Override
+    public TutorialChanges getChangesSince(long watermark, int limit) throws DatabaseOperationException {
+        return measure(getChangesSince, () -> delegate.getChangesSince(watermark, limit), changes -> changes.changes().size());
+    }
+
+    private static <T> T measure(OperationMetrics operation, Supplier<T> call, ToIntFunction<T> rows) {
+        DaoOperationEvent event = begin();
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            failure(operation, event, start, e);
+            throw e;
+        }
+        success(operation, event, start, rows.applyAsInt(result));
+        return result;
+    }
+
+    // Calls that return nothing write or read a single row.
+    private static void measure(OperationMetrics operation, Runnable call) {
+        measure(operation, () -> {
+            call.run();
+            return null;
+        }, nothing -> 1);
+    }
+
+    @Override
+    public List<Tutorial> getTutorialsAfter(int lastId, int limit) throws DatabaseOperationException {
+        return getTutorialsAfter(lastId, limit, TutorialColumn.ALL);
+    }
+
+    @Override
+    public List<Tutorial> getTutorialsAfter(int lastId, int limit, Set<TutorialColumn> columns) throws DatabaseOperationException {
+        return measure(getTutorialsAfter, () -> delegate.getTutorialsAfter(lastId, limit, columns), List::size);
+    }
+
+    @Override
+    public List<Tutorial> findTutorials(TutorialQuery query) throws DatabaseOperationException {
+        return measure(findTutorials, () -> delegate.findTutorials(query), List::size);
+    }
+
+    @Override
+    public Stream<Tutorial> streamTutorials(TutorialQuery query, int fetchSize) throws DatabaseOperationException {
+        return measureStream(streamTutorials, () -> delegate.streamTutorials(query, fetchSize));
+    }
+
+    @Override
+    public void updateTutorial(Tutorial tutorial) throws TutorialNotFoundException, DatabaseOperationException {
+        measure(updateTutorial, () -> delegate.updateTutorial(tutorial));
+    }
+
+    @Override
+    public void deleteTutorial(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        measure(deleteTutorial, () -> delegate.deleteTutorial(id));
+    }
+
+    @Override
+    public void patchTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        measure(patchTutorial, () -> delegate.patchTutorial(patch));
+    }
+
+    @Override
+    public Tutorial patchAndGetTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        return measure(patchAndGetTutorial, () -> delegate.patchAndGetTutorial(patch), tutorial -> 1);
+    }
+
+    @Override
+    public WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) throws DatabaseOperationException {
+        return measure(applyWriteBatch, () -> delegate.applyWriteBatch(batch), result -> result.updatedCount() + result.deletedCount());
+    }
+
+    @Override
+    public List<Integer> deleteTutorials(int[] ids) throws DatabaseOperationException {
+        // An ID passed twice is deleted once, and notFound lists each missing ID once.
+        return measure(deleteTutorials, () -> delegate.deleteTutorials(ids),
+                notFound -> (int) Arrays.stream(ids).distinct().count() - notFound.size());
+    }
+
+    @Override
+    public List<Integer> updateTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        return measure(updateTutorials, () -> delegate.updateTutorials(tutorials),
+                notFound -> (int) tutorials.stream().map(Tutorial::getId).distinct().count() - notFound.size());
+    }
+
+    private static DaoOperationEvent begin() {
+        DaoOperationEvent event = new DaoOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    private static void success(OperationMetrics operation, DaoOperationEvent event, long start, long rows) {
+        operation.recordSuccess(System.nanoTime() - start, rows);
+        if (event.shouldCommit()) {
+            event.operation = operation.getOperation();
+            event.rows = rows;
+            event.success = true;
+            event.commit();
+        }
+    }
+
+    private static void failure(OperationMetrics operation, DaoOperationEvent event, long start, RuntimeException error) {
+        operation.recordFailure(System.nanoTime() - start, error);
+        if (event.shouldCommit()) {
+            event.operation = operation.getOperation();
+            event.success = false;
+            event.errorType = error.getClass().getSimpleName();
+            event.commit();
+        }
+    }
+}
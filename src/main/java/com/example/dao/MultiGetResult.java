@@ -0,0 +1,45 @@
+package com.example.dao;
+
+import com.example.model.Tutorial;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Outcome of {@link TutorialDAO#getTutorialsByIds}.
+ * @param tutorials The tutorials that were found, by ID, in the order the IDs were passed.
+ * @param missingIds IDs that matched no row, in the order they were passed.
+ */
+public record MultiGetResult(Map<Integer, Tutorial> tutorials, Set<Integer> missingIds) {
+
+    public boolean allFound() {
+        return missingIds.isEmpty();
+    }
+
+    // Tutorial with this ID, or null if it was missing or not asked for.
+    public Tutorial get(int id) {
+        return tutorials.get(id);
+    }
+
+    // Puts the rows found by lookup (null for a missing ID) into the order of ids, each ID once.
+    static MultiGetResult of(int[] ids, IntFunction<Tutorial> lookup) {
+        Map<Integer, Tutorial> tutorials = new LinkedHashMap<>();
+        Set<Integer> missingIds = new LinkedHashSet<>();
+        for (int id : ids) {
+            if (tutorials.containsKey(id) || missingIds.contains(id)) {
+                continue;
+            }
+            Tutorial tutorial = lookup.apply(id);
+            if (tutorial != null) {
+                tutorials.put(id, tutorial);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new MultiGetResult(Collections.unmodifiableMap(tutorials), Collections.unmodifiableSet(missingIds));
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.dao;
+
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+import com.example.search.SearchHit;
+import com.example.search.TutorialSearchIndex;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Adds keyword search over titles and authors to a {@link TutorialDAO}, backed by a
+ * {@link TutorialSearchIndex} instead of a table scan.
+ * <p>
+ * The index is loaded from the delegate on the first search (or by {@link #rebuildIndex()}),
+ * reading only the ID, title and author columns. After that, adds, updates and deletes made
+ * through this DAO keep it current. Changes made to the table by other means are only picked
+ * up by the next rebuild.
+ */
+public class SearchingTutorialDAO extends DelegatingTutorialDAO {
+    private static final Set<TutorialColumn> INDEXED_COLUMNS = EnumSet.of(TutorialColumn.TITLE, TutorialColumn.AUTHOR);
+
+    private final TutorialSearchIndex index = new TutorialSearchIndex();
+    private volatile boolean indexed;
+
+    public SearchingTutorialDAO(TutorialDAO delegate) {
+        super(delegate);
+    }
+
+    /**
+     * Finds tutorials whose title or author contains every word of the query (the last letters
+     * of a word may be left out, so "jav str" finds "Java Streams").
+     * @param query Free text; punctuation and case are ignored.
+     * @param limit Maximum number of results.
+     * @return Best matches first; empty if nothing matches.
+     */
+    public List<SearchHit> searchTutorials(String query, int limit) throws DatabaseOperationException {
+        if (!indexed) {
+            synchronized (this) {
+                if (!indexed) {
+                    rebuildIndex();
+                }
+            }
+        }
+        return index.search(query, limit);
+    }
+
+    /**
+     * Reloads the index from the delegate, e.g. after rows were changed outside this DAO.
+     */
+    public void rebuildIndex() throws DatabaseOperationException {
+        try (Stream<Tutorial> tutorials = delegate.streamAllTutorials(TutorialDAO.DEFAULT_FETCH_SIZE, INDEXED_COLUMNS)) {
+            index.rebuild(tutorials);
+        }
+        indexed = true;
+    }
+
+    // Rebuilt on the next search.
+    @Override
+    protected void afterTransaction() {
+        indexed = false;
+    }
+
+    @Override
+    public void addTutorial(Tutorial tutorial) throws DatabaseOperationException {
+        delegate.addTutorial(tutorial);
+        index.put(tutorial);
+    }
+
+    @Override
+    public BatchInsertResult addTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        BatchInsertResult result = delegate.addTutorials(tutorials);
+        Set<Integer> failed = new HashSet<>();
+        for (BatchInsertResult.Failure failure : result.failures()) {
+            failed.add(failure.index());
+        }
+        int i = 0;
+        for (Tutorial tutorial : tutorials) {
+            if (!failed.contains(i++)) {
+                index.put(tutorial);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void updateTutorial(Tutorial tutorial) throws TutorialNotFoundException, DatabaseOperationException {
+        delegate.updateTutorial(tutorial);
+        index.put(tutorial);
+    }
+
+    @Override
+    public void deleteTutorial(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        delegate.deleteTutorial(id);
+        index.remove(id);
+    }
+
+    // The index needs the whole row, so a patch of the title or author reads it back in the same call.
+    @Override
+    public void patchTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        if (patch.columns().contains(TutorialColumn.TITLE) || patch.columns().contains(TutorialColumn.AUTHOR)) {
+            index.put(delegate.patchAndGetTutorial(patch));
+        } else {
+            delegate.patchTutorial(patch);
+        }
+    }
+
+    @Override
+    public Tutorial patchAndGetTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        Tutorial tutorial = delegate.patchAndGetTutorial(patch);
+        index.put(tutorial);
+        return tutorial;
+    }
+
+    @Override
+    public WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) throws DatabaseOperationException {
+        WriteBatchResult result = delegate.applyWriteBatch(batch);
+        Set<Integer> notFound = new HashSet<>(result.notFoundIds());
+        for (Tutorial tutorial : batch.updates()) {
+            if (!notFound.contains(tutorial.getId())) {
+                index.put(tutorial);
+            }
+        }
+        for (int id : batch.deleteIds()) {
+            index.remove(id);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Integer> deleteTutorials(int[] ids) throws DatabaseOperationException {
+        List<Integer> notFound = delegate.deleteTutorials(ids);
+        for (int id : ids) {
+            index.remove(id);
+        }
+        return notFound;
+    }
+
+    @Override
+    public List<Integer> updateTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        List<Integer> notFound = delegate.updateTutorials(tutorials);
+        Set<Integer> missing = new HashSet<>(notFound);
+        for (Tutorial tutorial : tutorials) {
+            if (!missing.contains(tutorial.getId())) {
+                index.put(tutorial);
+            }
+        }
+        return notFound;
+    }
+}
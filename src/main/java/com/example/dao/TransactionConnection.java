@@ -0,0 +1,107 @@
+package com.example.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * The connection handed to DAO methods running inside {@link TutorialDAOImpl#inTransaction}.
+ * It lets those methods keep their usual connection handling while the unit of work owns the
+ * real transaction:
+ * <ul>
+ *   <li>{@code close()} does nothing; the connection goes back to the pool when the scope ends.</li>
+ *   <li>A method's own transaction ({@code setAutoCommit(false)} ... {@code commit()}) becomes a
+ *       nested one: a savepoint is set before its first statement, {@code rollback()} rolls back
+ *       to it, and {@code commit()} just leaves the work in the outer transaction.</li>
+ * </ul>
+ * The savepoint is set lazily, on the next statement, so a method that commits and then
+ * finishes costs no extra round-trip. Savepoints are never released: Oracle does not support
+ * it, and they end with the transaction anyway. Not thread-safe, like the scope it belongs to.
+ */
+final class TransactionConnection implements InvocationHandler {
+    private final Connection physical;
+    private final Connection proxy;
+    private boolean nested;
+    private Savepoint savepoint;
+    private boolean ended;
+
+    TransactionConnection(Connection physical) {
+        this.physical = physical;
+        this.proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                this);
+    }
+
+    // The handle the DAO methods use.
+    Connection connection() {
+        return proxy;
+    }
+
+    // Called when the scope ends, so a stream left open past it fails instead of reading from a
+    // connection that is already back in the pool.
+    void end() {
+        ended = true;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                return null;
+            case "isClosed":
+                return ended || physical.isClosed();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "TransactionConnection[" + physical + (ended ? ", ended" : "") + "]";
+            default:
+                break;
+        }
+        if (ended) {
+            throw new SQLException("The transaction this connection belonged to has ended");
+        }
+        switch (method.getName()) {
+            case "getAutoCommit":
+                return false;
+            case "setAutoCommit":
+                nested = !(Boolean) args[0];
+                savepoint = null;
+                return null;
+            case "commit":
+                savepoint = null;
+                return null;
+            case "rollback":
+                if (args == null) {
+                    if (savepoint != null) {
+                        physical.rollback(savepoint);
+                        savepoint = null;
+                    }
+                    return null;
+                }
+                break;
+            case "setTransactionIsolation":
+                throw new SQLException("The isolation level cannot be changed inside a transaction");
+            case "prepareStatement":
+            case "prepareCall":
+            case "createStatement":
+                if (nested && savepoint == null) {
+                    savepoint = physical.setSavepoint();
+                }
+                break;
+            default:
+                break;
+        }
+        try {
+            return method.invoke(physical, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.dao;
+
+import java.sql.Connection;
+
+/**
+ * Isolation levels for {@link TutorialDAOImpl#inTransaction}. Only the two levels Oracle
+ * offers are listed, so a unit of work behaves the same on Oracle and in the H2 tests.
+ */
+public enum TransactionIsolation {
+    // Each statement sees the data committed before it started. The Oracle default.
+    READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+    // Every statement sees the data as of the start of the transaction; a write to a row that
+    // another transaction changed since then fails with a serialization error.
+    SERIALIZABLE(Connection.TRANSACTION_SERIALIZABLE);
+
+    private final int level;
+
+    TransactionIsolation(int level) {
+        this.level = level;
+    }
+
+    int level() {
+        return level;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.dao;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running counts behind the statistics methods of {@link TutorialDAO}: the total, one counter per
+ * author and one per published day. Year and month counts and the first and last published date are
+ * derived from the day counters, of which there are only as many as distinct dates.
+ * <p>
+ * Rows are either counted anonymously ({@link #count}, for one-off scans) or tracked by ID
+ * ({@link #put}/{@link #remove}), in which case the author and day of each row are remembered in
+ * parallel arrays behind an {@link IntSlotIndex}, so that an update or delete can take back exactly
+ * what the row added. Not thread-safe.
+ */
+final class TutorialAggregates {
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    // Mutable counter, so a tracked row can point at its author's count directly.
+    private static final class Counter {
+        final String author;
+        long count;
+
+        Counter(String author) {
+            this.author = author;
+        }
+    }
+
+    private long count;
+    private long datedCount;
+    private final Map<String, Counter> byAuthor = new HashMap<>(); // the null key holds tutorials without an author
+    private final TreeMap<Integer, long[]> byDay = new TreeMap<>();
+
+    // Tracked rows: slot i of rowAuthors and rowDays belongs to the ID mapped to i.
+    private final IntSlotIndex slots;
+    private Counter[] rowAuthors;
+    private int[] rowDays;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int usedSlots;
+
+    TutorialAggregates(int expectedRows) {
+        slots = new IntSlotIndex(expectedRows);
+        rowAuthors = new Counter[Math.max(expectedRows, 16)];
+        rowDays = new int[rowAuthors.length];
+    }
+
+    // Counts a row that is never updated or removed through these aggregates. No date is
+    // Integer.MIN_VALUE, the same encoding InMemoryTutorialDAO stores.
+    void count(String author, int epochDay) {
+        increment(author, epochDay);
+    }
+
+    void count(String author, LocalDate publishedDate) {
+        count(author, dayOf(publishedDate));
+    }
+
+    // Adds a row, or replaces what the row with this ID counted before.
+    void put(int id, String author, LocalDate publishedDate) {
+        int day = dayOf(publishedDate);
+        int slot = slots.get(id);
+        if (slot != IntSlotIndex.NOT_FOUND) {
+            decrement(rowAuthors[slot], rowDays[slot]);
+        } else {
+            slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot();
+            slots.put(id, slot);
+        }
+        rowAuthors[slot] = increment(author, day);
+        rowDays[slot] = day;
+    }
+
+    // Takes back what the row counted; unknown IDs are ignored.
+    void remove(int id) {
+        int slot = slots.remove(id);
+        if (slot == IntSlotIndex.NOT_FOUND) {
+            return;
+        }
+        decrement(rowAuthors[slot], rowDays[slot]);
+        rowAuthors[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int nextSlot() {
+        if (usedSlots == rowAuthors.length) {
+            rowAuthors = Arrays.copyOf(rowAuthors, usedSlots * 2);
+            rowDays = Arrays.copyOf(rowDays, usedSlots * 2);
+        }
+        return usedSlots++;
+    }
+
+    private Counter increment(String author, int day) {
+        count++;
+        Counter counter = byAuthor.computeIfAbsent(author, Counter::new);
+        counter.count++;
+        if (day != NO_DATE) {
+            datedCount++;
+            byDay.computeIfAbsent(day, d -> new long[1])[0]++;
+        }
+        return counter;
+    }
+
+    private void decrement(Counter counter, int day) {
+        count--;
+        if (--counter.count == 0) {
+            byAuthor.remove(counter.author);
+        }
+        if (day != NO_DATE) {
+            datedCount--;
+            long[] dayCount = byDay.get(day);
+            if (--dayCount[0] == 0) {
+                byDay.remove(day);
+            }
+        }
+    }
+
+    private static int dayOf(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
+    }
+
+    long countTutorials() {
+        return count;
+    }
+
+    TutorialStats stats() {
+        return new TutorialStats(count, datedCount,
+                byDay.isEmpty() ? null : LocalDate.ofEpochDay(byDay.firstKey()),
+                byDay.isEmpty() ? null : LocalDate.ofEpochDay(byDay.lastKey()));
+    }
+
+    // Ordered by author with the null key last, like ORDER BY author NULLS LAST.
+    Map<String, Long> countByAuthor() {
+        List<Counter> counters = new ArrayList<>(byAuthor.values());
+        counters.sort(Comparator.comparing((Counter c) -> c.author, Comparator.nullsLast(Comparator.<String>naturalOrder())));
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Counter counter : counters) {
+            counts.put(counter.author, counter.count);
+        }
+        return counts;
+    }
+
+    // byDay is sorted, so each year and month is one run of consecutive entries.
+    Map<Year, Long> countByPublishedYear() {
+        Map<Year, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<Integer, long[]> entry : byDay.entrySet()) {
+            counts.merge(Year.of(LocalDate.ofEpochDay(entry.getKey()).getYear()), entry.getValue()[0], Long::sum);
+        }
+        return counts;
+    }
+
+    Map<YearMonth, Long> countByPublishedMonth() {
+        Map<YearMonth, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<Integer, long[]> entry : byDay.entrySet()) {
+            counts.merge(YearMonth.from(LocalDate.ofEpochDay(entry.getKey())), entry.getValue()[0], Long::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.dao;
+
+import com.example.model.Tutorial;
+
+/**
+ * One entry of the change feed returned by {@link TutorialDAO#getChangesSince}.
+ * @param version The version the change was stored with; pass the last one seen as the next watermark.
+ * @param tutorialId The tutorial that changed.
+ * @param tutorial The tutorial as stored by this change, or {@code null} if it was deleted.
+ */
+public record TutorialChange(long version, int tutorialId, Tutorial tutorial) {
+
+    public boolean isDeletion() {
+        return tutorial == null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.dao;
+
+import java.util.List;
+
+/**
+ * A page of the change feed.
+ * @param changes Changes in version order. A tutorial changed several times since the watermark
+ *                appears once, with its latest state.
+ * @param watermark The version to ask for changes after next time: the version of the last change,
+ *                  or the watermark that was passed in if there were none.
+ */
+public record TutorialChanges(List<TutorialChange> changes, long watermark) {
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.dao;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Columns of the {@code tutorials} table, used to ask the DAO for a projection
+ * (only some columns) instead of whole rows.
+ */
+public enum TutorialColumn {
+    ID("tutorial_id"),
+    TITLE("title"),
+    AUTHOR("author"),
+    URL("url"),
+    PUBLISHED_DATE("published_date");
+
+    public static final Set<TutorialColumn> ALL = Collections.unmodifiableSet(EnumSet.allOf(TutorialColumn.class));
+
+    private final String columnName;
+
+    TutorialColumn(String columnName) {
+        this.columnName = columnName;
+    }
+
+    public String columnName() {
+        return columnName;
+    }
+}
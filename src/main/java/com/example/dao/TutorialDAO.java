@@ -4,12 +4,142 @@ import com.example.exceptions.DatabaseOperationException;
 import com.example.exceptions.TutorialNotFoundException;
 import com.example.model.Tutorial;
 
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface TutorialDAO {
+    // Rows per JDBC batch for bulk writes, and rows per round-trip for streams and scans.
+    int DEFAULT_BATCH_SIZE = 500;
+    int DEFAULT_FETCH_SIZE = 500;
+
     void addTutorial(Tutorial tutorial) throws DatabaseOperationException;
+    /**
+     * Inserts many tutorials using JDBC batches and writes the generated ID back into each one.
+     * Rows that fail are reported in the result instead of aborting the whole load.
+     */
+    BatchInsertResult addTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException;
     Tutorial getTutorialById(int id) throws TutorialNotFoundException, DatabaseOperationException;
+    /**
+     * Looks up many tutorials at once, e.g. for a list of related tutorials, in a few queries
+     * instead of one per ID. Missing IDs are reported in the result rather than thrown, and an ID
+     * passed more than once is looked up once.
+     */
+    MultiGetResult getTutorialsByIds(int[] ids) throws DatabaseOperationException;
     ArrayList<Tutorial> getAllTutorials() throws DatabaseOperationException;
+    /**
+     * Lazily streams every tutorial in ID order, fetching {@code fetchSize} rows per round-trip.
+     * The stream holds a database connection until it is closed, so use it in try-with-resources.
+     */
+    Stream<Tutorial> streamAllTutorials(int fetchSize) throws DatabaseOperationException;
+    /**
+     * Like {@link #streamAllTutorials(int)}, but only the given columns are read; the other
+     * fields of each Tutorial are left {@code null}. The ID is always included.
+     */
+    Stream<Tutorial> streamAllTutorials(int fetchSize, Set<TutorialColumn> columns) throws DatabaseOperationException;
+    /**
+     * Keyset pagination: returns up to {@code limit} tutorials with an ID greater than {@code lastId},
+     * in ID order. Pass 0 for the first page and the last ID of a page to get the next one.
+     */
+    List<Tutorial> getTutorialsAfter(int lastId, int limit) throws DatabaseOperationException;
+    /**
+     * Projected page, e.g. {@code EnumSet.of(TutorialColumn.TITLE)} for ID and title only.
+     * Columns that are not requested are left {@code null}.
+     */
+    List<Tutorial> getTutorialsAfter(int lastId, int limit, Set<TutorialColumn> columns) throws DatabaseOperationException;
+    /**
+     * Returns one page (the query's limit, {@link TutorialQuery#DEFAULT_PAGE_SIZE} if unset) of the
+     * tutorials matching the query's filters, in the query's order. Pass
+     * {@code query.after(lastRowOfPage)} to get the next page.
+     */
+    List<Tutorial> findTutorials(TutorialQuery query) throws DatabaseOperationException;
+    /**
+     * Lazily streams every tutorial matching the query (up to its limit, if set), fetching
+     * {@code fetchSize} rows at a time. Close the stream, ideally with try-with-resources.
+     */
+    Stream<Tutorial> streamTutorials(TutorialQuery query, int fetchSize) throws DatabaseOperationException;
+    // First page of an author's tutorials in ID order; see TutorialQuery.byAuthor to page further.
+    default List<Tutorial> findByAuthor(String author, int limit) throws DatabaseOperationException {
+        return findTutorials(TutorialQuery.byAuthor(author).toBuilder().limit(limit).build());
+    }
+    // First page of tutorials published between from and to (inclusive), oldest first.
+    default List<Tutorial> findByPublishedDateRange(LocalDate from, LocalDate to, int limit) throws DatabaseOperationException {
+        return findTutorials(TutorialQuery.byPublishedDateRange(from, to).toBuilder().limit(limit).build());
+    }
+    // Statistics are aggregated where the rows live (COUNT/GROUP BY in SQL); no tutorials are loaded.
+    long countTutorials() throws DatabaseOperationException;
+    TutorialStats getTutorialStats() throws DatabaseOperationException;
+    /**
+     * @return Number of tutorials per author, ordered by author; tutorials without an author are
+     *         counted under the {@code null} key, which comes last.
+     */
+    Map<String, Long> countByAuthor() throws DatabaseOperationException;
+    /**
+     * @return Number of tutorials per year of publication, oldest first. Tutorials without a
+     *         published date are left out (see {@link TutorialStats#datedCount()}).
+     */
+    Map<Year, Long> countByPublishedYear() throws DatabaseOperationException;
+    // Like countByPublishedYear, per calendar month.
+    Map<YearMonth, Long> countByPublishedMonth() throws DatabaseOperationException;
+    /**
+     * Change feed: every insert, update and delete gets a new, increasing version, and deletes leave a
+     * tombstone. Returns up to {@code limit} tutorials changed after {@code watermark}, oldest change
+     * first, so a consumer can stay in sync by reading only what changed:
+     * <pre>{@code
+     * TutorialChanges page = dao.getChangesSince(watermark, 500);
+     * // apply page.changes(), then store page.watermark() for the next call
+     * }</pre>
+     * Pass 0 to read every tutorial and every recorded delete that is still kept. A change is only
+     * returned once no write that could still commit below its version is expected any more, so a
+     * consumer that carries the watermark forward does not skip changes; an implementation may hold
+     * changes back for a while to ensure that, and documents how long.
+     */
+    TutorialChanges getChangesSince(long watermark, int limit) throws DatabaseOperationException;
     void updateTutorial(Tutorial tutorial) throws TutorialNotFoundException, DatabaseOperationException;
     void deleteTutorial(int id) throws TutorialNotFoundException, DatabaseOperationException;
+    /**
+     * Writes only the fields set in the patch, in a single statement without reading the row first.
+     * @throws IllegalArgumentException If the patch sets no field.
+     * @throws TutorialNotFoundException If no tutorial has the patch's ID.
+     */
+    void patchTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException;
+    /**
+     * Like {@link #patchTutorial}, but also returns the whole row as stored after the update,
+     * read back in the same round-trip where the driver supports it.
+     */
+    Tutorial patchAndGetTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException;
+    /**
+     * Applies every update and delete of the batch in a single transaction. Writes whose row does
+     * not exist are skipped and listed in the result; any other failure rolls the whole batch back.
+     */
+    WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) throws DatabaseOperationException;
+    /**
+     * Deletes all given tutorials in one transaction.
+     * @return The IDs that matched no row, in the order they were passed (duplicates once); empty if all were deleted.
+     */
+    default List<Integer> deleteTutorials(int[] ids) throws DatabaseOperationException {
+        TutorialWriteBatch batch = new TutorialWriteBatch();
+        for (int id : ids) {
+            batch.delete(id);
+        }
+        return applyWriteBatch(batch).notFoundIds();
+    }
+    /**
+     * Updates all given tutorials (all four columns, by ID) in one transaction. If an ID occurs more
+     * than once, the last tutorial with that ID wins.
+     * @return The IDs that matched no row, in the order they were passed; empty if all were updated.
+     */
+    default List<Integer> updateTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        TutorialWriteBatch batch = new TutorialWriteBatch();
+        for (Tutorial tutorial : tutorials) {
+            batch.update(tutorial);
+        }
+        return applyWriteBatch(batch).notFoundIds();
+    }
 }
\ No newline at end of file
@@ -7,22 +7,210 @@ import com.example.util.DBConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
 
 public class TutorialDAOImpl implements TutorialDAO {
+    // SQL is kept in constants so every call hands the pool the exact same text and
+    // the connection's statement cache can reuse the already prepared statement.
+    private static final String INSERT_SQL = "INSERT INTO tutorials (title, author, url, published_date) VALUES (?, ?, ?, ?)";
+    private static final String[] GENERATED_KEY_COLUMNS = { "tutorial_id" };
+    // Explicit column list instead of SELECT *, in the order TutorialRowMapper.ALL reads them.
+    private static final String SELECT_COLUMNS = TutorialRowMapper.ALL.selectList();
+    private static final String SELECT_BY_ID_SQL = "SELECT " + SELECT_COLUMNS + " FROM tutorials WHERE tutorial_id = ?";
+    private static final String SELECT_ALL_SQL = "SELECT " + SELECT_COLUMNS + " FROM tutorials ORDER BY tutorial_id";
+    // getTutorialsByIds pads its IN-lists to one of these sizes; the last one is the chunk size.
+    private static final int[] ID_LIST_SIZES = { 8, 32, 128, 512 };
+    private static final int MAX_ID_LIST_SIZE = ID_LIST_SIZES[ID_LIST_SIZES.length - 1];
+    private static final String[] SELECT_BY_IDS_SQL = Arrays.stream(ID_LIST_SIZES)
+            .mapToObj(size -> "SELECT " + SELECT_COLUMNS + " FROM tutorials WHERE tutorial_id IN (" + String.join(", ", Collections.nCopies(size, "?")) + ")")
+            .toArray(String[]::new);
+    private static final String SELECT_PAGE_SQL = "SELECT " + SELECT_COLUMNS + " FROM tutorials WHERE tutorial_id > ? ORDER BY tutorial_id FETCH FIRST ? ROWS ONLY";
+    // Inserts take their version and changed_at from the column defaults; updates and deletes set them explicitly.
+    private static final String SET_NEXT_VERSION = "version = tutorial_version_seq.NEXTVAL, changed_at = SYSTIMESTAMP";
+    private static final String UPDATE_SQL = "UPDATE tutorials SET title = ?, author = ?, url = ?, published_date = ?, " + SET_NEXT_VERSION + " WHERE tutorial_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM tutorials WHERE tutorial_id = ?";
+    private static final String INSERT_TOMBSTONE_SQL = "INSERT INTO tutorial_tombstones (version, tutorial_id) VALUES (tutorial_version_seq.NEXTVAL, ?)";
+    // Both branches stop at the limit on their own version index, so the cost follows the number of changes, not the table size.
+    private static final String SELECT_CHANGES_SQL = "SELECT * FROM ("
+            + "(SELECT " + SELECT_COLUMNS + ", version FROM tutorials WHERE version > ? AND version < ? ORDER BY version FETCH FIRST ? ROWS ONLY)"
+            + " UNION ALL "
+            + "(SELECT tutorial_id, NULL, NULL, NULL, NULL, version FROM tutorial_tombstones WHERE version > ? AND version < ? ORDER BY version FETCH FIRST ? ROWS ONLY)"
+            + ") ORDER BY 6 FETCH FIRST ? ROWS ONLY";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM tutorials";
+    private static final String STATS_SQL = "SELECT COUNT(*), COUNT(published_date), MIN(published_date), MAX(published_date) FROM tutorials";
+    private static final String COUNT_BY_AUTHOR_SQL = "SELECT author, COUNT(*) FROM tutorials GROUP BY author ORDER BY author NULLS LAST";
+    private static final String COUNT_BY_YEAR_SQL = "SELECT EXTRACT(YEAR FROM published_date), COUNT(*) FROM tutorials"
+            + " WHERE published_date IS NOT NULL GROUP BY EXTRACT(YEAR FROM published_date) ORDER BY 1";
+    private static final String COUNT_BY_MONTH_SQL = "SELECT EXTRACT(YEAR FROM published_date), EXTRACT(MONTH FROM published_date), COUNT(*)"
+            + " FROM tutorials WHERE published_date IS NOT NULL"
+            + " GROUP BY EXTRACT(YEAR FROM published_date), EXTRACT(MONTH FROM published_date) ORDER BY 1, 2";
+    // Read back from a patch UPDATE as "generated keys", in TutorialRowMapper.ALL order.
+    private static final String[] ALL_COLUMNS = TutorialColumn.ALL.stream().map(TutorialColumn::columnName).toArray(String[]::new);
+
+    private static final LocalDate MIN_STORED_DATE = LocalDate.of(-4712, 1, 1);
+    private static final LocalDate MAX_STORED_DATE = LocalDate.of(9999, 12, 31);
+
+    /**
+     * Change feed lag of the constructors that do not take one; see {@link #TutorialDAOImpl(int, Duration)}.
+     */
+    public static final Duration DEFAULT_CHANGE_FEED_LAG = Duration.ofSeconds(5);
+
+    private final int batchSize;
+    // Lowest version changed within the change feed lag, or null without a lag; see getChangesSince.
+    private final String changeHorizonSql;
+    // Set once the driver turns out not to return columns from an UPDATE; patches then re-read the row.
+    private volatile boolean updateReturningUnsupported;
+    // The connection of the inTransaction scope the current thread is in, if any.
+    private final ThreadLocal<TransactionConnection> transaction = new ThreadLocal<>();
+
+    public TutorialDAOImpl() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    // batchSize: how many rows addTutorials sends to the database per batch (and per transaction).
+    public TutorialDAOImpl(int batchSize) {
+        this(batchSize, DEFAULT_CHANGE_FEED_LAG);
+    }
+
+    /**
+     * @param batchSize How many rows addTutorials sends to the database per batch (and per transaction).
+     * @param changeFeedLag How long getChangesSince holds back a change after it was written, so that
+     *                      transactions that drew a lower version and commit within this time are not
+     *                      skipped. Set it above the longest write transaction. Zero turns it off,
+     *                      which is only safe while a single thread writes, with autocommit.
+     */
+    public TutorialDAOImpl(int batchSize, Duration changeFeedLag) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        if (changeFeedLag.isNegative()) {
+            throw new IllegalArgumentException("changeFeedLag must not be negative");
+        }
+        this.batchSize = batchSize;
+        this.changeHorizonSql = changeFeedLag.isZero() ? null : changeHorizonSql(changeFeedLag);
+    }
+
+    // The lag is a literal in the SQL text: it never changes for this DAO, and an interval bind
+    // parameter is written differently by every database.
+    private static String changeHorizonSql(Duration lag) {
+        String since = ago(lag);
+        return "SELECT MIN(version) FROM ("
+                + "SELECT MIN(version) version FROM tutorials WHERE changed_at > " + since
+                + " UNION ALL "
+                + "SELECT MIN(version) FROM tutorial_tombstones WHERE changed_at > " + since
+                + ")";
+    }
+
+    // SQL for the time the given duration before now.
+    private static String ago(Duration duration) {
+        return String.format(Locale.ROOT, "SYSTIMESTAMP - INTERVAL '%d %02d:%02d:%02d.%03d' DAY(9) TO SECOND(3)",
+                duration.toDays(), duration.toHoursPart(), duration.toMinutesPart(), duration.toSecondsPart(), duration.toMillisPart());
+    }
+
+    //Purpose: Runs several DAO calls as one unit of work: one connection, one commit.
+    /*
+      Scope: The connection is bound to the calling thread, so every call on this DAO made by the work
+             on that thread uses it instead of borrowing its own. Calls from other threads, e.g. a
+             write-behind flusher, are not part of it.
+      Decorators: The work must not call decorators wrapping this DAO, whose side effects would not be
+             rolled back; use DelegatingTutorialDAO.inTransaction on the outermost one instead.
+      Inner transactions: Methods that run their own transaction (addTutorials, deleteTutorial,
+             applyWriteBatch, ...) become nested ones on a savepoint, see TransactionConnection; their
+             own rollback still undoes only their part, e.g. a failed insert chunk.
+      Commit: Once, after the work returns. If the work throws (DatabaseOperationException,
+             TutorialNotFoundException or any other exception), everything is rolled back and the
+             exception is rethrown. Catch inside the work what should not abort the whole unit.
+      Nesting: inTransaction called inside a scope joins the outer transaction and its isolation level.
+      Streams opened by the work must be consumed before it returns.
+    */
+    public <T> T inTransaction(TransactionIsolation isolation, Function<TutorialDAO, T> work) throws DatabaseOperationException {
+        if (transaction.get() != null) {
+            return work.apply(this);
+        }
+        Connection connection = null;
+        TransactionConnection scope = null;
+        try {
+            connection = DBConnection.getConnection();
+            connection.setAutoCommit(false);
+            if (connection.getTransactionIsolation() != isolation.level()) {
+                connection.setTransactionIsolation(isolation.level());
+            }
+            scope = new TransactionConnection(connection);
+            transaction.set(scope);
+            T result;
+            try {
+                result = work.apply(this);
+            } catch (RuntimeException | Error e) {
+                rollbackQuietly(connection, e);
+                throw e;
+            }
+            try {
+                connection.commit();
+            } catch (SQLException e) {
+                rollbackQuietly(connection, e);
+                throw e;
+            }
+            return result;
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error running transaction: " + e.getMessage(), e);
+        } finally {
+            if (scope != null) {
+                scope.end();
+                transaction.remove();
+            }
+            if (connection != null) {
+                try { connection.setAutoCommit(true); } catch (SQLException e) { System.err.println("Failed to restore autocommit in inTransaction: " + e.getMessage()); }
+            }
+            DBConnection.closeConnection(connection);
+        }
+    }
+
+    // Same, at READ_COMMITTED.
+    public <T> T inTransaction(Function<TutorialDAO, T> work) throws DatabaseOperationException {
+        return inTransaction(TransactionIsolation.READ_COMMITTED, work);
+    }
+
+    // Keeps the original failure as the one reported; a failed rollback is attached to it.
+    private static void rollbackQuietly(Connection connection, Throwable failure) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    // The connection of the current thread's inTransaction scope, or a fresh one from the pool.
+    private Connection borrowConnection() throws SQLException {
+        TransactionConnection scope = transaction.get();
+        return scope != null ? scope.connection() : DBConnection.getConnection();
+    }
+
     // Purpose: Converts a row from the database (ResultSet) into a Tutorial object.
+    // The full-row mapper reads columns by position, in the order of SELECT_COLUMNS.
     private Tutorial extractTutorialFromResultSet(ResultSet rs) throws SQLException {
-        Tutorial tutorial = new Tutorial();
-        tutorial.setId(rs.getInt("tutorial_id"));
-        tutorial.setTitle(rs.getString("title"));
-        tutorial.setAuthor(rs.getString("author"));
-        tutorial.setUrl(rs.getString("url"));
-        Date sqlDate = rs.getDate("published_date");
-        if (sqlDate != null) {
-            tutorial.setPublishedDate(sqlDate.toLocalDate());
-        }
-        return tutorial;
+        return TutorialRowMapper.ALL.map(rs);
     }
 
     /*
@@ -37,21 +225,17 @@ public class TutorialDAOImpl implements TutorialDAO {
     */
     @Override
     public void addTutorial(Tutorial tutorial) throws DatabaseOperationException {
-        String SQL = "INSERT INTO tutorials (title, author, url, published_date) VALUES (?, ?, ?, ?)";
         Connection connection = null;
         PreparedStatement preparedStatement = null;
 
         try {
-            connection = DBConnection.getConnection();
-            preparedStatement = connection.prepareStatement(SQL, new String[] { "tutorial_id" });
+            connection = borrowConnection();
+            preparedStatement = connection.prepareStatement(INSERT_SQL, GENERATED_KEY_COLUMNS);
 
             preparedStatement.setString(1, tutorial.getTitle());
             preparedStatement.setString(2, tutorial.getAuthor());
             preparedStatement.setString(3, tutorial.getUrl());
-            preparedStatement.setDate(4, tutorial.getPublishedDate() != null
-                    ? Date.valueOf(tutorial.getPublishedDate())
-                    : null
-            );
+            preparedStatement.setDate(4, storedDate(tutorial.getPublishedDate()));
 
             int affectedRows = preparedStatement.executeUpdate();
 
@@ -70,13 +254,170 @@ public class TutorialDAOImpl implements TutorialDAO {
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error adding tutorial: " + e.getMessage(), e);
         } finally {
-            DBConnection.closeConnection(connection);
             if (preparedStatement != null) {
                 try { preparedStatement.close(); } catch (SQLException e) { IO.println("Failed to close PreparedStatement in getTutorialById: " + e.getMessage());}
             }
+            DBConnection.closeConnection(connection);
+        }
+    }
+
+
+    //Purpose: Inserts many tutorials with JDBC batching, one transaction per chunk of batchSize rows.
+    /*
+      Connection: One connection is used for the whole load, with autocommit switched off.
+      Chunk: Rows are sent batchSize at a time with addBatch()/executeBatch() and committed together.
+      Generated IDs: The tutorial_id values from getGeneratedKeys() are written back after the commit.
+      Failure: If a chunk fails because of the values of a row (SQLState class 22 or 23, or a
+               BatchUpdateException), it is rolled back and retried row by row so the good rows are
+               still stored and each bad row is reported in the BatchInsertResult with its index.
+               Any other error, e.g. a lost connection or a driver that returns no generated IDs for
+               a batch, is thrown as a DatabaseOperationException; chunks committed before it stay.
+    */
+    @Override
+    public BatchInsertResult addTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        List<BatchInsertResult.Failure> failures = new ArrayList<>();
+        int inserted = 0;
+        Connection connection = null;
+
+        try {
+            connection = borrowConnection();
+            connection.setAutoCommit(false);
+
+            Iterator<Tutorial> iterator = tutorials.iterator();
+            int index = 0;
+            List<Tutorial> chunk = new ArrayList<>(Math.min(batchSize, tutorials.size()));
+            while (iterator.hasNext()) {
+                chunk.clear();
+                int chunkStart = index;
+                while (iterator.hasNext() && chunk.size() < batchSize) {
+                    chunk.add(iterator.next());
+                    index++;
+                }
+                inserted += insertChunk(connection, chunk, chunkStart, failures);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error adding tutorials: " + e.getMessage(), e);
+        } finally {
+            if (connection != null) {
+                try { connection.setAutoCommit(true); } catch (SQLException e) { System.err.println("Failed to restore autocommit in addTutorials: " + e.getMessage()); }
+            }
+            DBConnection.closeConnection(connection);
+        }
+        return new BatchInsertResult(inserted, List.copyOf(failures));
+    }
+
+    // Sends one chunk as a single batch; falls back to row-by-row inserts if a row's values made it fail.
+    private int insertChunk(Connection connection, List<Tutorial> chunk, int chunkStart,
+                            List<BatchInsertResult.Failure> failures) throws SQLException {
+        int[] ids = new int[chunk.size()];
+        try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_SQL, GENERATED_KEY_COLUMNS)) {
+            for (Tutorial tutorial : chunk) {
+                bindTutorial(preparedStatement, tutorial);
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+
+            int keys = 0;
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                while (generatedKeys.next() && keys < ids.length) {
+                    ids[keys++] = generatedKeys.getInt(1);
+                }
+            }
+            if (keys != ids.length) {
+                throw new SQLException("Expected " + ids.length + " generated IDs from batch but got " + keys);
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            rollbackQuietly(connection, e);
+            if (!isRowError(e)) {
+                throw e;
+            }
+            System.err.println("Batch insert of " + chunk.size() + " tutorials failed, retrying row by row: " + e.getMessage());
+            return insertRowByRow(connection, chunk, chunkStart, failures);
+        } catch (RuntimeException e) {
+            // Thrown while binding a row, e.g. a null element.
+            connection.rollback();
+            System.err.println("Batch insert of " + chunk.size() + " tutorials failed, retrying row by row: " + e);
+            return insertRowByRow(connection, chunk, chunkStart, failures);
+        }
+
+        for (int i = 0; i < ids.length; i++) {
+            chunk.get(i).setId(ids[i]);
+        }
+        return ids.length;
+    }
+
+    // Retries a failed chunk one row at a time so only the bad rows are rejected.
+    private int insertRowByRow(Connection connection, List<Tutorial> chunk, int chunkStart,
+                               List<BatchInsertResult.Failure> failures) throws SQLException {
+        int[] ids = new int[chunk.size()];
+        try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_SQL, GENERATED_KEY_COLUMNS)) {
+            for (int i = 0; i < chunk.size(); i++) {
+                Tutorial tutorial = chunk.get(i);
+                try {
+                    bindTutorial(preparedStatement, tutorial);
+                    preparedStatement.executeUpdate();
+                    try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("Creating tutorial failed, no ID obtained.");
+                        }
+                        ids[i] = generatedKeys.getInt(1);
+                    }
+                } catch (SQLException e) {
+                    if (!isRowError(e)) {
+                        throw e;
+                    }
+                    // A failed statement only undoes itself, the earlier rows of the chunk stay in the transaction.
+                    failures.add(new BatchInsertResult.Failure(chunkStart + i, tutorial, e.getMessage()));
+                } catch (RuntimeException e) {
+                    failures.add(new BatchInsertResult.Failure(chunkStart + i, tutorial, e.getMessage()));
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            rollbackQuietly(connection, e);
+            throw e;
+        }
+
+        int inserted = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != 0) {
+                chunk.get(i).setId(ids[i]);
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    // Refuses a date an Oracle DATE cannot hold the way the database would (SQLState 22008, datetime
+    // field overflow), so every driver and test database behaves alike.
+    private static Date storedDate(LocalDate date) throws SQLException {
+        if (date == null) {
+            return null;
         }
+        if (date.isBefore(MIN_STORED_DATE) || date.isAfter(MAX_STORED_DATE)) {
+            throw new SQLException("published_date " + date + " is out of range", "22008");
+        }
+        return Date.valueOf(date);
+    }
+
+    // Errors caused by the values of one row: SQLState class 22 (data exception) or 23 (constraint
+    // violation), or a failed batch that is not a connection error (class 08). Only those are worth
+    // retrying row by row; anything else would fail for every row.
+    private static boolean isRowError(SQLException e) {
+        String state = e.getSQLState();
+        if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+            return true;
+        }
+        return e instanceof BatchUpdateException && (state == null || !state.startsWith("08"));
     }
 
+    private void bindTutorial(PreparedStatement preparedStatement, Tutorial tutorial) throws SQLException {
+        preparedStatement.setString(1, tutorial.getTitle());
+        preparedStatement.setString(2, tutorial.getAuthor());
+        preparedStatement.setString(3, tutorial.getUrl());
+        preparedStatement.setDate(4, storedDate(tutorial.getPublishedDate()));
+    }
 
     //Purpose: Retrieves a Tutorial from the database using its ID.
     /*  Prepare a SELECT query to fetch a tutorial by ID.
@@ -87,14 +428,13 @@ public class TutorialDAOImpl implements TutorialDAO {
      */
     @Override
     public Tutorial getTutorialById(int id) throws TutorialNotFoundException, DatabaseOperationException {
-        String SQL = "SELECT * FROM tutorials WHERE tutorial_id = ?";
         Connection connection = null;
         PreparedStatement preparedStatement = null;
         ResultSet resultSet = null;
 
         try {
-            connection = DBConnection.getConnection();
-            preparedStatement = connection.prepareStatement(SQL);
+            connection = borrowConnection();
+            preparedStatement = connection.prepareStatement(SELECT_BY_ID_SQL);
             preparedStatement.setInt(1, id);
 
             resultSet = preparedStatement.executeQuery();
@@ -108,19 +448,70 @@ public class TutorialDAOImpl implements TutorialDAO {
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error retrieving tutorial by ID: " + e.getMessage(), e);
         } finally {
-            DBConnection.closeConnection(connection);
+            if (resultSet != null) {
+                try { resultSet.close(); } catch (SQLException e) { IO.println("Failed to close ResultSet in getTutorialById: " + e.getMessage()); }
+            }
             if (preparedStatement != null) {
                 try { preparedStatement.close(); } catch (SQLException e) { IO.println("Failed to close PreparedStatement in getTutorialById: " + e.getMessage()); }
             }
-            if (resultSet != null) {
-                try { resultSet.close(); } catch (SQLException e) { IO.println("Failed to close ResultSet in getTutorialById: " + e.getMessage()); }
+            DBConnection.closeConnection(connection);
+        }
+    }
+
+    //Purpose: Looks up many tutorials by ID with a few IN-list queries on one connection.
+    /*
+      Dedupe: Each ID is asked for once, however often it was passed.
+      Chunks: IDs go out in IN-lists of at most MAX_ID_LIST_SIZE (Oracle allows 1000 expressions).
+      Padding: Each list is padded to the next size in ID_LIST_SIZES by repeating its last ID, so there
+               are only a handful of SQL texts and the statement cache reuses them whatever the count.
+      Missing: IDs that return no row are listed in the result; no exception is thrown for them.
+    */
+    @Override
+    public MultiGetResult getTutorialsByIds(int[] ids) throws DatabaseOperationException {
+        int[] unique = Arrays.stream(ids).distinct().toArray();
+        Map<Integer, Tutorial> found = new HashMap<>(Math.max(16, unique.length * 2));
+        if (unique.length == 0) {
+            return MultiGetResult.of(unique, found::get);
+        }
+        Connection connection = null;
+        try {
+            connection = borrowConnection();
+            for (int start = 0; start < unique.length; start += MAX_ID_LIST_SIZE) {
+                int count = Math.min(MAX_ID_LIST_SIZE, unique.length - start);
+                int listSize = idListSize(count);
+                try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_BY_IDS_SQL[listSize])) {
+                    for (int i = 0; i < ID_LIST_SIZES[listSize]; i++) {
+                        preparedStatement.setInt(i + 1, unique[start + Math.min(i, count - 1)]);
+                    }
+                    preparedStatement.setFetchSize(count);
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            Tutorial tutorial = extractTutorialFromResultSet(resultSet);
+                            found.put(tutorial.getId(), tutorial);
+                        }
+                    }
+                }
             }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error retrieving tutorials by ID: " + e.getMessage(), e);
+        } finally {
+            DBConnection.closeConnection(connection);
+        }
+        return MultiGetResult.of(unique, found::get);
+    }
+
+    // Index of the smallest IN-list size that holds count IDs.
+    private static int idListSize(int count) {
+        int i = 0;
+        while (ID_LIST_SIZES[i] < count) {
+            i++;
         }
+        return i;
     }
 
     //Purpose: Retrieves all tutorials from the database and returns them as a list.
     /* Create list to store all tutorials.
-       Run a SELECT * query on the tutorials table.
+       Run a SELECT query (explicit column list) on the tutorials table.
        Loop through each row, convert to Tutorial using extractTutorialFromResultSet(), and add to the list.
        Return the list.
        Handle errors and close resources with meaningful error messages in catch blocks.
@@ -128,17 +519,16 @@ public class TutorialDAOImpl implements TutorialDAO {
     @Override
     public ArrayList<Tutorial> getAllTutorials() throws DatabaseOperationException {
         ArrayList<Tutorial> tutorials = new ArrayList<>();
-        String SQL = "SELECT * FROM tutorials ORDER BY tutorial_id";
 
         Connection connection = null;
-        Statement statement = null;
+        PreparedStatement statement = null;
         ResultSet resultSet = null;
 
         try {
             //Setup SQL and Get Connection
-            connection = DBConnection.getConnection();
-            statement = connection.createStatement();
-            resultSet = statement.executeQuery(SQL); // The resultSet holds the rows
+            connection = borrowConnection();
+            statement = connection.prepareStatement(SELECT_ALL_SQL);
+            resultSet = statement.executeQuery(); // The resultSet holds the rows
             //Methods enter while loop, Loop over each row, call extractTutorialFromResultSet() method, where
             // for each row, we create A Tutorial object with data( here id, title, author, url, PublishedDate )
             // add those objects for those rows to the list.
@@ -151,7 +541,6 @@ public class TutorialDAOImpl implements TutorialDAO {
             throw new DatabaseOperationException("Error retrieving all tutorials: " + e.getMessage(), e);
         } finally {
             //Closes DB resources with safe error messages if something fails.
-            DBConnection.closeConnection(connection);
             if (statement != null) {
                 try {
                     statement.close();
@@ -166,10 +555,448 @@ public class TutorialDAOImpl implements TutorialDAO {
                     System.err.println("Failed to close ResultSet in getAllTutorials: " + e.getMessage());
                 }
             }
+            DBConnection.closeConnection(connection);
         } // Return list with all Tutorial objects.
         return tutorials;
     }
 
+    //Purpose: Streams all tutorials without loading the whole table into memory.
+    /*
+      Query: The same ordered SELECT as getAllTutorials, with the driver fetch size set to fetchSize
+             so rows arrive in chunks instead of all at once.
+      Stream: Rows are converted to Tutorial objects only when the stream asks for the next element.
+      Cleanup: The ResultSet, statement and connection stay open until the stream is closed
+               (or fully consumed), so callers must close it, ideally with try-with-resources.
+    */
+    @Override
+    public Stream<Tutorial> streamAllTutorials(int fetchSize) throws DatabaseOperationException {
+        return streamAllTutorials(fetchSize, TutorialColumn.ALL);
+    }
+
+    // Same as streamAllTutorials(fetchSize), but only the given columns are fetched (tutorial_id always is).
+    // An unfiltered query in ID order produces exactly SELECT_ALL_SQL for the full column list.
+    @Override
+    public Stream<Tutorial> streamAllTutorials(int fetchSize, Set<TutorialColumn> columns) throws DatabaseOperationException {
+        return streamTutorials(TutorialQuery.builder().columns(columns).build(), fetchSize);
+    }
+
+    //Purpose: Returns one page of tutorials matching a TutorialQuery (author and/or published date range).
+    /*
+      SQL: Built from the filters that are set, always with bind parameters, so every combination of
+           filters is a single SQL text that the statement cache can reuse.
+      Indexes: "author = ?" seeks tutorials_author_idx (author, tutorial_id), and date ranges or date
+               order use tutorials_published_idx (published_date, tutorial_id); both indexes already
+               hold the rows in the requested order, so no sort is needed.
+      Paging: a keyset condition continues after the last row seen, then FETCH FIRST ? ROWS ONLY.
+    */
+    @Override
+    public List<Tutorial> findTutorials(TutorialQuery query) throws DatabaseOperationException {
+        query.validate();
+        int pageSize = query.pageSize();
+        List<Tutorial> tutorials = new ArrayList<>(Math.min(pageSize, DEFAULT_FETCH_SIZE));
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+
+        TutorialRowMapper mapper = mapperFor(query);
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildQuerySql(query, mapper, pageSize, parameters);
+        try {
+            connection = borrowConnection();
+            preparedStatement = connection.prepareStatement(sql);
+            bindParameters(preparedStatement, parameters);
+            preparedStatement.setFetchSize(Math.min(pageSize, DEFAULT_FETCH_SIZE));
+            resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                tutorials.add(mapper.map(resultSet));
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error finding tutorials: " + e.getMessage(), e);
+        } finally {
+            closeCursor(resultSet, preparedStatement, connection);
+        }
+        return tutorials;
+    }
+
+    // Streams all rows matching the query through an open cursor, like streamAllTutorials.
+    @Override
+    public Stream<Tutorial> streamTutorials(TutorialQuery query, int fetchSize) throws DatabaseOperationException {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("fetchSize must be at least 1");
+        }
+        query.validate();
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+
+        TutorialRowMapper mapper = mapperFor(query);
+        List<Object> parameters = new ArrayList<>();
+        String sql = mapper == TutorialRowMapper.ALL && isUnfiltered(query)
+                ? SELECT_ALL_SQL
+                : buildQuerySql(query, mapper, query.getLimit(), parameters);
+        try {
+            connection = borrowConnection();
+            statement = connection.prepareStatement(sql);
+            bindParameters(statement, parameters);
+            statement.setFetchSize(fetchSize);
+            resultSet = statement.executeQuery();
+            resultSet.setFetchSize(fetchSize);
+        } catch (SQLException e) {
+            closeCursor(resultSet, statement, connection);
+            throw new DatabaseOperationException("Error streaming tutorials: " + e.getMessage(), e);
+        }
+
+        TutorialCursor cursor = new TutorialCursor(connection, statement, resultSet, mapper);
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    private static boolean isUnfiltered(TutorialQuery query) {
+        return query.getAuthor() == null && query.getPublishedFrom() == null && query.getPublishedTo() == null
+                && query.getAfterId() == null && query.getOrder() == TutorialOrder.ID && query.getLimit() == TutorialQuery.NO_LIMIT;
+    }
+
+    // Date orders page on published_date, so it is read even when the caller did not ask for it.
+    private static TutorialRowMapper mapperFor(TutorialQuery query) {
+        if (!query.getOrder().byPublishedDate() || query.getColumns().contains(TutorialColumn.PUBLISHED_DATE)) {
+            return TutorialRowMapper.forColumns(query.getColumns());
+        }
+        EnumSet<TutorialColumn> columns = EnumSet.of(TutorialColumn.PUBLISHED_DATE);
+        columns.addAll(query.getColumns());
+        return TutorialRowMapper.forColumns(columns);
+    }
+
+    // Appends one condition per filter that is set and collects the matching bind values in order.
+    private static String buildQuerySql(TutorialQuery query, TutorialRowMapper mapper, int limit, List<Object> parameters) {
+        StringBuilder sql = new StringBuilder(160).append("SELECT ").append(mapper.selectList()).append(" FROM tutorials");
+        String keyword = " WHERE ";
+        if (query.getAuthor() != null) {
+            sql.append(keyword).append("author = ?");
+            parameters.add(query.getAuthor());
+            keyword = " AND ";
+        }
+        // Published dates are stored without a time of day (see the schema's CHECK constraint),
+        // so "<= day" and the keyset's "published_date = ?" compare whole days.
+        if (query.getPublishedFrom() != null) {
+            sql.append(keyword).append("published_date >= ?");
+            parameters.add(clampToStoredRange(query.getPublishedFrom()));
+            keyword = " AND ";
+        }
+        if (query.getPublishedTo() != null) {
+            sql.append(keyword).append("published_date <= ?");
+            parameters.add(clampToStoredRange(query.getPublishedTo()));
+            keyword = " AND ";
+        } else if (query.getOrder().byPublishedDate() && query.getPublishedFrom() == null) {
+            sql.append(keyword).append("published_date IS NOT NULL");
+            keyword = " AND ";
+        }
+        if (query.getAfterId() != null) {
+            sql.append(keyword);
+            switch (query.getOrder()) {
+                case ID -> sql.append("tutorial_id > ?");
+                case PUBLISHED_DATE -> sql.append("(published_date > ? OR (published_date = ? AND tutorial_id > ?))");
+                case PUBLISHED_DATE_DESC -> sql.append("(published_date < ? OR (published_date = ? AND tutorial_id < ?))");
+            }
+            if (query.getOrder().byPublishedDate()) {
+                parameters.add(query.getAfterPublishedDate());
+                parameters.add(query.getAfterPublishedDate());
+            }
+            parameters.add(query.getAfterId());
+        }
+        sql.append(" ORDER BY ").append(query.getOrder().orderBy());
+        if (limit != TutorialQuery.NO_LIMIT) {
+            sql.append(" FETCH FIRST ? ROWS ONLY");
+            parameters.add(limit);
+        }
+        return sql.toString();
+    }
+
+    // An Oracle DATE holds years -4712 to 9999. Bounds outside that range, such as LocalDate.MAX
+    // for "no upper bound", are moved to its edge so the conversion to java.sql.Date cannot overflow.
+    private static LocalDate clampToStoredRange(LocalDate date) {
+        if (date.isBefore(MIN_STORED_DATE)) {
+            return MIN_STORED_DATE;
+        }
+        return date.isAfter(MAX_STORED_DATE) ? MAX_STORED_DATE : date;
+    }
+
+    private static void bindParameters(PreparedStatement preparedStatement, List<Object> parameters) throws SQLException {
+        for (int i = 0; i < parameters.size(); i++) {
+            Object value = parameters.get(i);
+            if (value instanceof LocalDate date) {
+                preparedStatement.setDate(i + 1, Date.valueOf(date));
+            } else if (value instanceof Integer number) {
+                preparedStatement.setInt(i + 1, number);
+            } else {
+                preparedStatement.setString(i + 1, (String) value);
+            }
+        }
+    }
+
+    //Purpose: Returns one page of tutorials after the given ID (keyset pagination).
+    /*
+      Unlike OFFSET paging, "tutorial_id > lastId" lets the database seek straight into the primary
+      key index, so every page costs the same no matter how deep into the table it is.
+    */
+    @Override
+    public List<Tutorial> getTutorialsAfter(int lastId, int limit) throws DatabaseOperationException {
+        return getTutorialsAfter(lastId, limit, TutorialColumn.ALL);
+    }
+
+    // Projected page: e.g. EnumSet.of(TutorialColumn.TITLE) fetches only tutorial_id and title,
+    // which keeps wide columns like url off the wire for list screens.
+    @Override
+    public List<Tutorial> getTutorialsAfter(int lastId, int limit, Set<TutorialColumn> columns) throws DatabaseOperationException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        List<Tutorial> tutorials = new ArrayList<>(Math.min(limit, DEFAULT_FETCH_SIZE));
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+
+        TutorialRowMapper mapper = TutorialRowMapper.forColumns(columns);
+        try {
+            connection = borrowConnection();
+            preparedStatement = connection.prepareStatement(mapper == TutorialRowMapper.ALL
+                    ? SELECT_PAGE_SQL
+                    : "SELECT " + mapper.selectList() + " FROM tutorials WHERE tutorial_id > ? ORDER BY tutorial_id FETCH FIRST ? ROWS ONLY");
+            preparedStatement.setInt(1, lastId);
+            preparedStatement.setInt(2, limit);
+            preparedStatement.setFetchSize(Math.min(limit, DEFAULT_FETCH_SIZE));
+            resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                tutorials.add(mapper.map(resultSet));
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error retrieving tutorials after ID " + lastId + ": " + e.getMessage(), e);
+        } finally {
+            closeCursor(resultSet, preparedStatement, connection);
+        }
+        return tutorials;
+    }
+
+    //Purpose: Statistics computed by the database with aggregate queries.
+    /*
+      Only the aggregated rows travel to the client: one row for the count and date range, one per
+      author, year or month for the grouped counts. COUNT(*) and MIN/MAX(published_date) can be
+      answered from the primary key and published date indexes, GROUP BY author from the author index.
+      Date grouping uses EXTRACT, which Oracle and H2 both support; undated rows are filtered out.
+    */
+    @Override
+    public long countTutorials() throws DatabaseOperationException {
+        return aggregate(COUNT_SQL, "counting tutorials", rs -> {
+            rs.next();
+            return rs.getLong(1);
+        });
+    }
+
+    @Override
+    public TutorialStats getTutorialStats() throws DatabaseOperationException {
+        return aggregate(STATS_SQL, "reading tutorial statistics", rs -> {
+            rs.next();
+            return new TutorialStats(rs.getLong(1), rs.getLong(2),
+                    rs.getObject(3, LocalDate.class), rs.getObject(4, LocalDate.class));
+        });
+    }
+
+    @Override
+    public Map<String, Long> countByAuthor() throws DatabaseOperationException {
+        return aggregate(COUNT_BY_AUTHOR_SQL, "counting tutorials by author", rs -> {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            while (rs.next()) {
+                counts.put(rs.getString(1), rs.getLong(2));
+            }
+            return counts;
+        });
+    }
+
+    @Override
+    public Map<Year, Long> countByPublishedYear() throws DatabaseOperationException {
+        return aggregate(COUNT_BY_YEAR_SQL, "counting tutorials by year", rs -> {
+            Map<Year, Long> counts = new LinkedHashMap<>();
+            while (rs.next()) {
+                counts.put(Year.of(rs.getInt(1)), rs.getLong(2));
+            }
+            return counts;
+        });
+    }
+
+    @Override
+    public Map<YearMonth, Long> countByPublishedMonth() throws DatabaseOperationException {
+        return aggregate(COUNT_BY_MONTH_SQL, "counting tutorials by month", rs -> {
+            Map<YearMonth, Long> counts = new LinkedHashMap<>();
+            while (rs.next()) {
+                counts.put(YearMonth.of(rs.getInt(1), rs.getInt(2)), rs.getLong(3));
+            }
+            return counts;
+        });
+    }
+
+    // Reads the result of an aggregate query; only used for queries without parameters.
+    @FunctionalInterface
+    private interface AggregateReader<T> {
+        T read(ResultSet resultSet) throws SQLException;
+    }
+
+    private <T> T aggregate(String sql, String what, AggregateReader<T> reader) throws DatabaseOperationException {
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = borrowConnection();
+            preparedStatement = connection.prepareStatement(sql);
+            resultSet = preparedStatement.executeQuery();
+            return reader.read(resultSet);
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error " + what + ": " + e.getMessage(), e);
+        } finally {
+            closeCursor(resultSet, preparedStatement, connection);
+        }
+    }
+
+    //Purpose: Change feed, the rows and tombstones with a version above the watermark.
+    /*
+      Query: One UNION ALL of live rows and tombstones, each branch an index range scan on version
+             that stops after limit rows, merged and cut to limit again in version order.
+      Mapping: Tombstone rows have a NULL title, which the NOT NULL title of a live row never has.
+      Gaps: Versions are drawn when a statement runs, not when it commits. A transaction can hold a
+            drawn version uncommitted for as long as it runs (applyWriteBatch and inTransaction
+            can run many statements), and meanwhile commits with higher versions become visible.
+      Lag: With a changeFeedLag, the horizon query first finds the lowest version written within the
+           lag, and only changes below it are returned. A version below that horizon was drawn
+           before a change that is already older than the lag, so it was committed unless its
+           transaction ran longer than the lag. The horizon reads the changed_at indexes, so it
+           only touches the rows written within the lag.
+    */
+    @Override
+    public TutorialChanges getChangesSince(long watermark, int limit) throws DatabaseOperationException {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        List<TutorialChange> changes = new ArrayList<>(Math.min(limit, DEFAULT_FETCH_SIZE));
+        long last = watermark;
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = borrowConnection();
+            long horizon = changeHorizon(connection);
+            preparedStatement = connection.prepareStatement(SELECT_CHANGES_SQL);
+            preparedStatement.setLong(1, watermark);
+            preparedStatement.setLong(2, horizon);
+            preparedStatement.setInt(3, limit);
+            preparedStatement.setLong(4, watermark);
+            preparedStatement.setLong(5, horizon);
+            preparedStatement.setInt(6, limit);
+            preparedStatement.setInt(7, limit);
+            preparedStatement.setFetchSize(Math.min(limit, DEFAULT_FETCH_SIZE));
+            resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                last = resultSet.getLong(6);
+                boolean deleted = resultSet.getString(2) == null;
+                Tutorial tutorial = deleted ? null : extractTutorialFromResultSet(resultSet);
+                changes.add(new TutorialChange(last, resultSet.getInt(1), tutorial));
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error reading changes since version " + watermark + ": " + e.getMessage(), e);
+        } finally {
+            closeCursor(resultSet, preparedStatement, connection);
+        }
+        return new TutorialChanges(changes, last);
+    }
+
+    //Purpose: Deletes the tombstones of deletes older than the retention, so tutorial_tombstones does not grow forever.
+    /*
+      Consumers: One whose watermark is older than the retention misses those deletes and must reload
+                 in full (WarmStartTutorialDAO does after its maxAge, which must be shorter).
+      Returns the number of tombstones deleted.
+    */
+    public int purgeTombstones(Duration retention) throws DatabaseOperationException {
+        if (retention.isNegative()) {
+            throw new IllegalArgumentException("retention must not be negative");
+        }
+        Connection connection = null;
+        Statement statement = null;
+        try {
+            connection = borrowConnection();
+            statement = connection.createStatement();
+            return statement.executeUpdate("DELETE FROM tutorial_tombstones WHERE changed_at < " + ago(retention));
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error purging tombstones: " + e.getMessage(), e);
+        } finally {
+            closeCursor(null, statement, connection);
+        }
+    }
+
+    // First version getChangesSince must not return yet; Long.MAX_VALUE without a lag or without recent writes.
+    private long changeHorizon(Connection connection) throws SQLException {
+        if (changeHorizonSql == null) {
+            return Long.MAX_VALUE;
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement(changeHorizonSql);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            resultSet.next();
+            long horizon = resultSet.getLong(1);
+            return resultSet.wasNull() ? Long.MAX_VALUE : horizon;
+        }
+    }
+
+    // Closes a query's resources in reverse order of opening, logging (not throwing) failures.
+    private static void closeCursor(ResultSet resultSet, Statement statement, Connection connection) {
+        if (resultSet != null) {
+            try { resultSet.close(); } catch (SQLException e) { System.err.println("Failed to close ResultSet: " + e.getMessage()); }
+        }
+        if (statement != null) {
+            try { statement.close(); } catch (SQLException e) { System.err.println("Failed to close Statement: " + e.getMessage()); }
+        }
+        DBConnection.closeConnection(connection);
+    }
+
+    /**
+     * Spliterator over an open ResultSet. Resources are released when the rows run out,
+     * when reading fails, or when the owning stream is closed, whichever comes first.
+     */
+    private final class TutorialCursor extends Spliterators.AbstractSpliterator<Tutorial> {
+        private final Connection connection;
+        private final Statement statement;
+        private final ResultSet resultSet;
+        private final TutorialRowMapper mapper;
+        private boolean closed;
+
+        private TutorialCursor(Connection connection, Statement statement, ResultSet resultSet, TutorialRowMapper mapper) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+            this.connection = connection;
+            this.statement = statement;
+            this.resultSet = resultSet;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Tutorial> action) {
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!resultSet.next()) {
+                    close();
+                    return false;
+                }
+                action.accept(mapper.map(resultSet));
+                return true;
+            } catch (SQLException e) {
+                close();
+                throw new DatabaseOperationException("Error streaming tutorials: " + e.getMessage(), e);
+            }
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                closeCursor(resultSet, statement, connection);
+            }
+        }
+    }
+
     //Purpose: Updates an existing tutorial in the database by ID.
     /*
    Prepare an SQL UPDATE statement with placeholders for title, author, URL, and published_date.
@@ -183,21 +1010,17 @@ public class TutorialDAOImpl implements TutorialDAO {
    */
     @Override
     public void updateTutorial(Tutorial tutorial) throws TutorialNotFoundException, DatabaseOperationException {
-        String SQL = "UPDATE tutorials SET title = ?, author = ?, url = ?, published_date = ? WHERE tutorial_id = ?";
         Connection connection = null;
         PreparedStatement preparedStatement = null;
 
         try {
-            connection = DBConnection.getConnection();
-            preparedStatement = connection.prepareStatement(SQL);
+            connection = borrowConnection();
+            preparedStatement = connection.prepareStatement(UPDATE_SQL);
 
             preparedStatement.setString(1, tutorial.getTitle());
             preparedStatement.setString(2, tutorial.getAuthor());
             preparedStatement.setString(3, tutorial.getUrl());
-            preparedStatement.setDate(4, tutorial.getPublishedDate() != null
-                    ? Date.valueOf(tutorial.getPublishedDate())
-                    : null
-            );
+            preparedStatement.setDate(4, storedDate(tutorial.getPublishedDate()));
             preparedStatement.setInt(5, tutorial.getId());
 
             int affectedRows = preparedStatement.executeUpdate();
@@ -209,7 +1032,6 @@ public class TutorialDAOImpl implements TutorialDAO {
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error updating tutorial: " + e.getMessage(), e);
         } finally {
-            DBConnection.closeConnection(connection);
             if (preparedStatement != null) {
                 try {
                     preparedStatement.close();
@@ -217,41 +1039,140 @@ public class TutorialDAOImpl implements TutorialDAO {
                     System.err.println("Failed to close PreparedStatement in updateTutorial: " + e.getMessage());
                 }
             }
+            DBConnection.closeConnection(connection);
+        }
+    }
+
+    //Purpose: Updates only the columns set in a patch, without reading the row first.
+    /*
+      SQL: UPDATE tutorials SET <patched columns> WHERE tutorial_id = ?, built from the patch's columns.
+      Not found: An affected-row count of 0 means there is no tutorial with that ID.
+      Returning: patchAndGetTutorial asks for all columns as generated keys, which the driver turns into
+                 UPDATE ... RETURNING, so the stored row comes back in the same round-trip. If the driver
+                 cannot do that for UPDATEs, the row is read back with a SELECT on the same connection.
+    */
+    @Override
+    public void patchTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        patch(patch, false);
+    }
+
+    @Override
+    public Tutorial patchAndGetTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        return patch(patch, true);
+    }
+
+    private Tutorial patch(TutorialPatch patch, boolean returnRow) throws TutorialNotFoundException, DatabaseOperationException {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch for tutorial " + patch.getId() + " sets no field");
+        }
+        StringBuilder sql = new StringBuilder("UPDATE tutorials SET ");
+        for (TutorialColumn column : patch.columns()) {
+            sql.append(column.columnName()).append(" = ?, ");
+        }
+        sql.append(SET_NEXT_VERSION);
+        sql.append(" WHERE tutorial_id = ?");
+
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+        try {
+            connection = borrowConnection();
+            boolean returning = returnRow && !updateReturningUnsupported;
+            if (returning) {
+                try {
+                    preparedStatement = connection.prepareStatement(sql.toString(), ALL_COLUMNS);
+                } catch (SQLFeatureNotSupportedException e) {
+                    updateReturningUnsupported = true;
+                    returning = false;
+                }
+            }
+            if (preparedStatement == null) {
+                preparedStatement = connection.prepareStatement(sql.toString());
+            }
+            int parameter = 1;
+            for (TutorialColumn column : patch.columns()) {
+                Object value = patch.value(column);
+                if (column == TutorialColumn.PUBLISHED_DATE) {
+                    preparedStatement.setDate(parameter++, storedDate((LocalDate) value));
+                } else {
+                    preparedStatement.setString(parameter++, (String) value);
+                }
+            }
+            preparedStatement.setInt(parameter, patch.getId());
+
+            if (preparedStatement.executeUpdate() == 0) {
+                throw new TutorialNotFoundException("Tutorial with ID " + patch.getId() + " not found for update.");
+            }
+            if (!returnRow) {
+                return null;
+            }
+            if (returning) {
+                try (ResultSet returned = preparedStatement.getGeneratedKeys()) {
+                    if (returned.next()) {
+                        return TutorialRowMapper.ALL.map(returned);
+                    }
+                }
+                updateReturningUnsupported = true;
+            }
+            try (PreparedStatement select = connection.prepareStatement(SELECT_BY_ID_SQL)) {
+                select.setInt(1, patch.getId());
+                try (ResultSet resultSet = select.executeQuery()) {
+                    if (resultSet.next()) {
+                        return extractTutorialFromResultSet(resultSet);
+                    }
+                }
+            }
+            throw new TutorialNotFoundException("Tutorial with ID " + patch.getId() + " was deleted right after the update.");
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error patching tutorial: " + e.getMessage(), e);
+        } finally {
+            if (preparedStatement != null) {
+                try { preparedStatement.close(); } catch (SQLException e) { System.err.println("Failed to close PreparedStatement in patchTutorial: " + e.getMessage()); }
+            }
+            DBConnection.closeConnection(connection);
         }
     }
 
     //Purpose: Deletes a tutorial by ID from the database.
     /*
    Prepare an SQL DELETE statement with a placeholder for tutorial_id.
-   Establish a connection to the database.
+   Establish a connection to the database and start a transaction.
    Create a PreparedStatement and set the tutorial ID parameter.
    Execute the delete operation and check how many rows were affected.
    If no rows were deleted, throw TutorialNotFoundException indicating the ID was not found.
+   Otherwise insert a tombstone for the change feed and commit both together; on failure roll back.
    Catch SQL exceptions and rethrow as DatabaseOperationException with a meaningful message.
    In the finally block, safely close all database resources with error logging.
    */
 
     @Override
     public void deleteTutorial(int id) throws TutorialNotFoundException, DatabaseOperationException {
-        String SQL = "DELETE FROM tutorials WHERE tutorial_id = ?";
         Connection connection = null;
         PreparedStatement preparedStatement = null;
 
         try {
-            connection = DBConnection.getConnection();
-            preparedStatement = connection.prepareStatement(SQL);
-            preparedStatement.setInt(1, id);
+            connection = borrowConnection();
+            connection.setAutoCommit(false);
+            try {
+                preparedStatement = connection.prepareStatement(DELETE_SQL);
+                preparedStatement.setInt(1, id);
 
-            int affectedRows = preparedStatement.executeUpdate();
+                int affectedRows = preparedStatement.executeUpdate();
 
-            if (affectedRows == 0) {
-                throw new TutorialNotFoundException("Tutorial with ID " + id + " not found for deletion.");
+                if (affectedRows == 0) {
+                    throw new TutorialNotFoundException("Tutorial with ID " + id + " not found for deletion.");
+                }
+                try (PreparedStatement tombstone = connection.prepareStatement(INSERT_TOMBSTONE_SQL)) {
+                    tombstone.setInt(1, id);
+                    tombstone.executeUpdate();
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
             }
-
         } catch (SQLException e) {
             throw new DatabaseOperationException("Error deleting tutorial: " + e.getMessage(), e);
         } finally {
-            DBConnection.closeConnection(connection);
             if (preparedStatement != null) {
                 try {
                     preparedStatement.close();
@@ -259,7 +1180,117 @@ public class TutorialDAOImpl implements TutorialDAO {
                     System.err.println("Failed to close PreparedStatement in deleteTutorial: " + e.getMessage());
                 }
             }
+            if (connection != null) {
+                try { connection.setAutoCommit(true); } catch (SQLException e) { System.err.println("Failed to restore autocommit in deleteTutorial: " + e.getMessage()); }
+            }
+            DBConnection.closeConnection(connection);
+        }
+    }
+
+    //Purpose: Applies a batch of updates and deletes in one transaction (group commit).
+    /*
+      Connection: One connection with autocommit switched off for the whole batch.
+      Batches: All updates go out as one JDBC batch of UPDATE statements, then all deletes as one batch
+               of DELETEs, each split into batchSize statements per round-trip. The Oracle driver sends
+               such a batch as one array-bound execution. This also serves deleteTutorials and
+               updateTutorials. IN-list deletes were measured slower and need a second pass to find missing IDs.
+      Not found: An update count of 0 means the ID matched no row; it is reported instead of thrown.
+      Tombstones: Every deleted ID gets a tombstone for the change feed, batched the same way.
+      Commit: Everything is committed together; any SQL error rolls the whole batch back.
+    */
+    @Override
+    public WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) throws DatabaseOperationException {
+        if (batch.isEmpty()) {
+            return new WriteBatchResult(0, 0, List.of());
+        }
+        List<Integer> notFound = new ArrayList<>();
+        Collection<Tutorial> updates = batch.updates();
+        int[] deleteIds = batch.deleteIds();
+        int updated = 0;
+        int deleted = 0;
+        Connection connection = null;
+
+        try {
+            connection = borrowConnection();
+            connection.setAutoCommit(false);
+            try {
+                if (!updates.isEmpty()) {
+                    int[] ids = updates.stream().mapToInt(Tutorial::getId).toArray();
+                    try (PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_SQL)) {
+                        updated = executeBatched(preparedStatement, ids, updates.iterator(), notFound);
+                    }
+                }
+                if (deleteIds.length > 0) {
+                    int missingBefore = notFound.size();
+                    try (PreparedStatement preparedStatement = connection.prepareStatement(DELETE_SQL)) {
+                        deleted = executeBatched(preparedStatement, deleteIds, null, notFound);
+                    }
+                    if (deleted > 0) {
+                        insertTombstones(connection, deleteIds, new HashSet<>(notFound.subList(missingBefore, notFound.size())));
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error applying write batch: " + e.getMessage(), e);
+        } finally {
+            if (connection != null) {
+                try { connection.setAutoCommit(true); } catch (SQLException e) { System.err.println("Failed to restore autocommit in applyWriteBatch: " + e.getMessage()); }
+            }
+            DBConnection.closeConnection(connection);
         }
+        return new WriteBatchResult(updated, deleted, List.copyOf(notFound));
     }
 
+    // Records a tombstone for every ID in ids that is not in missing, in batches of batchSize.
+    private void insertTombstones(Connection connection, int[] ids, Set<Integer> missing) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_TOMBSTONE_SQL)) {
+            int pending = 0;
+            for (int id : ids) {
+                if (missing.contains(id)) {
+                    continue;
+                }
+                preparedStatement.setInt(1, id);
+                preparedStatement.addBatch();
+                if (++pending == batchSize) {
+                    preparedStatement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                preparedStatement.executeBatch();
+            }
+        }
+    }
+
+    // Runs one statement per ID in batches of batchSize. With rows, each statement is an UPDATE bound
+    // to the next tutorial (ID last); without, a DELETE by ID. Returns the number of rows changed.
+    private int executeBatched(PreparedStatement preparedStatement, int[] ids, Iterator<Tutorial> rows,
+                               List<Integer> notFound) throws SQLException {
+        int changed = 0;
+        for (int start = 0; start < ids.length; start += batchSize) {
+            int end = Math.min(ids.length, start + batchSize);
+            for (int i = start; i < end; i++) {
+                if (rows != null) {
+                    bindTutorial(preparedStatement, rows.next());
+                    preparedStatement.setInt(5, ids[i]);
+                } else {
+                    preparedStatement.setInt(1, ids[i]);
+                }
+                preparedStatement.addBatch();
+            }
+            int[] counts = preparedStatement.executeBatch();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    notFound.add(ids[start + i]);
+                } else {
+                    changed++; // SUCCESS_NO_INFO counts as found: the driver reported no error
+                }
+            }
+        }
+        return changed;
+    }
 }
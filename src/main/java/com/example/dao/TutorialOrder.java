@@ -0,0 +1,27 @@
+package com.example.dao;
+
+/**
+ * Sort orders supported by {@link TutorialQuery}. Each one ends with {@code tutorial_id}
+ * so the order is total and a query can continue after the last row of a page.
+ */
+public enum TutorialOrder {
+    ID("tutorial_id"),
+    // Oldest first; tutorials without a published date are left out.
+    PUBLISHED_DATE("published_date, tutorial_id"),
+    // Newest first; tutorials without a published date are left out.
+    PUBLISHED_DATE_DESC("published_date DESC, tutorial_id DESC");
+
+    private final String orderBy;
+
+    TutorialOrder(String orderBy) {
+        this.orderBy = orderBy;
+    }
+
+    String orderBy() {
+        return orderBy;
+    }
+
+    boolean byPublishedDate() {
+        return this != ID;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.dao;
+
+import com.example.model.Tutorial;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A partial update of one tutorial for {@link TutorialDAO#patchTutorial}: only the fields that
+ * were set are written, the others keep their stored values. Setting a field to {@code null}
+ * clears it (except the title, which the table requires).
+ * <pre>{@code
+ * dao.patchTutorial(TutorialPatch.of(42).title("New title"));
+ * }</pre>
+ */
+public final class TutorialPatch {
+    private final int id;
+    private final Map<TutorialColumn, Object> values = new EnumMap<>(TutorialColumn.class);
+
+    private TutorialPatch(int id) {
+        this.id = id;
+    }
+
+    public static TutorialPatch of(int id) {
+        return new TutorialPatch(id);
+    }
+
+    public TutorialPatch title(String title) {
+        values.put(TutorialColumn.TITLE, title);
+        return this;
+    }
+
+    public TutorialPatch author(String author) {
+        values.put(TutorialColumn.AUTHOR, author);
+        return this;
+    }
+
+    public TutorialPatch url(String url) {
+        values.put(TutorialColumn.URL, url);
+        return this;
+    }
+
+    public TutorialPatch publishedDate(LocalDate publishedDate) {
+        values.put(TutorialColumn.PUBLISHED_DATE, publishedDate);
+        return this;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    // The columns that were set, in table order.
+    public Set<TutorialColumn> columns() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    public Object value(TutorialColumn column) {
+        return values.get(column);
+    }
+
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    // Copies the set fields into the tutorial.
+    public void applyTo(Tutorial tutorial) {
+        for (Map.Entry<TutorialColumn, Object> entry : values.entrySet()) {
+            switch (entry.getKey()) {
+                case TITLE -> tutorial.setTitle((String) entry.getValue());
+                case AUTHOR -> tutorial.setAuthor((String) entry.getValue());
+                case URL -> tutorial.setUrl((String) entry.getValue());
+                case PUBLISHED_DATE -> tutorial.setPublishedDate((LocalDate) entry.getValue());
+                case ID -> throw new IllegalStateException("The ID cannot be patched");
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TutorialPatch(id=" + id + ", " + values + ")";
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.dao;
+
+import com.example.model.Tutorial;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Filters, order and page size for {@link TutorialDAO#findTutorials} and
+ * {@link TutorialDAO#streamTutorials}. Filters that are {@code null} are not applied.
+ * <pre>{@code
+ * TutorialQuery query = TutorialQuery.builder()
+ *         .author("Jane Doe")
+ *         .publishedFrom(LocalDate.of(2024, 1, 1))
+ *         .order(TutorialOrder.PUBLISHED_DATE_DESC)
+ *         .limit(50)
+ *         .build();
+ * List<Tutorial> page = dao.findTutorials(query);
+ * List<Tutorial> next = dao.findTutorials(query.after(page.get(page.size() - 1)));
+ * }</pre>
+ * Paging is keyset based: {@link #after(Tutorial)} continues behind the last row of a page,
+ * so deep pages cost the same as the first one.
+ */
+@Getter
+@Builder(toBuilder = true)
+@ToString
+public class TutorialQuery {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int NO_LIMIT = 0;
+
+    // Exact, case-sensitive match on author.
+    private final String author;
+    // Inclusive lower bound on published_date.
+    private final LocalDate publishedFrom;
+    // Inclusive upper bound on published_date.
+    private final LocalDate publishedTo;
+    @Builder.Default
+    private final TutorialOrder order = TutorialOrder.ID;
+    // Page size for findTutorials (NO_LIMIT means DEFAULT_PAGE_SIZE); total cap for streamTutorials (NO_LIMIT means all rows).
+    @Builder.Default
+    private final int limit = NO_LIMIT;
+    // Columns to read; tutorial_id is always read, and published_date too when ordering by it.
+    @Builder.Default
+    private final Set<TutorialColumn> columns = TutorialColumn.ALL;
+    // Keyset position: the ID (and, for date orders, the published date) of the last row already seen.
+    private final Integer afterId;
+    private final LocalDate afterPublishedDate;
+
+    /**
+     * @param last The last tutorial of the previous page.
+     * @return The same query, continuing behind {@code last}.
+     */
+    public TutorialQuery after(Tutorial last) {
+        return toBuilder().afterId(last.getId()).afterPublishedDate(last.getPublishedDate()).build();
+    }
+
+    public static TutorialQuery byAuthor(String author) {
+        return builder().author(author).build();
+    }
+
+    // Tutorials published between from and to (both inclusive), oldest first.
+    public static TutorialQuery byPublishedDateRange(LocalDate from, LocalDate to) {
+        return builder().publishedFrom(from).publishedTo(to).order(TutorialOrder.PUBLISHED_DATE).build();
+    }
+
+    // Rejects combinations no implementation can answer.
+    void validate() {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        if (order == null) {
+            throw new IllegalArgumentException("order must not be null");
+        }
+        if (publishedFrom != null && publishedTo != null && publishedFrom.isAfter(publishedTo)) {
+            throw new IllegalArgumentException("publishedFrom " + publishedFrom + " is after publishedTo " + publishedTo);
+        }
+        if (afterId != null && order.byPublishedDate() && afterPublishedDate == null) {
+            throw new IllegalArgumentException("afterPublishedDate is required to page through " + order + " order");
+        }
+    }
+
+    int pageSize() {
+        return limit == NO_LIMIT ? DEFAULT_PAGE_SIZE : limit;
+    }
+}
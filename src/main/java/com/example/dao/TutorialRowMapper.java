@@ -0,0 +1,103 @@
+package com.example.dao;
+
+import com.example.model.Tutorial;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts rows of the {@code tutorials} table into {@link Tutorial} objects.
+ * <p>
+ * Column positions are worked out once from the select list the mapper generated
+ * ({@link #forColumns}), and every row is then read by index. Dates are read directly as
+ * {@link LocalDate} via {@code getObject}.
+ * Columns that are not part of the projection are left {@code null} in the Tutorial.
+ */
+public final class TutorialRowMapper {
+    private static final int ABSENT = 0;
+    private static final Map<Set<TutorialColumn>, TutorialRowMapper> PROJECTIONS = new ConcurrentHashMap<>();
+
+    public static final TutorialRowMapper ALL = forColumns(TutorialColumn.ALL);
+
+    private final String selectList;
+    private final int idIndex;
+    private final int titleIndex;
+    private final int authorIndex;
+    private final int urlIndex;
+    private final int publishedDateIndex;
+
+    private TutorialRowMapper(String selectList, int idIndex, int titleIndex, int authorIndex, int urlIndex, int publishedDateIndex) {
+        this.selectList = selectList;
+        this.idIndex = idIndex;
+        this.titleIndex = titleIndex;
+        this.authorIndex = authorIndex;
+        this.urlIndex = urlIndex;
+        this.publishedDateIndex = publishedDateIndex;
+    }
+
+    /**
+     * Returns the (cached) mapper for a projection. {@code tutorial_id} is always selected.
+     * @param columns The columns to select.
+     * @return A mapper whose {@link #selectList()} lists the columns in the order it reads them.
+     */
+    public static TutorialRowMapper forColumns(Set<TutorialColumn> columns) {
+        TutorialRowMapper mapper = PROJECTIONS.get(columns);
+        if (mapper != null) {
+            return mapper;
+        }
+        EnumSet<TutorialColumn> requested = columns.isEmpty() ? EnumSet.noneOf(TutorialColumn.class) : EnumSet.copyOf(columns);
+        EnumSet<TutorialColumn> projection = EnumSet.copyOf(requested);
+        projection.add(TutorialColumn.ID);
+        mapper = PROJECTIONS.computeIfAbsent(projection, TutorialRowMapper::compile);
+        PROJECTIONS.putIfAbsent(requested, mapper); // so the next lookup with the same set is a plain get
+        return mapper;
+    }
+
+    private static TutorialRowMapper compile(Set<TutorialColumn> projection) {
+        StringBuilder selectList = new StringBuilder();
+        int[] positions = new int[TutorialColumn.values().length];
+        int position = 0;
+        for (TutorialColumn column : projection) { // EnumSet iterates in declaration order
+            if (position > 0) {
+                selectList.append(", ");
+            }
+            selectList.append(column.columnName());
+            positions[column.ordinal()] = ++position;
+        }
+        return new TutorialRowMapper(selectList.toString(), positions[TutorialColumn.ID.ordinal()],
+                positions[TutorialColumn.TITLE.ordinal()], positions[TutorialColumn.AUTHOR.ordinal()],
+                positions[TutorialColumn.URL.ordinal()], positions[TutorialColumn.PUBLISHED_DATE.ordinal()]);
+    }
+
+    /**
+     * @return The comma separated column list to put after {@code SELECT}.
+     */
+    public String selectList() {
+        return selectList;
+    }
+
+    public Tutorial map(ResultSet rs) throws SQLException {
+        Tutorial tutorial = new Tutorial();
+        if (idIndex != ABSENT) {
+            tutorial.setId(rs.getInt(idIndex));
+        }
+        if (titleIndex != ABSENT) {
+            tutorial.setTitle(rs.getString(titleIndex));
+        }
+        if (authorIndex != ABSENT) {
+            tutorial.setAuthor(rs.getString(authorIndex));
+        }
+        if (urlIndex != ABSENT) {
+            tutorial.setUrl(rs.getString(urlIndex));
+        }
+        if (publishedDateIndex != ABSENT) {
+            tutorial.setPublishedDate(rs.getObject(publishedDateIndex, LocalDate.class));
+        }
+        return tutorial;
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.dao;
+
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A read-only, column-oriented copy of the tutorials table for holding the whole catalog in
+ * memory at a fraction of the heap an {@code ArrayList<Tutorial>} takes.
+ * <p>
+ * Each column is one array: IDs as {@code int}, published dates as epoch days, authors as codes
+ * into a dictionary of the distinct names, and titles and URLs as UTF-8 bytes in one shared
+ * array per column with an offset per row. A row therefore costs a few ints plus its text,
+ * instead of a Tutorial, a LocalDate and up to four String objects.
+ * <p>
+ * Rows are addressed by position (0 to {@link #size()} - 1, in the order they were read) or
+ * looked up by ID in constant time. Filters scan a single primitive column and return the
+ * matching positions; Tutorial objects are only created by {@link #tutorialAt} and friends,
+ * and each call returns a new one. Immutable once built, so it can be shared between threads.
+ */
+public final class TutorialSnapshot {
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+    private static final int NULL_AUTHOR = -1;
+    private static final int NOT_FOUND = -1;
+
+    private final int size;
+    private final int[] ids;
+    private final int[] publishedDays;
+    private final int[] authorCodes;
+    private final String[] authorDictionary;
+    private final Map<String, Integer> authorLookup;
+    private final Utf8Column titles;
+    private final Utf8Column urls;
+    // ID lookup: a direct table (row = rowById[id - minId]) when IDs are dense, as identity
+    // columns mostly are, otherwise a hash index.
+    private final int minId;
+    private final int[] rowById;
+    private final IntSlotIndex sparseIndex;
+
+    private TutorialSnapshot(Builder builder) {
+        size = builder.size;
+        ids = Arrays.copyOf(builder.ids, size);
+        publishedDays = Arrays.copyOf(builder.publishedDays, size);
+        authorCodes = Arrays.copyOf(builder.authorCodes, size);
+        authorDictionary = builder.authorDictionary.toArray(new String[0]);
+        authorLookup = builder.authorLookup;
+        titles = builder.titles.trim();
+        urls = builder.urls.trim();
+
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, ids[i]);
+            max = Math.max(max, ids[i]);
+        }
+        minId = size == 0 ? 1 : min;
+        long span = size == 0 ? 0 : (long) max - min + 1;
+        if (span <= 2L * size) {
+            rowById = new int[(int) span];
+            Arrays.fill(rowById, NOT_FOUND);
+            sparseIndex = null;
+            for (int i = 0; i < size; i++) {
+                if (rowById[ids[i] - minId] != NOT_FOUND) {
+                    throw duplicateId(ids[i]);
+                }
+                rowById[ids[i] - minId] = i;
+            }
+        } else {
+            rowById = null;
+            sparseIndex = new IntSlotIndex(size);
+            for (int i = 0; i < size; i++) {
+                if (sparseIndex.get(ids[i]) != IntSlotIndex.NOT_FOUND) {
+                    throw duplicateId(ids[i]);
+                }
+                sparseIndex.put(ids[i], i);
+            }
+        }
+    }
+
+    private static IllegalArgumentException duplicateId(int id) {
+        return new IllegalArgumentException("Duplicate tutorial ID in snapshot: " + id);
+    }
+
+    /**
+     * Builds a snapshot from every tutorial in the stream, e.g. {@link TutorialDAO#streamAllTutorials},
+     * reading it once without holding the rows as objects. The stream is not closed.
+     * Fields missing from a projected stream are stored as {@code null}.
+     */
+    public static TutorialSnapshot of(Stream<Tutorial> tutorials) {
+        Builder builder = new Builder();
+        tutorials.forEachOrdered(builder::add);
+        return new TutorialSnapshot(builder);
+    }
+
+    // Snapshot of the whole table, streamed DEFAULT_FETCH_SIZE rows per round-trip.
+    public static TutorialSnapshot load(TutorialDAO dao) throws DatabaseOperationException {
+        try (Stream<Tutorial> tutorials = dao.streamAllTutorials(TutorialDAO.DEFAULT_FETCH_SIZE)) {
+            return of(tutorials);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Number of distinct authors, not counting tutorials without one.
+    public int authorCount() {
+        return authorDictionary.length;
+    }
+
+    /**
+     * @return The position of the tutorial with this ID, or -1 if the snapshot has none.
+     */
+    public int rowOf(int id) {
+        if (rowById != null) {
+            long offset = (long) id - minId;
+            return offset >= 0 && offset < rowById.length ? rowById[(int) offset] : NOT_FOUND;
+        }
+        return id > 0 ? sparseIndex.get(id) : NOT_FOUND;
+    }
+
+    public boolean contains(int id) {
+        return rowOf(id) != NOT_FOUND;
+    }
+
+    public Tutorial getTutorialById(int id) throws TutorialNotFoundException {
+        int row = rowOf(id);
+        if (row == NOT_FOUND) {
+            throw new TutorialNotFoundException("Tutorial with ID " + id + " not found in snapshot.");
+        }
+        return tutorialAt(row);
+    }
+
+    // Single-column accessors by position, so a caller can read one field without building a Tutorial.
+    public int idAt(int row) {
+        return ids[checkRow(row)];
+    }
+
+    public String titleAt(int row) {
+        return titles.get(checkRow(row));
+    }
+
+    public String authorAt(int row) {
+        int code = authorCodes[checkRow(row)];
+        return code == NULL_AUTHOR ? null : authorDictionary[code];
+    }
+
+    public String urlAt(int row) {
+        return urls.get(checkRow(row));
+    }
+
+    public LocalDate publishedDateAt(int row) {
+        int day = publishedDays[checkRow(row)];
+        return day == NULL_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    public Tutorial tutorialAt(int row) {
+        return new Tutorial(idAt(row), titleAt(row), authorAt(row), urlAt(row), publishedDateAt(row));
+    }
+
+    public List<Tutorial> tutorialsAt(int[] rows) {
+        List<Tutorial> tutorials = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            tutorials.add(tutorialAt(row));
+        }
+        return tutorials;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for snapshot of size " + size);
+        }
+        return row;
+    }
+
+    /**
+     * @return Positions of the tutorials by this author in snapshot order; {@code null} selects
+     *         the tutorials without an author. The name is looked up once, then only int codes are compared.
+     */
+    public int[] rowsByAuthor(String author) {
+        int code;
+        if (author == null) {
+            code = NULL_AUTHOR;
+        } else {
+            Integer known = authorLookup.get(author);
+            if (known == null) {
+                return new int[0];
+            }
+            code = known;
+        }
+        int[] codes = authorCodes;
+        int[] rows = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            rows[n] = i;
+            n += codes[i] == code ? 1 : 0; // branch-free: every row is written, only matches advance
+        }
+        return Arrays.copyOf(rows, n);
+    }
+
+    /**
+     * @return Positions of the tutorials published between {@code from} and {@code to} (inclusive)
+     *         in snapshot order. Tutorials without a published date never match.
+     * @throws IllegalArgumentException If {@code from} is after {@code to}.
+     */
+    public int[] rowsPublishedBetween(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        int first = clampedDay(from);
+        int last = clampedDay(to);
+        int[] days = publishedDays;
+        int[] rows = new int[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            int day = days[i];
+            rows[n] = i;
+            n += day >= first & day <= last ? 1 : 0; // NULL_DATE is below every real day
+        }
+        return Arrays.copyOf(rows, n);
+    }
+
+    // Like rowsPublishedBetween(from, to).length, without building the result.
+    public int countPublishedBetween(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        int first = clampedDay(from);
+        int last = clampedDay(to);
+        int[] days = publishedDays;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int day = days[i];
+            count += day >= first & day <= last ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from " + from + " is after to " + to);
+        }
+    }
+
+    // Stored days always fit in an int (see Builder.add); a bound beyond them is moved to the edge,
+    // and never down to NULL_DATE, so LocalDate.MIN does not match undated rows.
+    private static int clampedDay(LocalDate date) {
+        return (int) Math.clamp(date.toEpochDay(), NULL_DATE + 1L, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Strings stored back to back as UTF-8 in one byte array: row i is
+     * {@code bytes[offsets[i] .. offsets[i + 1])}, and a set bit in {@code nulls} marks a null.
+     */
+    private static final class Utf8Column {
+        private byte[] bytes = new byte[1024];
+        private int[] offsets = new int[17];
+        private final BitSet nulls = new BitSet();
+        private int rows;
+
+        void add(String value) {
+            if (rows + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            int start = offsets[rows];
+            if (value == null) {
+                nulls.set(rows);
+            } else {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                if (start + encoded.length > bytes.length) {
+                    bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, start + encoded.length));
+                }
+                System.arraycopy(encoded, 0, bytes, start, encoded.length);
+                start += encoded.length;
+            }
+            offsets[++rows] = start;
+        }
+
+        // Drops the spare capacity once building is done.
+        Utf8Column trim() {
+            bytes = Arrays.copyOf(bytes, offsets[rows]);
+            offsets = Arrays.copyOf(offsets, rows + 1);
+            return this;
+        }
+
+        String get(int row) {
+            if (nulls.get(row)) {
+                return null;
+            }
+            int start = offsets[row];
+            return new String(bytes, start, offsets[row + 1] - start, StandardCharsets.UTF_8);
+        }
+    }
+
+    // Growable columns filled by one pass over the stream.
+    private static final class Builder {
+        private int size;
+        private int[] ids = new int[1024];
+        private int[] publishedDays = new int[1024];
+        private int[] authorCodes = new int[1024];
+        private final List<String> authorDictionary = new ArrayList<>();
+        private final Map<String, Integer> authorLookup = new HashMap<>();
+        private final Utf8Column titles = new Utf8Column();
+        private final Utf8Column urls = new Utf8Column();
+
+        private static int storedDay(Tutorial tutorial) {
+            long day = tutorial.getPublishedDate().toEpochDay();
+            if (day <= NULL_DATE || day > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Published date of tutorial " + tutorial.getId() + " is out of range: "
+                        + tutorial.getPublishedDate());
+            }
+            return (int) day;
+        }
+
+        void add(Tutorial tutorial) {
+            if (tutorial.getId() <= 0) {
+                throw new IllegalArgumentException("Snapshot rows need a stored tutorial ID, got " + tutorial.getId());
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                publishedDays = Arrays.copyOf(publishedDays, size * 2);
+                authorCodes = Arrays.copyOf(authorCodes, size * 2);
+            }
+            ids[size] = tutorial.getId();
+            publishedDays[size] = tutorial.getPublishedDate() == null ? NULL_DATE : storedDay(tutorial);
+            authorCodes[size] = tutorial.getAuthor() == null ? NULL_AUTHOR : authorLookup.computeIfAbsent(tutorial.getAuthor(), author -> {
+                authorDictionary.add(author);
+                return authorDictionary.size() - 1;
+            });
+            titles.add(tutorial.getTitle());
+            urls.add(tutorial.getUrl());
+            size++;
+        }
+    }
+}
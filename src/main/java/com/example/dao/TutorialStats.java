@@ -0,0 +1,13 @@
+package com.example.dao;
+
+import java.time.LocalDate;
+
+/**
+ * Table-wide figures from {@link TutorialDAO#getTutorialStats}.
+ * @param count All tutorials.
+ * @param datedCount Tutorials with a published date.
+ * @param firstPublished Earliest published date, or {@code null} if no tutorial has one.
+ * @param lastPublished Latest published date, or {@code null} if no tutorial has one.
+ */
+public record TutorialStats(long count, long datedCount, LocalDate firstPublished, LocalDate lastPublished) {
+}
@@ -0,0 +1,65 @@
+package com.example.dao;
+
+import com.example.model.Tutorial;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Updates and deletes to be applied together by {@link TutorialDAO#applyWriteBatch}.
+ * <p>
+ * The batch holds at most one write per ID: a later update replaces an earlier one, and a
+ * delete replaces a pending update of the same row. An update after a delete of the same row is
+ * refused, as it could only fail once the row is gone. Updated tutorials are copied when added,
+ * so the caller may keep changing its own object. Not thread-safe.
+ */
+public final class TutorialWriteBatch {
+    private static final Tutorial DELETE = new Tutorial();
+
+    // tutorial_id -> new row, or DELETE; in order of first write.
+    private final Map<Integer, Tutorial> writes = new LinkedHashMap<>();
+
+    /**
+     * @throws IllegalStateException If the batch already deletes the row.
+     */
+    public TutorialWriteBatch update(Tutorial tutorial) {
+        if (writes.get(tutorial.getId()) == DELETE) {
+            throw new IllegalStateException("Tutorial " + tutorial.getId() + " is already deleted in this batch");
+        }
+        writes.put(tutorial.getId(), new Tutorial(tutorial));
+        return this;
+    }
+
+    public TutorialWriteBatch delete(int id) {
+        writes.put(id, DELETE);
+        return this;
+    }
+
+    public Collection<Tutorial> updates() {
+        List<Tutorial> updates = new ArrayList<>(writes.size());
+        for (Tutorial tutorial : writes.values()) {
+            if (tutorial != DELETE) {
+                updates.add(tutorial);
+            }
+        }
+        return updates;
+    }
+
+    public int[] deleteIds() {
+        return writes.entrySet().stream()
+                .filter(write -> write.getValue() == DELETE)
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+    }
+
+    public int size() {
+        return writes.size();
+    }
+
+    public boolean isEmpty() {
+        return writes.isEmpty();
+    }
+}
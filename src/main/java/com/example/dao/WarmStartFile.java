@@ -0,0 +1,281 @@
+package com.example.dao;
+
+import com.example.model.Tutorial;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.zip.CRC32C;
+
+/**
+ * The on-disk form of a {@link WarmStartTutorialDAO} cache: every tutorial as of one change feed
+ * watermark, read through a {@link MappedByteBuffer} so a node can answer lookups straight from
+ * the page cache without loading or parsing the file first.
+ * <pre>
+ *   header   magic, format version, watermark, full-load millis (when the rows were last read
+ *            in full rather than caught up through the feed), row count, index offset,
+ *            CRC-32C of everything after the header (40 bytes)
+ *   rows     per row: id, epoch day (Integer.MIN_VALUE for none), then title, author and url
+ *            as a byte length (-1 for null) followed by the UTF-8 bytes
+ *   index    the row IDs in ascending order, then the file offset of each row
+ * </pre>
+ * Files are written to a temporary file and moved into place, so readers never see a half
+ * written one. Anything that does not check out (wrong magic or version, bad checksum,
+ * inconsistent sizes, last loaded in full longer ago than the allowed age) is rejected with an IOException.
+ */
+final class WarmStartFile {
+    private static final int MAGIC = 0x54545743; // "TTWC"
+    static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 40;
+    private static final int CHECKSUM_POSITION = 32;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+    private static final int NULL_STRING = -1;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final ByteBuffer buffer;
+    private final long watermark;
+    private final long fullLoadAt;
+    private final int size;
+    private final int idsOffset;
+    private final int offsetsOffset;
+
+    private WarmStartFile(ByteBuffer buffer, long watermark, long fullLoadAt, int size, int idsOffset) {
+        this.buffer = buffer;
+        this.watermark = watermark;
+        this.fullLoadAt = fullLoadAt;
+        this.size = size;
+        this.idsOffset = idsOffset;
+        this.offsetsOffset = idsOffset + 4 * size;
+    }
+
+    /**
+     * Maps and validates the file.
+     * @param maxAge Files whose rows were last loaded in full longer ago than this are rejected as
+     *               stale, however recently they were saved.
+     * @throws IOException If the file cannot be read or is not a valid, fresh cache file.
+     */
+    static WarmStartFile open(Path path, Duration maxAge) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected file size " + fileSize);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize); // stays valid after the channel is closed
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a warm-start cache file");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version " + buffer.getInt(4));
+        }
+        long watermark = buffer.getLong(8);
+        long fullLoadAt = buffer.getLong(16);
+        long age = System.currentTimeMillis() - fullLoadAt;
+        if (age > maxAge.toMillis()) {
+            throw new IOException("Stale: last loaded in full " + Duration.ofMillis(age) + " ago");
+        }
+        int size = buffer.getInt(24);
+        int idsOffset = buffer.getInt(28);
+        if (size < 0 || idsOffset < HEADER_SIZE || (long) idsOffset + 8L * size != buffer.capacity()) {
+            throw new IOException("Inconsistent row count or index offset");
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+        if (crc.getValue() != buffer.getLong(CHECKSUM_POSITION)) {
+            throw new IOException("Checksum mismatch");
+        }
+        return new WarmStartFile(buffer, watermark, fullLoadAt, size, idsOffset);
+    }
+
+    /**
+     * Writes {@code tutorials}, which must come in ascending ID order, to {@code path} as of
+     * {@code watermark}, replacing any existing file.
+     * @param fullLoadAt When the rows were last loaded in full; a file that was only caught up
+     *                   through the feed carries over the time of the load it started from.
+     */
+    static void write(Path path, long watermark, long fullLoadAt, Iterator<Tutorial> tutorials) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                Writer writer = new Writer(channel);
+                int[] ids = new int[1024];
+                int[] offsets = new int[1024];
+                int size = 0;
+                while (tutorials.hasNext()) {
+                    Tutorial tutorial = tutorials.next();
+                    if (size > 0 && tutorial.getId() <= ids[size - 1]) {
+                        throw new IllegalArgumentException("Tutorials must be in ascending ID order, got " + tutorial.getId() + " after " + ids[size - 1]);
+                    }
+                    if (size == ids.length) {
+                        ids = Arrays.copyOf(ids, size * 2);
+                        offsets = Arrays.copyOf(offsets, size * 2);
+                    }
+                    ids[size] = tutorial.getId();
+                    offsets[size++] = writer.position();
+                    writer.putInt(tutorial.getId());
+                    writer.putInt(tutorial.getPublishedDate() == null ? NULL_DATE : epochDay(tutorial));
+                    writer.putString(tutorial.getTitle());
+                    writer.putString(tutorial.getAuthor());
+                    writer.putString(tutorial.getUrl());
+                }
+                int idsOffset = writer.position();
+                for (int i = 0; i < size; i++) {
+                    writer.putInt(ids[i]);
+                }
+                for (int i = 0; i < size; i++) {
+                    writer.putInt(offsets[i]);
+                }
+                writer.flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(watermark).putLong(fullLoadAt)
+                        .putInt(size).putInt(idsOffset).putLong(writer.crc.getValue()).flip();
+                channel.write(header, 0);
+                channel.force(false);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Days that do not fit in an int, or would read back as NULL_DATE, are rejected rather than truncated.
+    private static int epochDay(Tutorial tutorial) {
+        long day = tutorial.getPublishedDate().toEpochDay();
+        if (day <= NULL_DATE || day > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Published date of tutorial " + tutorial.getId() + " is out of range: "
+                    + tutorial.getPublishedDate());
+        }
+        return (int) day;
+    }
+
+    // The change feed watermark the rows are current as of.
+    long watermark() {
+        return watermark;
+    }
+
+    long fullLoadAt() {
+        return fullLoadAt;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int idAt(int row) {
+        return buffer.getInt(idsOffset + 4 * row);
+    }
+
+    // Binary search over the ID index; -1 if the file has no row with this ID.
+    int rowOf(int id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    Tutorial tutorialAt(int row) {
+        int position = buffer.getInt(offsetsOffset + 4 * row);
+        int id = buffer.getInt(position);
+        int day = buffer.getInt(position + 4);
+        position += 8;
+        String title = getString(position);
+        position += stringSize(position);
+        String author = getString(position);
+        position += stringSize(position);
+        String url = getString(position);
+        return new Tutorial(id, title, author, url, day == NULL_DATE ? null : LocalDate.ofEpochDay(day));
+    }
+
+    private int stringSize(int position) {
+        return 4 + Math.max(buffer.getInt(position), 0);
+    }
+
+    private String getString(int position) {
+        int length = buffer.getInt(position);
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Buffered sequential writer that checksums everything it writes.
+    private static final class Writer {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        private final CRC32C crc = new CRC32C();
+        private long written = HEADER_SIZE; // the header is filled in last
+
+        Writer(FileChannel channel) throws IOException {
+            this.channel = channel;
+            channel.position(HEADER_SIZE);
+        }
+
+        int position() throws IOException {
+            long position = written + buffer.position();
+            if (position > Integer.MAX_VALUE) {
+                throw new IOException("Warm-start cache file would exceed 2 GB");
+            }
+            return (int) position;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void putString(String value) throws IOException {
+            if (value == null) {
+                putInt(NULL_STRING);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package com.example.dao;
+
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lets a node answer {@link #getTutorialById} and {@link #getAllTutorials} right after startup,
+ * from a cache file written by an earlier run, instead of loading the table first.
+ * <p>
+ * The constructor maps the file (see {@link WarmStartFile}) and checks its checksum, which takes
+ * milliseconds, and reads are served from it at once. A background thread then catches up with
+ * the database through the change feed ({@link TutorialDAO#getChangesSince}), starting at the
+ * watermark stored in the file, and writes a fresh file. Until it is done, reads may return rows
+ * as of the file. If the file is missing, corrupt, from another format version or its rows were
+ * last loaded in full more than {@code maxAge} ago, it is ignored: reads go to the wrapped DAO
+ * while the thread loads the whole table through the feed and writes a new file.
+ * <p>
+ * Changes since the file was written are kept in an overlay by ID. A row written through this
+ * DAO is read from the wrapped DAO until the next {@link #refresh()}, because its new version
+ * is not known here. Rows added by other nodes are looked up in the wrapped DAO as well, so only
+ * a row that was changed or deleted elsewhere can be out of date, and only until the next
+ * refresh. Call {@link #refresh()} periodically to follow other nodes, and
+ * {@link #saveWarmStart()} from time to time (e.g. on shutdown) to fold the overlay into the file.
+ * A saved file keeps the time of the full load it was caught up from, and once that is
+ * {@code maxAge} old, {@link #saveWarmStart()} loads the table in full again, so a long-running
+ * node cannot drift from the table for good.
+ * {@code maxAge} must be shorter than the time tombstones are kept in {@code tutorial_tombstones},
+ * or deletes older than the file can be missed.
+ * <p>
+ * All other reads go to the wrapped DAO.
+ */
+public class WarmStartTutorialDAO extends DelegatingTutorialDAO {
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofDays(1);
+    // Larger than a normal page: a full load reads the whole table through the feed.
+    private static final int FEED_PAGE_SIZE = 5000;
+    // Overlay marker, compared by identity: the row is gone.
+    private static final Tutorial DELETED = new Tutorial();
+
+    /**
+     * Overlay marker for a row written here that must be re-read. Every write puts a new one, and
+     * markers are only equal to themselves, so a re-read can replace exactly the marker it saw.
+     */
+    private static final class StaleMark extends Tutorial {
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
+    // The mapped file (null until one exists) and everything that changed since its watermark.
+    private record View(WarmStartFile file, Map<Integer, Tutorial> overlay) {
+    }
+
+    private final Path path;
+    private final Duration maxAge;
+    // Serializes refresh and save, which do their database reads and file writes while holding it.
+    // Guards watermark and fullLoadAt, and the view only changes while it is held.
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // Held only to mark a written row and to swap the view, so a mark never lands in a replaced overlay.
+    private final Object lock = new Object();
+    private volatile View view;
+    private volatile boolean loaded; // false only while a full load through the feed is still running
+    private long watermark;
+    private long fullLoadAt;
+    private final CompletableFuture<Void> warmUp = new CompletableFuture<>();
+
+    public WarmStartTutorialDAO(TutorialDAO delegate, Path path) {
+        this(delegate, path, DEFAULT_MAX_AGE);
+    }
+
+    /**
+     * @param path The cache file; it need not exist yet.
+     * @param maxAge How long rows may go without a full load: older files are ignored, and
+     *               {@link #saveWarmStart()} reloads the table in full once this much time has passed.
+     */
+    public WarmStartTutorialDAO(TutorialDAO delegate, Path path, Duration maxAge) {
+        super(delegate);
+        this.path = path;
+        this.maxAge = maxAge;
+        WarmStartFile file = null;
+        try {
+            file = WarmStartFile.open(path, maxAge);
+        } catch (NoSuchFileException e) {
+            // first start on this node
+        } catch (IOException e) {
+            System.err.println("Ignoring warm-start cache " + path + ": " + e.getMessage());
+        }
+        this.view = new View(file, new ConcurrentHashMap<>());
+        this.watermark = file != null ? file.watermark() : 0;
+        this.fullLoadAt = file != null ? file.fullLoadAt() : System.currentTimeMillis();
+        this.loaded = file != null;
+        Thread warmer = new Thread(this::warmUp, "tutortrack-warm-start");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    private void warmUp() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            System.err.println("Warm-start reconciliation failed: " + e.getMessage());
+            warmUp.completeExceptionally(e);
+            return;
+        }
+        try {
+            saveWarmStart();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to write warm-start cache " + path + ": " + e.getMessage());
+        }
+        warmUp.complete(null);
+    }
+
+    /**
+     * @return Completes once the startup reconciliation (or full load) is done, or exceptionally
+     *         if it failed; reads are then still served from the file, and {@link #refresh()} can retry.
+     */
+    public CompletableFuture<Void> warmedUp() {
+        return warmUp;
+    }
+
+    /**
+     * Applies every change recorded after the current watermark to the overlay and re-reads the
+     * rows written through this DAO since the last refresh.
+     */
+    public void refresh() throws DatabaseOperationException {
+        refreshLock.lock();
+        try {
+            catchUp();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // The transaction's rows are not known here; they arrive through the feed like changes from other nodes.
+    @Override
+    protected void afterTransaction() {
+        refresh();
+    }
+
+    // Caller holds refreshLock.
+    private void catchUp() {
+        Map<Integer, Tutorial> overlay = view.overlay();
+        watermark = applyChanges(overlay, watermark);
+        resolveStale(overlay);
+        loaded = true;
+    }
+
+    /**
+     * Applies every feed page after {@code from} to the overlay and returns the new watermark. A row
+     * marked as written here keeps its mark, because the page may have been read before that write
+     * committed; {@link #resolveStale} re-reads it instead.
+     */
+    private long applyChanges(Map<Integer, Tutorial> overlay, long from) {
+        long current = from;
+        while (true) {
+            TutorialChanges page = delegate.getChangesSince(current, FEED_PAGE_SIZE);
+            if (page.isEmpty()) {
+                return current;
+            }
+            for (TutorialChange change : page.changes()) {
+                Tutorial value = change.isDeletion() ? DELETED : change.tutorial();
+                overlay.compute(change.tutorialId(), (id, old) -> old instanceof StaleMark ? old : value);
+            }
+            current = page.watermark();
+        }
+    }
+
+    // The read happens after the mark, so it sees the write. A row marked again meanwhile keeps the new mark.
+    private void resolveStale(Map<Integer, Tutorial> overlay) {
+        for (Map.Entry<Integer, Tutorial> entry : overlay.entrySet()) {
+            if (entry.getValue() instanceof StaleMark mark) {
+                overlay.replace(entry.getKey(), mark, readThrough(entry.getKey(), DELETED));
+            }
+        }
+    }
+
+    // The rows still marked as written here, to carry over into a new view.
+    private static Map<Integer, Tutorial> marksOf(Map<Integer, Tutorial> overlay) {
+        Map<Integer, Tutorial> marks = new ConcurrentHashMap<>();
+        overlay.forEach((id, tutorial) -> {
+            if (tutorial instanceof StaleMark) {
+                marks.put(id, tutorial);
+            }
+        });
+        return marks;
+    }
+
+    private Tutorial readThrough(int id, Tutorial ifMissing) {
+        try {
+            return delegate.getTutorialById(id);
+        } catch (TutorialNotFoundException e) {
+            return ifMissing;
+        }
+    }
+
+    /**
+     * Refreshes, then writes the current rows to a new cache file and serves reads from it,
+     * which empties the overlay. If the last full load is {@code maxAge} old, the table is first
+     * loaded in full again. Reads and writes go on meanwhile; {@link #refresh()} waits.
+     */
+    public void saveWarmStart() throws DatabaseOperationException, IOException {
+        refreshLock.lock();
+        try {
+            if (System.currentTimeMillis() - fullLoadAt >= maxAge.toMillis()) {
+                reloadInFull();
+            }
+            catchUp();
+            // Rows marked while the file is written are re-read by MergedRows or keep their mark below.
+            WarmStartFile.write(path, watermark, fullLoadAt, new MergedRows(view));
+            WarmStartFile file = WarmStartFile.open(path, maxAge);
+            synchronized (lock) {
+                view = new View(file, marksOf(view.overlay()));
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Reads the whole table through the feed into a new overlay while reads are still served from
+    // the current view, then switches to it. Caller holds refreshLock.
+    private void reloadInFull() {
+        long startedAt = System.currentTimeMillis();
+        Map<Integer, Tutorial> overlay = new ConcurrentHashMap<>();
+        long reloaded = applyChanges(overlay, 0);
+        synchronized (lock) {
+            overlay.putAll(marksOf(view.overlay()));
+            view = new View(null, overlay);
+        }
+        watermark = reloaded;
+        fullLoadAt = startedAt;
+    }
+
+    @Override
+    public Tutorial getTutorialById(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        View current = view;
+        Tutorial tutorial = current.overlay().get(id);
+        if (tutorial == DELETED) {
+            throw new TutorialNotFoundException("Tutorial with ID " + id + " not found.");
+        }
+        if (tutorial != null && !(tutorial instanceof StaleMark)) {
+            return new Tutorial(tutorial);
+        }
+        if (tutorial == null && current.file() != null) {
+            int row = current.file().rowOf(id);
+            if (row >= 0) {
+                return current.file().tutorialAt(row);
+            }
+        }
+        // Written here, or not known yet (e.g. added by another node since the last refresh).
+        return delegate.getTutorialById(id);
+    }
+
+    // Like getTutorialById per ID, with everything the view cannot answer fetched in one delegate call.
+    @Override
+    public MultiGetResult getTutorialsByIds(int[] ids) throws DatabaseOperationException {
+        View current = view;
+        Map<Integer, Tutorial> found = new HashMap<>();
+        int[] remaining = new int[ids.length];
+        int remainingCount = 0;
+        for (int id : ids) {
+            Tutorial tutorial = current.overlay().get(id);
+            if (tutorial == DELETED) {
+                continue;
+            }
+            if (tutorial != null && !(tutorial instanceof StaleMark)) {
+                found.put(id, tutorial);
+                continue;
+            }
+            int row = tutorial == null && current.file() != null ? current.file().rowOf(id) : -1;
+            if (row >= 0) {
+                found.put(id, current.file().tutorialAt(row));
+            } else {
+                remaining[remainingCount++] = id;
+            }
+        }
+        if (remainingCount > 0) {
+            found.putAll(delegate.getTutorialsByIds(Arrays.copyOf(remaining, remainingCount)).tutorials());
+        }
+        return MultiGetResult.of(ids, id -> {
+            Tutorial tutorial = found.get(id);
+            return tutorial != null ? new Tutorial(tutorial) : null;
+        });
+    }
+
+    @Override
+    public ArrayList<Tutorial> getAllTutorials() throws DatabaseOperationException {
+        if (!loaded) {
+            return delegate.getAllTutorials();
+        }
+        ArrayList<Tutorial> tutorials = new ArrayList<>();
+        new MergedRows(view).forEachRemaining(tutorials::add);
+        return tutorials;
+    }
+
+    /**
+     * The rows of a view in ID order: the file's rows merged with the overlay, which wins for the
+     * IDs it has. Deleted rows are skipped and stale ones read from the wrapped DAO.
+     */
+    private final class MergedRows implements Iterator<Tutorial> {
+        private final WarmStartFile file;
+        private final Map<Integer, Tutorial> overlay;
+        private final int[] overlayIds;
+        private int row;
+        private int next;
+        private Tutorial pending;
+
+        MergedRows(View view) {
+            this.file = view.file();
+            this.overlay = view.overlay();
+            this.overlayIds = overlay.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+
+        @Override
+        public boolean hasNext() {
+            int fileSize = file != null ? file.size() : 0;
+            while (pending == null && (row < fileSize || next < overlayIds.length)) {
+                long fileId = row < fileSize ? file.idAt(row) : Long.MAX_VALUE;
+                long overlayId = next < overlayIds.length ? overlayIds[next] : Long.MAX_VALUE;
+                if (fileId < overlayId) {
+                    pending = file.tutorialAt(row++);
+                    continue;
+                }
+                if (fileId == overlayId) {
+                    row++;
+                }
+                int id = overlayIds[next++];
+                Tutorial tutorial = overlay.get(id);
+                if (tutorial instanceof StaleMark) {
+                    tutorial = readThrough(id, DELETED);
+                }
+                if (tutorial != DELETED && tutorial != null) {
+                    pending = new Tutorial(tutorial);
+                }
+            }
+            return pending != null;
+        }
+
+        @Override
+        public Tutorial next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Tutorial tutorial = pending;
+            pending = null;
+            return tutorial;
+        }
+    }
+
+    // Written rows are marked, not stored: their new version is only known once the feed or a re-read reports it.
+    private void stale(int id) {
+        synchronized (lock) {
+            view.overlay().put(id, new StaleMark());
+        }
+    }
+
+    @Override
+    public void addTutorial(Tutorial tutorial) throws DatabaseOperationException {
+        delegate.addTutorial(tutorial);
+        stale(tutorial.getId());
+    }
+
+    @Override
+    public BatchInsertResult addTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        BatchInsertResult result = delegate.addTutorials(tutorials);
+        Set<Integer> failed = new HashSet<>();
+        for (BatchInsertResult.Failure failure : result.failures()) {
+            failed.add(failure.index());
+        }
+        int i = 0;
+        for (Tutorial tutorial : tutorials) {
+            if (!failed.contains(i++)) {
+                stale(tutorial.getId());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void updateTutorial(Tutorial tutorial) throws TutorialNotFoundException, DatabaseOperationException {
+        delegate.updateTutorial(tutorial);
+        stale(tutorial.getId());
+    }
+
+    @Override
+    public void deleteTutorial(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        delegate.deleteTutorial(id);
+        stale(id);
+    }
+
+    @Override
+    public void patchTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        delegate.patchTutorial(patch);
+        stale(patch.getId());
+    }
+
+    @Override
+    public Tutorial patchAndGetTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        Tutorial tutorial = delegate.patchAndGetTutorial(patch);
+        stale(patch.getId());
+        return tutorial;
+    }
+
+    @Override
+    public WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) throws DatabaseOperationException {
+        WriteBatchResult result = delegate.applyWriteBatch(batch);
+        for (Tutorial tutorial : batch.updates()) {
+            stale(tutorial.getId());
+        }
+        for (int id : batch.deleteIds()) {
+            stale(id);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Integer> deleteTutorials(int[] ids) throws DatabaseOperationException {
+        List<Integer> notFound = delegate.deleteTutorials(ids);
+        for (int id : ids) {
+            stale(id);
+        }
+        return notFound;
+    }
+
+    @Override
+    public List<Integer> updateTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        List<Integer> notFound = delegate.updateTutorials(tutorials);
+        for (Tutorial tutorial : tutorials) {
+            stale(tutorial.getId());
+        }
+        return notFound;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.dao;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link TutorialDAO#applyWriteBatch}.
+ * @param updatedCount Rows that were updated.
+ * @param deletedCount Rows that were deleted.
+ * @param notFoundIds IDs of updates, then deletes, that matched no row. Such writes
+ *                    are skipped; they do not roll back the rest of the batch.
+ */
+public record WriteBatchResult(int updatedCount, int deletedCount, List<Integer> notFoundIds) {
+
+    public boolean allFound() {
+        return notFoundIds.isEmpty();
+    }
+}
@@ -0,0 +1,570 @@
+package com.example.dao;
+
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+
+import java.time.Duration;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind front end for a {@link TutorialDAO}.
+ * <p>
+ * Updates and deletes are buffered in memory, one entry per {@code tutorial_id}: a burst of
+ * updates to the same row collapses into its last version, and a delete replaces a pending
+ * update. A background thread writes the buffer as one {@link TutorialWriteBatch}, i.e. in one
+ * transaction, as soon as {@code maxBatchSize} IDs are pending or {@code maxDelay} has passed
+ * since the oldest buffered write. While a batch is being written, callers that would grow the
+ * buffer beyond {@code maxBatchSize} IDs wait.
+ * <p>
+ * Updates are checked against the NOT NULL and length constraints of the table when they are
+ * buffered, so a row the database would refuse is rejected right away. {@link #updateTutorial}
+ * and {@link #deleteTutorial} return as soon as the write is buffered.
+ * {@link #updateTutorialAsync} and {@link #deleteTutorialAsync} return a future that completes
+ * once the write is committed, or exceptionally with {@link TutorialNotFoundException} if the row
+ * did not exist, or with the {@link DatabaseOperationException} that failed it. If a batch fails,
+ * its writes are retried one by one, so only the writes that fail on their own are lost. Every
+ * failed write is also passed to the {@link FailureHandler}, which is how callers of the
+ * synchronous methods learn about it; by default it is logged.
+ * <p>
+ * Reads through this DAO see buffered writes: {@link #getTutorialById} answers from the buffer,
+ * every other read first waits until the buffer is written. Adds go straight to the wrapped DAO
+ * because the caller needs the generated ID. Call {@link #close()} (or {@link #flush()}) before
+ * shutting down; writes still in the buffer are lost if the JVM exits first.
+ */
+public class WriteBehindTutorialDAO extends DelegatingTutorialDAO implements AutoCloseable {
+    public static final int DEFAULT_MAX_BATCH_SIZE = TutorialDAO.DEFAULT_BATCH_SIZE;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(50);
+
+    /**
+     * Told about every buffered write that could not be committed, on the background thread.
+     */
+    @FunctionalInterface
+    public interface FailureHandler {
+        void writeFailed(int id, RuntimeException failure);
+    }
+
+    private static final FailureHandler LOG_FAILURE = (id, failure) ->
+            System.err.println("Write-behind write of tutorial " + id + " failed: " + failure.getMessage());
+
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final FailureHandler failureHandler;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Signalled when writes arrive, when a flush is requested and when a batch is taken or finished.
+    private final Condition changed = lock.newCondition();
+    private final Thread flusher;
+    private final LongAdder coalescedWrites = new LongAdder();
+    private final LongAdder batchesWritten = new LongAdder();
+
+    private Map<Integer, PendingWrite> pending = new LinkedHashMap<>();
+    private Map<Integer, PendingWrite> inFlight = Map.of();
+    private long oldestPendingNanos;
+    private boolean flushRequested;
+    private boolean closed;
+
+    // The latest buffered write for one ID; every caller that wrote it shares the future.
+    private static final class PendingWrite {
+        final int id;
+        final CompletableFuture<Void> committed = new CompletableFuture<>();
+        Tutorial tutorial; // null for a delete
+
+        PendingWrite(int id) {
+            this.id = id;
+        }
+    }
+
+    public WriteBehindTutorialDAO(TutorialDAO delegate) {
+        this(delegate, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY);
+    }
+
+    public WriteBehindTutorialDAO(TutorialDAO delegate, int maxBatchSize, Duration maxDelay) {
+        this(delegate, maxBatchSize, maxDelay, LOG_FAILURE);
+    }
+
+    public WriteBehindTutorialDAO(TutorialDAO delegate, int maxBatchSize, Duration maxDelay, FailureHandler failureHandler) {
+        super(delegate);
+        if (maxBatchSize < 1 || maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1 and maxDelay must not be negative");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.failureHandler = failureHandler;
+        this.flusher = new Thread(this::runFlusher, "tutortrack-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Buffers an update.
+     * @return Completes when the update is committed.
+     * @throws TutorialNotFoundException If a delete of the same ID is already buffered.
+     * @throws DatabaseOperationException If the table would refuse the row (null or too long values).
+     */
+    public CompletableFuture<Void> updateTutorialAsync(Tutorial tutorial) throws TutorialNotFoundException {
+        return enqueue(tutorial.getId(), new Tutorial(tutorial));
+    }
+
+    /**
+     * Buffers a delete.
+     * @return Completes when the delete is committed.
+     * @throws TutorialNotFoundException If a delete of the same ID is already buffered.
+     */
+    public CompletableFuture<Void> deleteTutorialAsync(int id) throws TutorialNotFoundException {
+        return enqueue(id, null);
+    }
+
+    @Override
+    public void updateTutorial(Tutorial tutorial) throws TutorialNotFoundException, DatabaseOperationException {
+        updateTutorialAsync(tutorial);
+    }
+
+    @Override
+    public void deleteTutorial(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        deleteTutorialAsync(id);
+    }
+
+    // A row with a buffered write is patched in the buffer (so the patch is coalesced with it);
+    // any other row is patched directly, which needs no read and keeps the patch's single statement.
+    @Override
+    public void patchTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        if (patchBuffered(patch) == null) {
+            delegate.patchTutorial(patch);
+        }
+    }
+
+    @Override
+    public Tutorial patchAndGetTutorial(TutorialPatch patch) throws TutorialNotFoundException, DatabaseOperationException {
+        Tutorial patched = patchBuffered(patch);
+        return patched != null ? patched : delegate.patchAndGetTutorial(patch);
+    }
+
+    // Returns the patched row if the ID had a buffered write, null otherwise.
+    private Tutorial patchBuffered(TutorialPatch patch) {
+        if (patch.isEmpty()) {
+            throw new IllegalArgumentException("Patch for tutorial " + patch.getId() + " sets no field");
+        }
+        lock.lock();
+        try {
+            PendingWrite write = pending.get(patch.getId());
+            if (write == null) {
+                write = inFlight.get(patch.getId());
+            }
+            if (write == null) {
+                return null;
+            }
+            if (write.tutorial == null) {
+                throw new TutorialNotFoundException("Tutorial with ID " + patch.getId() + " not found for update.");
+            }
+            Tutorial patched = new Tutorial(write.tutorial);
+            patch.applyTo(patched);
+            enqueue(patch.getId(), patched); // the lock is reentrant
+            return new Tutorial(patched);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(int id, Tutorial tutorial) {
+        if (tutorial != null) {
+            InMemoryTutorialDAO.checkConstraints(tutorial);
+        }
+        lock.lock();
+        try {
+            // Backpressure: a new ID may not grow the buffer past maxBatchSize while a batch is being written.
+            while (!closed && pending.size() >= maxBatchSize && !pending.containsKey(id) && !inFlight.isEmpty()) {
+                changed.awaitUninterruptibly();
+            }
+            if (closed) {
+                throw new IllegalStateException("WriteBehindTutorialDAO is closed");
+            }
+            PendingWrite write = pending.get(id);
+            if (write == null) {
+                PendingWrite writing = inFlight.get(id);
+                if (writing != null && writing.tutorial == null) {
+                    throw notFound(id, tutorial);
+                }
+                write = new PendingWrite(id);
+                pending.put(id, write);
+                if (pending.size() == 1) {
+                    oldestPendingNanos = System.nanoTime();
+                    changed.signalAll();
+                } else if (pending.size() == maxBatchSize) {
+                    changed.signalAll();
+                }
+            } else if (write.tutorial == null) {
+                throw notFound(id, tutorial);
+            } else {
+                coalescedWrites.increment();
+            }
+            write.tutorial = tutorial;
+            return write.committed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static TutorialNotFoundException notFound(int id, Tutorial update) {
+        return new TutorialNotFoundException("Tutorial with ID " + id + " not found for " + (update != null ? "update." : "deletion."));
+    }
+
+    // Served from the buffer if the ID has a pending write. An update of a row that does not exist
+    // is visible here until its batch completes it with TutorialNotFoundException.
+    @Override
+    public Tutorial getTutorialById(int id) throws TutorialNotFoundException, DatabaseOperationException {
+        Tutorial buffered;
+        lock.lock();
+        try {
+            PendingWrite write = pending.get(id);
+            if (write == null) {
+                write = inFlight.get(id);
+            }
+            if (write == null) {
+                buffered = null;
+            } else if (write.tutorial == null) {
+                throw new TutorialNotFoundException("Tutorial with ID " + id + " not found.");
+            } else {
+                buffered = new Tutorial(write.tutorial);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return buffered != null ? buffered : delegate.getTutorialById(id);
+    }
+
+    // Buffered rows as in getTutorialById (a buffered delete counts as missing); the rest in one delegate call.
+    @Override
+    public MultiGetResult getTutorialsByIds(int[] ids) throws DatabaseOperationException {
+        Map<Integer, Tutorial> buffered = new HashMap<>(); // null value for a buffered delete
+        int[] remaining = new int[ids.length];
+        int remainingCount = 0;
+        lock.lock();
+        try {
+            for (int id : ids) {
+                PendingWrite write = pending.get(id);
+                if (write == null) {
+                    write = inFlight.get(id);
+                }
+                if (write != null) {
+                    buffered.put(id, write.tutorial != null ? new Tutorial(write.tutorial) : null);
+                } else {
+                    remaining[remainingCount++] = id;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        Map<Integer, Tutorial> stored = remainingCount > 0
+                ? delegate.getTutorialsByIds(Arrays.copyOf(remaining, remainingCount)).tutorials()
+                : Map.of();
+        return MultiGetResult.of(ids, id -> buffered.containsKey(id) ? buffered.get(id) : stored.get(id));
+    }
+
+    @Override
+    public ArrayList<Tutorial> getAllTutorials() throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.getAllTutorials();
+    }
+
+    @Override
+    public Stream<Tutorial> streamAllTutorials(int fetchSize) throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.streamAllTutorials(fetchSize);
+    }
+
+    @Override
+    public Stream<Tutorial> streamAllTutorials(int fetchSize, Set<TutorialColumn> columns) throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.streamAllTutorials(fetchSize, columns);
+    }
+
+    @Override
+    public List<Tutorial> getTutorialsAfter(int lastId, int limit) throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.getTutorialsAfter(lastId, limit);
+    }
+
+    @Override
+    public List<Tutorial> getTutorialsAfter(int lastId, int limit, Set<TutorialColumn> columns) throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.getTutorialsAfter(lastId, limit, columns);
+    }
+
+    @Override
+    public List<Tutorial> findTutorials(TutorialQuery query) throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.findTutorials(query);
+    }
+
+    @Override
+    public Stream<Tutorial> streamTutorials(TutorialQuery query, int fetchSize) throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.streamTutorials(query, fetchSize);
+    }
+
+    @Override
+    public long countTutorials() throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.countTutorials();
+    }
+
+    @Override
+    public TutorialStats getTutorialStats() throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.getTutorialStats();
+    }
+
+    @Override
+    public Map<String, Long> countByAuthor() throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.countByAuthor();
+    }
+
+    @Override
+    public Map<Year, Long> countByPublishedYear() throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.countByPublishedYear();
+    }
+
+    @Override
+    public Map<YearMonth, Long> countByPublishedMonth() throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.countByPublishedMonth();
+    }
+
+    @Override
+    public TutorialChanges getChangesSince(long watermark, int limit) throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.getChangesSince(watermark, limit);
+    }
+
+    // Batch writes are applied after the buffered writes, so they cannot be overtaken by older ones.
+    @Override
+    public WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.applyWriteBatch(batch);
+    }
+
+    @Override
+    public List<Integer> deleteTutorials(int[] ids) throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.deleteTutorials(ids);
+    }
+
+    @Override
+    public List<Integer> updateTutorials(Collection<Tutorial> tutorials) throws DatabaseOperationException {
+        awaitWrites();
+        return delegate.updateTutorials(tutorials);
+    }
+
+    /**
+     * Writes the buffer now and waits until every write buffered before the call is committed.
+     * @throws DatabaseOperationException If one of those writes failed (missing rows do not count as failures).
+     */
+    public void flush() throws DatabaseOperationException {
+        DatabaseOperationException failure = null;
+        for (CompletableFuture<Void> committed : requestFlush()) {
+            try {
+                committed.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof DatabaseOperationException databaseError && failure == null) {
+                    failure = databaseError;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // The transaction must see the buffered writes, and must not be overwritten by them later.
+    @Override
+    protected void beforeTransaction() {
+        awaitWrites();
+    }
+
+    // Like flush(), but a failed write is the writer's problem, not the reader's.
+    private void awaitWrites() {
+        for (CompletableFuture<Void> committed : requestFlush()) {
+            committed.exceptionally(e -> null).join();
+        }
+    }
+
+    private List<CompletableFuture<Void>> requestFlush() {
+        lock.lock();
+        try {
+            if (pending.isEmpty() && inFlight.isEmpty()) {
+                return List.of();
+            }
+            List<CompletableFuture<Void>> futures = new ArrayList<>(pending.size() + inFlight.size());
+            for (PendingWrite write : inFlight.values()) {
+                futures.add(write.committed);
+            }
+            for (PendingWrite write : pending.values()) {
+                futures.add(write.committed);
+            }
+            if (!pending.isEmpty()) {
+                flushRequested = true;
+                changed.signalAll();
+            }
+            return futures;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        Map<Integer, PendingWrite> batch;
+        while ((batch = takeBatch()) != null) {
+            write(batch);
+        }
+    }
+
+    // Waits for the size or time trigger (or a flush or close) and swaps the buffer out; null once closed and empty.
+    private Map<Integer, PendingWrite> takeBatch() {
+        lock.lock();
+        try {
+            while (true) {
+                if (pending.isEmpty()) {
+                    if (closed) {
+                        return null;
+                    }
+                    changed.awaitUninterruptibly();
+                    continue;
+                }
+                long remaining = oldestPendingNanos + maxDelayNanos - System.nanoTime();
+                if (closed || flushRequested || pending.size() >= maxBatchSize || remaining <= 0) {
+                    break;
+                }
+                try {
+                    changed.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    // Only close() stops the flusher, so that no buffered write is abandoned.
+                }
+            }
+            Map<Integer, PendingWrite> batch = pending;
+            inFlight = batch;
+            pending = new LinkedHashMap<>();
+            flushRequested = false;
+            changed.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(Map<Integer, PendingWrite> batch) {
+        Map<Integer, RuntimeException> failures = apply(batch.values());
+        // Leave the buffer before completing, so a caller reacting to its future reads the stored row.
+        lock.lock();
+        try {
+            inFlight = Map.of();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (PendingWrite write : batch.values()) {
+            RuntimeException failure = failures.get(write.id);
+            if (failure == null) {
+                write.committed.complete(null);
+                continue;
+            }
+            write.committed.completeExceptionally(failure);
+            try {
+                failureHandler.writeFailed(write.id, failure);
+            } catch (RuntimeException e) {
+                System.err.println("Write-behind failure handler failed for tutorial " + write.id + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Writes in one transaction and returns the failed writes by ID. A failed batch is split into
+    // single writes, so one bad row does not take the others down with it.
+    private Map<Integer, RuntimeException> apply(Collection<PendingWrite> writes) {
+        TutorialWriteBatch writeBatch = new TutorialWriteBatch();
+        for (PendingWrite write : writes) {
+            if (write.tutorial == null) {
+                writeBatch.delete(write.id);
+            } else {
+                writeBatch.update(write.tutorial);
+            }
+        }
+        Map<Integer, RuntimeException> failures = new HashMap<>();
+        Set<Integer> notFound;
+        try {
+            notFound = new HashSet<>(delegate.applyWriteBatch(writeBatch).notFoundIds());
+            batchesWritten.increment();
+        } catch (RuntimeException e) {
+            if (writes.size() == 1) {
+                failures.put(writes.iterator().next().id, e);
+                return failures;
+            }
+            System.err.println("Write-behind batch of " + writes.size() + " writes failed, retrying them one by one: " + e.getMessage());
+            for (PendingWrite write : writes) {
+                failures.putAll(apply(List.of(write)));
+            }
+            return failures;
+        }
+        for (PendingWrite write : writes) {
+            if (notFound.contains(write.id)) {
+                failures.put(write.id, notFound(write.id, write.tutorial));
+            }
+        }
+        return failures;
+    }
+
+    // Number of distinct IDs waiting to be written (not counting the batch being written).
+    public int getPendingWrites() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Writes that were folded into an already buffered write of the same ID.
+    public long getCoalescedWrites() {
+        return coalescedWrites.sum();
+    }
+
+    public long getBatchesWritten() {
+        return batchesWritten.sum();
+    }
+
+    /**
+     * Writes what is still buffered and stops the background thread. Later writes are refused.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.MINUTES.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.export;
+
+import com.example.model.Tutorial;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads files written by {@link TutorialExporter} in {@link ExportFormat#BINARY} format,
+ * gzipped or not.
+ */
+public final class BinaryExportReader {
+    private static final int GZIP_MAGIC = 0x1F8B;
+
+    private BinaryExportReader() {
+    }
+
+    /**
+     * Passes every row of the file to the consumer, in file order.
+     * @return The number of rows read.
+     * @throws IOException If the file cannot be read or is not a binary export.
+     */
+    public static long read(Path file, Consumer<Tutorial> consumer) throws IOException {
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            raw.mark(2);
+            int magic = (raw.read() << 8) | raw.read();
+            raw.reset();
+            InputStream in = magic == GZIP_MAGIC ? new BufferedInputStream(new GZIPInputStream(raw, 1 << 16), 1 << 16) : raw;
+            return read(new DataInputStream(in), consumer);
+        }
+    }
+
+    private static long read(DataInputStream in, Consumer<Tutorial> consumer) throws IOException {
+        byte[] magic = new byte[BinaryRowEncoder.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, BinaryRowEncoder.MAGIC)) {
+            throw new IOException("Not a binary tutorial export");
+        }
+        long rows = 0;
+        int id;
+        while ((id = readVarInt(in, true)) >= 0) {
+            String title = readString(in);
+            String author = readString(in);
+            String url = readString(in);
+            int days = in.readInt();
+            consumer.accept(new Tutorial(id, title, author, url, days == BinaryRowEncoder.NULL_DATE ? null : LocalDate.ofEpochDay(days)));
+            rows++;
+        }
+        return rows;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in, false);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Returns -1 at a clean end of file if endAllowed, i.e. between rows.
+    private static int readVarInt(DataInputStream in, boolean endAllowed) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (endAllowed && shift == 0) {
+                    return -1;
+                }
+                throw new EOFException("Binary export is truncated");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in binary export");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.export;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * The compact binary format. The file starts with the four bytes {@code TTB1}, followed by the
+ * rows back to back until the end of the file. Each row is:
+ * <ul>
+ *   <li>{@code tutorial_id} as an unsigned LEB128 varint;</li>
+ *   <li>{@code title}, {@code author} and {@code url}, each as a varint of the UTF-8 length plus one
+ *       followed by the UTF-8 bytes ({@code 0} means NULL);</li>
+ *   <li>{@code published_date} as a big-endian int of days since 1970-01-01, {@link Integer#MIN_VALUE} for NULL.</li>
+ * </ul>
+ */
+final class BinaryRowEncoder extends RowEncoder {
+    static final byte[] MAGIC = ascii("TTB1");
+    static final int NULL_DATE = Integer.MIN_VALUE;
+
+    @Override
+    void header(ExportBuffer out) throws IOException {
+        out.put(MAGIC);
+    }
+
+    @Override
+    void row(int id, String title, String author, String url, LocalDate publishedDate, ExportBuffer out)
+            throws IOException {
+        out.putVarInt(id);
+        string(title, out);
+        string(author, out);
+        string(url, out);
+        out.putInt(publishedDate == null ? NULL_DATE : (int) publishedDate.toEpochDay());
+    }
+
+    private static void string(String value, ExportBuffer out) throws IOException {
+        if (value == null) {
+            out.putVarInt(0);
+            return;
+        }
+        out.putVarInt(ExportBuffer.utf8Length(value) + 1);
+        out.putUtf8(value);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.export;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * RFC 4180 CSV with CRLF line ends. Only fields that need it are quoted.
+ */
+final class CsvRowEncoder extends RowEncoder {
+    private static final byte[] HEADER = ascii("tutorial_id,title,author,url,published_date\r\n");
+
+    @Override
+    void header(ExportBuffer out) throws IOException {
+        out.put(HEADER);
+    }
+
+    @Override
+    void row(int id, String title, String author, String url, LocalDate publishedDate, ExportBuffer out)
+            throws IOException {
+        out.putDecimal(id);
+        out.put((byte) ',');
+        field(title, out);
+        out.put((byte) ',');
+        field(author, out);
+        out.put((byte) ',');
+        field(url, out);
+        out.put((byte) ',');
+        if (publishedDate != null) {
+            out.putDate(publishedDate);
+        }
+        out.put((byte) '\r');
+        out.put((byte) '\n');
+    }
+
+    private static void field(String value, ExportBuffer out) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            out.putUtf8(value);
+            return;
+        }
+        out.put((byte) '"');
+        for (int i = 0; i < value.length(); ) {
+            if (value.charAt(i) == '"') {
+                out.put((byte) '"');
+            }
+            i += out.putChar(value, i);
+        }
+        out.put((byte) '"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
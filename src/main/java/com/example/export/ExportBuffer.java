@@ -0,0 +1,184 @@
+package com.example.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+
+/**
+ * A reusable byte buffer in front of a channel. Encoders write values straight into it (text as
+ * UTF-8, numbers and dates as digits) and it is drained to the channel whenever it runs low, so
+ * no per-row byte arrays or Strings are built on the way to the file.
+ */
+final class ExportBuffer implements AutoCloseable {
+    // Room kept free before a value is written: the longest fixed-size value plus a UTF-8 code point.
+    private static final int RESERVE = 16;
+
+    // Encoding goes into a plain array (no per-byte bounds checks of a ByteBuffer); the wrapper is only used to drain it.
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private final WritableByteChannel channel;
+    private int position;
+
+    ExportBuffer(WritableByteChannel channel, int size) {
+        if (size < 4 * RESERVE) {
+            throw new IllegalArgumentException("buffer size must be at least " + 4 * RESERVE + " bytes");
+        }
+        this.bytes = new byte[size];
+        this.buffer = ByteBuffer.wrap(bytes);
+        this.channel = channel;
+    }
+
+    void put(byte b) throws IOException {
+        ensure(1);
+        bytes[position++] = b;
+    }
+
+    void put(byte[] value) throws IOException {
+        if (value.length > bytes.length - position) {
+            flush();
+        }
+        System.arraycopy(value, 0, bytes, position, value.length);
+        position += value.length;
+    }
+
+    void putInt(int value) throws IOException {
+        ensure(4);
+        bytes[position++] = (byte) (value >>> 24);
+        bytes[position++] = (byte) (value >>> 16);
+        bytes[position++] = (byte) (value >>> 8);
+        bytes[position++] = (byte) value;
+    }
+
+    // Unsigned LEB128, as used by the binary format for IDs and lengths.
+    void putVarInt(int value) throws IOException {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+    }
+
+    // Writes a non-negative int as decimal digits.
+    void putDecimal(int value) throws IOException {
+        ensure(10);
+        int digits = 1;
+        for (int limit = 10; digits < 10 && value >= limit; limit *= 10) {
+            digits++;
+        }
+        putDigits(value, digits);
+    }
+
+    // ISO-8601 (YYYY-MM-DD), the format the importer and LocalDate.parse accept.
+    void putDate(LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 1000 || year > 9999) {
+            putUtf8(date.toString());
+            return;
+        }
+        ensure(10);
+        putDigits(year, 4);
+        bytes[position++] = '-';
+        putDigits(date.getMonthValue(), 2);
+        bytes[position++] = '-';
+        putDigits(date.getDayOfMonth(), 2);
+    }
+
+    private void putDigits(int value, int width) {
+        int end = position + width;
+        for (int i = end - 1; i >= position; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    /**
+     * Encodes one character as UTF-8. A high surrogate is combined with the low surrogate that
+     * follows it; the return value is the number of chars consumed. Unpaired surrogates become
+     * {@code '?'}, like {@link String#getBytes}.
+     */
+    int putChar(CharSequence text, int index) throws IOException {
+        ensure(4);
+        char c = text.charAt(index);
+        if (c < 0x80) {
+            bytes[position++] = (byte) c;
+        } else if (c < 0x800) {
+            bytes[position++] = (byte) (0xC0 | (c >> 6));
+            bytes[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            if (Character.isHighSurrogate(c) && index + 1 < text.length() && Character.isLowSurrogate(text.charAt(index + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+                bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                return 2;
+            }
+            bytes[position++] = '?';
+        } else {
+            bytes[position++] = (byte) (0xE0 | (c >> 12));
+            bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            bytes[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return 1;
+    }
+
+    void putUtf8(CharSequence text) throws IOException {
+        int length = text.length();
+        int i = 0;
+        // Fast path: copy ASCII straight into the array while it is known to fit.
+        if (length <= bytes.length - RESERVE) {
+            ensure(length);
+            for (char c; i < length && (c = text.charAt(i)) < 0x80; i++) {
+                bytes[position++] = (byte) c;
+            }
+        }
+        while (i < length) {
+            i += putChar(text, i);
+        }
+    }
+
+    // Number of bytes putUtf8 writes for the text.
+    static int utf8Length(CharSequence text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
+    private void ensure(int count) throws IOException {
+        if (bytes.length - position < Math.max(count, RESERVE)) {
+            flush();
+        }
+    }
+
+    void flush() throws IOException {
+        buffer.limit(position).position(0);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        position = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
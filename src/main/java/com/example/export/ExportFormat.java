@@ -0,0 +1,51 @@
+package com.example.export;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Output formats written by {@link TutorialExporter}. CSV and JSON Lines use the same column
+ * names as the importer, so an export can be loaded again with {@code TutorialImporter}.
+ */
+public enum ExportFormat {
+    /**
+     * RFC 4180 CSV with a header row ({@code tutorial_id,title,author,url,published_date}).
+     * Fields are quoted only when they contain a comma, quote or line break; NULL is an empty field.
+     */
+    CSV("csv"),
+    /**
+     * One JSON object per line with the keys {@code id}, {@code title}, {@code author}, {@code url}
+     * and {@code published_date}; missing values are {@code null}.
+     */
+    JSON_LINES("jsonl"),
+    /**
+     * Compact binary rows for machine consumers, read back with {@link BinaryExportReader}.
+     * See {@link BinaryRowEncoder} for the layout.
+     */
+    BINARY("ttb");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Picks the format from the file extension, ignoring a trailing {@code .gz}: {@code .jsonl}/{@code .ndjson}/{@code .json}
+     * are JSON Lines, {@code .ttb} is binary, anything else CSV.
+     */
+    public static ExportFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+            return JSON_LINES;
+        }
+        return name.endsWith(".ttb") ? BINARY : CSV;
+    }
+}
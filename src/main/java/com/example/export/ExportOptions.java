@@ -0,0 +1,29 @@
+package com.example.export;
+
+import com.example.dao.TutorialDAO;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings for a {@link TutorialExporter}. {@code ExportOptions.builder().build()} exports CSV
+ * (or whatever the file extension says) on a single connection.
+ */
+@Getter
+@Builder(toBuilder = true)
+@ToString
+public class ExportOptions {
+    // Output format; null picks it from the file extension (see ExportFormat.forFile).
+    private final ExportFormat format;
+    // Gzip the output; null compresses when the file name ends in ".gz".
+    private final Boolean gzip;
+    // Number of ID ranges exported at the same time, each on its own pooled connection.
+    @Builder.Default
+    private final int parallelism = 1;
+    // Rows fetched from the database per round-trip.
+    @Builder.Default
+    private final int fetchSize = TutorialDAO.DEFAULT_FETCH_SIZE;
+    // Size of the reusable output buffer per ID range; it is written to the file whenever it fills up.
+    @Builder.Default
+    private final int bufferSize = 256 * 1024;
+}
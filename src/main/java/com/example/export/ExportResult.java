@@ -0,0 +1,15 @@
+package com.example.export;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Outcome of a finished export.
+ * @param file The written file.
+ * @param rows Rows exported.
+ * @param bytes Size of the file, after compression if it is gzipped.
+ * @param parts ID ranges that were exported in parallel.
+ * @param elapsed Duration of the export.
+ */
+public record ExportResult(Path file, long rows, long bytes, int parts, Duration elapsed) {
+}
@@ -0,0 +1,84 @@
+package com.example.export;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * One flat JSON object per line. Non-ASCII text is written as UTF-8, only quotes, backslashes
+ * and control characters are escaped.
+ */
+final class JsonLinesRowEncoder extends RowEncoder {
+    private static final byte[] ID_KEY = ascii("{\"id\":");
+    private static final byte[] TITLE_KEY = ascii(",\"title\":");
+    private static final byte[] AUTHOR_KEY = ascii(",\"author\":");
+    private static final byte[] URL_KEY = ascii(",\"url\":");
+    private static final byte[] PUBLISHED_DATE_KEY = ascii(",\"published_date\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+
+    @Override
+    void header(ExportBuffer out) {
+        // JSON Lines has no header.
+    }
+
+    @Override
+    void row(int id, String title, String author, String url, LocalDate publishedDate, ExportBuffer out)
+            throws IOException {
+        out.put(ID_KEY);
+        out.putDecimal(id);
+        out.put(TITLE_KEY);
+        string(title, out);
+        out.put(AUTHOR_KEY);
+        string(author, out);
+        out.put(URL_KEY);
+        string(url, out);
+        out.put(PUBLISHED_DATE_KEY);
+        if (publishedDate == null) {
+            out.put(NULL);
+        } else {
+            out.put((byte) '"');
+            out.putDate(publishedDate);
+            out.put((byte) '"');
+        }
+        out.put((byte) '}');
+        out.put((byte) '\n');
+    }
+
+    private static void string(String value, ExportBuffer out) throws IOException {
+        if (value == null) {
+            out.put(NULL);
+            return;
+        }
+        out.put((byte) '"');
+        for (int i = 0; i < value.length(); ) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.put((byte) '\\');
+                out.put((byte) c);
+                i++;
+            } else if (c < 0x20) {
+                escapeControl(c, out);
+                i++;
+            } else {
+                i += out.putChar(value, i);
+            }
+        }
+        out.put((byte) '"');
+    }
+
+    private static void escapeControl(char c, ExportBuffer out) throws IOException {
+        out.put((byte) '\\');
+        switch (c) {
+            case '\n' -> out.put((byte) 'n');
+            case '\r' -> out.put((byte) 'r');
+            case '\t' -> out.put((byte) 't');
+            default -> {
+                out.put((byte) 'u');
+                out.put((byte) '0');
+                out.put((byte) '0');
+                out.put(HEX[c >> 4]);
+                out.put(HEX[c & 0xF]);
+            }
+        }
+    }
+}
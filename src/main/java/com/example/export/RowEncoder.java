@@ -0,0 +1,51 @@
+package com.example.export;
+
+import com.example.model.Tutorial;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Writes rows of {@link #SELECT_LIST} into an {@link ExportBuffer}, either from a result set
+ * (reading each column by position) or from a {@link Tutorial} read through a DAO.
+ * Implementations are stateless and shared by all export threads.
+ */
+abstract class RowEncoder {
+    static final String SELECT_LIST = "tutorial_id, title, author, url, published_date";
+    static final int ID = 1;
+    static final int TITLE = 2;
+    static final int AUTHOR = 3;
+    static final int URL = 4;
+    static final int PUBLISHED_DATE = 5;
+
+    static RowEncoder forFormat(ExportFormat format) {
+        return switch (format) {
+            case CSV -> new CsvRowEncoder();
+            case JSON_LINES -> new JsonLinesRowEncoder();
+            case BINARY -> new BinaryRowEncoder();
+        };
+    }
+
+    // Written once at the start of the file (not per ID range).
+    abstract void header(ExportBuffer out) throws IOException;
+
+    abstract void row(int id, String title, String author, String url, LocalDate publishedDate, ExportBuffer out)
+            throws IOException;
+
+    final void row(ResultSet resultSet, ExportBuffer out) throws SQLException, IOException {
+        row(resultSet.getInt(ID), resultSet.getString(TITLE), resultSet.getString(AUTHOR), resultSet.getString(URL),
+                resultSet.getObject(PUBLISHED_DATE, LocalDate.class), out);
+    }
+
+    final void row(Tutorial tutorial, ExportBuffer out) throws IOException {
+        row(tutorial.getId(), tutorial.getTitle(), tutorial.getAuthor(), tutorial.getUrl(), tutorial.getPublishedDate(),
+                out);
+    }
+
+    static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.export;
+
+import com.example.dao.TutorialDAO;
+import com.example.exceptions.DatabaseOperationException;
+import com.example.model.Tutorial;
+import com.example.util.DBConnection;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Dumps the {@code tutorials} table to a file for downstream systems.
+ * <p>
+ * Rows go straight from the JDBC cursor into a reusable buffer that is drained to a
+ * {@link FileChannel}: no {@code Tutorial} objects, no per-row Strings and no list of the
+ * whole table are built, so memory use does not depend on the table size.
+ * <p>
+ * With {@link ExportOptions#getParallelism()} above one the ID range of the table is cut into
+ * that many slices, which are exported at the same time on separate connections into temporary
+ * part files and then appended to the target in ID order. Gzipped parts are complete gzip
+ * members, and a concatenation of members is itself a valid gzip file.
+ * <p>
+ * An exporter built with a {@link TutorialDAO} reads the rows through that DAO instead (so it
+ * works with any DAO and sees what its decorators see), one {@code Tutorial} per row. It always
+ * exports on the calling thread.
+ */
+public class TutorialExporter {
+    private static final String SELECT_ALL_SQL = "SELECT " + RowEncoder.SELECT_LIST + " FROM tutorials ORDER BY tutorial_id";
+    private static final String SELECT_RANGE_SQL = "SELECT " + RowEncoder.SELECT_LIST + " FROM tutorials WHERE tutorial_id BETWEEN ? AND ? ORDER BY tutorial_id";
+    private static final String ID_BOUNDS_SQL = "SELECT MIN(tutorial_id), MAX(tutorial_id) FROM tutorials";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final TutorialDAO tutorialDAO;
+    private final ExportOptions options;
+
+    public TutorialExporter() {
+        this(ExportOptions.builder().build());
+    }
+
+    public TutorialExporter(ExportOptions options) {
+        this(null, options);
+    }
+
+    public TutorialExporter(TutorialDAO tutorialDAO) {
+        this(tutorialDAO, ExportOptions.builder().build());
+    }
+
+    /**
+     * @param tutorialDAO DAO to read the rows through, or {@code null} to read the table over JDBC.
+     * @throws IllegalArgumentException If a DAO is given together with a parallelism above one.
+     */
+    public TutorialExporter(TutorialDAO tutorialDAO, ExportOptions options) {
+        if (options.getParallelism() < 1 || options.getFetchSize() < 1) {
+            throw new IllegalArgumentException("parallelism and fetchSize must be at least 1: " + options);
+        }
+        if (tutorialDAO != null && options.getParallelism() > 1) {
+            throw new IllegalArgumentException("A DAO export runs on one thread: " + options);
+        }
+        this.tutorialDAO = tutorialDAO;
+        this.options = options;
+    }
+
+    /**
+     * Exports the whole table, in ID order.
+     * @param file Target file; it is replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     * @throws DatabaseOperationException If reading the table fails.
+     */
+    public ExportResult export(Path file) throws IOException, DatabaseOperationException {
+        long started = System.nanoTime();
+        Target target = target(file);
+        if (options.getParallelism() == 1) {
+            long rows = writePart(target, file, null, true);
+            return new ExportResult(file, rows, Files.size(file), 1, Duration.ofNanos(System.nanoTime() - started));
+        }
+        List<int[]> ranges = split(idBounds(), options.getParallelism());
+        long rows = ranges.size() == 1 ? writePart(target, file, ranges.get(0), true) : writeParts(target, file, ranges);
+        return new ExportResult(file, rows, Files.size(file), ranges.size(), Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    /**
+     * Exports the rows with {@code fromId <= tutorial_id <= toId} into a file of its own, with the
+     * format's header. Use this to spread one export over several processes or machines.
+     */
+    public ExportResult exportRange(Path file, int fromId, int toId) throws IOException, DatabaseOperationException {
+        if (fromId > toId) {
+            throw new IllegalArgumentException("fromId " + fromId + " is greater than toId " + toId);
+        }
+        long started = System.nanoTime();
+        long rows = writePart(target(file), file, new int[] { fromId, toId }, true);
+        return new ExportResult(file, rows, Files.size(file), 1, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private long writeParts(Target target, Path file, List<int[]> ranges) throws IOException {
+        List<Path> parts = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            parts.add(file.resolveSibling(file.getFileName() + ".part" + i));
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(ranges.size(), r -> {
+            Thread thread = new Thread(r, "tutortrack-export-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Long>> results = new ArrayList<>(ranges.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                Path part = parts.get(i);
+                int[] range = ranges.get(i);
+                boolean first = i == 0;
+                results.add(executor.submit(() -> writePart(target, part, range, first)));
+            }
+            long rows = 0;
+            for (Future<Long> result : results) {
+                rows += result.get();
+            }
+            concatenate(parts, file);
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Export failed: " + cause.getMessage(), cause);
+        } finally {
+            executor.shutdownNow();
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    // Appends the part files to the target; transferTo lets the kernel copy without going through the heap.
+    private static void concatenate(List<Path> parts, Path file) throws IOException {
+        try (FileChannel target = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Path part : parts) {
+                try (FileChannel source = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long size = source.size();
+                    for (long position = 0; position < size; ) {
+                        position += source.transferTo(position, size - position, target);
+                    }
+                }
+            }
+        }
+    }
+
+    // Streams one ID range (null: the whole table) into a file; returns the number of rows written.
+    private long writePart(Target target, Path file, int[] range, boolean withHeader) throws IOException {
+        if (tutorialDAO != null) {
+            return writeFromDAO(target, file, range);
+        }
+        RowEncoder encoder = target.encoder();
+        boolean gzip = target.gzip();
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try (ExportBuffer out = new ExportBuffer(open(file, gzip), options.getBufferSize())) {
+            if (withHeader) {
+                encoder.header(out);
+            }
+            connection = DBConnection.getConnection();
+            statement = connection.prepareStatement(range == null ? SELECT_ALL_SQL : SELECT_RANGE_SQL);
+            if (range != null) {
+                statement.setInt(1, range[0]);
+                statement.setInt(2, range[1]);
+            }
+            statement.setFetchSize(options.getFetchSize());
+            resultSet = statement.executeQuery();
+            long rows = 0;
+            while (resultSet.next()) {
+                encoder.row(resultSet, out);
+                rows++;
+            }
+            return rows;
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error exporting tutorials: " + e.getMessage(), e);
+        } finally {
+            closeCursor(resultSet, statement, connection);
+        }
+    }
+
+    // The whole table is streamed; a range is read in keyset pages starting just below fromId.
+    private long writeFromDAO(Target target, Path file, int[] range) throws IOException {
+        RowEncoder encoder = target.encoder();
+        try (ExportBuffer out = new ExportBuffer(open(file, target.gzip()), options.getBufferSize())) {
+            encoder.header(out);
+            if (range == null) {
+                try (Stream<Tutorial> tutorials = tutorialDAO.streamAllTutorials(options.getFetchSize())) {
+                    long rows = 0;
+                    for (Iterator<Tutorial> it = tutorials.iterator(); it.hasNext(); rows++) {
+                        encoder.row(it.next(), out);
+                    }
+                    return rows;
+                }
+            }
+            long rows = 0;
+            int lastId = range[0] - 1;
+            while (true) {
+                List<Tutorial> page = tutorialDAO.getTutorialsAfter(lastId, options.getFetchSize());
+                for (Tutorial tutorial : page) {
+                    if (tutorial.getId() > range[1]) {
+                        return rows;
+                    }
+                    encoder.row(tutorial, out);
+                    rows++;
+                }
+                if (page.size() < options.getFetchSize()) {
+                    return rows;
+                }
+                lastId = page.get(page.size() - 1).getId();
+            }
+        }
+    }
+
+    private static WritableByteChannel open(Path file, boolean gzip) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        if (!gzip) {
+            return channel;
+        }
+        try {
+            return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(channel), GZIP_BUFFER_SIZE));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Encoding of the target file, decided once so part files (whose names differ) are written the same way.
+    private record Target(RowEncoder encoder, boolean gzip) {
+    }
+
+    private Target target(Path file) {
+        ExportFormat format = options.getFormat() != null ? options.getFormat() : ExportFormat.forFile(file);
+        boolean gzip = options.getGzip() != null
+                ? options.getGzip()
+                : file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+        return new Target(RowEncoder.forFormat(format), gzip);
+    }
+
+    // Smallest and largest ID, or null if the table is empty.
+    private static int[] idBounds() {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = DBConnection.getConnection();
+            statement = connection.prepareStatement(ID_BOUNDS_SQL);
+            resultSet = statement.executeQuery();
+            resultSet.next();
+            int min = resultSet.getInt(1);
+            return resultSet.wasNull() ? null : new int[] { min, resultSet.getInt(2) };
+        } catch (SQLException e) {
+            throw new DatabaseOperationException("Error reading the tutorial ID range: " + e.getMessage(), e);
+        } finally {
+            closeCursor(resultSet, statement, connection);
+        }
+    }
+
+    // Cuts [min, max] into at most `count` contiguous, equally wide ranges.
+    private static List<int[]> split(int[] bounds, int count) {
+        if (bounds == null) {
+            return List.of(new int[] { 0, -1 });
+        }
+        long min = bounds[0];
+        long width = Math.max(1, ((long) bounds[1] - min + count) / count);
+        List<int[]> ranges = new ArrayList<>(count);
+        for (long from = min; from <= bounds[1]; from += width) {
+            ranges.add(new int[] { (int) from, (int) Math.min(bounds[1], from + width - 1) });
+        }
+        return ranges;
+    }
+
+    private static void closeCursor(ResultSet resultSet, PreparedStatement statement, Connection connection) {
+        if (resultSet != null) {
+            try { resultSet.close(); } catch (SQLException e) { System.err.println("Failed to close ResultSet: " + e.getMessage()); }
+        }
+        if (statement != null) {
+            try { statement.close(); } catch (SQLException e) { System.err.println("Failed to close Statement: " + e.getMessage()); }
+        }
+        DBConnection.closeConnection(connection);
+    }
+}
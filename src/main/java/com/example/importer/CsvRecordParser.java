@@ -0,0 +1,88 @@
+package com.example.importer;
+
+import com.example.model.Tutorial;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses RFC 4180 CSV lines. Column positions come from the header row.
+ */
+final class CsvRecordParser extends RecordParser {
+    private final int titleIndex;
+    private final int authorIndex;
+    private final int urlIndex;
+    private final int publishedDateIndex;
+    private final int columnCount;
+
+    CsvRecordParser(String header) {
+        List<String> columns = split(header);
+        int title = -1, author = -1, url = -1, publishedDate = -1;
+        for (int i = 0; i < columns.size(); i++) {
+            String field = canonicalField(columns.get(i));
+            if (field == null) {
+                continue;
+            }
+            switch (field) {
+                case "title" -> title = i;
+                case "author" -> author = i;
+                case "url" -> url = i;
+                default -> publishedDate = i;
+            }
+        }
+        if (title < 0) {
+            throw new IllegalArgumentException("CSV header has no title column: " + header);
+        }
+        this.titleIndex = title;
+        this.authorIndex = author;
+        this.urlIndex = url;
+        this.publishedDateIndex = publishedDate;
+        this.columnCount = columns.size();
+    }
+
+    @Override
+    Tutorial parse(String record) {
+        List<String> fields = split(record);
+        if (fields.size() != columnCount) {
+            throw new IllegalArgumentException("expected " + columnCount + " fields but found " + fields.size());
+        }
+        return toTutorial(field(fields, titleIndex), field(fields, authorIndex), field(fields, urlIndex), field(fields, publishedDateIndex));
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index >= 0 ? fields.get(index) : null;
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
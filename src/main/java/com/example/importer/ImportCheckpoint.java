@@ -0,0 +1,157 @@
+package com.example.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Restart point of an import, saved as a properties file after every written batch.
+ * <p>
+ * Batches finish out of order, so the checkpoint keeps a watermark (the file offset before
+ * which everything is stored) plus the batches already stored beyond it. A restart reads the
+ * file again from the watermark with the same batch size, which reproduces the same batch
+ * boundaries, and skips the batches listed as done. Only batches that were being written at
+ * the moment of a crash can end up in the database twice.
+ */
+final class ImportCheckpoint {
+    private final Path file;
+    private final long sourceSize;
+    private final long sourceModified;
+    private final int batchSize;
+    private final boolean resumed;
+    private long offset;
+    private long records;
+    private long imported;
+    private long rejected;
+    // start offset -> {end offset, records} of batches finished beyond the watermark
+    private final TreeMap<Long, long[]> completed = new TreeMap<>();
+
+    private ImportCheckpoint(Path file, long sourceSize, long sourceModified, int batchSize, boolean resumed) {
+        this.file = file;
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+        this.batchSize = batchSize;
+        this.resumed = resumed;
+    }
+
+    /**
+     * Loads the checkpoint for {@code source} if there is one (and {@code resume} is set), or starts a new one.
+     * @throws IOException If the checkpoint belongs to a different version of the file.
+     */
+    static ImportCheckpoint open(Path file, Path source, int batchSize, boolean resume) throws IOException {
+        long size = Files.size(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        if (!resume || !Files.exists(file)) {
+            return new ImportCheckpoint(file, size, modified, batchSize, false);
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        if (Long.parseLong(properties.getProperty("source.size")) != size
+                || Long.parseLong(properties.getProperty("source.modified")) != modified) {
+            throw new IOException("Checkpoint " + file + " was written for a different version of " + source
+                    + "; delete it to import the file from the start");
+        }
+        ImportCheckpoint checkpoint = new ImportCheckpoint(file, size, modified,
+                Integer.parseInt(properties.getProperty("batchSize")), true);
+        checkpoint.offset = Long.parseLong(properties.getProperty("offset"));
+        checkpoint.records = Long.parseLong(properties.getProperty("records"));
+        checkpoint.imported = Long.parseLong(properties.getProperty("imported"));
+        checkpoint.rejected = Long.parseLong(properties.getProperty("rejected"));
+        String done = properties.getProperty("completed", "");
+        for (String batch : done.split(",")) {
+            if (!batch.isEmpty()) {
+                String[] parts = batch.split(":");
+                checkpoint.completed.put(Long.parseLong(parts[0]), new long[] { Long.parseLong(parts[1]), Long.parseLong(parts[2]) });
+            }
+        }
+        return checkpoint;
+    }
+
+    boolean isResumed() {
+        return resumed;
+    }
+
+    // A resumed import must cut batches exactly like the run that wrote the checkpoint.
+    int batchSize() {
+        return batchSize;
+    }
+
+    synchronized long offset() {
+        return offset;
+    }
+
+    synchronized long records() {
+        return records;
+    }
+
+    synchronized long imported() {
+        return imported;
+    }
+
+    synchronized long rejected() {
+        return rejected;
+    }
+
+    // Moves a fresh checkpoint to the first data byte (past the CSV header).
+    synchronized void startAt(long dataOffset) {
+        offset = Math.max(offset, dataOffset);
+    }
+
+    synchronized boolean isCompleted(long start, long end) {
+        long[] batch = completed.get(start);
+        return batch != null && batch[0] == end;
+    }
+
+    // Records a stored batch, advances the watermark as far as possible and saves the checkpoint.
+    synchronized void complete(long start, long end, int batchRecords, int batchImported, int batchRejected) throws IOException {
+        imported += batchImported;
+        rejected += batchRejected;
+        completed.put(start, new long[] { end, batchRecords });
+        long[] next;
+        while ((next = completed.remove(offset)) != null) {
+            offset = next[0];
+            records += next[1];
+        }
+        save();
+    }
+
+    private void save() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("source.size", Long.toString(sourceSize));
+        properties.setProperty("source.modified", Long.toString(sourceModified));
+        properties.setProperty("batchSize", Integer.toString(batchSize));
+        properties.setProperty("offset", Long.toString(offset));
+        properties.setProperty("records", Long.toString(records));
+        properties.setProperty("imported", Long.toString(imported));
+        properties.setProperty("rejected", Long.toString(rejected));
+        StringBuilder done = new StringBuilder();
+        for (Map.Entry<Long, long[]> batch : completed.entrySet()) {
+            if (!done.isEmpty()) {
+                done.append(',');
+            }
+            done.append(batch.getKey()).append(':').append(batch.getValue()[0]).append(':').append(batch.getValue()[1]);
+        }
+        properties.setProperty("completed", done.toString());
+
+        // Write next to the target and rename, so a crash never leaves a half-written checkpoint.
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, "TutorTrack import checkpoint");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Called once the whole file is imported.
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
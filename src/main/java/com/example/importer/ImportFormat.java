@@ -0,0 +1,28 @@
+package com.example.importer;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats understood by {@link TutorialImporter}.
+ */
+public enum ImportFormat {
+    /**
+     * RFC 4180 CSV with a header row naming the columns (title, author, url, published_date) in
+     * any order. Quoted fields may contain commas, quotes ({@code ""}) and line breaks.
+     */
+    CSV,
+    /**
+     * Flat JSON objects with the same field names, either as a top-level array or one object
+     * per line (JSON Lines). {@code publishedDate} is accepted as well as {@code published_date}.
+     */
+    JSON;
+
+    /**
+     * Picks the format from the file extension: {@code .json}/{@code .jsonl}/{@code .ndjson} are JSON, anything else CSV.
+     */
+    public static ImportFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSON : CSV;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.importer;
+
+import com.example.dao.TutorialDAO;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Settings for a {@link TutorialImporter} run. Every field has a sensible default, so
+ * {@code ImportOptions.builder().build()} is a valid configuration.
+ */
+@Getter
+@Builder(toBuilder = true)
+@ToString
+public class ImportOptions {
+    // File format; null picks it from the file extension (see ImportFormat.forFile).
+    private final ImportFormat format;
+    // Records per batch: the unit of parsing, writing, checkpointing and backpressure. Keep it at or below
+    // the DAO's own batch size so every batch is committed in one transaction.
+    @Builder.Default
+    private final int batchSize = TutorialDAO.DEFAULT_BATCH_SIZE;
+    // Threads turning raw records into Tutorials.
+    @Builder.Default
+    private final int parserThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    // Threads writing batches, each on its own pooled connection while it writes.
+    @Builder.Default
+    private final int writerThreads = 4;
+    // Batches that may wait between two stages; a full queue makes the stage before it wait.
+    @Builder.Default
+    private final int queueCapacity = 8;
+    // Bytes read from the file per read call.
+    @Builder.Default
+    private final int chunkSize = 1 << 20;
+    // Where progress is saved for restarts; null means "<file>.checkpoint" next to the input.
+    private final Path checkpointFile;
+    // Where rejected records are written; null means "<file>.rejects.csv" next to the input.
+    private final Path rejectFile;
+    // Continue from an existing checkpoint instead of starting over.
+    @Builder.Default
+    private final boolean resume = true;
+    // Called from the importing thread every progressInterval, and once at the end.
+    private final Consumer<ImportProgress> progressListener;
+    @Builder.Default
+    private final Duration progressInterval = Duration.ofSeconds(1);
+}
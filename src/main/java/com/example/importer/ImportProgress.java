@@ -0,0 +1,21 @@
+package com.example.importer;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of a running import. Counts include work done by earlier runs of a resumed import.
+ * @param bytesRead File offset the reader has reached.
+ * @param totalBytes File size.
+ * @param recordsRead Records read from the file so far.
+ * @param imported Records stored in the database.
+ * @param rejected Records written to the reject file.
+ * @param elapsed Time since this run started.
+ * @param rowsPerSecond Records stored per second by this run.
+ */
+public record ImportProgress(long bytesRead, long totalBytes, long recordsRead, long imported, long rejected,
+                             Duration elapsed, double rowsPerSecond) {
+
+    public double percentComplete() {
+        return totalBytes == 0 ? 100.0 : 100.0 * bytesRead / totalBytes;
+    }
+}
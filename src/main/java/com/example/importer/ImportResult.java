@@ -0,0 +1,15 @@
+package com.example.importer;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Outcome of a finished import. Counts cover the whole file, including earlier runs of a resumed import.
+ * @param records Data records found in the file.
+ * @param imported Records stored in the database.
+ * @param rejected Records that failed parsing, validation or the insert, see {@code rejectFile}.
+ * @param elapsed Duration of this run.
+ * @param rejectFile The reject file, or {@code null} if nothing was rejected.
+ */
+public record ImportResult(long records, long imported, long rejected, Duration elapsed, Path rejectFile) {
+}
@@ -0,0 +1,144 @@
+package com.example.importer;
+
+import com.example.model.Tutorial;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parses one flat JSON object. Values may be strings, numbers, booleans or null; nested
+ * objects and arrays are rejected. Unknown fields are ignored.
+ */
+final class JsonRecordParser extends RecordParser {
+
+    @Override
+    Tutorial parse(String record) {
+        Map<String, String> fields = new Reader(record).readObject();
+        return toTutorial(fields.get("title"), fields.get("author"), fields.get("url"), fields.get("published_date"));
+    }
+
+    // Minimal recursive-descent reader for a single flat object.
+    private static final class Reader {
+        private final String text;
+        private int position;
+
+        Reader(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> readObject() {
+            Map<String, String> fields = new HashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return fields;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                String value = readValue();
+                String field = canonicalField(name);
+                if (field != null) {
+                    fields.put(field, value);
+                }
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return fields;
+                }
+                if (c != ',') {
+                    throw error("expected ',' or '}'");
+                }
+            }
+        }
+
+        private String readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("nested objects and arrays are not supported");
+            }
+            int start = position;
+            while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()) {
+                throw error("missing value");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escape = next();
+                switch (escape) {
+                    case '"', '\\', '/' -> value.append(escape);
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw error("truncated unicode escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text, position, position + 4, 16));
+                        } catch (NumberFormatException e) {
+                            throw error("invalid unicode escape");
+                        }
+                        position += 4;
+                    }
+                    default -> throw error("invalid escape \\" + escape);
+                }
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw error("expected '" + expected + "'");
+            }
+        }
+
+        private char next() {
+            if (position >= text.length()) {
+                throw error("unexpected end of record");
+            }
+            return text.charAt(position++);
+        }
+
+        private char peek() {
+            if (position >= text.length()) {
+                throw error("unexpected end of record");
+            }
+            return text.charAt(position);
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("invalid JSON at character " + position + ": " + message);
+        }
+    }
+}
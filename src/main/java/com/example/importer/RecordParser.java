@@ -0,0 +1,67 @@
+package com.example.importer;
+
+import com.example.model.Tutorial;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Turns one raw record into a {@link Tutorial}. Implementations are stateless after construction
+ * and shared by all parser threads.
+ */
+abstract class RecordParser {
+    static final int MAX_TITLE_LENGTH = 255;
+    static final int MAX_AUTHOR_LENGTH = 100;
+    static final int MAX_URL_LENGTH = 500;
+
+    /**
+     * @throws IllegalArgumentException With a human readable reason if the record is malformed or invalid.
+     */
+    abstract Tutorial parse(String record);
+
+    static RecordParser forFormat(ImportFormat format, String header) {
+        return format == ImportFormat.CSV ? new CsvRecordParser(header) : new JsonRecordParser();
+    }
+
+    // Maps the accepted spellings of a column name onto the canonical one, or null if unknown.
+    static String canonicalField(String name) {
+        String key = name.trim().toLowerCase(Locale.ROOT).replace("_", "");
+        return switch (key) {
+            case "title" -> "title";
+            case "author" -> "author";
+            case "url" -> "url";
+            case "publisheddate" -> "published_date";
+            default -> null;
+        };
+    }
+
+    // Applies the same rules as the tutorials table (title required, column lengths) plus date parsing.
+    static Tutorial toTutorial(String title, String author, String url, String publishedDate) {
+        if (title == null || title.isBlank()) {
+            throw new IllegalArgumentException("title is missing");
+        }
+        checkLength("title", title, MAX_TITLE_LENGTH);
+        checkLength("author", author, MAX_AUTHOR_LENGTH);
+        checkLength("url", url, MAX_URL_LENGTH);
+        LocalDate date = null;
+        if (publishedDate != null && !publishedDate.isBlank()) {
+            try {
+                date = LocalDate.parse(publishedDate.trim());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("published_date '" + publishedDate + "' is not a YYYY-MM-DD date");
+            }
+        }
+        return new Tutorial(title, emptyToNull(author), emptyToNull(url), date);
+    }
+
+    private static void checkLength(String field, String value, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " is longer than " + maxLength + " characters");
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.importer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Cuts a byte stream into records without decoding it first. CSV records end at a line break
+ * outside quotes; JSON records are top-level {@code {...}} objects, so the surrounding array
+ * brackets and commas are skipped. Both only look at ASCII bytes, which never occur inside a
+ * multi-byte UTF-8 sequence, so chunk boundaries can fall anywhere.
+ */
+final class RecordSplitter {
+    private final ImportFormat format;
+    private byte[] pending = new byte[64 * 1024];
+    private int length;
+    private int scanned;       // bytes of pending already examined
+    private int recordStart;   // start of the current record in pending, -1 while between JSON objects
+    private long baseOffset;   // file offset of pending[0]
+    // Scanner state carried across chunks.
+    private boolean inQuotes;
+    private boolean escaped;
+    private int depth;
+
+    RecordSplitter(ImportFormat format, long startOffset) {
+        this.format = format;
+        this.baseOffset = startOffset;
+        this.recordStart = format == ImportFormat.CSV ? 0 : -1;
+    }
+
+    // Receives each complete record and the file offset just past it.
+    interface RecordSink {
+        void accept(String record, long endOffset) throws InterruptedException;
+    }
+
+    void feed(byte[] chunk, int count, RecordSink sink) throws InterruptedException {
+        compact();
+        if (length + count > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, length + count));
+        }
+        System.arraycopy(chunk, 0, pending, length, count);
+        length += count;
+        if (format == ImportFormat.CSV) {
+            scanCsv(sink);
+        } else {
+            scanJson(sink);
+        }
+    }
+
+    // Emits whatever is left once the input is exhausted (a last CSV line without a line break,
+    // or a truncated JSON object, which the parser will then reject).
+    void finish(RecordSink sink) throws InterruptedException {
+        int start = Math.max(recordStart, 0);
+        if (recordStart >= 0 && start < length) {
+            emit(start, length, sink);
+        }
+        baseOffset += length;
+        length = 0;
+        scanned = 0;
+    }
+
+    private void scanCsv(RecordSink sink) throws InterruptedException {
+        for (int i = scanned; i < length; i++) {
+            byte b = pending[i];
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == '\n' && !inQuotes) {
+                int end = i > recordStart && pending[i - 1] == '\r' ? i - 1 : i;
+                if (end > recordStart) { // blank lines produce no record
+                    emit(recordStart, end, sink, i + 1);
+                }
+                recordStart = i + 1;
+            }
+        }
+        scanned = length;
+    }
+
+    private void scanJson(RecordSink sink) throws InterruptedException {
+        for (int i = scanned; i < length; i++) {
+            byte b = pending[i];
+            if (depth == 0) {
+                if (b == '{') {
+                    recordStart = i;
+                    depth = 1;
+                }
+                continue;
+            }
+            if (inQuotes) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inQuotes = false;
+                }
+            } else if (b == '"') {
+                inQuotes = true;
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if ((b == '}' || b == ']') && --depth == 0) {
+                emit(recordStart, i + 1, sink);
+                recordStart = -1;
+            }
+        }
+        scanned = length;
+    }
+
+    private void emit(int start, int end, RecordSink sink) throws InterruptedException {
+        emit(start, end, sink, end);
+    }
+
+    private void emit(int start, int end, RecordSink sink, int consumedTo) throws InterruptedException {
+        sink.accept(new String(pending, start, end - start, StandardCharsets.UTF_8), baseOffset + consumedTo);
+    }
+
+    // Drops bytes that belong to records already emitted.
+    private void compact() {
+        int keep = recordStart >= 0 ? recordStart : scanned;
+        if (keep == 0) {
+            return;
+        }
+        System.arraycopy(pending, keep, pending, 0, length - keep);
+        length -= keep;
+        scanned -= keep;
+        if (recordStart >= 0) {
+            recordStart -= keep;
+        }
+        baseOffset += keep;
+    }
+}
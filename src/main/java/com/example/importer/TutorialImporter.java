@@ -0,0 +1,406 @@
+package com.example.importer;
+
+import com.example.dao.BatchInsertResult;
+import com.example.dao.TutorialDAO;
+import com.example.model.Tutorial;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulk import of tutorials from large CSV or JSON files.
+ * <p>
+ * The import runs as a three stage pipeline connected by bounded queues:
+ * <ol>
+ *   <li>one reader pulls the file through a {@link FileChannel} in large chunks and cuts it
+ *       into batches of raw records without decoding whole chunks;</li>
+ *   <li>several parser threads turn records into {@link Tutorial}s and validate them;</li>
+ *   <li>several writer threads store the batches with {@link TutorialDAO#addTutorials}, each
+ *       on its own pooled connection.</li>
+ * </ol>
+ * A full queue blocks the stage in front of it, so memory use is bounded by the queue
+ * capacities no matter how large the file is. Records that cannot be parsed, fail validation
+ * or are refused by the database go to a reject file with their record number and reason.
+ * After every stored batch a checkpoint is saved; if the import fails (e.g. the database goes
+ * away) running it again on the same file continues where it stopped.
+ */
+public class TutorialImporter {
+    private final TutorialDAO tutorialDAO;
+    private final ImportOptions options;
+
+    public TutorialImporter(TutorialDAO tutorialDAO) {
+        this(tutorialDAO, ImportOptions.builder().build());
+    }
+
+    public TutorialImporter(TutorialDAO tutorialDAO, ImportOptions options) {
+        if (options.getBatchSize() < 1 || options.getParserThreads() < 1 || options.getWriterThreads() < 1
+                || options.getQueueCapacity() < 1 || options.getChunkSize() < 1) {
+            throw new IllegalArgumentException("batchSize, thread counts, queueCapacity and chunkSize must be at least 1: " + options);
+        }
+        this.tutorialDAO = tutorialDAO;
+        this.options = options;
+    }
+
+    /**
+     * Imports a file, resuming from its checkpoint if one exists.
+     * @param file CSV or JSON file.
+     * @return Totals for the whole file.
+     * @throws IOException If the file cannot be read or the checkpoint does not match it.
+     * @throws com.example.exceptions.DatabaseOperationException If writing fails for a reason other than a bad row;
+     *         the checkpoint is kept so the import can be restarted.
+     */
+    public ImportResult importFile(Path file) throws IOException {
+        ImportFormat format = options.getFormat() != null ? options.getFormat() : ImportFormat.forFile(file);
+        Path checkpointFile = options.getCheckpointFile() != null ? options.getCheckpointFile() : sibling(file, ".checkpoint");
+        Path rejectFile = options.getRejectFile() != null ? options.getRejectFile() : sibling(file, ".rejects.csv");
+        ImportCheckpoint checkpoint = ImportCheckpoint.open(checkpointFile, file, options.getBatchSize(), options.isResume());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             RejectWriter rejects = new RejectWriter(rejectFile, checkpoint.isResumed())) {
+            String header = null;
+            if (format == ImportFormat.CSV) {
+                HeaderReader headerReader = new HeaderReader();
+                header = headerReader.read(channel);
+                checkpoint.startAt(headerReader.end);
+            }
+            RecordParser parser = RecordParser.forFormat(format, header);
+            ImportResult result = new Run(channel, format, parser, checkpoint, rejects).execute();
+            checkpoint.delete();
+            return new ImportResult(result.records(), result.imported(), result.rejected(), result.elapsed(),
+                    result.rejected() > 0 ? rejectFile : null);
+        }
+    }
+
+    private static Path sibling(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    // A batch of raw records as cut by the reader, identified by its byte range in the file.
+    private record RawBatch(long start, long end, long firstRecord, List<String> records) {
+        static final RawBatch END = new RawBatch(-1, -1, -1, List.of());
+    }
+
+    // A batch after parsing: the valid tutorials plus the records already rejected.
+    private record ParsedBatch(RawBatch raw, List<Tutorial> tutorials, int[] positions, List<Reject> rejects) {
+        static final ParsedBatch END = new ParsedBatch(RawBatch.END, List.of(), new int[0], List.of());
+    }
+
+    private record Reject(long recordNumber, String reason, String record) {
+    }
+
+    // One execution of the pipeline over the part of the file not covered by the checkpoint.
+    private final class Run {
+        private final FileChannel channel;
+        private final ImportFormat format;
+        private final RecordParser parser;
+        private final ImportCheckpoint checkpoint;
+        private final RejectWriter rejects;
+        private final BlockingQueue<RawBatch> rawBatches = new ArrayBlockingQueue<>(options.getQueueCapacity());
+        private final BlockingQueue<ParsedBatch> parsedBatches = new ArrayBlockingQueue<>(options.getQueueCapacity());
+        private final AtomicInteger runningParsers = new AtomicInteger(options.getParserThreads());
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final AtomicLong recordsRead = new AtomicLong();
+        private final LongAdder importedThisRun = new LongAdder();
+        private final long totalBytes;
+        private final long startNanos = System.nanoTime();
+
+        Run(FileChannel channel, ImportFormat format, RecordParser parser, ImportCheckpoint checkpoint, RejectWriter rejects) throws IOException {
+            this.channel = channel;
+            this.format = format;
+            this.parser = parser;
+            this.checkpoint = checkpoint;
+            this.rejects = rejects;
+            this.totalBytes = channel.size();
+        }
+
+        ImportResult execute() throws IOException {
+            int tasks = 1 + options.getParserThreads() + options.getWriterThreads();
+            AtomicInteger threadNumber = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(tasks, r -> {
+                Thread thread = new Thread(r, "tutortrack-import-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            ExecutorCompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+            try {
+                completion.submit(this::read);
+                for (int i = 0; i < options.getParserThreads(); i++) {
+                    completion.submit(this::parse);
+                }
+                for (int i = 0; i < options.getWriterThreads(); i++) {
+                    completion.submit(this::write);
+                }
+                long intervalMillis = Math.max(1, options.getProgressInterval().toMillis());
+                for (int running = tasks; running > 0; ) {
+                    Future<Void> finished = completion.poll(intervalMillis, TimeUnit.MILLISECONDS);
+                    if (finished == null) {
+                        reportProgress();
+                        continue;
+                    }
+                    running--;
+                    finished.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import interrupted");
+            } catch (ExecutionException e) {
+                // One stage failed: stop the others (they may be blocked on a queue) and report the cause.
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException io) {
+                    throw io;
+                }
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IOException("Import failed: " + cause.getMessage(), cause);
+            } finally {
+                executor.shutdownNow();
+            }
+            reportProgress();
+            return new ImportResult(recordsRead.get(), checkpoint.imported(), checkpoint.rejected(), elapsed(), null);
+        }
+
+        // Stage 1: read the file from the checkpoint on and cut it into batches.
+        private Void read() throws IOException, InterruptedException {
+            long start = checkpoint.offset();
+            recordsRead.set(checkpoint.records());
+            bytesRead.set(start);
+            BatchCutter cutter = new BatchCutter(start);
+            RecordSplitter splitter = new RecordSplitter(format, start);
+            byte[] chunk = new byte[options.getChunkSize()];
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            long position = start;
+            int count;
+            while ((count = channel.read(buffer, position)) != -1) {
+                if (count > 0) {
+                    splitter.feed(chunk, count, cutter);
+                    position += count;
+                    bytesRead.set(position);
+                }
+                buffer.clear();
+            }
+            splitter.finish(cutter);
+            cutter.flush();
+            for (int i = 0; i < options.getParserThreads(); i++) {
+                rawBatches.put(RawBatch.END);
+            }
+            return null;
+        }
+
+        // Collects records into batches; batches a previous run already stored are dropped here.
+        private final class BatchCutter implements RecordSplitter.RecordSink {
+            private long batchStart;
+            private long batchEnd;
+            private long firstRecord;
+            private List<String> records = new ArrayList<>(checkpoint.batchSize());
+
+            BatchCutter(long start) {
+                this.batchStart = start;
+            }
+
+            @Override
+            public void accept(String record, long endOffset) throws InterruptedException {
+                if (records.isEmpty()) {
+                    firstRecord = recordsRead.get() + 1;
+                }
+                records.add(record);
+                recordsRead.incrementAndGet();
+                batchEnd = endOffset;
+                if (records.size() == checkpoint.batchSize()) {
+                    flush();
+                }
+            }
+
+            void flush() throws InterruptedException {
+                if (records.isEmpty()) {
+                    return;
+                }
+                if (!checkpoint.isCompleted(batchStart, batchEnd)) {
+                    rawBatches.put(new RawBatch(batchStart, batchEnd, firstRecord, records));
+                }
+                batchStart = batchEnd;
+                records = new ArrayList<>(checkpoint.batchSize());
+            }
+        }
+
+        // Stage 2: parse and validate.
+        private Void parse() throws InterruptedException {
+            while (true) {
+                RawBatch raw = rawBatches.take();
+                if (raw == RawBatch.END) {
+                    if (runningParsers.decrementAndGet() == 0) {
+                        for (int i = 0; i < options.getWriterThreads(); i++) {
+                            parsedBatches.put(ParsedBatch.END);
+                        }
+                    }
+                    return null;
+                }
+                List<Tutorial> tutorials = new ArrayList<>(raw.records().size());
+                int[] positions = new int[raw.records().size()];
+                List<Reject> rejected = new ArrayList<>();
+                for (int i = 0; i < raw.records().size(); i++) {
+                    String record = raw.records().get(i);
+                    try {
+                        Tutorial tutorial = parser.parse(record);
+                        positions[tutorials.size()] = i;
+                        tutorials.add(tutorial);
+                    } catch (IllegalArgumentException e) {
+                        rejected.add(new Reject(raw.firstRecord() + i, e.getMessage(), record));
+                    }
+                }
+                parsedBatches.put(new ParsedBatch(raw, tutorials, positions, rejected));
+            }
+        }
+
+        // Stage 3: store, write rejects, then checkpoint.
+        private Void write() throws IOException, InterruptedException {
+            while (true) {
+                ParsedBatch batch = parsedBatches.take();
+                if (batch == ParsedBatch.END) {
+                    return null;
+                }
+                List<Reject> rejected = new ArrayList<>(batch.rejects());
+                int imported = 0;
+                if (!batch.tutorials().isEmpty()) {
+                    BatchInsertResult result = tutorialDAO.addTutorials(batch.tutorials());
+                    imported = result.insertedCount();
+                    for (BatchInsertResult.Failure failure : result.failures()) {
+                        int position = batch.positions()[failure.index()];
+                        rejected.add(new Reject(batch.raw().firstRecord() + position, failure.message(), batch.raw().records().get(position)));
+                    }
+                }
+                rejects.write(rejected);
+                importedThisRun.add(imported);
+                RawBatch raw = batch.raw();
+                checkpoint.complete(raw.start(), raw.end(), raw.records().size(), imported, rejected.size());
+            }
+        }
+
+        private void reportProgress() {
+            if (options.getProgressListener() == null) {
+                return;
+            }
+            Duration elapsed = elapsed();
+            double seconds = Math.max(elapsed.toNanos() / 1e9, 1e-9);
+            options.getProgressListener().accept(new ImportProgress(bytesRead.get(), totalBytes, recordsRead.get(),
+                    checkpoint.imported(), checkpoint.rejected(), elapsed, importedThisRun.sum() / seconds));
+        }
+
+        private Duration elapsed() {
+            return Duration.ofNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    // Reads the CSV header line, which is needed again on every restart.
+    private static final class HeaderReader implements RecordSplitter.RecordSink {
+        private String header;
+        private long end;
+
+        String read(FileChannel channel) throws IOException {
+            RecordSplitter splitter = new RecordSplitter(ImportFormat.CSV, 0);
+            byte[] chunk = new byte[8192];
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            long position = 0;
+            int count;
+            try {
+                while (header == null && (count = channel.read(buffer, position)) != -1) {
+                    splitter.feed(chunk, count, this);
+                    position += count;
+                    buffer.clear();
+                }
+                if (header == null) {
+                    splitter.finish(this);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading the CSV header");
+            }
+            if (header == null) {
+                throw new IOException("CSV file is empty, expected a header row");
+            }
+            return header;
+        }
+
+        @Override
+        public void accept(String record, long endOffset) {
+            if (header == null) {
+                header = record;
+                end = endOffset;
+            }
+        }
+    }
+
+    // Appends rejected records as CSV: record number, reason, original text.
+    private static final class RejectWriter implements Closeable {
+        private final Path file;
+        private final boolean append;
+        private BufferedWriter writer;
+
+        RejectWriter(Path file, boolean append) throws IOException {
+            this.file = file;
+            this.append = append;
+            if (!append) {
+                Files.deleteIfExists(file); // left over from an earlier import of the same file
+            }
+        }
+
+        // Flushed before the batch is checkpointed, so a restart never loses rejects.
+        synchronized void write(List<Reject> rejects) throws IOException {
+            if (rejects.isEmpty()) {
+                return;
+            }
+            if (writer == null) {
+                boolean exists = append && Files.exists(file);
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        exists ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                if (!exists) {
+                    writer.write("record,reason,data");
+                    writer.newLine();
+                }
+            }
+            for (Reject reject : rejects) {
+                writer.write(Long.toString(reject.recordNumber()));
+                writer.write(',');
+                writer.write(quote(reject.reason()));
+                writer.write(',');
+                writer.write(quote(reject.record()));
+                writer.newLine();
+            }
+            writer.flush();
+        }
+
+        private static String quote(String value) {
+            return '"' + (value == null ? "" : value.replace("\"", "\"\"")) + '"';
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
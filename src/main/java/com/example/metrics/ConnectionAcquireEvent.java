@@ -0,0 +1,24 @@
+package com.example.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event covering the time a thread waited to borrow a pooled connection.
+ */
+@Name("com.example.tutortrack.ConnectionAcquire")
+@Label("Connection Acquire")
+@Category({ "TutorTrack", "Database" })
+@Description("Borrowing a connection from the TutorTrack connection pool")
+@StackTrace(false)
+public class ConnectionAcquireEvent extends Event {
+    @Label("Active Connections")
+    public int activeConnections;
+
+    @Label("Succeeded")
+    public boolean success;
+}
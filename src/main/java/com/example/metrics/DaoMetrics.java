@@ -0,0 +1,102 @@
+package com.example.metrics;
+
+import com.example.util.ConnectionPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Registry of {@link OperationMetrics}, one per DAO operation, plus an optional connection
+ * pool whose acquire time and statement cache counters are included in every snapshot.
+ */
+public class DaoMetrics {
+    private final Map<String, OperationMetrics> operations = new ConcurrentSkipListMap<>();
+    private final ConnectionPool pool;
+
+    public DaoMetrics() {
+        this(null);
+    }
+
+    public DaoMetrics(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the metrics of an operation, creating them on first use. Callers on a hot path
+     * should look the operation up once and keep the reference.
+     */
+    public OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    public MetricsSnapshot snapshot() {
+        List<OperationMetrics.OperationSnapshot> snapshots = new ArrayList<>(operations.size());
+        for (OperationMetrics metrics : operations.values()) {
+            snapshots.add(metrics.snapshot());
+        }
+        return new MetricsSnapshot(List.copyOf(snapshots),
+                pool != null ? pool.getAcquireTime().snapshot() : null,
+                pool != null ? pool.getStatementCacheStats() : null);
+    }
+
+    // Clears all operation counters (the pool's own counters are left alone).
+    public void reset() {
+        operations.values().forEach(OperationMetrics::reset);
+    }
+
+    /**
+     * Renders the current snapshot in the Prometheus text exposition format, so it can be
+     * served from an HTTP endpoint or written to a file for a node exporter to pick up.
+     */
+    public String exportPrometheus() {
+        MetricsSnapshot snapshot = snapshot();
+        StringBuilder out = new StringBuilder(1024);
+        out.append("# TYPE tutortrack_dao_latency_seconds summary\n");
+        for (OperationMetrics.OperationSnapshot op : snapshot.operations()) {
+            String label = "operation=\"" + op.operation() + "\"";
+            LatencyHistogram.Snapshot latency = op.latency();
+            quantile(out, label, "0.5", latency.p50Nanos());
+            quantile(out, label, "0.9", latency.p90Nanos());
+            quantile(out, label, "0.99", latency.p99Nanos());
+            quantile(out, label, "0.999", latency.p999Nanos());
+            out.append("tutortrack_dao_latency_seconds_sum{").append(label).append("} ").append(seconds(latency.totalNanos())).append('\n');
+            out.append("tutortrack_dao_latency_seconds_count{").append(label).append("} ").append(latency.count()).append('\n');
+        }
+        out.append("# TYPE tutortrack_dao_rows_total counter\n");
+        for (OperationMetrics.OperationSnapshot op : snapshot.operations()) {
+            out.append("tutortrack_dao_rows_total{operation=\"").append(op.operation()).append("\"} ").append(op.rows()).append('\n');
+        }
+        out.append("# TYPE tutortrack_dao_errors_total counter\n");
+        for (OperationMetrics.OperationSnapshot op : snapshot.operations()) {
+            op.errors().forEach((type, count) -> out.append("tutortrack_dao_errors_total{operation=\"").append(op.operation())
+                    .append("\",exception=\"").append(type).append("\"} ").append(count).append('\n'));
+        }
+        if (snapshot.connectionAcquire() != null) {
+            LatencyHistogram.Snapshot acquire = snapshot.connectionAcquire();
+            out.append("# TYPE tutortrack_pool_acquire_seconds summary\n");
+            out.append("tutortrack_pool_acquire_seconds{quantile=\"0.5\"} ").append(seconds(acquire.p50Nanos())).append('\n');
+            out.append("tutortrack_pool_acquire_seconds{quantile=\"0.99\"} ").append(seconds(acquire.p99Nanos())).append('\n');
+            out.append("tutortrack_pool_acquire_seconds_sum ").append(seconds(acquire.totalNanos())).append('\n');
+            out.append("tutortrack_pool_acquire_seconds_count ").append(acquire.count()).append('\n');
+        }
+        if (snapshot.statementCache() != null) {
+            out.append("# TYPE tutortrack_statement_cache_hits_total counter\n");
+            out.append("tutortrack_statement_cache_hits_total ").append(snapshot.statementCache().hits()).append('\n');
+            out.append("# TYPE tutortrack_statement_cache_misses_total counter\n");
+            out.append("tutortrack_statement_cache_misses_total ").append(snapshot.statementCache().misses()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void quantile(StringBuilder out, String label, String quantile, long nanos) {
+        out.append("tutortrack_dao_latency_seconds{").append(label).append(",quantile=\"").append(quantile).append("\"} ")
+                .append(seconds(nanos)).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
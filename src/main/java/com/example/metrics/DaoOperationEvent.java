@@ -0,0 +1,31 @@
+package com.example.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event emitted for every call through {@code MetricsTutorialDAO}.
+ * It costs next to nothing while no recording is running.
+ */
+@Name("com.example.tutortrack.DaoOperation")
+@Label("DAO Operation")
+@Category({ "TutorTrack", "Database" })
+@Description("A call to a TutorialDAO method")
+@StackTrace(false)
+public class DaoOperationEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Rows")
+    public long rows;
+
+    @Label("Succeeded")
+    public boolean success;
+
+    @Label("Error Type")
+    public String errorType;
+}
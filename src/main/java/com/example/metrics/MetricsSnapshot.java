@@ -0,0 +1,25 @@
+package com.example.metrics;
+
+import com.example.util.StatementCacheStats;
+
+import java.util.List;
+
+/**
+ * Everything {@link DaoMetrics} knows at one point in time.
+ * @param operations Per-operation latency, row and error counters, ordered by operation name.
+ * @param connectionAcquire Time spent waiting for pooled connections, or {@code null} without a pool.
+ * @param statementCache Prepared statement cache counters, or {@code null} without a pool.
+ */
+public record MetricsSnapshot(List<OperationMetrics.OperationSnapshot> operations,
+                              LatencyHistogram.Snapshot connectionAcquire,
+                              StatementCacheStats statementCache) {
+
+    public OperationMetrics.OperationSnapshot operation(String name) {
+        for (OperationMetrics.OperationSnapshot operation : operations) {
+            if (operation.operation().equals(name)) {
+                return operation;
+            }
+        }
+        return null;
+    }
+}
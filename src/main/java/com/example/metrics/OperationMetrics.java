@@ -0,0 +1,64 @@
+package com.example.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one DAO operation: a latency histogram, the number of rows it touched
+ * and how often it failed, broken down by exception type.
+ */
+public class OperationMetrics {
+    private final String operation;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    OperationMetrics(String operation) {
+        this.operation = operation;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void recordSuccess(long nanos, long rowCount) {
+        latency.record(nanos);
+        rows.add(rowCount);
+    }
+
+    public void recordFailure(long nanos, Throwable error) {
+        latency.record(nanos);
+        errors.computeIfAbsent(error.getClass().getSimpleName(), k -> new LongAdder()).increment();
+    }
+
+    public OperationSnapshot snapshot() {
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((type, count) -> errorCounts.put(type, count.sum()));
+        return new OperationSnapshot(operation, latency.snapshot(), rows.sum(), Map.copyOf(errorCounts));
+    }
+
+    void reset() {
+        latency.reset();
+        rows.reset();
+        errors.clear();
+    }
+
+    /**
+     * Point-in-time view of one operation.
+     * @param operation DAO method name.
+     * @param latency Call latency in nanoseconds, failures included.
+     * @param rows Rows returned or written by successful calls.
+     * @param errors Failed calls per exception class name.
+     */
+    public record OperationSnapshot(String operation, LatencyHistogram.Snapshot latency, long rows, Map<String, Long> errors) {
+        public long errorCount() {
+            long total = 0;
+            for (long count : errors.values()) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
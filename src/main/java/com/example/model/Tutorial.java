@@ -24,6 +24,11 @@ public class Tutorial {
         this.publishedDate = publishedDate;
     }
 
+    // Copy constructor, used by callers that must not share a mutable Tutorial (e.g. caches).
+    public Tutorial(Tutorial other) {
+        this(other.id, other.title, other.author, other.url, other.publishedDate);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,12 @@
+package com.example.search;
+
+/**
+ * One ranked search result. Only the indexed fields are carried; load the full
+ * tutorial by ID if the URL or date is needed.
+ * @param id The tutorial ID.
+ * @param title The tutorial title.
+ * @param author The tutorial author, may be {@code null}.
+ * @param score Relevance, higher is better. Only meaningful relative to other hits of the same query.
+ */
+public record SearchHit(int id, String title, String author, double score) {
+}
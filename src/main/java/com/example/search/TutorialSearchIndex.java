@@ -0,0 +1,246 @@
+package com.example.search;
+
+import com.example.model.Tutorial;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over tutorial titles and authors.
+ * <p>
+ * Text is lower-cased, stripped of accents and split on anything that is not a letter or
+ * digit. Every term maps to a posting list of (tutorial ID, weight) pairs kept in ID order in
+ * primitive arrays; a title occurrence weighs {@value #TITLE_WEIGHT}, an author occurrence
+ * {@value #AUTHOR_WEIGHT}. The term dictionary is sorted, so a query token also matches every
+ * term it is a prefix of ("jav" finds "java" and "javascript").
+ * <p>
+ * A query matches tutorials that contain all of its tokens. Hits are ranked by the sum over
+ * the tokens of weight x IDF, with prefix matches counting {@value #PREFIX_MATCH_FACTOR} of an
+ * exact match. Searches share a read lock; updates take the write lock.
+ */
+public class TutorialSearchIndex {
+    static final int TITLE_WEIGHT = 2;
+    static final int AUTHOR_WEIGHT = 1;
+    static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+
+    // What was indexed for a tutorial, so the postings can be removed again on update or delete.
+    private record Document(String title, String author, String[] terms) {
+    }
+
+    /**
+     * Adds a tutorial, or replaces what was indexed for its ID before.
+     */
+    public void put(Tutorial tutorial) {
+        lock.writeLock().lock();
+        try {
+            putLocked(tutorial.getId(), tutorial.getTitle(), tutorial.getAuthor());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given tutorials. Searches and updates wait until the
+     * rebuild is finished, so updates made meanwhile are applied on top of the new contents.
+     */
+    public void rebuild(Stream<Tutorial> tutorials) {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            documents.clear();
+            tutorials.forEach(t -> putLocked(t.getId(), t.getTitle(), t.getAuthor()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param query Free text, e.g. "java stream" or an author's name.
+     * @param limit Maximum number of hits.
+     * @return Hits ordered by descending score, ties broken by ascending ID. Empty if the query has no tokens.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        Set<String> tokens = new LinkedHashSet<>(tokenize(query));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = null;
+            for (String token : tokens) {
+                scores = scoreToken(token, scores);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Scores one token over all terms it is a prefix of, restricted to the candidates of the previous tokens.
+    private Map<Integer, Double> scoreToken(String token, Map<Integer, Double> candidates) {
+        Map<Integer, Double> tokenScores = new HashMap<>();
+        double documentCount = documents.size();
+        NavigableMap<String, Postings> matches = terms.subMap(token, true, token + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Postings> match : matches.entrySet()) {
+            Postings postings = match.getValue();
+            double idf = Math.log(1 + documentCount / postings.size);
+            double factor = match.getKey().length() == token.length() ? idf : idf * PREFIX_MATCH_FACTOR;
+            for (int i = 0; i < postings.size; i++) {
+                Integer id = postings.ids[i];
+                if (candidates == null || candidates.containsKey(id)) {
+                    // A document matching several expansions of the prefix counts its best one.
+                    tokenScores.merge(id, postings.weights[i] * factor, Math::max);
+                }
+            }
+        }
+        if (candidates != null) {
+            tokenScores.replaceAll((id, score) -> score + candidates.get(id));
+        }
+        return tokenScores;
+    }
+
+    private List<SearchHit> topHits(Map<Integer, Double> scores, int limit) {
+        // Min-heap of the best `limit` entries: the weakest hit is at the head and is dropped first.
+        PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(Math.min(limit, scores.size()) + 1,
+                (a, b) -> a.getValue().equals(b.getValue()) ? Integer.compare(b.getKey(), a.getKey()) : Double.compare(a.getValue(), b.getValue()));
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        SearchHit[] hits = new SearchHit[best.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            Map.Entry<Integer, Double> entry = best.poll();
+            Document document = documents.get(entry.getKey());
+            hits[i] = new SearchHit(entry.getKey(), document.title(), document.author(), entry.getValue());
+        }
+        return Arrays.asList(hits);
+    }
+
+    private void putLocked(int id, String title, String author) {
+        removeLocked(id);
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(author)) {
+            weights.merge(term, AUTHOR_WEIGHT, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), k -> new Postings()).add(id, entry.getValue());
+        }
+        documents.put(id, new Document(title, author, weights.keySet().toArray(new String[0])));
+    }
+
+    private void removeLocked(int id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms()) {
+            Postings postings = terms.get(term);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Splits text into normalised search tokens. Used for both documents and queries so they always agree.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Posting list in ascending ID order. IDs mostly arrive in increasing order, which makes add an append.
+    private static final class Postings {
+        int[] ids = new int[4];
+        int[] weights = new int[4];
+        int size;
+
+        void add(int id, int weight) {
+            int position = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0 && position < size) {
+                weights[position] = weight;
+                return;
+            }
+            if (position < 0) {
+                position = -position - 1;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            System.arraycopy(weights, position, weights, position + 1, size - position);
+            ids[position] = id;
+            weights[position] = weight;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,540 @@
+package com.example.util;
+
+import com.example.metrics.ConnectionAcquireEvent;
+import com.example.metrics.LatencyHistogram;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A small bounded JDBC connection pool.
+ * <p>
+ * Borrowed connections are proxies around a physical connection: calling {@code close()}
+ * on them hands the physical connection back to the pool instead of logging off. Idle
+ * connections are kept in LIFO order so the most recently used (and most likely healthy)
+ * connection is reused first.
+ * <p>
+ * Each physical connection also owns a {@link StatementCache}: closing a prepared statement
+ * obtained through {@code prepareStatement(sql)} or {@code prepareStatement(sql, columnNames)}
+ * parks it in the cache so the next caller with the same SQL skips the driver's parse step.
+ * Statements the borrower did not close are closed when the connection goes back to the pool,
+ * so their cursors do not stay open for the lifetime of the physical connection.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private final PoolConfig config;
+    // One permit per connection that may be handed out at the same time.
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> allConnections = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+    private final ReentrantLock openLock = new ReentrantLock();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private final LongAdder statementEvictions = new LongAdder();
+    // Time spent in borrow(), including validation and opening new connections.
+    private final LatencyHistogram acquireTime = new LatencyHistogram();
+
+    public ConnectionPool(PoolConfig config) {
+        if (config.getMaxPoolSize() < 1) {
+            throw new IllegalArgumentException("maxPoolSize must be at least 1");
+        }
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxPoolSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tutortrack-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getHousekeepingIntervalMillis();
+        housekeeper.scheduleWithFixedDelay(this::evictIdleConnections, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the configured borrow timeout for one to become free.
+     * @return A validated connection; closing it returns it to the pool.
+     * @throws SQLTimeoutException If no connection became available in time.
+     * @throws SQLException If the pool is closed or a new connection could not be opened.
+     */
+    public Connection borrow() throws SQLException {
+        ConnectionAcquireEvent event = new ConnectionAcquireEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Connection connection = acquire();
+            success = true;
+            return connection;
+        } finally {
+            acquireTime.record(System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.activeConnections = getActiveConnections();
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    private Connection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(config.getBorrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + config.getBorrowTimeoutMillis()
+                        + " ms waiting for a database connection (pool size " + config.getMaxPoolSize() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    return pooled.lease();
+                }
+                destroy(pooled);
+            }
+            pooled = open();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool. Equivalent to calling {@code close()} on it.
+     * @param connection A connection obtained from {@link #borrow()}.
+     */
+    public void release(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    public int getMaxPoolSize() {
+        return config.getMaxPoolSize();
+    }
+
+    public int getTotalConnections() {
+        return allConnections.size();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    public int getActiveConnections() {
+        return config.getMaxPoolSize() - permits.availablePermits();
+    }
+
+    /**
+     * @return How long callers of {@link #borrow()} waited for a connection, failed attempts included.
+     */
+    public LatencyHistogram getAcquireTime() {
+        return acquireTime;
+    }
+
+    public StatementCacheStats getStatementCacheStats() {
+        return new StatementCacheStats(statementHits.sum(), statementMisses.sum(), statementEvictions.sum());
+    }
+
+    /**
+     * Closes every idle connection and stops handing out new ones. Connections that are
+     * still borrowed are closed as soon as they are returned.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    // With serializeConnects, physical connections are opened one at a time so that connection
+    // init scripts (e.g. H2's INIT=RUNSCRIPT) do not race each other.
+    private PooledConnection open() throws SQLException {
+        Connection physical;
+        if (config.isSerializeConnects()) {
+            openLock.lock();
+            try {
+                physical = DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword());
+            } finally {
+                openLock.unlock();
+            }
+        } else {
+            physical = DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword());
+        }
+        PooledConnection pooled = new PooledConnection(physical);
+        allConnections.add(pooled);
+        return pooled;
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (now - pooled.createdAt >= config.getMaxLifetimeMillis()) {
+            return false;
+        }
+        if (now - pooled.lastReturnedAt < config.getValidationBypassMillis()) {
+            return true;
+        }
+        try {
+            return pooled.physical.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // Called when the application closes a borrowed connection.
+    private void giveBack(PooledConnection pooled) {
+        try {
+            boolean healthy = reset(pooled);
+            if (!healthy || closed || System.currentTimeMillis() - pooled.createdAt >= config.getMaxLifetimeMillis()) {
+                destroy(pooled);
+            } else {
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+                // close() may have drained the idle list after the check above; whoever removes it closes it.
+                if (closed && idle.remove(pooled)) {
+                    destroy(pooled);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Undo anything the borrower may have left behind so the next borrower gets a clean session.
+    private boolean reset(PooledConnection pooled) {
+        try {
+            Connection physical = pooled.physical;
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (pooled.isolationChanged) {
+                physical.setTransactionIsolation(pooled.defaultIsolation);
+                pooled.isolationChanged = false;
+            }
+            if (pooled.readOnlyChanged) {
+                physical.setReadOnly(false);
+                pooled.readOnlyChanged = false;
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Discarding connection that could not be reset: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        allConnections.remove(pooled);
+        if (pooled.statementCache != null) {
+            pooled.statementCache.closeAll();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    // Housekeeping: retire expired connections and trim idle ones down to minIdle.
+    private void evictIdleConnections() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledConnection> it = idle.descendingIterator(); // oldest returned first
+        while (it.hasNext()) {
+            PooledConnection pooled = it.next();
+            boolean expired = now - pooled.createdAt >= config.getMaxLifetimeMillis();
+            boolean idleTooLong = now - pooled.lastReturnedAt >= config.getIdleTimeoutMillis()
+                    && idle.size() > config.getMinIdle();
+            if ((expired || idleTooLong) && idle.remove(pooled)) {
+                destroy(pooled);
+            }
+        }
+    }
+
+    /**
+     * A physical connection owned by the pool, plus the bookkeeping needed to recycle it.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final long createdAt = System.currentTimeMillis();
+        private final int defaultIsolation;
+        private final StatementCache statementCache;
+        private volatile long lastReturnedAt = createdAt;
+        private boolean isolationChanged;
+        private boolean readOnlyChanged;
+
+        private PooledConnection(Connection physical) throws SQLException {
+            this.physical = physical;
+            this.defaultIsolation = physical.getTransactionIsolation();
+            this.statementCache = config.getStatementCacheSize() > 0
+                    ? new StatementCache(config.getStatementCacheSize(), statementHits, statementMisses, statementEvictions)
+                    : null;
+        }
+
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Lease(this));
+        }
+    }
+
+    /**
+     * The handle given to a borrower. It forwards everything to the physical connection
+     * until it is closed, after which it behaves like a closed connection.
+     */
+    private final class Lease implements InvocationHandler {
+        private static final int PRUNE_THRESHOLD = 64;
+        private final PooledConnection pooled;
+        private boolean returned;
+        // Statements handed out through this lease that may still be open.
+        private final List<Statement> openStatements = new ArrayList<>();
+        private final List<CachedStatement> openCachedStatements = new ArrayList<>();
+
+        private Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        closeOpenStatements();
+                        giveBack(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + (returned ? ", returned" : "") + "]";
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(pooled.physical)) {
+                        return pooled.physical;
+                    }
+                    break;
+                case "setTransactionIsolation":
+                    pooled.isolationChanged = true;
+                    break;
+                case "setReadOnly":
+                    pooled.readOnlyChanged = true;
+                    break;
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (pooled.statementCache != null && isCacheablePrepare(method, args)) {
+                return prepareCached(proxy, (String) args[0], args.length == 2 ? (String[]) args[1] : null);
+            }
+            Object result;
+            try {
+                result = method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement statement) {
+                track(statement);
+            }
+            return result;
+        }
+
+        // Remembers a statement for closeOpenStatements; closed ones are dropped now and then so a long lease does not pile them up.
+        private void track(Statement statement) throws SQLException {
+            if (openStatements.size() >= PRUNE_THRESHOLD) {
+                Iterator<Statement> it = openStatements.iterator();
+                while (it.hasNext()) {
+                    if (it.next().isClosed()) {
+                        it.remove();
+                    }
+                }
+            }
+            openStatements.add(statement);
+        }
+
+        // Cached statements still in use are closed for real rather than recycled: they may have an open cursor or half-built batch.
+        private void closeOpenStatements() {
+            for (CachedStatement cached : openCachedStatements) {
+                cached.abandon();
+            }
+            openCachedStatements.clear();
+            for (Statement statement : openStatements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    System.err.println("Failed to close statement left open by borrower: " + e.getMessage());
+                }
+            }
+            openStatements.clear();
+        }
+
+        // Only plain prepareStatement(sql) and prepareStatement(sql, String[] columnNames) are cached.
+        private boolean isCacheablePrepare(Method method, Object[] args) {
+            if (!method.getName().equals("prepareStatement")) {
+                return false;
+            }
+            Class<?>[] types = method.getParameterTypes();
+            return types.length == 1 || (types.length == 2 && types[1] == String[].class);
+        }
+
+        private PreparedStatement prepareCached(Object connectionProxy, String sql, String[] columnNames) throws SQLException {
+            StatementCache.Key key = StatementCache.Key.of(sql, columnNames);
+            PreparedStatement statement = pooled.statementCache.checkout(key);
+            if (statement == null) {
+                statement = columnNames == null
+                        ? pooled.physical.prepareStatement(sql)
+                        : pooled.physical.prepareStatement(sql, columnNames);
+            }
+            CachedStatement handle = new CachedStatement(this, key, statement, (Connection) connectionProxy);
+            openCachedStatements.add(handle);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    handle);
+        }
+    }
+
+    /**
+     * The handle given out for a cached prepared statement. Closing it clears the parameters
+     * and returns the real statement to the connection's cache instead of closing it.
+     */
+    private static final class CachedStatement implements InvocationHandler {
+        private final Lease lease;
+        private final PooledConnection pooled;
+        private final StatementCache.Key key;
+        private final PreparedStatement statement;
+        private final Connection connection;
+        private boolean closed;
+        // Settings a caller may change that must not leak to the next user of the statement.
+        private boolean fetchSizeChanged;
+        private boolean maxRowsChanged;
+        private boolean queryTimeoutChanged;
+
+        private CachedStatement(Lease lease, StatementCache.Key key, PreparedStatement statement, Connection connection) {
+            this.lease = lease;
+            this.pooled = lease.pooled;
+            this.key = key;
+            this.statement = statement;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        lease.openCachedStatements.remove(this);
+                        recycle();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + key.sql() + "]";
+                case "setFetchSize":
+                    fetchSizeChanged = true;
+                    break;
+                case "setMaxRows":
+                    maxRowsChanged = true;
+                    break;
+                case "setQueryTimeout":
+                    queryTimeoutChanged = true;
+                    break;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("PreparedStatement is closed");
+            }
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        // The lease ended while this statement was still open.
+        private void abandon() {
+            closed = true;
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                System.err.println("Failed to close statement left open by borrower: " + e.getMessage());
+            }
+        }
+
+        private void recycle() throws SQLException {
+            if (statement.isClosed() || pooled.physical.isClosed()) {
+                return;
+            }
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+                if (fetchSizeChanged) {
+                    statement.setFetchSize(0);
+                }
+                if (maxRowsChanged) {
+                    statement.setMaxRows(0);
+                }
+                if (queryTimeoutChanged) {
+                    statement.setQueryTimeout(0);
+                }
+            } catch (SQLException e) {
+                statement.close();
+                throw e;
+            }
+            pooled.statementCache.checkin(key, statement);
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.example.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnection {
     private static final String DB_URL = "jdbc:oracle:thin:@localhost:1521/orcl";
     private static final String DB_USER = "c##scott";
     private static final String DB_PASSWORD = "tiger";
+    private static volatile ConnectionPool pool;
     static {
         try{
             // Load the Oracle JDBC driver
@@ -17,17 +17,19 @@ public class DBConnection {
             System.err.println("Oracle JDBC Driver not found");
             e.printStackTrace();
         }
+        // Close pooled connections cleanly when the JVM exits.
+        Runtime.getRuntime().addShutdownHook(new Thread(DBConnection::shutdown, "tutortrack-pool-shutdown"));
     }
     /**
-     * Establishes a connection to the Oracle database.
-     * @return A valid Connection object.
-     * @throws SQLException If a database access error occurs.
+     * Borrows a connection from the connection pool.
+     * @return A valid Connection object. Closing it returns it to the pool.
+     * @throws SQLException If a database access error occurs or no connection becomes available in time.
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        return getPool().borrow();
     }
     /**
-     * Closes the given database connection.
+     * Returns the given connection to the pool.
      * @param connection The Connection object to close.
      */
     public static void closeConnection(Connection connection) {
@@ -39,4 +41,31 @@ public class DBConnection {
             }
         }
     }
+    /**
+     * Returns the shared pool, creating it from {@link PoolConfig#load} on first use.
+     * @return The connection pool used by {@link #getConnection()}.
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current == null || current.isClosed()) {
+            synchronized (DBConnection.class) {
+                current = pool;
+                if (current == null || current.isClosed()) {
+                    current = new ConnectionPool(PoolConfig.load(DB_URL, DB_USER, DB_PASSWORD));
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+    /**
+     * Closes the pool and all of its idle connections. A later call to
+     * {@link #getConnection()} starts a fresh pool.
+     */
+    public static void shutdown() {
+        ConnectionPool current = pool;
+        if (current != null) {
+            current.close();
+        }
+    }
 }
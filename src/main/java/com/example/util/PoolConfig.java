@@ -0,0 +1,112 @@
+package com.example.util;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Settings for the {@link ConnectionPool} used by {@link DBConnection}.
+ * Values are read from an optional {@code db.properties} file on the classpath and
+ * can be overridden with system properties of the same name (e.g. {@code -Ddb.url=...}).
+ */
+@Getter
+@Builder(toBuilder = true)
+@ToString(exclude = "password")
+public class PoolConfig {
+    public static final String PROPERTIES_FILE = "db.properties";
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    // Upper bound of physical connections the pool will ever open at the same time.
+    @Builder.Default
+    private final int maxPoolSize = 10;
+    // Idle eviction never shrinks the pool below this many idle connections; it does not open new ones.
+    @Builder.Default
+    private final int minIdle = 2;
+    // How long getConnection() waits for a free connection before giving up.
+    @Builder.Default
+    private final long borrowTimeoutMillis = 30_000;
+    // Idle connections older than this are closed by the housekeeper.
+    @Builder.Default
+    private final long idleTimeoutMillis = 600_000;
+    // Connections are retired after this age, even if they are still healthy.
+    @Builder.Default
+    private final long maxLifetimeMillis = 1_800_000;
+    // Timeout passed to Connection.isValid() when a connection is borrowed.
+    @Builder.Default
+    private final int validationTimeoutSeconds = 5;
+    // A connection returned less than this long ago is handed out without re-validation.
+    @Builder.Default
+    private final long validationBypassMillis = 500;
+    // How often the housekeeper looks for idle and expired connections.
+    @Builder.Default
+    private final long housekeepingIntervalMillis = 30_000;
+    // Prepared statements kept open per connection; 0 turns the statement cache off.
+    @Builder.Default
+    private final int statementCacheSize = 32;
+    // Opens physical connections one at a time. Only needed when a per-connection init script
+    // (e.g. H2's INIT=RUNSCRIPT) must not run concurrently; it slows down filling the pool.
+    @Builder.Default
+    private final boolean serializeConnects = false;
+
+    /**
+     * Loads the pool settings, falling back to the given connection details and the
+     * builder defaults for anything that is not configured.
+     * @param defaultUrl JDBC URL used when {@code db.url} is not set.
+     * @param defaultUser User used when {@code db.user} is not set.
+     * @param defaultPassword Password used when {@code db.password} is not set.
+     * @return The resolved configuration.
+     */
+    public static PoolConfig load(String defaultUrl, String defaultUser, String defaultPassword) {
+        Properties properties = new Properties();
+        try (InputStream in = PoolConfig.class.getClassLoader().getResourceAsStream(PROPERTIES_FILE)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read " + PROPERTIES_FILE + ": " + e.getMessage());
+        }
+        properties.putAll(System.getProperties());
+        return fromProperties(properties, defaultUrl, defaultUser, defaultPassword);
+    }
+
+    static PoolConfig fromProperties(Properties p, String defaultUrl, String defaultUser, String defaultPassword) {
+        PoolConfig defaults = PoolConfig.builder().build();
+        return PoolConfig.builder()
+                .url(p.getProperty("db.url", defaultUrl))
+                .user(p.getProperty("db.user", defaultUser))
+                .password(p.getProperty("db.password", defaultPassword))
+                .maxPoolSize(intValue(p, "db.pool.maxSize", defaults.maxPoolSize))
+                .minIdle(intValue(p, "db.pool.minIdle", defaults.minIdle))
+                .borrowTimeoutMillis(longValue(p, "db.pool.borrowTimeoutMillis", defaults.borrowTimeoutMillis))
+                .idleTimeoutMillis(longValue(p, "db.pool.idleTimeoutMillis", defaults.idleTimeoutMillis))
+                .maxLifetimeMillis(longValue(p, "db.pool.maxLifetimeMillis", defaults.maxLifetimeMillis))
+                .validationTimeoutSeconds(intValue(p, "db.pool.validationTimeoutSeconds", defaults.validationTimeoutSeconds))
+                .validationBypassMillis(longValue(p, "db.pool.validationBypassMillis", defaults.validationBypassMillis))
+                .housekeepingIntervalMillis(longValue(p, "db.pool.housekeepingIntervalMillis", defaults.housekeepingIntervalMillis))
+                .statementCacheSize(intValue(p, "db.pool.statementCacheSize", defaults.statementCacheSize))
+                .serializeConnects(booleanValue(p, "db.pool.serializeConnects", defaults.serializeConnects))
+                .build();
+    }
+
+    private static int intValue(Properties p, String key, int defaultValue) {
+        String value = p.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static boolean booleanValue(Properties p, String key, boolean defaultValue) {
+        String value = p.getProperty(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    private static long longValue(Properties p, String key, long defaultValue) {
+        String value = p.getProperty(key);
+        return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.util;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded LRU cache of prepared statements belonging to one physical connection.
+ * <p>
+ * A statement is removed from the cache while it is in use and put back when the
+ * application closes it, so two callers never share the same statement. When the cache
+ * is full the least recently used statement is really closed.
+ */
+class StatementCache {
+    /**
+     * Identifies a cached statement: the SQL text plus the generated-key columns it was prepared with.
+     */
+    record Key(String sql, List<String> generatedKeyColumns) {
+        static Key of(String sql, String[] columns) {
+            return new Key(sql, columns == null ? List.of() : Arrays.asList(columns.clone()));
+        }
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+    // Shared with the other caches of the same pool so the pool can report totals.
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    StatementCache(int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Takes a cached statement out of the cache.
+     * @return The statement, or {@code null} if none is cached for this key.
+     */
+    synchronized PreparedStatement checkout(Key key) {
+        PreparedStatement statement = statements.remove(key);
+        if (statement != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return statement;
+    }
+
+    /**
+     * Puts a statement back after the application closed it, evicting the least recently used one if needed.
+     */
+    synchronized void checkin(Key key, PreparedStatement statement) {
+        PreparedStatement previous = statements.put(key, statement);
+        if (previous != null && previous != statement) {
+            // The same SQL was prepared twice at once; keep only the newest copy.
+            closeQuietly(previous);
+            evictions.increment();
+        }
+        if (statements.size() > maxSize) {
+            Iterator<Map.Entry<Key, PreparedStatement>> eldest = statements.entrySet().iterator();
+            closeQuietly(eldest.next().getValue());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes every cached statement. Called when the owning connection is closed.
+     */
+    synchronized void closeAll() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Failed to close cached PreparedStatement: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.util;
+
+/**
+ * Point-in-time counters of the prepared statement caches of a {@link ConnectionPool}.
+ * @param hits Statements served from a cache.
+ * @param misses Statements that had to be prepared by the driver.
+ * @param evictions Cached statements closed to make room for others.
+ */
+public record StatementCacheStats(long hits, long misses, long evictions) {
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
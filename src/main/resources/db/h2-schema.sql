@@ -0,0 +1,26 @@
+-- H2 (MODE=Oracle) version of oracle-schema.sql, used by the tests and benchmarks.
+-- H2 does not understand "ON NULL", otherwise the definition matches Oracle.
+CREATE SEQUENCE IF NOT EXISTS tutorial_version_seq;
+
+CREATE TABLE IF NOT EXISTS tutorials (
+    tutorial_id NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR2(255) NOT NULL,
+    author VARCHAR2(100),
+    url VARCHAR2(500),
+    published_date DATE,
+    version NUMBER DEFAULT tutorial_version_seq.NEXTVAL NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE DEFAULT SYSTIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS tutorials_author_idx ON tutorials (author, tutorial_id);
+CREATE INDEX IF NOT EXISTS tutorials_published_idx ON tutorials (published_date, tutorial_id);
+CREATE INDEX IF NOT EXISTS tutorials_version_idx ON tutorials (version);
+CREATE INDEX IF NOT EXISTS tutorials_changed_idx ON tutorials (changed_at, version);
+
+CREATE TABLE IF NOT EXISTS tutorial_tombstones (
+    version NUMBER PRIMARY KEY,
+    tutorial_id NUMBER NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE DEFAULT SYSTIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS tutorial_tombstones_changed_idx ON tutorial_tombstones (changed_at, version);
@@ -0,0 +1,53 @@
+-- Oracle schema for TutorTrack (same as the README setup script).
+-- Change feed: every insert and update stamps the row with the next version and the time of
+-- the change, and every delete writes a tombstone with both, so TutorialDAO.getChangesSince can
+-- read just the rows changed after a watermark. Other writers must set changed_at on update too.
+-- On RAC, keep the sequence ORDER: a NOORDER sequence caches ranges per instance, so versions
+-- have no global order and the feed can skip changes whatever lag it is given.
+CREATE SEQUENCE tutorial_version_seq ORDER;
+
+-- published_date is a calendar day: the date range and date-ordered queries compare whole
+-- days, so the CHECK keeps other writers from storing a time of day in it.
+CREATE TABLE tutorials (
+    tutorial_id NUMBER GENERATED BY DEFAULT ON NULL AS IDENTITY PRIMARY KEY,
+    title VARCHAR2(255) NOT NULL,
+    author VARCHAR2(100),
+    url VARCHAR2(500),
+    published_date DATE,
+    version NUMBER DEFAULT tutorial_version_seq.NEXTVAL NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE DEFAULT SYSTIMESTAMP NOT NULL,
+    CONSTRAINT tutorials_date_only CHECK (published_date = TRUNC(published_date))
+);
+
+-- Indexes for TutorialDAO.findTutorials. The trailing tutorial_id keeps matching rows in
+-- the order the queries page through them, so no sort step is needed.
+CREATE INDEX tutorials_author_idx ON tutorials (author, tutorial_id);
+CREATE INDEX tutorials_published_idx ON tutorials (published_date, tutorial_id);
+CREATE INDEX tutorials_version_idx ON tutorials (version);
+CREATE INDEX tutorials_changed_idx ON tutorials (changed_at, version);
+
+CREATE TABLE tutorial_tombstones (
+    version NUMBER PRIMARY KEY,
+    tutorial_id NUMBER NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE DEFAULT SYSTIMESTAMP NOT NULL
+);
+
+CREATE INDEX tutorial_tombstones_changed_idx ON tutorial_tombstones (changed_at, version);
+
+-- Upgrading a tutorials table created before the change feed:
+--   CREATE SEQUENCE tutorial_version_seq ORDER;
+--   ALTER TABLE tutorials ADD (version NUMBER);
+--   UPDATE tutorials SET version = tutorial_version_seq.NEXTVAL;
+--   ALTER TABLE tutorials MODIFY (version DEFAULT tutorial_version_seq.NEXTVAL NOT NULL);
+--   CREATE INDEX tutorials_version_idx ON tutorials (version);
+--   CREATE TABLE tutorial_tombstones (version NUMBER PRIMARY KEY, tutorial_id NUMBER NOT NULL);
+--
+-- Adding changed_at for the change feed lag (TutorialDAOImpl's changeFeedLag):
+--   ALTER TABLE tutorials ADD (changed_at TIMESTAMP WITH TIME ZONE DEFAULT SYSTIMESTAMP NOT NULL);
+--   ALTER TABLE tutorial_tombstones ADD (changed_at TIMESTAMP WITH TIME ZONE DEFAULT SYSTIMESTAMP NOT NULL);
+--   CREATE INDEX tutorials_changed_idx ON tutorials (changed_at, version);
+--   CREATE INDEX tutorial_tombstones_changed_idx ON tutorial_tombstones (changed_at, version);
+--
+-- Adding the date-only check to an existing table (first strip any time of day):
+--   UPDATE tutorials SET published_date = TRUNC(published_date) WHERE published_date <> TRUNC(published_date);
+--   ALTER TABLE tutorials ADD CONSTRAINT tutorials_date_only CHECK (published_date = TRUNC(published_date));
@@ -0,0 +1,182 @@
+package cli;
+
+import com.example.cli.BatchRunner;
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.dao.MultiGetResult;
+import com.example.model.Tutorial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BatchRunner Tests")
+public class BatchRunnerTest {
+    private final InMemoryTutorialDAO dao = new InMemoryTutorialDAO();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    private int run(String script, String... args) {
+        return BatchRunner.run(args, dao, new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)), out,
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    private String out() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private String err() {
+        return err.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should run a script from standard input and print the rows as CSV")
+    void shouldRunScriptAsCsv() {
+        String script = """
+                # two adds go out as one batch
+                add title="Java Streams" author=Ann date=2024-01-31
+                add title="Say \\"hi\\", JDBC" url=https://example.com/jdbc
+                update 1 author= url=https://example.com/streams
+                list order=id
+                """;
+
+        assertEquals(BatchRunner.EXIT_OK, run(script, "--format=csv", "--script", "-"), err());
+
+        assertEquals("""
+                tutorial_id,title,author,url,published_date
+                1,Java Streams,Ann,,2024-01-31
+                2,"Say ""hi"", JDBC",,https://example.com/jdbc,
+                1,Java Streams,,https://example.com/streams,2024-01-31
+                1,Java Streams,,https://example.com/streams,2024-01-31
+                2,"Say ""hi"", JDBC",,https://example.com/jdbc,
+                """, out());
+    }
+
+    @Test
+    @DisplayName("Should stop at the first failing command and exit with status 1")
+    void shouldStopAtFirstFailure() {
+        dao.addTutorial(new Tutorial("Kept", null, null, null));
+
+        int status = run("get 99\ndelete 1\n", "-f", "json");
+
+        assertEquals(BatchRunner.EXIT_FAILED, status);
+        assertTrue(err().startsWith("stdin:1: "), err());
+        assertEquals(1, dao.getAllTutorials().size(), "delete must not run after the failure");
+    }
+
+    @Test
+    @DisplayName("Should run the remaining commands with --keep-going and report every failure")
+    void shouldKeepGoing() {
+        dao.addTutorial(new Tutorial("First", null, null, LocalDate.of(2024, 1, 1)));
+        dao.addTutorial(new Tutorial("Second", "Ann", null, null));
+
+        int status = run("get 1 42\nfrobnicate\nadd author=Bob\ndelete 2 7\nget 1\n", "-k", "-f", "json");
+
+        assertEquals(BatchRunner.EXIT_FAILED, status);
+        assertEquals("""
+                {"id":1,"title":"First","author":null,"url":null,"published_date":"2024-01-01"}
+                {"id":1,"title":"First","author":null,"url":null,"published_date":"2024-01-01"}
+                """, out());
+        String errors = err();
+        assertTrue(errors.contains("stdin:1: No tutorial with ID 42"), errors);
+        assertTrue(errors.contains("stdin:2: Unknown command 'frobnicate'"), errors);
+        assertTrue(errors.contains("stdin:3: add needs title=..."), errors);
+        assertTrue(errors.contains("stdin:4: No tutorial with ID 7"), errors);
+        assertEquals(1, dao.getAllTutorials().size());
+    }
+
+    @Test
+    @DisplayName("Should run a single command from the arguments as a table")
+    void shouldRunCommandFromArguments() {
+        dao.addTutorial(new Tutorial("A title that is far too long to fit into the title column", "Ann",
+                "https://example.com", LocalDate.of(2024, 5, 1)));
+
+        assertEquals(BatchRunner.EXIT_OK, run("", "list", "author=Ann"));
+
+        String[] lines = out().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].trim().startsWith("ID  TITLE"), lines[0]);
+        assertTrue(lines[1].contains("A title that is far too long to fit int~"), lines[1]);
+        assertTrue(lines[1].endsWith("2024-05-01  https://example.com"), lines[1]);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown options with status 2")
+    void shouldRejectUnknownOptions() {
+        assertEquals(BatchRunner.EXIT_USAGE, run("", "--colour"));
+        assertEquals(BatchRunner.EXIT_USAGE, run("", "--format", "xml"));
+        assertTrue(err().contains("Usage:"));
+        assertEquals("", out());
+    }
+
+    @Test
+    @DisplayName("Should report an unexpected DAO exception with the script line and exit with status 1")
+    void shouldReportUnexpectedException() {
+        InMemoryTutorialDAO closed = new InMemoryTutorialDAO() {
+            @Override
+            public MultiGetResult getTutorialsByIds(int[] ids) {
+                throw new IllegalStateException("Connection pool is closed");
+            }
+        };
+
+        int status = BatchRunner.run(new String[0], closed, new ByteArrayInputStream("get 1\n".getBytes(StandardCharsets.UTF_8)),
+                out, new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        assertEquals(BatchRunner.EXIT_FAILED, status);
+        assertEquals("stdin:1: Connection pool is closed", err().trim());
+    }
+
+    @Test
+    @DisplayName("Should look up all IDs of a get command in one multi-get")
+    void shouldGetInOneRoundTrip() {
+        AtomicInteger lookups = new AtomicInteger();
+        InMemoryTutorialDAO counting = new InMemoryTutorialDAO() {
+            @Override
+            public Tutorial getTutorialById(int id) {
+                throw new AssertionError("get must not look up IDs one by one");
+            }
+
+            @Override
+            public MultiGetResult getTutorialsByIds(int[] ids) {
+                lookups.incrementAndGet();
+                return super.getTutorialsByIds(ids);
+            }
+        };
+        counting.addTutorial(new Tutorial("First", null, null, null));
+        counting.addTutorial(new Tutorial("Second", null, null, null));
+
+        int status = BatchRunner.run(new String[] { "-f", "csv", "get", "2", "9", "1", "8" }, counting,
+                new ByteArrayInputStream(new byte[0]), out, new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        assertEquals(BatchRunner.EXIT_FAILED, status);
+        assertEquals(1, lookups.get());
+        assertEquals("""
+                tutorial_id,title,author,url,published_date
+                2,Second,,,
+                1,First,,,
+                """, out());
+        assertEquals("args:1: No tutorial with ID 9, 8", err().trim());
+    }
+
+    @Test
+    @DisplayName("Should export through the DAO it was given")
+    void shouldExportThroughDao(@TempDir Path dir) throws IOException {
+        dao.addTutorial(new Tutorial("Java Streams", "Ann", null, LocalDate.of(2024, 1, 31)));
+        Path file = dir.resolve("backup.csv");
+
+        assertEquals(BatchRunner.EXIT_OK, run("", "export", file.toString()), err());
+
+        assertEquals("tutorial_id,title,author,url,published_date\r\n1,Java Streams,Ann,,2024-01-31\r\n",
+                Files.readString(file));
+    }
+}
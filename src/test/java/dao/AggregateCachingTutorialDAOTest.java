@@ -0,0 +1,121 @@
+package dao;
+
+import com.example.dao.AggregateCachingTutorialDAO;
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.dao.TutorialDAO;
+import com.example.dao.TutorialPatch;
+import com.example.dao.TutorialWriteBatch;
+import com.example.model.Tutorial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AggregateCachingTutorialDAO Tests")
+public class AggregateCachingTutorialDAOTest extends TutorialDAOContractTest {
+    private final InMemoryTutorialDAO database = new InMemoryTutorialDAO();
+
+    @Override
+    protected TutorialDAO createDAO() {
+        return new AggregateCachingTutorialDAO(database);
+    }
+
+    private void assertSameAsDatabase(AggregateCachingTutorialDAO cached) {
+        assertEquals(database.getTutorialStats(), cached.getTutorialStats());
+        assertEquals(database.countTutorials(), cached.countTutorials());
+        assertEquals(List.copyOf(database.countByAuthor().entrySet()), List.copyOf(cached.countByAuthor().entrySet()));
+        assertEquals(List.copyOf(database.countByPublishedYear().entrySet()), List.copyOf(cached.countByPublishedYear().entrySet()));
+        assertEquals(List.copyOf(database.countByPublishedMonth().entrySet()), List.copyOf(cached.countByPublishedMonth().entrySet()));
+    }
+
+    @Test
+    @DisplayName("Should keep the counts current through every kind of write after the first load")
+    void shouldMaintainCountsIncrementally() {
+        AggregateCachingTutorialDAO cached = (AggregateCachingTutorialDAO) tutorialDAO;
+        database.addTutorial(new Tutorial("Loaded", "Ann", null, LocalDate.of(2020, 6, 1)));
+        assertEquals(1, cached.countTutorials());
+
+        List<Tutorial> tutorials = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            tutorials.add(new Tutorial("T" + i, i % 3 == 0 ? null : "Author" + (i % 4),
+                    null, i % 5 == 0 ? null : LocalDate.of(2021 + i % 3, 1 + i % 12, 1 + i % 28)));
+        }
+        cached.addTutorials(tutorials);
+        cached.addTutorial(new Tutorial("Single", "Ann", null, null));
+        assertSameAsDatabase(cached);
+
+        Tutorial first = tutorials.get(0);
+        first.setAuthor("Zoe");
+        first.setPublishedDate(LocalDate.of(1999, 9, 9));
+        cached.updateTutorial(first);
+        cached.patchTutorial(TutorialPatch.of(tutorials.get(1).getId()).author(null).publishedDate(null));
+        cached.patchTutorial(TutorialPatch.of(tutorials.get(2).getId()).title("Only the title"));
+        cached.deleteTutorial(tutorials.get(3).getId());
+        cached.deleteTutorials(new int[] { tutorials.get(4).getId(), tutorials.get(5).getId(), 9999 });
+        TutorialWriteBatch batch = new TutorialWriteBatch();
+        Tutorial moved = new Tutorial(tutorials.get(6));
+        moved.setAuthor("Ann");
+        batch.update(moved);
+        batch.delete(tutorials.get(7).getId());
+        cached.applyWriteBatch(batch);
+        assertSameAsDatabase(cached);
+
+        // Changes behind the cache's back are only seen after a reload.
+        database.deleteTutorial(tutorials.get(8).getId());
+        assertEquals(database.countTutorials() + 1, cached.countTutorials());
+        cached.reloadStatistics();
+        assertSameAsDatabase(cached);
+    }
+
+    @Test
+    @DisplayName("Should count concurrent updates of one row in the order they were written")
+    void shouldSerializeWritesToOneRow() throws Exception {
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        InMemoryTutorialDAO slowDatabase = new InMemoryTutorialDAO() {
+            @Override
+            public void updateTutorial(Tutorial tutorial) {
+                super.updateTutorial(tutorial);
+                if ("First".equals(tutorial.getAuthor())) {
+                    // Written, but the caller has not adjusted its counts yet.
+                    firstWritten.countDown();
+                    await(releaseFirst);
+                }
+            }
+        };
+        AggregateCachingTutorialDAO cached = new AggregateCachingTutorialDAO(slowDatabase);
+        Tutorial row = new Tutorial("Row", "Ann", null, null);
+        cached.addTutorial(row);
+        assertEquals(1, cached.countTutorials());
+
+        Tutorial first = new Tutorial(row);
+        first.setAuthor("First");
+        Tutorial second = new Tutorial(row);
+        second.setAuthor("Second");
+        Thread firstWriter = Thread.ofPlatform().start(() -> cached.updateTutorial(first));
+        await(firstWritten);
+        Thread secondWriter = Thread.ofPlatform().start(() -> cached.updateTutorial(second));
+        Thread.sleep(100);
+        releaseFirst.countDown();
+        firstWriter.join(5000);
+        secondWriter.join(5000);
+
+        assertEquals("Second", slowDatabase.getTutorialById(row.getId()).getAuthor());
+        assertEquals(Map.of("Second", 1L), cached.countByAuthor());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
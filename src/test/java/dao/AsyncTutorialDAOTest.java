@@ -0,0 +1,125 @@
+package dao;
+
+import com.example.dao.AsyncTutorialDAO;
+import com.example.dao.DelegatingTutorialDAO;
+import com.example.dao.TutorialDAO;
+import com.example.dao.TutorialDAOImpl;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+import com.example.util.DBConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AsyncTutorialDAO Tests")
+public class AsyncTutorialDAOTest {
+    private static final int MAX_CONCURRENCY = 3;
+    private ConcurrencyTrackingDAO database;
+    private AsyncTutorialDAO asyncDAO;
+
+    // Records the highest number of calls that were inside the DAO at the same time.
+    static class ConcurrencyTrackingDAO extends DelegatingTutorialDAO {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        ConcurrencyTrackingDAO(TutorialDAO delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Tutorial getTutorialById(int id) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+                return super.getTutorialById(id);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM tutorials");
+        }
+        database = new ConcurrencyTrackingDAO(new TutorialDAOImpl());
+        asyncDAO = new AsyncTutorialDAO(database, MAX_CONCURRENCY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncDAO.close();
+    }
+
+    @Test
+    @DisplayName("Should run many concurrent lookups within the concurrency limit")
+    void shouldBoundConcurrentLookups() {
+        Tutorial tutorial = asyncDAO.addTutorial(new Tutorial("Async", "Author", "url", LocalDate.now())).join();
+        assertNotEquals(0, tutorial.getId());
+
+        List<CompletableFuture<Tutorial>> lookups = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            lookups.add(asyncDAO.getTutorialById(tutorial.getId()));
+        }
+        CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0])).join();
+        for (CompletableFuture<Tutorial> lookup : lookups) {
+            assertEquals("Async", lookup.join().getTitle());
+        }
+        assertTrue(database.maxInFlight.get() <= MAX_CONCURRENCY,
+                "At most " + MAX_CONCURRENCY + " calls should reach the DAO at once, saw " + database.maxInFlight.get());
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally with TutorialNotFoundException for a missing ID")
+    void shouldMapNotFoundException() {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> asyncDAO.getTutorialById(999).get());
+        assertInstanceOf(TutorialNotFoundException.class, e.getCause());
+        assertThrows(ExecutionException.class, () -> asyncDAO.deleteTutorial(999).get());
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally when the DAO throws an Error")
+    void shouldCompleteOnError() {
+        AsyncTutorialDAO failing = new AsyncTutorialDAO(new DelegatingTutorialDAO(database) {
+            @Override
+            public Tutorial getTutorialById(int id) {
+                throw new StackOverflowError("simulated");
+            }
+        }, MAX_CONCURRENCY);
+        try {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> failing.getTutorialById(1).get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, e.getCause());
+        } finally {
+            failing.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should update and list tutorials asynchronously")
+    void shouldUpdateAndListAsynchronously() {
+        Tutorial tutorial = asyncDAO.addTutorial(new Tutorial("Old", "Author", "url", null)).join();
+        tutorial.setTitle("New");
+        asyncDAO.updateTutorial(tutorial).join();
+        List<Tutorial> all = asyncDAO.getAllTutorials().join();
+        assertEquals(1, all.size());
+        assertEquals("New", all.get(0).getTitle());
+    }
+}
@@ -0,0 +1,228 @@
+package dao;
+
+import com.example.dao.CachingTutorialDAO;
+import com.example.dao.DelegatingTutorialDAO;
+import com.example.dao.MultiGetResult;
+import com.example.dao.TutorialDAO;
+import com.example.dao.TutorialDAOImpl;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+import com.example.util.DBConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CachingTutorialDAO Tests")
+public class CachingTutorialDAOTest {
+    private CountingDAO database;
+    private CachingTutorialDAO cachingDAO;
+
+    // Counts how often the cache really goes to the database.
+    static class CountingDAO extends DelegatingTutorialDAO {
+        final AtomicInteger lookups = new AtomicInteger();
+        final AtomicInteger multiGets = new AtomicInteger();
+
+        CountingDAO(TutorialDAO delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Tutorial getTutorialById(int id) {
+            lookups.incrementAndGet();
+            return super.getTutorialById(id);
+        }
+
+        @Override
+        public MultiGetResult getTutorialsByIds(int[] ids) {
+            multiGets.incrementAndGet();
+            return super.getTutorialsByIds(ids);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM tutorials");
+        }
+        database = new CountingDAO(new TutorialDAOImpl());
+        cachingDAO = new CachingTutorialDAO(database, 100, null, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        Tutorial tutorial = new Tutorial("Cached", "Author", "url", LocalDate.of(2024, 5, 1));
+        cachingDAO.addTutorial(tutorial);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Cached", cachingDAO.getTutorialById(tutorial.getId()).getTitle());
+        }
+        assertEquals(1, database.lookups.get());
+        assertEquals(4, cachingDAO.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Should hand out copies so callers cannot change the cached tutorial")
+    void shouldReturnDefensiveCopies() {
+        Tutorial tutorial = new Tutorial("Original", "Author", "url", null);
+        cachingDAO.addTutorial(tutorial);
+
+        cachingDAO.getTutorialById(tutorial.getId()).setTitle("Changed locally");
+        assertEquals("Original", cachingDAO.getTutorialById(tutorial.getId()).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should answer repeated lookups of a missing ID from the cache")
+    void shouldCacheNotFoundResults() {
+        assertThrows(TutorialNotFoundException.class, () -> cachingDAO.getTutorialById(12345));
+        assertThrows(TutorialNotFoundException.class, () -> cachingDAO.getTutorialById(12345));
+        assertEquals(1, database.lookups.get());
+    }
+
+    @Test
+    @DisplayName("Should load all cache misses of a multi-get in one database call")
+    void shouldBatchMultiGetMisses() {
+        Tutorial first = new Tutorial("First", "Author", "url", null);
+        Tutorial second = new Tutorial("Second", "Author", "url", null);
+        cachingDAO.addTutorial(first);
+        cachingDAO.addTutorial(second);
+        cachingDAO.getTutorialById(first.getId());
+
+        MultiGetResult result = cachingDAO.getTutorialsByIds(new int[] { first.getId(), second.getId(), 12345 });
+        assertEquals(List.of(first.getId(), second.getId()), List.copyOf(result.tutorials().keySet()));
+        assertEquals(Set.of(12345), result.missingIds());
+        assertEquals(1, database.multiGets.get());
+
+        // Everything, including the missing ID, is cached now.
+        cachingDAO.getTutorialsByIds(new int[] { second.getId(), 12345 });
+        assertThrows(TutorialNotFoundException.class, () -> cachingDAO.getTutorialById(12345));
+        assertEquals(1, database.multiGets.get());
+        assertEquals(1, database.lookups.get());
+    }
+
+    @Test
+    @DisplayName("Should see updates and deletes made through the cache")
+    void shouldInvalidateOnWrite() {
+        Tutorial tutorial = new Tutorial("Before", "Author", "url", null);
+        cachingDAO.addTutorial(tutorial);
+        assertEquals("Before", cachingDAO.getTutorialById(tutorial.getId()).getTitle());
+
+        tutorial.setTitle("After");
+        cachingDAO.updateTutorial(tutorial);
+        assertEquals("After", cachingDAO.getTutorialById(tutorial.getId()).getTitle());
+
+        cachingDAO.deleteTutorial(tutorial.getId());
+        assertThrows(TutorialNotFoundException.class, () -> cachingDAO.getTutorialById(tutorial.getId()));
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent misses for the same ID into one load")
+    void shouldCollapseConcurrentMisses() throws Exception {
+        Tutorial tutorial = new Tutorial("Hot", "Author", "url", null);
+        cachingDAO.addTutorial(tutorial);
+
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Tutorial>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cachingDAO.getTutorialById(tutorial.getId());
+                }));
+            }
+            start.countDown();
+            for (Future<Tutorial> result : results) {
+                assertEquals("Hot", result.get().getTitle());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, database.lookups.get());
+    }
+
+    @Test
+    @DisplayName("Should not let a multi-get put back a row that was updated while it read")
+    void shouldNotCacheRowsUpdatedDuringMultiGet() throws Exception {
+        Tutorial tutorial = new Tutorial("Before", "Author", "url", null);
+        cachingDAO.addTutorial(tutorial);
+
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        CachingTutorialDAO slowDAO = new CachingTutorialDAO(new DelegatingTutorialDAO(database) {
+            @Override
+            public MultiGetResult getTutorialsByIds(int[] ids) {
+                MultiGetResult result = super.getTutorialsByIds(ids);
+                read.countDown();
+                try {
+                    updated.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return result;
+            }
+        }, 100, null, Duration.ofMinutes(1));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<MultiGetResult> multiGet = executor.submit(() -> slowDAO.getTutorialsByIds(new int[] { tutorial.getId() }));
+            read.await();
+            tutorial.setTitle("After");
+            slowDAO.updateTutorial(tutorial);
+            updated.countDown();
+            assertEquals("Before", multiGet.get().tutorials().get(tutorial.getId()).getTitle());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("After", slowDAO.getTutorialById(tutorial.getId()).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should drop cached rows once a transaction through the decorator chain commits")
+    void shouldInvalidateAfterCommittedTransaction() {
+        Tutorial tutorial = new Tutorial("Before", "Author", "url", null);
+        cachingDAO.addTutorial(tutorial);
+        assertEquals("Before", cachingDAO.getTutorialById(tutorial.getId()).getTitle());
+
+        cachingDAO.inTransaction(tx -> {
+            assertInstanceOf(TutorialDAOImpl.class, tx);
+            tx.updateTutorial(new Tutorial(tutorial.getId(), "After", "Author", "url", null));
+            return null;
+        });
+        assertEquals("After", cachingDAO.getTutorialById(tutorial.getId()).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should keep serving the committed row after a transaction rolls back")
+    void shouldServeCommittedRowAfterRollback() {
+        Tutorial tutorial = new Tutorial("Before", "Author", "url", null);
+        cachingDAO.addTutorial(tutorial);
+        assertEquals("Before", cachingDAO.getTutorialById(tutorial.getId()).getTitle());
+
+        assertThrows(IllegalStateException.class, () -> cachingDAO.inTransaction(tx -> {
+            tx.updateTutorial(new Tutorial(tutorial.getId(), "After", "Author", "url", null));
+            assertEquals("After", tx.getTutorialById(tutorial.getId()).getTitle());
+            throw new IllegalStateException("abort");
+        }));
+        assertEquals("Before", cachingDAO.getTutorialById(tutorial.getId()).getTitle());
+        assertEquals("Before", database.getTutorialById(tutorial.getId()).getTitle());
+    }
+}
@@ -0,0 +1,91 @@
+package dao;
+
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.dao.TutorialDAO;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryTutorialDAO Tests")
+public class InMemoryTutorialDAOTest extends TutorialDAOContractTest {
+
+    @Override
+    protected TutorialDAO createDAO() {
+        return new InMemoryTutorialDAO(4); // small, so the tests exercise growth and compaction
+    }
+
+    @Test
+    @DisplayName("Should keep lookups and ID order correct across growth and compaction")
+    void shouldSurviveGrowthAndCompaction() {
+        InMemoryTutorialDAO dao = new InMemoryTutorialDAO(4);
+        List<Tutorial> tutorials = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Tutorial tutorial = new Tutorial("Tutorial " + i, "Author", "url" + i, LocalDate.of(2024, 1, 1).plusDays(i));
+            dao.addTutorial(tutorial);
+            tutorials.add(tutorial);
+        }
+        for (int i = 0; i < 5000; i += 3) {
+            if (i % 2 == 0 || i % 5 == 0) {
+                dao.deleteTutorial(tutorials.get(i).getId());
+            }
+        }
+        int expected = 0;
+        for (int i = 0; i < 5000; i++) {
+            Tutorial tutorial = tutorials.get(i);
+            if (i % 3 == 0 && (i % 2 == 0 || i % 5 == 0)) {
+                assertThrows(TutorialNotFoundException.class, () -> dao.getTutorialById(tutorial.getId()));
+            } else {
+                expected++;
+                assertEquals(tutorial.getPublishedDate(), dao.getTutorialById(tutorial.getId()).getPublishedDate());
+            }
+        }
+        List<Tutorial> all = dao.getAllTutorials();
+        assertEquals(expected, all.size());
+        assertEquals(expected, dao.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getId() < all.get(i).getId(), "Scan must stay in ID order");
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve readers consistently while a writer updates rows")
+    void shouldReadConsistentlyDuringWrites() throws Exception {
+        InMemoryTutorialDAO dao = new InMemoryTutorialDAO();
+        Tutorial tutorial = new Tutorial("Version 0", "Author 0", "url", LocalDate.now());
+        dao.addTutorial(tutorial);
+        int id = tutorial.getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        Tutorial read = dao.getTutorialById(id);
+                        // Title and author are always written together, so a torn read would show different numbers.
+                        assertEquals(read.getTitle().substring(8), read.getAuthor().substring(7));
+                    }
+                }));
+            }
+            for (int i = 1; i <= 20_000; i++) {
+                dao.updateTutorial(new Tutorial(id, "Version " + i, "Author " + i, "url", LocalDate.now()));
+                dao.addTutorial(new Tutorial("Filler " + i, "Author", "url", null)); // forces storage growth
+            }
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
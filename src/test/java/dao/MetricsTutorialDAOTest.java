@@ -0,0 +1,113 @@
+package dao;
+
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.dao.MetricsTutorialDAO;
+import com.example.dao.TutorialColumn;
+import com.example.dao.TutorialDAOImpl;
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.metrics.DaoMetrics;
+import com.example.metrics.MetricsSnapshot;
+import com.example.metrics.OperationMetrics;
+import com.example.model.Tutorial;
+import com.example.util.DBConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MetricsTutorialDAO Tests")
+public class MetricsTutorialDAOTest {
+    private DaoMetrics metrics;
+    private MetricsTutorialDAO metricsDAO;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM tutorials");
+        }
+        metrics = new DaoMetrics(DBConnection.getPool());
+        metricsDAO = new MetricsTutorialDAO(new TutorialDAOImpl(), metrics);
+    }
+
+    @Test
+    @DisplayName("Should count calls, rows and errors per operation")
+    void shouldRecordOperations() {
+        for (int i = 0; i < 3; i++) {
+            metricsDAO.addTutorial(new Tutorial("Metrics " + i, "Author", "https://example.com/" + i, LocalDate.of(2024, 1, 1)));
+        }
+        metricsDAO.getAllTutorials();
+        assertThrows(TutorialNotFoundException.class, () -> metricsDAO.getTutorialById(-1));
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        OperationMetrics.OperationSnapshot add = snapshot.operation("addTutorial");
+        assertEquals(3, add.latency().count());
+        assertEquals(3, add.rows());
+        assertTrue(add.latency().p50Nanos() > 0);
+        assertEquals(3, snapshot.operation("getAllTutorials").rows());
+
+        OperationMetrics.OperationSnapshot byId = snapshot.operation("getTutorialById");
+        assertEquals(1, byId.errorCount());
+        assertEquals(1L, byId.errors().get("TutorialNotFoundException"));
+        assertTrue(snapshot.connectionAcquire().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Should record streamed rows when the stream is closed")
+    void shouldRecordStreamMetrics() {
+        metricsDAO.addTutorial(new Tutorial("Streamed", "Author", "https://example.com/s", LocalDate.of(2024, 1, 1)));
+        try (Stream<Tutorial> stream = metricsDAO.streamAllTutorials(10)) {
+            assertEquals(1, stream.count());
+        }
+        OperationMetrics.OperationSnapshot stream = metrics.snapshot().operation("streamAllTutorials");
+        assertEquals(1, stream.latency().count());
+        assertEquals(1, stream.rows());
+
+        String exported = metrics.exportPrometheus();
+        assertTrue(exported.contains("tutortrack_dao_rows_total{operation=\"streamAllTutorials\"} 1"));
+        assertTrue(exported.contains("tutortrack_pool_acquire_seconds_count"));
+    }
+
+    @Test
+    @DisplayName("Should count an ID passed twice to deleteTutorials as one deleted row")
+    void shouldCountDistinctDeletedRows() {
+        Tutorial tutorial = new Tutorial("Deleted", "Author", "https://example.com/d", LocalDate.of(2024, 1, 1));
+        metricsDAO.addTutorial(tutorial);
+        List<Integer> notFound = metricsDAO.deleteTutorials(new int[]{tutorial.getId(), tutorial.getId(), -1});
+        assertEquals(List.of(-1), notFound);
+        assertEquals(1, metrics.snapshot().operation("deleteTutorials").rows());
+    }
+
+    @Test
+    @DisplayName("Should record a stream that failed while reading as an error")
+    void shouldRecordStreamFailure() {
+        InMemoryTutorialDAO failing = new InMemoryTutorialDAO() {
+            @Override
+            public Stream<Tutorial> streamAllTutorials(int fetchSize, Set<TutorialColumn> columns) {
+                return Stream.of(1, 2).map(i -> {
+                    if (i == 2) {
+                        throw new DatabaseOperationException("Connection reset");
+                    }
+                    return new Tutorial("Row " + i, "Author", "https://example.com/" + i, LocalDate.of(2024, 1, 1));
+                });
+            }
+        };
+        MetricsTutorialDAO dao = new MetricsTutorialDAO(failing, metrics);
+        try (Stream<Tutorial> stream = dao.streamAllTutorials(10)) {
+            assertThrows(DatabaseOperationException.class, () -> stream.forEach(t -> { }));
+        }
+        OperationMetrics.OperationSnapshot stream = metrics.snapshot().operation("streamAllTutorials");
+        assertEquals(1, stream.errorCount());
+        assertEquals(1L, stream.errors().get("DatabaseOperationException"));
+    }
+}
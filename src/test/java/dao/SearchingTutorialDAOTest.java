@@ -0,0 +1,76 @@
+package dao;
+
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.dao.SearchingTutorialDAO;
+import com.example.model.Tutorial;
+import com.example.search.SearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SearchingTutorialDAO Tests")
+public class SearchingTutorialDAOTest {
+    private InMemoryTutorialDAO database;
+    private SearchingTutorialDAO searchingDAO;
+
+    @BeforeEach
+    void setUp() {
+        database = new InMemoryTutorialDAO();
+        database.addTutorial(new Tutorial("Java Streams in Depth", "Ana Müller", "url1", LocalDate.of(2024, 1, 1)));
+        database.addTutorial(new Tutorial("JavaScript Promises", "Ben Java", "url2", null));
+        database.addTutorial(new Tutorial("Python for Data Science", "Chris Stream", "url3", null));
+        searchingDAO = new SearchingTutorialDAO(database);
+    }
+
+    private static List<String> titles(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::title).toList();
+    }
+
+    @Test
+    @DisplayName("Should build the index from existing rows and rank title matches first")
+    void shouldRankTitleMatchesFirst() {
+        List<SearchHit> hits = searchingDAO.searchTutorials("java", 10);
+        // a title match weighs more than the author "Ben Java" or the "javascript" prefix match
+        assertEquals(List.of("Java Streams in Depth", "JavaScript Promises"), titles(hits));
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    @DisplayName("Should require every query word and match prefixes, ignoring case and accents")
+    void shouldMatchAllTokensAndPrefixes() {
+        assertEquals(List.of("Java Streams in Depth"), titles(searchingDAO.searchTutorials("JAV str", 10)));
+        assertEquals(List.of("Java Streams in Depth"), titles(searchingDAO.searchTutorials("muller", 10)));
+        assertEquals(List.of("Python for Data Science"), titles(searchingDAO.searchTutorials("stream data", 10)));
+        assertTrue(searchingDAO.searchTutorials("kotlin", 10).isEmpty());
+        assertTrue(searchingDAO.searchTutorials("  --  ", 10).isEmpty());
+        assertEquals(1, searchingDAO.searchTutorials("a", 1).size());
+    }
+
+    @Test
+    @DisplayName("Should keep the index current on add, update and delete")
+    void shouldUpdateIndexIncrementally() {
+        searchingDAO.searchTutorials("anything", 1); // builds the index
+
+        Tutorial kotlin = new Tutorial("Kotlin Coroutines", "Dana", "url4", null);
+        searchingDAO.addTutorial(kotlin);
+        assertEquals(List.of("Kotlin Coroutines"), titles(searchingDAO.searchTutorials("corout", 10)));
+
+        kotlin.setTitle("Kotlin Flows");
+        searchingDAO.updateTutorial(kotlin);
+        assertTrue(searchingDAO.searchTutorials("coroutines", 10).isEmpty());
+        assertEquals(List.of("Kotlin Flows"), titles(searchingDAO.searchTutorials("flow", 10)));
+
+        searchingDAO.deleteTutorial(kotlin.getId());
+        assertTrue(searchingDAO.searchTutorials("kotlin", 10).isEmpty());
+
+        database.addTutorial(new Tutorial("Go Channels", "Eve", "url5", null)); // bypasses the index
+        assertTrue(searchingDAO.searchTutorials("channels", 10).isEmpty());
+        searchingDAO.rebuildIndex();
+        assertEquals(1, searchingDAO.searchTutorials("channels", 10).size());
+    }
+}
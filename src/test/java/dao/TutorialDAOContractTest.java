@@ -0,0 +1,584 @@
+package dao;
+
+import com.example.dao.BatchInsertResult;
+import com.example.dao.MultiGetResult;
+import com.example.dao.TutorialChange;
+import com.example.dao.TutorialChanges;
+import com.example.dao.TutorialColumn;
+import com.example.dao.TutorialDAO;
+import com.example.dao.TutorialOrder;
+import com.example.dao.TutorialPatch;
+import com.example.dao.TutorialQuery;
+import com.example.dao.TutorialStats;
+import com.example.dao.TutorialWriteBatch;
+import com.example.dao.WriteBatchResult;
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link TutorialDAO} implementation must share. Subclasses provide a DAO
+ * over an empty table.
+ */
+public abstract class TutorialDAOContractTest {
+    protected TutorialDAO tutorialDAO;
+
+    // Returns a DAO over an empty table; called before every test.
+    protected abstract TutorialDAO createDAO() throws Exception;
+
+    // A DAO whose addTutorials sends batchSize rows at a time, for implementations that batch.
+    protected TutorialDAO createBatchingDAO(int batchSize) {
+        return tutorialDAO;
+    }
+
+    // Checked after a stream has been closed, e.g. that a JDBC stream gave its connection back.
+    protected void assertStreamResourcesReleased() {
+    }
+
+    @BeforeEach
+    void createTutorialDAO() throws Exception {
+        tutorialDAO = createDAO();
+    }
+
+    @Test
+    @DisplayName("Should add a new tutorial successfully")
+    void shouldAddTutorialSuccessfully() throws
+            DatabaseOperationException, TutorialNotFoundException {
+        Tutorial tutorial = new Tutorial("Test Title", "Test Author",
+                "http://test.com", LocalDate.now());
+        tutorialDAO.addTutorial(tutorial);
+        assertNotEquals(0, tutorial.getId(), "Tutorial ID should be generated and not 0");
+        Tutorial retrievedTutorial = tutorialDAO.getTutorialById(tutorial.getId());
+        assertNotNull(retrievedTutorial);
+        assertEquals(tutorial.getTitle(), retrievedTutorial.getTitle());
+        assertEquals(tutorial.getAuthor(), retrievedTutorial.getAuthor());
+        assertEquals(tutorial.getUrl(), retrievedTutorial.getUrl());
+        assertEquals(tutorial.getPublishedDate(),
+                retrievedTutorial.getPublishedDate());
+    }
+    @Test
+    @DisplayName("Should retrieve a tutorial by ID")
+    void shouldGetTutorialById() throws DatabaseOperationException,
+            TutorialNotFoundException {
+        Tutorial tutorial = new Tutorial("Get By ID Title", "Get By ID Author", "http://getbyid.com", LocalDate.of(2023, 10, 26));
+        tutorialDAO.addTutorial(tutorial);
+        Tutorial retrievedTutorial =
+                tutorialDAO.getTutorialById(tutorial.getId());
+        assertNotNull(retrievedTutorial);
+        assertEquals(tutorial.getId(), retrievedTutorial.getId());
+        assertEquals("Get By ID Title", retrievedTutorial.getTitle());
+    }
+
+    @Test
+    @DisplayName("Should throw TutorialNotFoundException when getting non-existent ID")
+    void
+    shouldThrowTutorialNotFoundExceptionWhenGettingNonExistentId() {
+        assertThrows(TutorialNotFoundException.class, () ->
+                        tutorialDAO.getTutorialById(999),
+                "Should throw TutorialNotFoundException for a non-existent ID");
+    }
+    @Test
+    @DisplayName("Should retrieve all tutorials when table is empty")
+    void shouldGetAllTutorialsWhenEmpty() throws
+            DatabaseOperationException {
+        ArrayList<Tutorial> tutorials = tutorialDAO.getAllTutorials();
+        assertNotNull(tutorials);
+        assertTrue(tutorials.isEmpty(), "ArrayList should be empty when no tutorials are added");
+    }
+    @Test
+    @DisplayName("Should retrieve all tutorials when table has data")
+    void shouldGetAllTutorialsWithData() throws
+            DatabaseOperationException {
+        tutorialDAO.addTutorial(new Tutorial("Tut 1", "Auth 1", "url1",
+                LocalDate.now()));
+        tutorialDAO.addTutorial(new Tutorial("Tut 2", "Auth 2", "url2",
+                LocalDate.now()));
+        ArrayList<Tutorial> tutorials = tutorialDAO.getAllTutorials();
+        assertNotNull(tutorials);
+        assertEquals(2, tutorials.size());
+    }
+    @Test
+    @DisplayName("Should update an existing tutorial successfully")
+    void shouldUpdateTutorialSuccessfully() throws
+            DatabaseOperationException, TutorialNotFoundException {
+        Tutorial originalTutorial = new Tutorial("Old Title", "Old Author",
+                "http://old.com", LocalDate.of(2020, 1, 1));
+        tutorialDAO.addTutorial(originalTutorial);
+        Tutorial updatedTutorial = new Tutorial(originalTutorial.getId(), "New Title", "New Author", "http://new.com", LocalDate.of(2021, 2, 2));
+        tutorialDAO.updateTutorial(updatedTutorial);
+        Tutorial retrievedTutorial =
+                tutorialDAO.getTutorialById(originalTutorial.getId());
+        assertEquals("New Title", retrievedTutorial.getTitle());
+        assertEquals("New Author", retrievedTutorial.getAuthor());
+        assertEquals("http://new.com", retrievedTutorial.getUrl());
+        assertEquals(LocalDate.of(2021, 2, 2),
+                retrievedTutorial.getPublishedDate());
+    }
+
+    @Test
+    @DisplayName("Should throw TutorialNotFoundException when updating non-existent tutorial")
+    void
+    shouldThrowTutorialNotFoundExceptionWhenUpdatingNonExistentTutorial(
+    ) {
+        Tutorial nonExistentTutorial = new Tutorial(999, "Non Existent",
+                "None", "none.com", LocalDate.now());
+        assertThrows(TutorialNotFoundException.class, () ->
+                        tutorialDAO.updateTutorial(nonExistentTutorial),
+                "Should throw TutorialNotFoundException for updating a non existent tutorial");
+    }
+    @Test
+    @DisplayName("Should delete an existing tutorial successfully")
+    void shouldDeleteTutorialSuccessfully() throws
+            DatabaseOperationException, TutorialNotFoundException {
+        Tutorial tutorialToDelete = new Tutorial("To Delete", "Delete Author",
+                "http://delete.com", LocalDate.now());
+        tutorialDAO.addTutorial(tutorialToDelete);
+        Tutorial retrieved =
+                tutorialDAO.getTutorialById(tutorialToDelete.getId()); // Verify it exists
+        assertNotNull(retrieved);
+        tutorialDAO.deleteTutorial(tutorialToDelete.getId());
+        assertThrows(TutorialNotFoundException.class, () ->
+                        tutorialDAO.getTutorialById(tutorialToDelete.getId()),
+                "Should throw TutorialNotFoundException after deleting tutorial");
+    }
+
+    @Test
+    @DisplayName("Should throw TutorialNotFoundException when deleting non-existent tutorial")
+    void
+    shouldThrowTutorialNotFoundExceptionWhenDeletingNonExistentTutorial()
+    {
+        assertThrows(TutorialNotFoundException.class, () ->
+                        tutorialDAO.deleteTutorial(9999),
+                "Should throw TutorialNotFoundException for deleting a non existent ID");
+    }
+    @Test
+    @DisplayName("Should handle null published date correctly")
+    void shouldHandleNullPublishedDate() throws
+            DatabaseOperationException, TutorialNotFoundException {
+        Tutorial tutorial = new Tutorial("Null Date Tutorial", "Null Date Author", "http://nulldate.com", null);
+        tutorialDAO.addTutorial(tutorial);
+        Tutorial retrievedTutorial =
+                tutorialDAO.getTutorialById(tutorial.getId());
+        assertNotNull(retrievedTutorial);
+        assertNull(retrievedTutorial.getPublishedDate());
+// Update with a date
+        retrievedTutorial.setPublishedDate(LocalDate.of(2024, 9, 20));
+        tutorialDAO.updateTutorial(retrievedTutorial);
+        Tutorial updatedAndRetrieved =
+                tutorialDAO.getTutorialById(retrievedTutorial.getId());
+        assertNotNull(updatedAndRetrieved.getPublishedDate());
+        assertEquals(LocalDate.of(2024, 9, 20),
+                updatedAndRetrieved.getPublishedDate());
+    }
+    @Test
+    @DisplayName("Should add tutorials in batches and assign generated IDs")
+    void shouldAddTutorialsInBatches() throws DatabaseOperationException {
+        TutorialDAO batchingDAO = createBatchingDAO(2);
+        List<Tutorial> tutorials = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            tutorials.add(new Tutorial("Batch " + i, "Batch Author", "http://batch" + i + ".com", LocalDate.of(2024, 1, i)));
+        }
+        BatchInsertResult result = batchingDAO.addTutorials(tutorials);
+        assertEquals(5, result.insertedCount());
+        assertFalse(result.hasFailures());
+        for (Tutorial tutorial : tutorials) {
+            assertNotEquals(0, tutorial.getId(), "Every tutorial should receive its generated ID");
+            assertEquals(tutorial.getTitle(), tutorialDAO.getTutorialById(tutorial.getId()).getTitle());
+        }
+        assertEquals(5, tutorialDAO.getAllTutorials().size());
+    }
+
+    @Test
+    @DisplayName("Should report failing rows without losing the rest of the batch")
+    void shouldReportFailedRowsInBatch() throws DatabaseOperationException {
+        TutorialDAO batchingDAO = createBatchingDAO(3);
+        List<Tutorial> tutorials = List.of(
+                new Tutorial("Good 1", "Author", "url1", LocalDate.now()),
+                new Tutorial(null, "Author", "url2", LocalDate.now()), // title is NOT NULL
+                new Tutorial("Good 2", "Author", "url3", null),
+                new Tutorial("Good 3", "Author", "url4", LocalDate.now()));
+        BatchInsertResult result = batchingDAO.addTutorials(tutorials);
+        assertEquals(3, result.insertedCount());
+        assertEquals(1, result.failures().size());
+        assertEquals(1, result.failures().get(0).index());
+        assertEquals(0, tutorials.get(1).getId(), "Rejected tutorial should not get an ID");
+        assertNotEquals(0, tutorials.get(2).getId());
+        assertEquals(3, tutorialDAO.getAllTutorials().size());
+    }
+
+    @Test
+    @DisplayName("Should stream all tutorials in ID order and release resources on close")
+    void shouldStreamAllTutorials() throws DatabaseOperationException {
+        for (int i = 1; i <= 7; i++) {
+            tutorialDAO.addTutorial(new Tutorial("Stream " + i, "Author", "url" + i, LocalDate.now()));
+        }
+        List<String> titles;
+        try (Stream<Tutorial> stream = tutorialDAO.streamAllTutorials(3)) {
+            titles = stream.map(Tutorial::getTitle).collect(Collectors.toList());
+        }
+        assertEquals(7, titles.size());
+        assertEquals("Stream 1", titles.get(0));
+        assertEquals("Stream 7", titles.get(6));
+        assertStreamResourcesReleased();
+
+        try (Stream<Tutorial> stream = tutorialDAO.streamAllTutorials(2)) {
+            assertEquals("Stream 1", stream.findFirst().orElseThrow().getTitle());
+        }
+        assertStreamResourcesReleased();
+    }
+
+    @Test
+    @DisplayName("Should page through tutorials with keyset pagination")
+    void shouldPageThroughTutorials() throws DatabaseOperationException {
+        for (int i = 1; i <= 5; i++) {
+            tutorialDAO.addTutorial(new Tutorial("Page " + i, "Author", "url" + i, LocalDate.now()));
+        }
+        List<Tutorial> first = tutorialDAO.getTutorialsAfter(0, 2);
+        assertEquals(List.of("Page 1", "Page 2"), first.stream().map(Tutorial::getTitle).toList());
+        List<Tutorial> second = tutorialDAO.getTutorialsAfter(first.get(1).getId(), 2);
+        assertEquals(List.of("Page 3", "Page 4"), second.stream().map(Tutorial::getTitle).toList());
+        List<Tutorial> last = tutorialDAO.getTutorialsAfter(second.get(1).getId(), 2);
+        assertEquals(1, last.size());
+        assertTrue(tutorialDAO.getTutorialsAfter(last.get(0).getId(), 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fetch only the requested columns for a projection")
+    void shouldFetchProjectedColumns() throws DatabaseOperationException {
+        tutorialDAO.addTutorial(new Tutorial("Projected", "Projection Author", "http://projection.com", LocalDate.of(2022, 3, 4)));
+
+        List<Tutorial> titles = tutorialDAO.getTutorialsAfter(0, 10, EnumSet.of(TutorialColumn.TITLE));
+        assertEquals(1, titles.size());
+        assertNotEquals(0, titles.get(0).getId(), "ID is always part of a projection");
+        assertEquals("Projected", titles.get(0).getTitle());
+        assertNull(titles.get(0).getAuthor());
+        assertNull(titles.get(0).getUrl());
+
+        try (Stream<Tutorial> dates = tutorialDAO.streamAllTutorials(10, EnumSet.of(TutorialColumn.PUBLISHED_DATE))) {
+            Tutorial only = dates.findFirst().orElseThrow();
+            assertEquals(LocalDate.of(2022, 3, 4), only.getPublishedDate());
+            assertNull(only.getTitle());
+        }
+    }
+
+    @Test
+    @DisplayName("Should never reuse the ID of a deleted tutorial")
+    void shouldNotReuseDeletedIds() throws DatabaseOperationException {
+        Tutorial first = new Tutorial("First", "Author", "url1", LocalDate.now());
+        tutorialDAO.addTutorial(first);
+        tutorialDAO.deleteTutorial(first.getId());
+        Tutorial second = new Tutorial(first.getId(), "Second", "Author", "url2", LocalDate.now());
+        tutorialDAO.addTutorial(second);
+        assertTrue(second.getId() > first.getId(), "IDs come from the identity counter, not from the caller");
+    }
+
+    @Test
+    @DisplayName("Should find tutorials by author in ID order, page by page")
+    void shouldFindByAuthor() throws DatabaseOperationException {
+        for (int i = 1; i <= 5; i++) {
+            tutorialDAO.addTutorial(new Tutorial("Ann " + i, "Ann", "url" + i, LocalDate.of(2024, 1, i)));
+            tutorialDAO.addTutorial(new Tutorial("Bob " + i, "Bob", "url" + i, LocalDate.of(2024, 1, i)));
+        }
+        List<Tutorial> first = tutorialDAO.findByAuthor("Ann", 3);
+        assertEquals(List.of("Ann 1", "Ann 2", "Ann 3"), first.stream().map(Tutorial::getTitle).toList());
+
+        TutorialQuery query = TutorialQuery.byAuthor("Ann").toBuilder().limit(3).build();
+        List<Tutorial> second = tutorialDAO.findTutorials(query.after(first.get(2)));
+        assertEquals(List.of("Ann 4", "Ann 5"), second.stream().map(Tutorial::getTitle).toList());
+        assertTrue(tutorialDAO.findByAuthor("Nobody", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find tutorials in a published date range, including both ends")
+    void shouldFindByPublishedDateRange() throws DatabaseOperationException {
+        tutorialDAO.addTutorial(new Tutorial("Undated", "Ann", "url", null));
+        for (int day = 10; day >= 1; day--) {
+            tutorialDAO.addTutorial(new Tutorial("Day " + day, day % 2 == 0 ? "Ann" : "Bob", "url", LocalDate.of(2024, 3, day)));
+        }
+        List<Tutorial> range = tutorialDAO.findByPublishedDateRange(LocalDate.of(2024, 3, 3), LocalDate.of(2024, 3, 6), 10);
+        assertEquals(List.of("Day 3", "Day 4", "Day 5", "Day 6"), range.stream().map(Tutorial::getTitle).toList());
+        assertEquals(10, tutorialDAO.findByPublishedDateRange(LocalDate.MIN, LocalDate.MAX, 20).size());
+
+        TutorialQuery newestByAnn = TutorialQuery.builder()
+                .author("Ann")
+                .publishedFrom(LocalDate.of(2024, 3, 3))
+                .order(TutorialOrder.PUBLISHED_DATE_DESC)
+                .limit(2)
+                .build();
+        List<Tutorial> page = tutorialDAO.findTutorials(newestByAnn);
+        assertEquals(List.of("Day 10", "Day 8"), page.stream().map(Tutorial::getTitle).toList());
+        page = tutorialDAO.findTutorials(newestByAnn.after(page.get(1)));
+        assertEquals(List.of("Day 6", "Day 4"), page.stream().map(Tutorial::getTitle).toList());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> tutorialDAO.findByPublishedDateRange(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> tutorialDAO.findByPublishedDateRange(LocalDate.MAX, LocalDate.MIN, 10));
+        // Bounds far beyond the stored range still mean "no bound", not a wrapped-around day.
+        assertEquals(10, tutorialDAO.findTutorials(TutorialQuery.builder().publishedFrom(LocalDate.MIN).limit(20).build()).size());
+        assertEquals(10, tutorialDAO.findTutorials(TutorialQuery.builder().publishedTo(LocalDate.MAX).limit(20).build()).size());
+        assertTrue(tutorialDAO.findByPublishedDateRange(LocalDate.MAX, LocalDate.MAX, 10).isEmpty());
+        assertTrue(tutorialDAO.findByPublishedDateRange(LocalDate.MIN, LocalDate.MIN, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse published dates a DATE column cannot hold")
+    void shouldRefuseOutOfRangeDates() throws DatabaseOperationException {
+        Tutorial stored = new Tutorial("Dated", "Ann", "url", LocalDate.of(9999, 12, 31));
+        tutorialDAO.addTutorial(stored);
+        assertEquals(LocalDate.of(9999, 12, 31), tutorialDAO.getTutorialById(stored.getId()).getPublishedDate());
+
+        assertThrows(DatabaseOperationException.class,
+                () -> tutorialDAO.addTutorial(new Tutorial("Too late", "Ann", "url", LocalDate.of(10000, 1, 1))));
+        assertThrows(DatabaseOperationException.class,
+                () -> tutorialDAO.addTutorial(new Tutorial("Too early", "Ann", "url", LocalDate.MIN)));
+        Tutorial wrapped = new Tutorial(stored);
+        wrapped.setPublishedDate(LocalDate.MAX);
+        assertThrows(DatabaseOperationException.class, () -> tutorialDAO.updateTutorial(wrapped));
+        assertThrows(DatabaseOperationException.class,
+                () -> tutorialDAO.patchTutorial(TutorialPatch.of(stored.getId()).publishedDate(LocalDate.MAX)));
+
+        BatchInsertResult result = tutorialDAO.addTutorials(List.of(
+                new Tutorial("Good", "Ann", "url", LocalDate.of(2024, 1, 1)),
+                new Tutorial("Too late", "Ann", "url", LocalDate.MAX)));
+        assertEquals(1, result.insertedCount());
+        assertEquals(1, result.failures().get(0).index());
+        assertEquals(LocalDate.of(9999, 12, 31), tutorialDAO.getTutorialById(stored.getId()).getPublishedDate());
+        assertEquals(2, tutorialDAO.countTutorials());
+    }
+
+    @Test
+    @DisplayName("Should stream every match of a query across pages")
+    void shouldStreamQueryResults() throws DatabaseOperationException {
+        for (int day = 1; day <= 9; day++) {
+            tutorialDAO.addTutorial(new Tutorial("Day " + day, "Ann", "url", LocalDate.of(2024, 5, day)));
+        }
+        TutorialQuery query = TutorialQuery.builder()
+                .publishedFrom(LocalDate.of(2024, 5, 2))
+                .order(TutorialOrder.PUBLISHED_DATE)
+                .columns(EnumSet.of(TutorialColumn.TITLE))
+                .build();
+        try (Stream<Tutorial> stream = tutorialDAO.streamTutorials(query, 2)) {
+            assertEquals(8, stream.count());
+        }
+        try (Stream<Tutorial> stream = tutorialDAO.streamTutorials(query.toBuilder().limit(3).build(), 2)) {
+            assertEquals(List.of("Day 2", "Day 3", "Day 4"), stream.map(Tutorial::getTitle).toList());
+        }
+        assertStreamResourcesReleased();
+    }
+
+    @Test
+    @DisplayName("Should apply a write batch atomically and report missing IDs")
+    void shouldApplyWriteBatch() throws DatabaseOperationException {
+        Tutorial first = new Tutorial("First", "Ann", "url", null);
+        Tutorial second = new Tutorial("Second", "Ann", "url", null);
+        Tutorial third = new Tutorial("Third", "Ann", "url", null);
+        tutorialDAO.addTutorials(List.of(first, second, third));
+
+        first.setTitle("First v2");
+        Tutorial missing = new Tutorial(first);
+        missing.setId(third.getId() + 1000);
+        WriteBatchResult result = tutorialDAO.applyWriteBatch(new TutorialWriteBatch()
+                .update(first)
+                .update(missing)
+                .update(second)
+                .delete(second.getId())
+                .delete(third.getId() + 2000));
+
+        assertEquals(1, result.updatedCount());
+        assertEquals(1, result.deletedCount());
+        assertEquals(List.of(third.getId() + 1000, third.getId() + 2000), result.notFoundIds());
+        assertEquals(List.of("First v2", "Third"), tutorialDAO.getAllTutorials().stream().map(Tutorial::getTitle).toList());
+
+        third.setTitle(null); // violates NOT NULL: nothing of the batch may be applied
+        first.setTitle("First v3");
+        assertThrows(DatabaseOperationException.class,
+                () -> tutorialDAO.applyWriteBatch(new TutorialWriteBatch().update(first).update(third)));
+        assertEquals("First v2", tutorialDAO.getTutorialById(first.getId()).getTitle());
+
+        // An update cannot follow a delete of the same row; the delete is kept.
+        TutorialWriteBatch deleteFirst = new TutorialWriteBatch().delete(first.getId());
+        assertThrows(IllegalStateException.class, () -> deleteFirst.update(first));
+        assertArrayEquals(new int[] { first.getId() }, deleteFirst.deleteIds());
+        assertTrue(deleteFirst.updates().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should get many tutorials by ID at once and report the IDs that were not found")
+    void shouldGetTutorialsByIds() throws DatabaseOperationException {
+        List<Tutorial> tutorials = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tutorials.add(new Tutorial("Tutorial " + i, "Ann", "url", i % 2 == 0 ? LocalDate.of(2024, 1, 1) : null));
+        }
+        tutorialDAO.addTutorials(tutorials);
+        tutorialDAO.deleteTutorial(tutorials.get(3).getId());
+        int maxId = tutorials.get(19).getId();
+        // Rows in reverse, a duplicate, the deleted row, and enough missing IDs to need more than one IN list.
+        int[] ids = new int[20 + 1 + 600];
+        int n = 0;
+        for (int i = 19; i >= 0; i--) {
+            ids[n++] = tutorials.get(i).getId();
+        }
+        ids[n++] = tutorials.get(5).getId();
+        for (int i = 1; i <= 600; i++) {
+            ids[n++] = maxId + i;
+        }
+
+        MultiGetResult result = tutorialDAO.getTutorialsByIds(ids);
+
+        assertEquals(19, result.tutorials().size());
+        assertEquals(tutorials.get(19).getId(), result.tutorials().keySet().iterator().next());
+        assertEquals("Tutorial 5", result.get(tutorials.get(5).getId()).getTitle());
+        assertEquals(LocalDate.of(2024, 1, 1), result.get(tutorials.get(4).getId()).getPublishedDate());
+        assertNull(result.get(tutorials.get(7).getId()).getPublishedDate());
+        assertEquals(601, result.missingIds().size());
+        assertTrue(result.missingIds().contains(tutorials.get(3).getId()));
+        assertFalse(result.allFound());
+        assertTrue(tutorialDAO.getTutorialsByIds(new int[0]).allFound());
+    }
+
+    @Test
+    @DisplayName("Should delete many tutorials at once and return the IDs that were not found")
+    void shouldDeleteTutorialsInBulk() throws DatabaseOperationException {
+        List<Tutorial> tutorials = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            tutorials.add(new Tutorial("Tutorial " + i, "Ann", "url", null));
+        }
+        tutorialDAO.addTutorials(tutorials);
+        int maxId = tutorials.get(29).getId();
+        // Even rows, a duplicate, and enough missing IDs to span several JDBC batches of single-row DELETEs.
+        int[] ids = new int[1 + 15 + 1500];
+        int n = 0;
+        ids[n++] = tutorials.get(0).getId();
+        for (int i = 0; i < 30; i += 2) {
+            ids[n++] = tutorials.get(i).getId();
+        }
+        for (int i = 1; i <= 1500; i++) {
+            ids[n++] = maxId + i;
+        }
+
+        List<Integer> notFound = tutorialDAO.deleteTutorials(ids);
+
+        assertEquals(1500, notFound.size());
+        assertEquals(maxId + 1, notFound.get(0));
+        assertEquals(15, tutorialDAO.getAllTutorials().size());
+        assertTrue(tutorialDAO.getAllTutorials().stream().allMatch(t -> Integer.parseInt(t.getTitle().substring(9)) % 2 == 1));
+        assertEquals(List.of(), tutorialDAO.deleteTutorials(new int[0]));
+    }
+
+    @Test
+    @DisplayName("Should update many tutorials at once and return the IDs that were not found")
+    void shouldUpdateTutorialsInBulk() throws DatabaseOperationException {
+        Tutorial first = new Tutorial("First", "Ann", "url", null);
+        Tutorial second = new Tutorial("Second", "Ann", "url", null);
+        tutorialDAO.addTutorials(List.of(first, second));
+        first.setAuthor("Ben");
+        second.setAuthor("Ben");
+        Tutorial missing = new Tutorial(second.getId() + 100, "Missing", "Ben", null, null);
+
+        assertEquals(List.of(missing.getId()), tutorialDAO.updateTutorials(List.of(first, missing, second)));
+        assertEquals(2, tutorialDAO.findByAuthor("Ben", 10).size());
+    }
+
+    @Test
+    @DisplayName("Should patch only the given fields and return the stored row")
+    void shouldPatchTutorial() throws DatabaseOperationException, TutorialNotFoundException {
+        Tutorial tutorial = new Tutorial("Old Title", "Ann", "http://old.com", LocalDate.of(2024, 1, 1));
+        tutorialDAO.addTutorial(tutorial);
+
+        Tutorial patched = tutorialDAO.patchAndGetTutorial(TutorialPatch.of(tutorial.getId()).title("New Title").url(null));
+        assertEquals(tutorial.getId(), patched.getId());
+        assertEquals("New Title", patched.getTitle());
+        assertEquals("Ann", patched.getAuthor());
+        assertNull(patched.getUrl());
+        assertEquals(LocalDate.of(2024, 1, 1), patched.getPublishedDate());
+
+        tutorialDAO.patchTutorial(TutorialPatch.of(tutorial.getId()).publishedDate(LocalDate.of(2025, 2, 2)));
+        Tutorial stored = tutorialDAO.getTutorialById(tutorial.getId());
+        assertEquals("New Title", stored.getTitle());
+        assertEquals(LocalDate.of(2025, 2, 2), stored.getPublishedDate());
+
+        assertThrows(TutorialNotFoundException.class, () -> tutorialDAO.patchTutorial(TutorialPatch.of(tutorial.getId() + 1000).title("x")));
+        assertThrows(IllegalArgumentException.class, () -> tutorialDAO.patchTutorial(TutorialPatch.of(tutorial.getId())));
+        assertThrows(DatabaseOperationException.class, () -> tutorialDAO.patchTutorial(TutorialPatch.of(tutorial.getId()).title(null)));
+    }
+
+    @Test
+    @DisplayName("Should count tutorials in total, by author, by year and by month")
+    void shouldAggregateTutorials() throws DatabaseOperationException {
+        assertEquals(new TutorialStats(0, 0, null, null), tutorialDAO.getTutorialStats());
+        assertEquals(Map.of(), tutorialDAO.countByAuthor());
+        tutorialDAO.addTutorials(List.of(
+                new Tutorial("One", "Ben", null, LocalDate.of(2023, 12, 31)),
+                new Tutorial("Two", "Ann", null, LocalDate.of(2024, 1, 5)),
+                new Tutorial("Three", "Ann", null, LocalDate.of(2024, 1, 20)),
+                new Tutorial("Four", null, null, LocalDate.of(2024, 3, 1)),
+                new Tutorial("Five", "Ann", null, null)));
+
+        assertEquals(5, tutorialDAO.countTutorials());
+        assertEquals(new TutorialStats(5, 4, LocalDate.of(2023, 12, 31), LocalDate.of(2024, 3, 1)), tutorialDAO.getTutorialStats());
+        Map<String, Long> byAuthor = tutorialDAO.countByAuthor();
+        assertEquals(Arrays.asList("Ann", "Ben", null), new ArrayList<>(byAuthor.keySet()));
+        assertEquals(List.of(3L, 1L, 1L), new ArrayList<>(byAuthor.values()));
+        assertEquals(List.of(Map.entry(Year.of(2023), 1L), Map.entry(Year.of(2024), 3L)),
+                new ArrayList<>(tutorialDAO.countByPublishedYear().entrySet()));
+        assertEquals(List.of(Map.entry(YearMonth.of(2023, 12), 1L), Map.entry(YearMonth.of(2024, 1), 2L),
+                        Map.entry(YearMonth.of(2024, 3), 1L)),
+                new ArrayList<>(tutorialDAO.countByPublishedMonth().entrySet()));
+    }
+
+    @Test
+    @DisplayName("Should return the changes after a watermark in version order, with deletes as tombstones")
+    void shouldReturnChangesSinceWatermark() throws DatabaseOperationException {
+        long start = tutorialDAO.getChangesSince(0, 1000).watermark();
+        Tutorial a = new Tutorial("A", "Ann", null, null);
+        Tutorial b = new Tutorial("B", "Ann", null, null);
+        Tutorial c = new Tutorial("C", "Ann", null, null);
+        tutorialDAO.addTutorial(a);
+        tutorialDAO.addTutorials(List.of(b, c));
+
+        TutorialChanges first = tutorialDAO.getChangesSince(start, 2);
+        assertEquals(List.of(a.getId(), b.getId()), first.changes().stream().map(TutorialChange::tutorialId).toList());
+        assertEquals(first.changes().get(1).version(), first.watermark());
+
+        b.setTitle("B2");
+        tutorialDAO.updateTutorial(b);
+        tutorialDAO.deleteTutorial(a.getId());
+        tutorialDAO.patchTutorial(TutorialPatch.of(c.getId()).url("http://c.example"));
+        TutorialChanges next = tutorialDAO.getChangesSince(first.watermark(), 10);
+
+        List<TutorialChange> changes = next.changes();
+        assertEquals(List.of(b.getId(), a.getId(), c.getId()), changes.stream().map(TutorialChange::tutorialId).toList());
+        assertEquals("B2", changes.get(0).tutorial().getTitle());
+        assertTrue(changes.get(1).isDeletion());
+        assertEquals("http://c.example", changes.get(2).tutorial().getUrl(), "A tutorial appears once, in its latest state");
+        assertTrue(changes.get(0).version() < changes.get(1).version() && changes.get(1).version() < changes.get(2).version());
+        assertEquals(changes.get(2).version(), next.watermark());
+
+        TutorialChanges none = tutorialDAO.getChangesSince(next.watermark(), 10);
+        assertTrue(none.isEmpty());
+        assertEquals(next.watermark(), none.watermark());
+
+        tutorialDAO.deleteTutorials(new int[] { b.getId(), c.getId() + 1000 });
+        List<TutorialChange> deletes = tutorialDAO.getChangesSince(next.watermark(), 10).changes();
+        assertEquals(1, deletes.size());
+        assertEquals(b.getId(), deletes.get(0).tutorialId());
+        assertTrue(deletes.get(0).isDeletion());
+    }
+}
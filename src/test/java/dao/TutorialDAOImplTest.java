@@ -1,34 +1,39 @@
 package dao;
 
+import com.example.dao.BatchInsertResult;
+import com.example.dao.TransactionIsolation;
+import com.example.dao.TutorialChange;
+import com.example.dao.TutorialChanges;
 import com.example.dao.TutorialDAO;
 import com.example.dao.TutorialDAOImpl;
+import com.example.dao.TutorialPatch;
 import com.example.exceptions.DatabaseOperationException;
 import com.example.exceptions.TutorialNotFoundException;
 import com.example.model.Tutorial;
+import com.example.util.ConnectionPool;
 import com.example.util.DBConnection;
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.time.LocalDate;
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("TutorialDAOImpl Integration Tests")
-public class TutorialDAOImplTest {
-    private TutorialDAO tutorialDAO;
-    @BeforeEach
-    void setUp() throws SQLException {
-        tutorialDAO = new TutorialDAOImpl();
+public class TutorialDAOImplTest extends TutorialDAOContractTest {
+    @Override
+    protected TutorialDAO createDAO() throws SQLException {
         // Clear the table before each test to ensure a clean state
         try (Connection conn = DBConnection.getConnection();
              Statement stmt = conn.createStatement()) {
             stmt.executeUpdate("DELETE FROM tutorials"); // Deletes all rows
+            stmt.executeUpdate("DELETE FROM tutorial_tombstones");
     // Optionally, reset sequence if using an older Oracle version without GENERATED BY DEFAULT
     // try {
             // stmt.executeUpdate("DROP SEQUENCE tutorial_id_seq");
@@ -41,6 +46,8 @@ public class TutorialDAOImplTest {
             System.err.println("Failed to clear database before test: " + e.getMessage());
             throw e; // Re-throw to fail the test setup
         }
+        // No change feed lag, so the contract tests see their own changes at once.
+        return new TutorialDAOImpl(TutorialDAO.DEFAULT_BATCH_SIZE, Duration.ZERO);
     }
     @AfterEach
     void tearDown() {
@@ -48,135 +55,151 @@ public class TutorialDAOImplTest {
 // Or perform any resource cleanup if not handled by try-with resources
     }
 
-    @Test
-    @DisplayName("Should add a new tutorial successfully")
-    void shouldAddTutorialSuccessfully() throws
-            DatabaseOperationException, TutorialNotFoundException {
-        Tutorial tutorial = new Tutorial("Test Title", "Test Author",
-                "http://test.com", LocalDate.now());
-        tutorialDAO.addTutorial(tutorial);
-        assertNotEquals(0, tutorial.getId(), "Tutorial ID should be generated and not 0");
-        Tutorial retrievedTutorial = tutorialDAO.getTutorialById(tutorial.getId());
-        assertNotNull(retrievedTutorial);
-        assertEquals(tutorial.getTitle(), retrievedTutorial.getTitle());
-        assertEquals(tutorial.getAuthor(), retrievedTutorial.getAuthor());
-        assertEquals(tutorial.getUrl(), retrievedTutorial.getUrl());
-        assertEquals(tutorial.getPublishedDate(),
-                retrievedTutorial.getPublishedDate());
-    }
-    @Test
-    @DisplayName("Should retrieve a tutorial by ID")
-    void shouldGetTutorialById() throws DatabaseOperationException,
-            TutorialNotFoundException {
-        Tutorial tutorial = new Tutorial("Get By ID Title", "Get By ID Author", "http://getbyid.com", LocalDate.of(2023, 10, 26));
-        tutorialDAO.addTutorial(tutorial);
-        Tutorial retrievedTutorial =
-                tutorialDAO.getTutorialById(tutorial.getId());
-        assertNotNull(retrievedTutorial);
-        assertEquals(tutorial.getId(), retrievedTutorial.getId());
-        assertEquals("Get By ID Title", retrievedTutorial.getTitle());
+    @Override
+    protected TutorialDAO createBatchingDAO(int batchSize) {
+        return new TutorialDAOImpl(batchSize, Duration.ZERO);
     }
 
-    @Test
-    @DisplayName("Should throw TutorialNotFoundException when getting non-existent ID")
-    void
-    shouldThrowTutorialNotFoundExceptionWhenGettingNonExistentId() {
-        assertThrows(TutorialNotFoundException.class, () ->
-                        tutorialDAO.getTutorialById(999),
-                "Should throw TutorialNotFoundException for a non-existent ID");
+    @Override
+    protected void assertStreamResourcesReleased() {
+        ConnectionPool pool = DBConnection.getPool();
+        assertEquals(0, pool.getActiveConnections(), "Stream should return its connection when closed");
     }
+
     @Test
-    @DisplayName("Should retrieve all tutorials when table is empty")
-    void shouldGetAllTutorialsWhenEmpty() throws
-            DatabaseOperationException {
-        ArrayList<Tutorial> tutorials = tutorialDAO.getAllTutorials();
-        assertNotNull(tutorials);
-        assertTrue(tutorials.isEmpty(), "ArrayList should be empty when no tutorials are added");
+    @DisplayName("Should answer filtered queries from the author and published date indexes")
+    void shouldUseIndexesForFilteredQueries() throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            assertTrue(explain(stmt, "SELECT tutorial_id FROM tutorials WHERE author = 'Ann' ORDER BY tutorial_id")
+                    .contains("TUTORIALS_AUTHOR_IDX"));
+            assertTrue(explain(stmt, "SELECT tutorial_id FROM tutorials WHERE published_date >= DATE '2024-01-01' ORDER BY published_date, tutorial_id")
+                    .contains("TUTORIALS_PUBLISHED_IDX"));
+        }
     }
+
     @Test
-    @DisplayName("Should retrieve all tutorials when table has data")
-    void shouldGetAllTutorialsWithData() throws
-            DatabaseOperationException {
-        tutorialDAO.addTutorial(new Tutorial("Tut 1", "Auth 1", "url1",
-                LocalDate.now()));
-        tutorialDAO.addTutorial(new Tutorial("Tut 2", "Auth 2", "url2",
-                LocalDate.now()));
-        ArrayList<Tutorial> tutorials = tutorialDAO.getAllTutorials();
-        assertNotNull(tutorials);
-        assertEquals(2, tutorials.size());
+    @DisplayName("Should hold back changes written within the change feed lag, and everything after them")
+    void shouldHoldBackRecentChanges() throws SQLException {
+        TutorialDAOImpl lagging = new TutorialDAOImpl(TutorialDAO.DEFAULT_BATCH_SIZE, Duration.ofMinutes(1));
+        Tutorial older = new Tutorial("Older", "Ann", "url", null);
+        Tutorial recent = new Tutorial("Recent", "Ann", "url", null);
+        Tutorial deleted = new Tutorial("Deleted", "Ann", "url", null);
+        lagging.addTutorials(List.of(older, recent, deleted));
+        lagging.deleteTutorial(deleted.getId());
+        assertTrue(lagging.getChangesSince(0, 10).isEmpty());
+        assertTrue(new TutorialDAOImpl().getChangesSince(0, 10).isEmpty(), "the default lag holds them back too");
+        assertEquals(3, tutorialDAO.getChangesSince(0, 10).changes().size(), "without a lag: two rows and a tombstone");
+
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE tutorials SET changed_at = changed_at - INTERVAL '2' MINUTE WHERE tutorial_id = " + older.getId());
+        }
+        TutorialChanges changes = lagging.getChangesSince(0, 10);
+        assertEquals(List.of(older.getId()), changes.changes().stream().map(TutorialChange::tutorialId).toList());
+
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE tutorials SET changed_at = changed_at - INTERVAL '2' MINUTE");
+            stmt.executeUpdate("UPDATE tutorial_tombstones SET changed_at = changed_at - INTERVAL '2' MINUTE");
+        }
+        assertEquals(2, lagging.getChangesSince(changes.watermark(), 10).changes().size());
     }
+
     @Test
-    @DisplayName("Should update an existing tutorial successfully")
-    void shouldUpdateTutorialSuccessfully() throws
-            DatabaseOperationException, TutorialNotFoundException {
-        Tutorial originalTutorial = new Tutorial("Old Title", "Old Author",
-                "http://old.com", LocalDate.of(2020, 1, 1));
-        tutorialDAO.addTutorial(originalTutorial);
-        Tutorial updatedTutorial = new Tutorial(originalTutorial.getId(), "New Title", "New Author", "http://new.com", LocalDate.of(2021, 2, 2));
-        tutorialDAO.updateTutorial(updatedTutorial);
-        Tutorial retrievedTutorial =
-                tutorialDAO.getTutorialById(originalTutorial.getId());
-        assertEquals("New Title", retrievedTutorial.getTitle());
-        assertEquals("New Author", retrievedTutorial.getAuthor());
-        assertEquals("http://new.com", retrievedTutorial.getUrl());
-        assertEquals(LocalDate.of(2021, 2, 2),
-                retrievedTutorial.getPublishedDate());
+    @DisplayName("Should purge only tombstones older than the retention")
+    void shouldPurgeOldTombstones() throws SQLException {
+        TutorialDAOImpl dao = (TutorialDAOImpl) tutorialDAO;
+        Tutorial old = new Tutorial("Old", "Ann", "url", null);
+        Tutorial recent = new Tutorial("Recent", "Ann", "url", null);
+        dao.addTutorials(List.of(old, recent));
+        dao.deleteTutorial(old.getId());
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE tutorial_tombstones SET changed_at = changed_at - INTERVAL '2' DAY");
+        }
+        dao.deleteTutorial(recent.getId());
+
+        assertEquals(1, dao.purgeTombstones(Duration.ofDays(1)));
+        assertEquals(List.of(recent.getId()), dao.getChangesSince(0, 10).changes().stream().map(TutorialChange::tutorialId).toList());
+        assertEquals(0, dao.purgeTombstones(Duration.ofDays(1)));
     }
 
     @Test
-    @DisplayName("Should throw TutorialNotFoundException when updating non-existent tutorial")
-    void
-    shouldThrowTutorialNotFoundExceptionWhenUpdatingNonExistentTutorial(
-    ) {
-        Tutorial nonExistentTutorial = new Tutorial(999, "Non Existent",
-                "None", "none.com", LocalDate.now());
-        assertThrows(TutorialNotFoundException.class, () ->
-                        tutorialDAO.updateTutorial(nonExistentTutorial),
-                "Should throw TutorialNotFoundException for updating a non existent tutorial");
+    @DisplayName("Should commit all calls of a unit of work together, invisible to others until then")
+    void shouldCommitUnitOfWorkOnce() {
+        TutorialDAOImpl dao = (TutorialDAOImpl) tutorialDAO;
+        Tutorial duplicate = new Tutorial("Duplicate", "Ann", null, null);
+        dao.addTutorial(duplicate);
+
+        Tutorial kept = dao.inTransaction(tx -> {
+            Tutorial tutorial = new Tutorial("Draft", "Ann", null, null);
+            tx.addTutorial(tutorial);
+            tx.patchTutorial(TutorialPatch.of(tutorial.getId()).title("Final"));
+            tx.deleteTutorial(duplicate.getId());
+            // Another DAO borrows its own connection and does not see the uncommitted work yet.
+            assertEquals(1, new TutorialDAOImpl().countTutorials());
+            assertEquals(1, tx.countTutorials());
+            assertEquals(1, DBConnection.getPool().getActiveConnections(), "the unit of work holds one connection");
+            return tx.getTutorialById(tutorial.getId());
+        });
+
+        assertEquals("Final", kept.getTitle());
+        assertEquals(List.of(kept.getId()), dao.getAllTutorials().stream().map(Tutorial::getId).toList());
+        assertEquals(0, DBConnection.getPool().getActiveConnections());
     }
+
     @Test
-    @DisplayName("Should delete an existing tutorial successfully")
-    void shouldDeleteTutorialSuccessfully() throws
-            DatabaseOperationException, TutorialNotFoundException {
-        Tutorial tutorialToDelete = new Tutorial("To Delete", "Delete Author",
-                "http://delete.com", LocalDate.now());
-        tutorialDAO.addTutorial(tutorialToDelete);
-        Tutorial retrieved =
-                tutorialDAO.getTutorialById(tutorialToDelete.getId()); // Verify it exists
-        assertNotNull(retrieved);
-        tutorialDAO.deleteTutorial(tutorialToDelete.getId());
-        assertThrows(TutorialNotFoundException.class, () ->
-                        tutorialDAO.getTutorialById(tutorialToDelete.getId()),
-                "Should throw TutorialNotFoundException after deleting tutorial");
+    @DisplayName("Should roll the whole unit of work back when it throws")
+    void shouldRollBackUnitOfWorkOnException() {
+        TutorialDAOImpl dao = (TutorialDAOImpl) tutorialDAO;
+        Tutorial existing = new Tutorial("Existing", "Ann", null, null);
+        dao.addTutorial(existing);
+        long watermark = dao.getChangesSince(0, 10).watermark();
+
+        assertThrows(TutorialNotFoundException.class, () -> dao.inTransaction(TransactionIsolation.SERIALIZABLE, tx -> {
+            tx.addTutorial(new Tutorial("Rolled back", "Ben", null, null));
+            tx.deleteTutorial(existing.getId());
+            return tx.getTutorialById(existing.getId());
+        }));
+        assertThrows(DatabaseOperationException.class, () -> dao.inTransaction(tx -> {
+            tx.addTutorial(new Tutorial("Rolled back", "Ben", null, null));
+            tx.addTutorial(new Tutorial(null, "Ben", null, null)); // title is NOT NULL
+            return null;
+        }));
+
+        assertEquals(List.of(existing.getId()), dao.getAllTutorials().stream().map(Tutorial::getId).toList());
+        assertTrue(dao.getChangesSince(watermark, 10).isEmpty(), "rolled back deletes leave no tombstone");
+        assertEquals(0, DBConnection.getPool().getActiveConnections());
     }
 
     @Test
-    @DisplayName("Should throw TutorialNotFoundException when deleting non-existent tutorial")
-    void
-    shouldThrowTutorialNotFoundExceptionWhenDeletingNonExistentTutorial()
-    {
-        assertThrows(TutorialNotFoundException.class, () ->
-                        tutorialDAO.deleteTutorial(9999),
-                "Should throw TutorialNotFoundException for deleting a non existent ID");
+    @DisplayName("Should let inner transactions roll back only their own part inside a unit of work")
+    void shouldNestInnerTransactionsInUnitOfWork() {
+        TutorialDAOImpl dao = new TutorialDAOImpl(2);
+        BatchInsertResult result = dao.inTransaction(tx -> {
+            tx.addTutorial(new Tutorial("Before", "Ann", null, null));
+            try {
+                tx.deleteTutorial(-1);
+                fail("Deleting a missing tutorial should throw");
+            } catch (TutorialNotFoundException expected) {
+                // caught inside the work, so the unit of work goes on
+            }
+            // The failing chunk is rolled back to its savepoint and retried row by row.
+            return tx.addTutorials(List.of(
+                    new Tutorial("One", "Ann", null, null),
+                    new Tutorial(null, "Ann", null, null),
+                    new Tutorial("Three", "Ann", null, null)));
+        });
+
+        assertEquals(2, result.insertedCount());
+        assertEquals(List.of("Before", "One", "Three"), dao.getAllTutorials().stream().map(Tutorial::getTitle).toList());
     }
-    @Test
-    @DisplayName("Should handle null published date correctly")
-    void shouldHandleNullPublishedDate() throws
-            DatabaseOperationException, TutorialNotFoundException {
-        Tutorial tutorial = new Tutorial("Null Date Tutorial", "Null Date Author", "http://nulldate.com", null);
-        tutorialDAO.addTutorial(tutorial);
-        Tutorial retrievedTutorial =
-                tutorialDAO.getTutorialById(tutorial.getId());
-        assertNotNull(retrievedTutorial);
-        assertNull(retrievedTutorial.getPublishedDate());
-// Update with a date
-        retrievedTutorial.setPublishedDate(LocalDate.of(2024, 9, 20));
-        tutorialDAO.updateTutorial(retrievedTutorial);
-        Tutorial updatedAndRetrieved =
-                tutorialDAO.getTutorialById(retrievedTutorial.getId());
-        assertNotNull(updatedAndRetrieved.getPublishedDate());
-        assertEquals(LocalDate.of(2024, 9, 20),
-                updatedAndRetrieved.getPublishedDate());
+
+    private static String explain(Statement stmt, String sql) throws SQLException {
+        try (ResultSet plan = stmt.executeQuery("EXPLAIN " + sql)) {
+            plan.next();
+            return plan.getString(1).toUpperCase();
+        }
     }
 }
-
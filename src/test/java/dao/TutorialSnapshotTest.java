@@ -0,0 +1,94 @@
+package dao;
+
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.dao.TutorialSnapshot;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TutorialSnapshot Tests")
+public class TutorialSnapshotTest {
+
+    private static void assertSameTutorial(Tutorial expected, Tutorial actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getAuthor(), actual.getAuthor());
+        assertEquals(expected.getUrl(), actual.getUrl());
+        assertEquals(expected.getPublishedDate(), actual.getPublishedDate());
+    }
+
+    @Test
+    @DisplayName("Should keep every field of every row, including nulls and non-ASCII text")
+    void shouldRoundTripRows() {
+        InMemoryTutorialDAO dao = new InMemoryTutorialDAO();
+        List<Tutorial> tutorials = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            tutorials.add(new Tutorial(i % 7 == 0 ? "Über Java " + i : "Title " + i, i % 5 == 0 ? null : "Author" + (i % 40),
+                    i % 3 == 0 ? null : "https://example.com/" + i, i % 4 == 0 ? null : LocalDate.of(2020, 1, 1).plusDays(i)));
+        }
+        dao.addTutorials(tutorials);
+        dao.deleteTutorial(tutorials.get(10).getId());
+
+        TutorialSnapshot snapshot = TutorialSnapshot.load(dao);
+
+        assertEquals(2999, snapshot.size());
+        assertEquals(32, snapshot.authorCount()); // no author when i % 5 == 0
+        for (Tutorial tutorial : dao.getAllTutorials()) {
+            assertSameTutorial(tutorial, snapshot.getTutorialById(tutorial.getId()));
+        }
+        assertFalse(snapshot.contains(tutorials.get(10).getId()));
+        assertEquals(-1, snapshot.rowOf(0));
+        assertThrows(TutorialNotFoundException.class, () -> snapshot.getTutorialById(tutorials.get(10).getId()));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.tutorialAt(snapshot.size()));
+    }
+
+    @Test
+    @DisplayName("Should find rows by ID when the IDs are far apart")
+    void shouldLookUpSparseIds() {
+        TutorialSnapshot snapshot = TutorialSnapshot.of(Stream.of(
+                new Tutorial(5, "Five", null, null, null),
+                new Tutorial(1_000_000, "Million", null, null, null),
+                new Tutorial(Integer.MAX_VALUE, "Max", null, null, null)));
+
+        assertEquals("Million", snapshot.getTutorialById(1_000_000).getTitle());
+        assertEquals(2, snapshot.rowOf(Integer.MAX_VALUE));
+        assertFalse(snapshot.contains(6));
+        assertThrows(IllegalArgumentException.class, () -> TutorialSnapshot.of(Stream.of(
+                new Tutorial(1, "A", null, null, null), new Tutorial(1, "B", null, null, null))));
+    }
+
+    @Test
+    @DisplayName("Should filter by author and published date on the encoded columns")
+    void shouldFilterColumns() {
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        TutorialSnapshot snapshot = TutorialSnapshot.of(Stream.of(
+                new Tutorial(1, "A", "Ann", null, day),
+                new Tutorial(2, "B", "Ben", null, day.plusDays(1)),
+                new Tutorial(3, "C", "Ann", null, null),
+                new Tutorial(4, "D", null, null, day.plusDays(30)),
+                new Tutorial(5, "E", "Ann", null, day.plusDays(2))));
+
+        assertArrayEquals(new int[] { 0, 2, 4 }, snapshot.rowsByAuthor("Ann"));
+        assertArrayEquals(new int[] { 3 }, snapshot.rowsByAuthor(null));
+        assertArrayEquals(new int[0], snapshot.rowsByAuthor("Nobody"));
+        assertArrayEquals(new int[] { 0, 1, 4 }, snapshot.rowsPublishedBetween(day, day.plusDays(2)));
+        assertEquals(3, snapshot.countPublishedBetween(day.plusDays(1), day.plusDays(30)));
+        assertEquals(List.of("A", "E"), snapshot.tutorialsAt(new int[] { 0, 4 }).stream().map(Tutorial::getTitle).toList());
+        assertEquals(5, snapshot.idAt(4));
+        assertNull(snapshot.publishedDateAt(2));
+
+        assertEquals(4, snapshot.countPublishedBetween(LocalDate.MIN, LocalDate.MAX));
+        assertArrayEquals(new int[] { 3 }, snapshot.rowsPublishedBetween(day.plusDays(3), LocalDate.MAX));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.rowsPublishedBetween(day.plusDays(1), day));
+        assertThrows(IllegalArgumentException.class, () -> TutorialSnapshot.of(Stream.of(
+                new Tutorial(6, "F", null, null, LocalDate.MAX))));
+    }
+}
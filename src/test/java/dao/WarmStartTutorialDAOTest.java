@@ -0,0 +1,210 @@
+package dao;
+
+import com.example.dao.DelegatingTutorialDAO;
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.dao.TutorialChanges;
+import com.example.dao.TutorialDAO;
+import com.example.dao.TutorialPatch;
+import com.example.dao.WarmStartTutorialDAO;
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WarmStartTutorialDAO Tests")
+public class WarmStartTutorialDAOTest extends TutorialDAOContractTest {
+    @TempDir
+    Path directory;
+
+    private final InMemoryTutorialDAO database = new InMemoryTutorialDAO();
+
+    @Override
+    protected TutorialDAO createDAO() {
+        WarmStartTutorialDAO dao = new WarmStartTutorialDAO(database, directory.resolve("contract.cache"));
+        dao.warmedUp().join();
+        return dao;
+    }
+
+    // Answers the feed only after release() and fails lookups by ID until then, to show what the cache answers on its own.
+    private static final class GatedDAO extends DelegatingTutorialDAO {
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private volatile boolean readsAllowed;
+
+        GatedDAO(TutorialDAO delegate) {
+            super(delegate);
+        }
+
+        void release() {
+            readsAllowed = true;
+            gate.countDown();
+        }
+
+        @Override
+        public TutorialChanges getChangesSince(long watermark, int limit) throws DatabaseOperationException {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return delegate.getChangesSince(watermark, limit);
+        }
+
+        @Override
+        public Tutorial getTutorialById(int id) throws TutorialNotFoundException, DatabaseOperationException {
+            assertTrue(readsAllowed, "read reached the database before the cache was reconciled");
+            return delegate.getTutorialById(id);
+        }
+    }
+
+    // Counts the full loads, i.e. feed reads from watermark 0.
+    private static final class FullLoadCountingDAO extends DelegatingTutorialDAO {
+        private final AtomicInteger fullLoads = new AtomicInteger();
+
+        FullLoadCountingDAO(TutorialDAO delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public TutorialChanges getChangesSince(long watermark, int limit) throws DatabaseOperationException {
+            if (watermark == 0) {
+                fullLoads.incrementAndGet();
+            }
+            return delegate.getChangesSince(watermark, limit);
+        }
+    }
+
+    private List<Tutorial> addTutorials(int count) {
+        List<Tutorial> tutorials = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tutorials.add(new Tutorial("Tutorial " + i, i % 2 == 0 ? "Ann" : null, i % 3 == 0 ? null : "https://example.com/" + i,
+                    i % 4 == 0 ? null : LocalDate.of(2024, 1, 1).plusDays(i)));
+        }
+        database.addTutorials(tutorials);
+        return tutorials;
+    }
+
+    private static List<Integer> ids(List<Tutorial> tutorials) {
+        return tutorials.stream().map(Tutorial::getId).toList();
+    }
+
+    @Test
+    @DisplayName("Should serve the previous run's file at once, then catch up with changes made meanwhile")
+    void shouldServeFileThenReconcile() {
+        Path file = directory.resolve("warm.cache");
+        List<Tutorial> tutorials = addTutorials(200);
+        new WarmStartTutorialDAO(database, file).warmedUp().join();
+        assertTrue(Files.exists(file));
+
+        // While the node was down:
+        database.patchTutorial(TutorialPatch.of(tutorials.get(0).getId()).title("Renamed"));
+        database.deleteTutorial(tutorials.get(1).getId());
+        Tutorial added = new Tutorial("Added", "Ben", null, null);
+        database.addTutorial(added);
+
+        GatedDAO gated = new GatedDAO(database);
+        WarmStartTutorialDAO restarted = new WarmStartTutorialDAO(gated, file);
+        assertEquals("Tutorial 0", restarted.getTutorialById(tutorials.get(0).getId()).getTitle());
+        Tutorial fromFile = restarted.getTutorialById(tutorials.get(5).getId());
+        assertEquals(tutorials.get(5).getUrl(), fromFile.getUrl());
+        assertEquals(tutorials.get(5).getPublishedDate(), fromFile.getPublishedDate());
+        assertEquals(200, restarted.getAllTutorials().size());
+        assertFalse(restarted.warmedUp().isDone());
+
+        gated.release();
+        restarted.warmedUp().join();
+        assertEquals("Renamed", restarted.getTutorialById(tutorials.get(0).getId()).getTitle());
+        assertThrows(TutorialNotFoundException.class, () -> restarted.getTutorialById(tutorials.get(1).getId()));
+        assertEquals(ids(database.getAllTutorials()), ids(restarted.getAllTutorials()));
+        assertEquals("Added", restarted.getTutorialById(added.getId()).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full load when the file is corrupt")
+    void shouldIgnoreCorruptFile() throws Exception {
+        Path file = directory.resolve("corrupt.cache");
+        addTutorials(50);
+        new WarmStartTutorialDAO(database, file).warmedUp().join();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 42 }), channel.size() / 2);
+        }
+
+        WarmStartTutorialDAO restarted = new WarmStartTutorialDAO(database, file);
+        restarted.warmedUp().join();
+        assertEquals(ids(database.getAllTutorials()), ids(restarted.getAllTutorials()));
+
+        // A truncated file, e.g. from a full disk, falls back the same way.
+        Files.write(file, new byte[] { 1, 2, 3 }, StandardOpenOption.TRUNCATE_EXISTING);
+        WarmStartTutorialDAO truncated = new WarmStartTutorialDAO(database, file);
+        truncated.warmedUp().join();
+        assertEquals(50, truncated.getAllTutorials().size());
+    }
+
+    @Test
+    @DisplayName("Should read rows written through it from the database until they are refreshed")
+    void shouldReadOwnWrites() throws Exception {
+        Path file = directory.resolve("writes.cache");
+        List<Tutorial> tutorials = addTutorials(20);
+        WarmStartTutorialDAO dao = new WarmStartTutorialDAO(database, file);
+        dao.warmedUp().join();
+
+        Tutorial updated = new Tutorial(tutorials.get(3));
+        updated.setTitle("Updated");
+        dao.updateTutorial(updated);
+        dao.deleteTutorial(tutorials.get(4).getId());
+        dao.patchTutorial(TutorialPatch.of(tutorials.get(5).getId()).author("Zoe"));
+        assertEquals("Updated", dao.getTutorialById(updated.getId()).getTitle());
+        assertThrows(TutorialNotFoundException.class, () -> dao.getTutorialById(tutorials.get(4).getId()));
+        assertEquals("Zoe", dao.getAllTutorials().stream().filter(t -> t.getId() == tutorials.get(5).getId()).findFirst().orElseThrow().getAuthor());
+
+        dao.saveWarmStart();
+        WarmStartTutorialDAO restarted = new WarmStartTutorialDAO(database, file);
+        restarted.warmedUp().join();
+        assertEquals("Updated", restarted.getTutorialById(updated.getId()).getTitle());
+        assertEquals(19, restarted.getAllTutorials().size());
+    }
+
+    @Test
+    @DisplayName("Should age a file by its last full load, not by its last save, and reload in full when saving an old one")
+    void shouldReloadInFullAfterMaxAge() throws Exception {
+        Path file = directory.resolve("aged.cache");
+        addTutorials(30);
+        Duration maxAge = Duration.ofMillis(600);
+        FullLoadCountingDAO counting = new FullLoadCountingDAO(database);
+        WarmStartTutorialDAO first = new WarmStartTutorialDAO(counting, file, maxAge);
+        first.warmedUp().join();
+        assertEquals(1, counting.fullLoads.get());
+
+        // Caught up and saved again, but the rows still date from the first full load.
+        Thread.sleep(350);
+        WarmStartTutorialDAO second = new WarmStartTutorialDAO(counting, file, maxAge);
+        second.warmedUp().join();
+        assertEquals(1, counting.fullLoads.get());
+        Thread.sleep(350);
+        WarmStartTutorialDAO third = new WarmStartTutorialDAO(counting, file, maxAge);
+        third.warmedUp().join();
+        assertEquals(2, counting.fullLoads.get(), "the file is older than maxAge since its last full load");
+
+        Thread.sleep(700);
+        database.deleteTutorial(database.getAllTutorials().get(0).getId());
+        third.saveWarmStart();
+        assertEquals(3, counting.fullLoads.get(), "a save after maxAge reloads the table");
+        assertEquals(ids(database.getAllTutorials()), ids(third.getAllTutorials()));
+    }
+}
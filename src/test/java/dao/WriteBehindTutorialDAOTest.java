@@ -0,0 +1,219 @@
+package dao;
+
+import com.example.dao.DelegatingTutorialDAO;
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.dao.TutorialPatch;
+import com.example.dao.TutorialWriteBatch;
+import com.example.dao.WriteBatchResult;
+import com.example.dao.WriteBehindTutorialDAO;
+import com.example.exceptions.DatabaseOperationException;
+import com.example.exceptions.TutorialNotFoundException;
+import com.example.model.Tutorial;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WriteBehindTutorialDAO Tests")
+public class WriteBehindTutorialDAOTest {
+    private final InMemoryTutorialDAO database = new InMemoryTutorialDAO();
+    private final RecordingDAO recording = new RecordingDAO(database);
+    private WriteBehindTutorialDAO writeBehind;
+
+    // Remembers the size of every batch and can be told to fail.
+    static class RecordingDAO extends DelegatingTutorialDAO {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        volatile boolean failing;
+        volatile int poisonId; // a batch writing this ID fails, like a row the database refuses
+
+        RecordingDAO(InMemoryTutorialDAO delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public WriteBatchResult applyWriteBatch(TutorialWriteBatch batch) {
+            if (failing) {
+                throw new DatabaseOperationException("connection lost");
+            }
+            if (batch.updates().stream().anyMatch(t -> t.getId() == poisonId)) {
+                throw new DatabaseOperationException("value too large");
+            }
+            batchSizes.add(batch.size());
+            return super.applyWriteBatch(batch);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.close();
+    }
+
+    private Tutorial stored(String title) {
+        Tutorial tutorial = new Tutorial(title, "Ann", "url", null);
+        database.addTutorial(tutorial);
+        return tutorial;
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated updates of one ID into a single write in one batch")
+    void shouldCoalesceUpdates() {
+        writeBehind = new WriteBehindTutorialDAO(recording, 100, Duration.ofMinutes(1));
+        Tutorial first = stored("First");
+        Tutorial second = stored("Second");
+
+        for (int i = 1; i <= 50; i++) {
+            first.setTitle("First v" + i);
+            writeBehind.updateTutorial(first);
+        }
+        second.setTitle("Second v1");
+        writeBehind.updateTutorial(second);
+        assertEquals(2, writeBehind.getPendingWrites());
+        writeBehind.flush();
+
+        assertEquals(List.of(2), recording.batchSizes);
+        assertEquals(49, writeBehind.getCoalescedWrites());
+        assertEquals("First v50", database.getTutorialById(first.getId()).getTitle());
+        assertEquals("Second v1", database.getTutorialById(second.getId()).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should show buffered writes to reads through the same DAO")
+    void shouldReadBufferedWrites() {
+        writeBehind = new WriteBehindTutorialDAO(recording, 100, Duration.ofMinutes(1));
+        Tutorial kept = stored("Kept");
+        Tutorial removed = stored("Removed");
+
+        kept.setTitle("Kept v2");
+        writeBehind.updateTutorial(kept);
+        kept.setTitle("changed by the caller afterwards");
+        writeBehind.deleteTutorial(removed.getId());
+
+        assertEquals("Kept v2", writeBehind.getTutorialById(kept.getId()).getTitle());
+        assertThrows(TutorialNotFoundException.class, () -> writeBehind.getTutorialById(removed.getId()));
+        assertThrows(TutorialNotFoundException.class, () -> writeBehind.updateTutorial(removed));
+        assertEquals("Kept", database.getTutorialById(kept.getId()).getTitle(), "Nothing is written yet");
+
+        assertEquals(List.of("Kept v2"), writeBehind.getAllTutorials().stream().map(Tutorial::getTitle).toList());
+        assertEquals(1, recording.batchSizes.size(), "Listing the table writes the buffer first");
+    }
+
+    @Test
+    @DisplayName("Should complete futures on commit when the batch size is reached")
+    void shouldCompleteFuturesOnSizeTrigger() throws Exception {
+        writeBehind = new WriteBehindTutorialDAO(recording, 3, Duration.ofMinutes(1));
+        Tutorial a = stored("A");
+        Tutorial b = stored("B");
+        Tutorial missing = new Tutorial(999, "Missing", null, null, null);
+
+        CompletableFuture<Void> first = writeBehind.updateTutorialAsync(a);
+        CompletableFuture<Void> second = writeBehind.deleteTutorialAsync(b.getId());
+        assertFalse(first.isDone());
+        CompletableFuture<Void> third = writeBehind.updateTutorialAsync(missing);
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        ExecutionException notFound = assertThrows(ExecutionException.class, () -> third.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TutorialNotFoundException.class, notFound.getCause());
+        assertEquals(1, database.size());
+    }
+
+    @Test
+    @DisplayName("Should write the buffer after the maximum delay")
+    void shouldFlushOnTimeTrigger() throws Exception {
+        writeBehind = new WriteBehindTutorialDAO(recording, 100, Duration.ofMillis(20));
+        Tutorial tutorial = stored("Old");
+        tutorial.setTitle("New");
+
+        writeBehind.updateTutorialAsync(tutorial).get(5, TimeUnit.SECONDS);
+
+        assertEquals("New", database.getTutorialById(tutorial.getId()).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should fail the futures of a failed batch and report it from flush")
+    void shouldReportFailedBatch() {
+        writeBehind = new WriteBehindTutorialDAO(recording, 100, Duration.ofMinutes(1));
+        Tutorial tutorial = stored("Old");
+        recording.failing = true;
+
+        CompletableFuture<Void> update = writeBehind.updateTutorialAsync(tutorial);
+
+        assertThrows(DatabaseOperationException.class, writeBehind::flush);
+        assertTrue(update.isCompletedExceptionally());
+        recording.failing = false;
+        writeBehind.close();
+        assertThrows(IllegalStateException.class, () -> writeBehind.deleteTutorial(tutorial.getId()));
+    }
+
+    @Test
+    @DisplayName("Should patch a buffered write in the buffer and other rows directly")
+    void shouldPatchThroughBuffer() {
+        writeBehind = new WriteBehindTutorialDAO(recording, 100, Duration.ofMinutes(1));
+        Tutorial buffered = stored("Buffered");
+        Tutorial direct = stored("Direct");
+        buffered.setAuthor("Ben");
+        writeBehind.updateTutorial(buffered);
+
+        Tutorial patched = writeBehind.patchAndGetTutorial(TutorialPatch.of(buffered.getId()).title("Buffered v2"));
+        writeBehind.patchTutorial(TutorialPatch.of(direct.getId()).title("Direct v2"));
+
+        assertEquals("Ben", patched.getAuthor());
+        assertEquals("Direct v2", database.getTutorialById(direct.getId()).getTitle(), "Rows without buffered writes are patched at once");
+        assertEquals("Buffered", database.getTutorialById(buffered.getId()).getTitle());
+        writeBehind.flush();
+        assertEquals(List.of(1), recording.batchSizes);
+        assertEquals("Buffered v2", database.getTutorialById(buffered.getId()).getTitle());
+        assertEquals("Ben", database.getTutorialById(buffered.getId()).getAuthor());
+    }
+
+    @Test
+    @DisplayName("Should reject a row the table would refuse when it is buffered")
+    void shouldValidateOnEnqueue() {
+        writeBehind = new WriteBehindTutorialDAO(recording, 100, Duration.ofMinutes(1));
+        Tutorial tutorial = stored("Valid");
+
+        assertThrows(DatabaseOperationException.class,
+                () -> writeBehind.updateTutorial(new Tutorial(tutorial.getId(), null, "Ann", "url", null)));
+        assertThrows(DatabaseOperationException.class,
+                () -> writeBehind.updateTutorial(new Tutorial(tutorial.getId(), "x".repeat(256), "Ann", "url", null)));
+        assertThrows(DatabaseOperationException.class,
+                () -> writeBehind.patchTutorial(TutorialPatch.of(tutorial.getId()).title("x".repeat(256))));
+        assertEquals(0, writeBehind.getPendingWrites());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch row by row and report only the rows that fail")
+    void shouldRetryFailedBatchRowByRow() {
+        Map<Integer, RuntimeException> failed = new ConcurrentHashMap<>();
+        writeBehind = new WriteBehindTutorialDAO(recording, 100, Duration.ofMinutes(1), failed::put);
+        Tutorial first = stored("First");
+        Tutorial poisoned = stored("Poisoned");
+        Tutorial last = stored("Last");
+        recording.poisonId = poisoned.getId();
+
+        first.setTitle("First v2");
+        poisoned.setTitle("Poisoned v2");
+        last.setTitle("Last v2");
+        writeBehind.updateTutorial(first);
+        CompletableFuture<Void> poisonedUpdate = writeBehind.updateTutorialAsync(poisoned);
+        writeBehind.updateTutorial(last);
+
+        assertThrows(DatabaseOperationException.class, writeBehind::flush);
+        assertTrue(poisonedUpdate.isCompletedExceptionally());
+        assertEquals(List.of(poisoned.getId()), List.copyOf(failed.keySet()));
+        assertEquals("First v2", database.getTutorialById(first.getId()).getTitle());
+        assertEquals("Poisoned", database.getTutorialById(poisoned.getId()).getTitle());
+        assertEquals("Last v2", database.getTutorialById(last.getId()).getTitle());
+        assertEquals(List.of(1, 1), recording.batchSizes);
+    }
+}
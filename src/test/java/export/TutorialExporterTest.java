@@ -0,0 +1,164 @@
+package export;
+
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.dao.TutorialDAO;
+import com.example.dao.TutorialDAOImpl;
+import com.example.export.BinaryExportReader;
+import com.example.export.ExportOptions;
+import com.example.export.ExportResult;
+import com.example.export.TutorialExporter;
+import com.example.importer.TutorialImporter;
+import com.example.model.Tutorial;
+import com.example.util.DBConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TutorialExporter Tests")
+public class TutorialExporterTest {
+    @TempDir
+    Path directory;
+
+    private final TutorialDAO dao = new TutorialDAOImpl();
+    private List<Tutorial> tutorials;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM tutorials");
+        }
+        List<Tutorial> rows = new ArrayList<>();
+        rows.add(new Tutorial("Streams, Collectors and \"Gatherers\"", "Ana", "https://a.example/?q=1,2", LocalDate.of(2024, 1, 5)));
+        rows.add(new Tutorial("Multi\r\nline\ttitle \\ with backslash", null, null, null));
+        rows.add(new Tutorial("Ünïcode and emoji 🚀", "Zoë", "https://e.example", LocalDate.of(1999, 12, 31)));
+        for (int i = 0; i < 200; i++) {
+            rows.add(new Tutorial("Tutorial " + i, "Author " + i % 10, "https://t.example/" + i, LocalDate.of(2020, 1, 1).plusDays(i)));
+        }
+        dao.addTutorials(rows);
+        tutorials = dao.getAllTutorials();
+    }
+
+    @Test
+    @DisplayName("Should write CSV that the importer reads back unchanged")
+    void shouldRoundTripCsv() throws IOException {
+        Path file = directory.resolve("tutorials.csv");
+
+        ExportResult result = new TutorialExporter().export(file);
+
+        assertEquals(tutorials.size(), result.rows());
+        assertEquals(Files.size(file), result.bytes());
+        assertTrue(Files.readString(file).startsWith("tutorial_id,title,author,url,published_date\r\n" + tutorials.get(0).getId() + ","));
+        assertSameContent(tutorials, reimport(file));
+    }
+
+    @Test
+    @DisplayName("Should write JSON Lines that the importer reads back unchanged")
+    void shouldRoundTripJsonLines() throws IOException {
+        Path file = directory.resolve("tutorials.jsonl");
+
+        new TutorialExporter(ExportOptions.builder().bufferSize(256).build()).export(file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(tutorials.size(), lines.size());
+        assertEquals("{\"id\":" + tutorials.get(1).getId()
+                + ",\"title\":\"Multi\\r\\nline\\ttitle \\\\ with backslash\",\"author\":null,\"url\":null,\"published_date\":null}", lines.get(1));
+        assertSameContent(tutorials, reimport(file));
+    }
+
+    @Test
+    @DisplayName("Should export ID ranges in parallel into one gzipped file in ID order")
+    void shouldExportInParallelWithGzip() throws IOException {
+        Path serial = directory.resolve("serial.ttb");
+        Path parallel = directory.resolve("parallel.ttb.gz");
+
+        new TutorialExporter().export(serial);
+        ExportResult result = new TutorialExporter(ExportOptions.builder().parallelism(3).fetchSize(16).build()).export(parallel);
+
+        assertEquals(3, result.parts());
+        assertEquals(tutorials.size(), result.rows());
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(parallel))) {
+            assertArrayEquals(Files.readAllBytes(serial), in.readAllBytes(), "Parts are appended in ID order");
+        }
+        List<Tutorial> read = new ArrayList<>();
+        assertEquals(tutorials.size(), BinaryExportReader.read(parallel, read::add));
+        for (int i = 0; i < tutorials.size(); i++) {
+            assertEquals(tutorials.get(i).getId(), read.get(i).getId());
+        }
+        assertSameContent(tutorials, read);
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count(), "Part files are removed");
+        }
+    }
+
+    @Test
+    @DisplayName("Should export only the requested ID range")
+    void shouldExportRange() throws IOException {
+        Path file = directory.resolve("range.csv");
+        int from = tutorials.get(10).getId();
+        int to = tutorials.get(19).getId();
+
+        ExportResult result = new TutorialExporter().exportRange(file, from, to);
+
+        assertEquals(10, result.rows());
+        assertSameContent(tutorials.subList(10, 20), reimport(file));
+    }
+
+    @Test
+    @DisplayName("Should write the same bytes when reading through a DAO")
+    void shouldExportThroughDao() throws IOException {
+        Path jdbc = directory.resolve("jdbc.ttb");
+        Path viaDao = directory.resolve("dao.ttb");
+        Path range = directory.resolve("range.ttb");
+        ExportOptions options = ExportOptions.builder().fetchSize(16).build();
+
+        new TutorialExporter().export(jdbc);
+        ExportResult result = new TutorialExporter(dao, options).export(viaDao);
+        ExportResult ranged = new TutorialExporter(dao, options)
+                .exportRange(range, tutorials.get(10).getId(), tutorials.get(49).getId());
+
+        assertEquals(tutorials.size(), result.rows());
+        assertArrayEquals(Files.readAllBytes(jdbc), Files.readAllBytes(viaDao));
+        assertEquals(40, ranged.rows(), "The range spans several pages");
+        List<Tutorial> read = new ArrayList<>();
+        BinaryExportReader.read(range, read::add);
+        assertSameContent(tutorials.subList(10, 50), read);
+        assertThrows(IllegalArgumentException.class,
+                () -> new TutorialExporter(dao, ExportOptions.builder().parallelism(2).build()));
+    }
+
+    private static List<Tutorial> reimport(Path file) throws IOException {
+        InMemoryTutorialDAO target = new InMemoryTutorialDAO();
+        new TutorialImporter(target).importFile(file);
+        return target.getAllTutorials();
+    }
+
+    // Compares everything but the ID, which the importer does not carry over.
+    private static void assertSameContent(List<Tutorial> expected, List<Tutorial> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Tutorial e = expected.get(i);
+            Tutorial a = actual.get(i);
+            assertEquals(e.getTitle(), a.getTitle());
+            assertEquals(e.getAuthor(), a.getAuthor());
+            assertEquals(e.getUrl(), a.getUrl());
+            assertEquals(e.getPublishedDate(), a.getPublishedDate());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package importer;
+
+import com.example.dao.BatchInsertResult;
+import com.example.dao.DelegatingTutorialDAO;
+import com.example.dao.InMemoryTutorialDAO;
+import com.example.exceptions.DatabaseOperationException;
+import com.example.importer.ImportOptions;
+import com.example.importer.ImportProgress;
+import com.example.importer.ImportResult;
+import com.example.importer.TutorialImporter;
+import com.example.model.Tutorial;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TutorialImporter Tests")
+public class TutorialImporterTest {
+    @TempDir
+    Path directory;
+
+    // Tiny batches and chunks so records and batches straddle read boundaries.
+    private static ImportOptions.ImportOptionsBuilder smallPipeline() {
+        return ImportOptions.builder().batchSize(2).chunkSize(7).parserThreads(3).writerThreads(2).queueCapacity(1);
+    }
+
+    @Test
+    @DisplayName("Should import CSV with quoted fields and write bad rows to the reject file")
+    void shouldImportCsv() throws IOException {
+        Path file = directory.resolve("tutorials.csv");
+        Files.writeString(file, String.join("\n",
+                "published_date,Title,author,url\r",
+                "2024-01-05,\"Streams, Collectors and \"\"Gatherers\"\"\",Ana,https://a.example\r",
+                ",\"Multi",
+                "line title\",Ben,https://b.example",
+                "",
+                "2024-13-01,Bad Date,Chris,https://c.example",
+                "2024-02-01,,No Title,https://d.example",
+                "2024-03-01,Täst Ünïcode,Dana,https://e.example",
+                "too,many,fields,here,really",
+                "2024-04-01,Last Line Without Newline,Eve,"), StandardCharsets.UTF_8);
+        InMemoryTutorialDAO dao = new InMemoryTutorialDAO();
+        List<ImportProgress> progress = new ArrayList<>();
+
+        ImportResult result = new TutorialImporter(dao, smallPipeline().progressListener(progress::add).build()).importFile(file);
+
+        assertEquals(7, result.records());
+        assertEquals(4, result.imported());
+        assertEquals(3, result.rejected());
+        Set<String> titles = dao.getAllTutorials().stream().map(Tutorial::getTitle).collect(Collectors.toSet());
+        assertEquals(Set.of("Streams, Collectors and \"Gatherers\"", "Multi\nline title", "Täst Ünïcode", "Last Line Without Newline"), titles);
+        Tutorial first = dao.findByAuthor("Ana", 1).get(0);
+        assertEquals(LocalDate.of(2024, 1, 5), first.getPublishedDate());
+        assertNull(dao.findByAuthor("Eve", 1).get(0).getUrl(), "Empty fields are stored as null");
+
+        List<String> rejects = Files.readAllLines(result.rejectFile());
+        assertEquals("record,reason,data", rejects.get(0));
+        // Writer threads append rejects batch by batch as they finish, so order them by record number.
+        rejects.subList(1, rejects.size()).sort(Comparator.comparingLong(line -> Long.parseLong(line.substring(0, line.indexOf(',')))));
+        assertTrue(rejects.get(1).startsWith("3,\"published_date '2024-13-01'"));
+        assertTrue(rejects.get(2).startsWith("4,\"title is missing\""));
+        assertTrue(rejects.get(3).startsWith("6,\"expected 4 fields but found 5\""));
+        assertFalse(Files.exists(directory.resolve("tutorials.csv.checkpoint")), "A finished import removes its checkpoint");
+        assertEquals(100.0, progress.get(progress.size() - 1).percentComplete());
+    }
+
+    @Test
+    @DisplayName("Should import JSON arrays and JSON Lines")
+    void shouldImportJson() throws IOException {
+        Path array = directory.resolve("tutorials.json");
+        Files.writeString(array, """
+                [
+                  {"title": "Json {braces} in \\"text\\"", "author": "Ana", "publishedDate": "2024-05-01", "extra": 42},
+                  {"title": "Escapes \\u00e9\\n", "author": null, "url": "https://x.example"},
+                  {"title": "Nested", "author": {"name": "no"}}
+                ]""");
+        Path lines = directory.resolve("tutorials.jsonl");
+        Files.writeString(lines, """
+                {"title":"Line 1","author":"Ben"}
+                {"title":"Line 2","author":"Ben","published_date":"2023-12-31"}
+                {"author":"Ben"}
+                """);
+        InMemoryTutorialDAO dao = new InMemoryTutorialDAO();
+
+        ImportResult fromArray = new TutorialImporter(dao, smallPipeline().build()).importFile(array);
+        assertEquals(2, fromArray.imported());
+        assertEquals(1, fromArray.rejected());
+        ImportResult fromLines = new TutorialImporter(dao, smallPipeline().build()).importFile(lines);
+        assertEquals(2, fromLines.imported());
+        assertEquals(1, fromLines.rejected());
+
+        Set<String> titles = dao.getAllTutorials().stream().map(Tutorial::getTitle).collect(Collectors.toSet());
+        assertEquals(Set.of("Json {braces} in \"text\"", "Escapes é\n", "Line 1", "Line 2"), titles);
+        assertEquals(LocalDate.of(2024, 5, 1), dao.findByAuthor("Ana", 1).get(0).getPublishedDate());
+    }
+
+    // Fails every addTutorials call after the first few, like a database that goes away mid-import.
+    static class FailingDAO extends DelegatingTutorialDAO {
+        final AtomicInteger calls = new AtomicInteger();
+        final int failAfter;
+
+        FailingDAO(InMemoryTutorialDAO delegate, int failAfter) {
+            super(delegate);
+            this.failAfter = failAfter;
+        }
+
+        @Override
+        public BatchInsertResult addTutorials(Collection<Tutorial> tutorials) {
+            if (calls.incrementAndGet() > failAfter) {
+                throw new DatabaseOperationException("connection lost");
+            }
+            return super.addTutorials(tutorials);
+        }
+    }
+
+    @Test
+    @DisplayName("Should resume from the checkpoint after a failure without importing rows twice")
+    void shouldResumeFromCheckpoint() throws IOException {
+        Path file = directory.resolve("big.csv");
+        StringBuilder csv = new StringBuilder("title,author\n");
+        for (int i = 1; i <= 1000; i++) {
+            csv.append("Tutorial ").append(i).append(',').append(i % 7 == 0 ? "" : "Author " + i % 10).append('\n');
+        }
+        Files.writeString(file, csv);
+        InMemoryTutorialDAO database = new InMemoryTutorialDAO();
+        ImportOptions options = ImportOptions.builder().batchSize(50).chunkSize(512).writerThreads(1).build();
+
+        assertThrows(DatabaseOperationException.class,
+                () -> new TutorialImporter(new FailingDAO(database, 5), options).importFile(file));
+        assertEquals(250, database.size());
+        assertTrue(Files.exists(directory.resolve("big.csv.checkpoint")));
+
+        ImportResult result = new TutorialImporter(database, options.toBuilder().writerThreads(3).build()).importFile(file);
+        assertEquals(1000, result.records());
+        assertEquals(1000, result.imported());
+        assertEquals(1000, database.size());
+        Set<String> titles = database.getAllTutorials().stream().map(Tutorial::getTitle).collect(Collectors.toSet());
+        assertEquals(1000, titles.size(), "No tutorial may be imported twice");
+    }
+}
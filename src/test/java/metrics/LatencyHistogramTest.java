@@ -0,0 +1,39 @@
+package metrics;
+
+import com.example.metrics.LatencyHistogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyHistogram Tests")
+public class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should report percentiles within the bucket precision")
+    void shouldReportPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1000, snapshot.count());
+        assertEquals(1_000_000, snapshot.maxNanos());
+        assertEquals(500_000, snapshot.p50Nanos(), 500_000 * 0.125);
+        assertEquals(990_000, snapshot.p99Nanos(), 990_000 * 0.125);
+        assertTrue(snapshot.p999Nanos() <= snapshot.maxNanos());
+        assertEquals(500_500.0, snapshot.meanNanos(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should start from zero after a reset")
+    void shouldResetToZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.record(Long.MAX_VALUE);
+        histogram.reset();
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.count());
+        assertEquals(0, snapshot.p99Nanos());
+    }
+}
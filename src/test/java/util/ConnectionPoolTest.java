@@ -0,0 +1,206 @@
+package util;
+
+import com.example.util.ConnectionPool;
+import com.example.util.PoolConfig;
+import com.example.util.StatementCacheStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConnectionPool Tests")
+public class ConnectionPoolTest {
+    private static final String URL = "jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1";
+    private ConnectionPool pool;
+
+    private ConnectionPool newPool(PoolConfig.PoolConfigBuilder builder) {
+        pool = new ConnectionPool(builder.url(URL).user("sa").password("").build());
+        return pool;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse the same physical connection after close")
+    void shouldReuseConnectionAfterClose() throws SQLException {
+        newPool(PoolConfig.builder().maxPoolSize(2));
+        Connection first = pool.borrow();
+        Connection physical = first.unwrap(Connection.class);
+        first.close();
+        assertTrue(first.isClosed(), "Returned handle should report itself as closed");
+
+        Connection second = pool.borrow();
+        assertSame(physical, second.unwrap(Connection.class));
+        assertEquals(1, pool.getTotalConnections());
+        second.close();
+        assertEquals(1, pool.getIdleConnections());
+    }
+
+    @Test
+    @DisplayName("Should time out when every connection is borrowed")
+    void shouldTimeOutWhenPoolIsExhausted() throws SQLException {
+        newPool(PoolConfig.builder().maxPoolSize(1).borrowTimeoutMillis(100));
+        try (Connection ignored = pool.borrow()) {
+            assertThrows(SQLTimeoutException.class, () -> pool.borrow());
+        }
+        try (Connection again = pool.borrow()) {
+            assertFalse(again.isClosed());
+        }
+    }
+
+    @Test
+    @DisplayName("Should replace a broken connection on borrow")
+    void shouldReplaceBrokenConnection() throws SQLException {
+        newPool(PoolConfig.builder().maxPoolSize(2).validationBypassMillis(0));
+        Connection first = pool.borrow();
+        Connection physical = first.unwrap(Connection.class);
+        first.close();
+        physical.close(); // simulate the database dropping the session
+
+        try (Connection second = pool.borrow()) {
+            assertNotSame(physical, second.unwrap(Connection.class));
+            assertTrue(second.isValid(1));
+        }
+        assertEquals(1, pool.getTotalConnections());
+    }
+
+    @Test
+    @DisplayName("Should retire connections older than max lifetime")
+    void shouldRetireExpiredConnections() throws Exception {
+        newPool(PoolConfig.builder().maxPoolSize(2).maxLifetimeMillis(50));
+        Connection first = pool.borrow();
+        Connection physical = first.unwrap(Connection.class);
+        Thread.sleep(60);
+        first.close();
+        assertTrue(physical.isClosed(), "Expired connection should be closed instead of pooled");
+        assertEquals(0, pool.getIdleConnections());
+    }
+
+    @Test
+    @DisplayName("Should roll back and restore auto-commit when a connection is returned")
+    void shouldResetConnectionOnReturn() throws SQLException {
+        newPool(PoolConfig.builder().maxPoolSize(1));
+        Connection first = pool.borrow();
+        first.setAutoCommit(false);
+        first.close();
+        try (Connection second = pool.borrow()) {
+            assertTrue(second.getAutoCommit());
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse to lend connections after shutdown")
+    void shouldRejectBorrowAfterClose() throws SQLException {
+        newPool(PoolConfig.builder().maxPoolSize(2));
+        Connection borrowed = pool.borrow();
+        Connection physical = borrowed.unwrap(Connection.class);
+        pool.close();
+        assertThrows(SQLException.class, () -> pool.borrow());
+        borrowed.close();
+        assertTrue(physical.isClosed(), "Connections returned after shutdown should be closed");
+    }
+
+    @Test
+    @DisplayName("Should reuse a prepared statement for the same SQL on the same connection")
+    void shouldReuseCachedStatement() throws SQLException {
+        newPool(PoolConfig.builder().maxPoolSize(1));
+        PreparedStatement physical;
+        try (Connection connection = pool.borrow();
+             PreparedStatement statement = connection.prepareStatement("SELECT ? FROM dual")) {
+            statement.setInt(1, 7);
+            try (ResultSet rs = statement.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(7, rs.getInt(1));
+            }
+            physical = statement.unwrap(PreparedStatement.class);
+            assertSame(connection, statement.getConnection());
+        }
+        try (Connection connection = pool.borrow();
+             PreparedStatement statement = connection.prepareStatement("SELECT ? FROM dual")) {
+            assertSame(physical, statement.unwrap(PreparedStatement.class));
+            statement.setInt(1, 8);
+            try (ResultSet rs = statement.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(8, rs.getInt(1));
+            }
+        }
+        StatementCacheStats stats = pool.getStatementCacheStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    @DisplayName("Should key cached statements by generated-key columns")
+    void shouldKeyStatementsByGeneratedKeyColumns() throws SQLException {
+        newPool(PoolConfig.builder().maxPoolSize(1));
+        try (Connection connection = pool.borrow()) {
+            connection.prepareStatement("SELECT 1 FROM dual").close();
+            connection.prepareStatement("SELECT 1 FROM dual", new String[] { "x" }).close();
+            connection.prepareStatement("SELECT 1 FROM dual", new String[] { "x" }).close();
+        }
+        StatementCacheStats stats = pool.getStatementCacheStats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+    }
+
+    @Test
+    @DisplayName("Should close the least recently used statement when the cache is full")
+    void shouldEvictLeastRecentlyUsedStatement() throws SQLException {
+        newPool(PoolConfig.builder().maxPoolSize(1).statementCacheSize(2));
+        try (Connection connection = pool.borrow()) {
+            PreparedStatement first = connection.prepareStatement("SELECT 1 FROM dual");
+            PreparedStatement firstPhysical = first.unwrap(PreparedStatement.class);
+            first.close();
+            connection.prepareStatement("SELECT 2 FROM dual").close();
+            connection.prepareStatement("SELECT 3 FROM dual").close();
+            assertTrue(firstPhysical.isClosed(), "Evicted statement should be closed");
+        }
+        assertEquals(1, pool.getStatementCacheStats().evictions());
+    }
+
+    @Test
+    @DisplayName("Should not share a statement that is still in use")
+    void shouldNotHandOutStatementInUse() throws SQLException {
+        newPool(PoolConfig.builder().maxPoolSize(1));
+        try (Connection connection = pool.borrow();
+             PreparedStatement first = connection.prepareStatement("SELECT 1 FROM dual");
+             PreparedStatement second = connection.prepareStatement("SELECT 1 FROM dual")) {
+            assertNotSame(first.unwrap(PreparedStatement.class), second.unwrap(PreparedStatement.class));
+        }
+        assertEquals(0, pool.getStatementCacheStats().hits());
+    }
+
+    @Test
+    @DisplayName("Should close statements the borrower left open when the connection is returned")
+    void shouldCloseLeakedStatementsOnReturn() throws SQLException {
+        newPool(PoolConfig.builder().maxPoolSize(1));
+        Connection connection = pool.borrow();
+        PreparedStatement cached = connection.prepareStatement("SELECT 1 FROM dual");
+        PreparedStatement physical = cached.unwrap(PreparedStatement.class);
+        ResultSet cursor = cached.executeQuery();
+        Statement plain = connection.createStatement();
+        connection.close();
+
+        assertTrue(cached.isClosed());
+        assertTrue(physical.isClosed(), "An abandoned statement may hold a cursor and should not go back into the cache");
+        assertTrue(cursor.isClosed());
+        assertTrue(plain.isClosed());
+        try (Connection again = pool.borrow();
+             PreparedStatement statement = again.prepareStatement("SELECT 1 FROM dual")) {
+            assertNotSame(physical, statement.unwrap(PreparedStatement.class));
+        }
+    }
+}